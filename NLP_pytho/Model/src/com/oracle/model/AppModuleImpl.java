@@ -9,6 +9,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 
 import java.text.SimpleDateFormat;
 
@@ -18,10 +19,76 @@ import oracle.jbo.server.ApplicationModuleImpl;
 import oracle.jbo.server.ViewObjectImpl;
 
 public class AppModuleImpl extends ApplicationModuleImpl implements AppModule {
+
+    // Generated SQL per query shape (action type, filter columns, operations, display columns),
+    // shared by all module instances - the SQL text does not depend on the filter values
+    private static final int MAX_SQL_PLANS = 500;
+    private static final Map<String, SqlPlan> SQL_PLANS =
+        Collections.synchronizedMap(new LinkedHashMap<String, SqlPlan>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SqlPlan> eldest) {
+                return size() > MAX_SQL_PLANS;
+            }
+        });
+
+    // Operations accepted by executeTypedNLPQuery (they are written into the SQL text)
+    private static final Set<String> TYPED_OPERATIONS =
+        new HashSet<>(Arrays.asList("=", "!=", "<>", "<", ">", "<=", ">=", "LIKE", "NOT LIKE", "BETWEEN"));
+
+    // Prepared statements kept open for the life of this module's connection, by SQL text
+    private static final int MAX_CACHED_STATEMENTS = 50;
+    private final Map<String, PreparedStatement> statementCache =
+        new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > MAX_CACHED_STATEMENTS) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+
+    // Rows fetched per database round trip (the Oracle driver default is 10); -Dnlp.query.fetchSize overrides
+    public static final String FETCH_SIZE_PROPERTY = "nlp.query.fetchSize";
+    public static final int DEFAULT_FETCH_SIZE = 200;
+    private static final int FETCH_SIZE = Integer.getInteger(FETCH_SIZE_PROPERTY, DEFAULT_FETCH_SIZE);
+
+    // Upper bound for a page of executePagedNLPQuery and for queries that cannot be paged
+    // (pullContractsByFilters groups all rows by user); -Dnlp.query.maxRows overrides
+    public static final String MAX_ROWS_PROPERTY = "nlp.query.maxRows";
+    public static final int DEFAULT_MAX_ROWS = 1000;
+    private static final int MAX_ROWS = Integer.getInteger(MAX_ROWS_PROPERTY, DEFAULT_MAX_ROWS);
+
+    // Database-side limit for one query in seconds when the caller passes no queryTimeout;
+    // 0 = no limit. -Dnlp.query.timeoutSeconds overrides
+    public static final String QUERY_TIMEOUT_PROPERTY = "nlp.query.timeoutSeconds";
+    public static final int DEFAULT_QUERY_TIMEOUT = 120;
+    private static final int QUERY_TIMEOUT = Integer.getInteger(QUERY_TIMEOUT_PROPERTY, DEFAULT_QUERY_TIMEOUT);
+
+    // Statement this module is executing or reading, so cancelRunningQuery can stop it from another
+    // request of the same session
+    private volatile PreparedStatement runningStatement;
+    private volatile boolean cancelRequested;
+
     public AppModuleImpl() {
     }
 
-    public Map<String, Object> executeDynamicQuery(String sqlQuery, String[] paramValues, String[] paramTypes) {
+    /**
+     * Cached statements belong to the connection that is going away
+     */
+    @Override
+    protected void beforeDisconnect() {
+        closeCachedStatements();
+        super.beforeDisconnect();
+    }
+
+    /**
+     * Run sqlQuery; queryTimeout (seconds, null for the default) stops it in the database, and the
+     * result then has success=false and "timedOut"=true
+     */
+    public Map<String, Object> executeDynamicQuery(String sqlQuery, String[] paramValues, String[] paramTypes,
+                                                   Integer queryTimeout) {
         System.out.println("===============executeDynamicQuery=============" + sqlQuery);
         System.out.println("Parameters--->");
         for (String s : paramValues)
@@ -35,7 +102,7 @@ public class AppModuleImpl extends ApplicationModuleImpl implements AppModule {
         ResultSet resultset = null;
 
         try {
-            stmt = getDBTransaction().createPreparedStatement(sqlQuery, 0);
+            stmt = prepareCached(sqlQuery);
 
             // Set parameters based on types
             if (paramValues != null && paramTypes != null) {
@@ -58,49 +125,52 @@ public class AppModuleImpl extends ApplicationModuleImpl implements AppModule {
             }
             System.out.println("DEBUG: Final SQL to execute: " + debugSql);
 
-            resultset = stmt.executeQuery();
+            stmt.setQueryTimeout(getQueryTimeout(queryTimeout));
+            resultset = executeTracked(stmt);
 
-            // Convert ResultSet to List of Maps
-            List<Map<String, Object>> rows = new ArrayList<>();
+            // Column metadata
             ResultSetMetaData metaData = resultset.getMetaData();
             int columnCount = metaData.getColumnCount();
 System.out.println("Count of rows==============>"+columnCount);
+            List<String> columnNames = new ArrayList<>();
+            List<String> columnTypes = new ArrayList<>();
+            for (int i = 1; i <= columnCount; i++) {
+                columnNames.add(metaData.getColumnName(i));
+                columnTypes.add(metaData.getColumnTypeName(i));
+            }
+
+            // Rows as value arrays - column names are held once by QueryRows
+            QueryRows rows = new QueryRows(columnNames);
             while (resultset.next()) {
-                Map<String, Object> row = new HashMap<>();
-                for (int i = 1; i <= columnCount; i++) {
-                    String columnName = metaData.getColumnName(i);
-                    Object value = resultset.getObject(i);
-                    row.put(columnName, value);
+                Object[] values = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    values[i] = resultset.getObject(i + 1);
                 }
-                rows.add(row);
+                rows.addRow(values);
             }
 
             result.put("success", true);
             result.put("rows", rows);
             result.put("rowCount", rows.size());
             result.put("columnCount", columnCount);
-
-            // Add column metadata
-            List<String> columnNames = new ArrayList<>();
-            List<String> columnTypes = new ArrayList<>();
-            for (int i = 1; i <= columnCount; i++) {
-                columnNames.add(metaData.getColumnName(i));
-                columnTypes.add(metaData.getColumnTypeName(i));
-            }
             result.put("columnNames", columnNames);
             result.put("columnTypes", columnTypes);
 
         } catch (SQLException ex) {
+            if (stmt != null) {
+                discardCached(stmt);
+            }
             result.put("success", false);
+            result.put("timedOut", isQueryTimeout(ex));
+            result.put("cancelled", cancelRequested);
             result.put("error", ex.getMessage());
             result.put("rows", new ArrayList<>());
             result.put("rowCount", 0);
         } finally {
+            runningStatement = null;
             try {
                 if (resultset != null)
                     resultset.close();
-                if (stmt != null)
-                    stmt.close();
             } catch (SQLException e) {
                 // Log error
             }
@@ -144,53 +214,334 @@ System.out.println("Count of rows==============>"+columnCount);
         Map<String, Object> result = new HashMap<>();
 
         try {
-            StringBuilder sql = new StringBuilder();
+            SqlPlan plan = getSqlPlan(actionType, filterAttributes, filterOperations, displayColumns);
 
-            // SELECT clause
-            sql.append("SELECT ");
-            if (displayColumns != null && !displayColumns.trim().isEmpty()) {
-                sql.append(displayColumns);
-            } else {
-                sql.append("*");
-            }
+            result.put("success", true);
+            result.put("sqlQuery", plan.sql);
+            result.put("tableName", plan.tableName);
+            result.put("parameterCount", plan.parameterCount);
 
-            // FROM clause based on action type
-            sql.append(" FROM ");
-            String tableName = getTableNameByActionType(actionType);
-            sql.append(tableName);
+        } catch (Exception e) {
+            result.put("success", false);
+            result.put("error", e.getMessage());
+            result.put("sqlQuery", "");
+        }
 
-            // WHERE clause
+        return result;
+    }
+
+    /**
+     * Cached plan for a query shape; the SQL is generated on the first request only
+     */
+    private SqlPlan getSqlPlan(String actionType, String filterAttributes, String filterOperations,
+                               String displayColumns) {
+        String key = actionType + '\u0001' + filterAttributes + '\u0001' + filterOperations + '\u0001' + displayColumns;
+        SqlPlan plan = SQL_PLANS.get(key);
+        if (plan == null) {
             String[] attributes = filterAttributes != null ? filterAttributes.split(",") : null;
-            String[] values = filterValues != null ? filterValues.split(",") : null;
             String[] operations = filterOperations != null ? filterOperations.split(",") : null;
+            plan = createSqlPlan(actionType, attributes, operations, displayColumns, false);
+            SQL_PLANS.put(key, plan);
+        }
+        return plan;
+    }
 
-            if (attributes != null && attributes.length > 0) {
-                sql.append(" WHERE ");
-                for (int i = 0; i < attributes.length; i++) {
-                    if (i > 0)
-                        sql.append(" AND ");
-                    String operation = (operations != null && i < operations.length) ? operations[i] : "=";
-                    sql.append(attributes[i].trim())
-                       .append(" ")
-                       .append(operation)
-                       .append(" ?");
+    /**
+     * Cached plan for a typed query shape. Column names and operations are validated because
+     * they go into the SQL text; BETWEEN gets two bind parameters.
+     */
+    private SqlPlan getTypedSqlPlan(String actionType, String[] filterAttributes, String[] filterOperations,
+                                    String displayColumns) {
+        StringBuilder key = new StringBuilder("typed").append('\u0001').append(actionType);
+        int filterCount = filterAttributes != null ? filterAttributes.length : 0;
+        for (int i = 0; i < filterCount; i++) {
+            String operation =
+                filterOperations != null && i < filterOperations.length ? filterOperations[i] : null;
+            key.append('\u0001').append(filterAttributes[i]).append(' ').append(operation);
+        }
+        key.append('\u0001').append(displayColumns);
+        SqlPlan plan = SQL_PLANS.get(key.toString());
+        if (plan == null) {
+            String[] operations = new String[filterCount];
+            for (int i = 0; i < filterCount; i++) {
+                if (filterAttributes[i] == null || !filterAttributes[i].trim().matches("[A-Za-z][A-Za-z0-9_]*")) {
+                    throw new IllegalArgumentException("Invalid filter column: " + filterAttributes[i]);
+                }
+                String operation = filterOperations != null && i < filterOperations.length ? filterOperations[i] : null;
+                operation = operation == null || operation.trim().isEmpty() ? "=" : operation.trim().toUpperCase();
+                if (!TYPED_OPERATIONS.contains(operation)) {
+                    throw new IllegalArgumentException("Unsupported filter operation: " + operation);
                 }
+                operations[i] = operation;
+            }
+            plan = createSqlPlan(actionType, filterCount > 0 ? filterAttributes : null, operations, displayColumns, true);
+            SQL_PLANS.put(key.toString(), plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Cached plan for one page of a typed query shape - the first page, or a page that continues
+     * after a page token
+     */
+    private SqlPlan getPagedSqlPlan(String actionType, String[] filterAttributes, String[] filterOperations,
+                                    String displayColumns, boolean continuation) {
+        SqlPlan typed = getTypedSqlPlan(actionType, filterAttributes, filterOperations, displayColumns);
+        String key = (continuation ? "next" : "first") + '\u0001' + typed.sql;
+        SqlPlan plan = SQL_PLANS.get(key);
+        if (plan == null) {
+            plan = createPagedSqlPlan(typed, displayColumns, continuation);
+            SQL_PLANS.put(key, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Keyset pagination on top of a typed plan:
+     * SELECT ..., ROWIDTOCHAR(ROWID), sort column FROM t WHERE filters [AND after last key]
+     * ORDER BY sort column, ROWID FETCH FIRST ? ROWS ONLY
+     */
+    private static SqlPlan createPagedSqlPlan(SqlPlan typed, String displayColumns, boolean continuation) {
+        String tableName = typed.tableName;
+        String sortColumn = getPageSortColumn(tableName);
+        boolean allColumns = displayColumns == null || displayColumns.trim().isEmpty();
+        String select = allColumns ? "SELECT " + tableName + ".*" : "SELECT " + displayColumns;
+
+        StringBuilder sql = new StringBuilder(select);
+        sql.append(", ROWIDTOCHAR(ROWID) PAGE_ROW_ID");
+        if (sortColumn != null) {
+            sql.append(", ").append(sortColumn).append(" PAGE_SORT_KEY");
+        }
+        // Filters as generated for the typed plan
+        String fromClause = typed.sql.substring(typed.sql.indexOf(" FROM " + tableName));
+        sql.append(fromClause);
+        if (continuation) {
+            sql.append(typed.parameterCount > 0 ? " AND " : " WHERE ");
+            if (sortColumn != null) {
+                sql.append("(").append(sortColumn).append(" > ? OR (").append(sortColumn)
+                   .append(" = ? AND ROWID > CHARTOROWID(?)))");
+            } else {
+                sql.append("ROWID > CHARTOROWID(?)");
             }
+        }
+        sql.append(" ORDER BY ");
+        if (sortColumn != null) {
+            sql.append(sortColumn).append(", ");
+        }
+        sql.append("ROWID FETCH FIRST ? ROWS ONLY");
+
+        SqlPlan plan = new SqlPlan(sql.toString(), tableName, typed.bindColumns, typed.between);
+        plan.paged = true;
+        plan.continuation = continuation;
+        plan.pageSortColumn = sortColumn;
+        plan.pageKeyColumns = sortColumn != null ? 2 : 1;
+        return plan;
+    }
 
-            result.put("success", true);
-            result.put("sqlQuery", sql.toString());
-            result.put("tableName", tableName);
-            result.put("parameterCount", attributes != null ? attributes.length : 0);
+    /**
+     * Bind the filter values of a typed plan by column type; returns the next parameter index
+     */
+    private int bindTypedValues(PreparedStatement stmt, SqlPlan plan, String[] values,
+                                String[] types) throws SQLException {
+        int index = 1;
+        for (int i = 0; i < values.length && i < plan.parameterCount; i++) {
+            String type = i < types.length && types[i] != null ? types[i] : "VARCHAR";
+            if (plan.between[i]) {
+                String[] bounds = splitBetween(values[i]);
+                setParameterByType(stmt, index++, bounds[0], type);
+                setParameterByType(stmt, index++, bounds[1], type);
+            } else {
+                setParameterByType(stmt, index++, unquote(values[i]), type);
+            }
+        }
+        return index;
+    }
 
+    /**
+     * Aggregate of a typed query computed by the database - only the numbers come back.
+     * aggregate is COUNT (rows) or COUNT_DISTINCT (distinct non-null values of aggregateColumn).
+     * With groupByColumn, there is one group per value, largest first (at most MAX_ROWS groups).
+     * Result: "value" (Long; for groups the total, which COUNT_DISTINCT does not have) and, when
+     * grouped, "groups" - a list of {"group": value, "value": Long}. queryTimeout as in executeDynamicQuery.
+     */
+    public Map<String, Object> executeAggregateNLPQuery(String actionType, String[] filterAttributes,
+                                                        String[] filterOperations, String[] filterValues,
+                                                        String[] filterTypes, String aggregate,
+                                                        String aggregateColumn, String groupByColumn,
+                                                        Integer queryTimeout) {
+        System.out.println("===============executeAggregateNLPQuery============= actionType" + actionType +
+                           "===========aggregate" + aggregate + "(" + aggregateColumn + ") group by " +
+                           groupByColumn);
+        Map<String, Object> result = new HashMap<>();
+        SqlPlan plan;
+        try {
+            plan = getAggregateSqlPlan(actionType, filterAttributes, filterOperations, aggregate, aggregateColumn,
+                                       groupByColumn);
         } catch (Exception e) {
             result.put("success", false);
-            result.put("error", e.getMessage());
-            result.put("sqlQuery", "");
+            result.put("error", "SQL building failed: " + e.getMessage());
+            return result;
         }
 
+        PreparedStatement stmt = null;
+        ResultSet resultset = null;
+        try {
+            System.out.println("Generated SQL Query: " + plan.sql);
+            stmt = prepareCached(plan.sql);
+            bindTypedValues(stmt, plan, filterValues != null ? filterValues : new String[0],
+                            filterTypes != null ? filterTypes : new String[0]);
+            stmt.setQueryTimeout(getQueryTimeout(queryTimeout));
+            resultset = executeTracked(stmt);
+
+            boolean grouped = plan.groupColumn != null;
+            // COUNT DISTINCT totals are not additive across groups
+            boolean additive = !"COUNT_DISTINCT".equals(plan.aggregate);
+            long total = 0;
+            List<Map<String, Object>> groups = new ArrayList<>();
+            while (resultset.next()) {
+                long value = resultset.getLong("AGG_VALUE");
+                if (grouped) {
+                    if (groups.size() < MAX_ROWS) {
+                        Map<String, Object> group = new HashMap<>();
+                        group.put("group", resultset.getObject(1));
+                        group.put("value", value);
+                        groups.add(group);
+                    }
+                    if (additive) {
+                        total += value;
+                    }
+                } else {
+                    total = value;
+                }
+            }
+
+            result.put("success", true);
+            result.put("aggregate", plan.aggregate);
+            if (grouped) {
+                result.put("groupBy", plan.groupColumn);
+                result.put("groups", groups);
+                result.put("groupCount", groups.size());
+            }
+            if (!grouped || additive) {
+                result.put("value", total);
+            }
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            if (stmt != null) {
+                discardCached(stmt);
+            }
+            result.put("success", false);
+            result.put("timedOut", isQueryTimeout(ex));
+            result.put("cancelled", cancelRequested);
+            result.put("error", ex.getMessage());
+        } finally {
+            runningStatement = null;
+            try {
+                if (resultset != null)
+                    resultset.close();
+            } catch (SQLException e) {
+                // Log error
+            }
+        }
         return result;
     }
 
+    /**
+     * Cached aggregate plan on top of a typed plan:
+     * SELECT [group,] COUNT(*) | COUNT(DISTINCT column) AGG_VALUE FROM t WHERE filters
+     * [GROUP BY group ORDER BY AGG_VALUE DESC, group]
+     */
+    private SqlPlan getAggregateSqlPlan(String actionType, String[] filterAttributes, String[] filterOperations,
+                                        String aggregate, String aggregateColumn, String groupByColumn) {
+        String function = aggregate == null || aggregate.trim().isEmpty() ? "COUNT" : aggregate.trim().toUpperCase();
+        String expression;
+        if ("COUNT".equals(function)) {
+            expression = "COUNT(*)";
+        } else if ("COUNT_DISTINCT".equals(function)) {
+            expression = "COUNT(DISTINCT " + checkColumnName(aggregateColumn) + ")";
+        } else {
+            throw new IllegalArgumentException("Unsupported aggregate: " + aggregate);
+        }
+        String group =
+            groupByColumn == null || groupByColumn.trim().isEmpty() ? null : checkColumnName(groupByColumn);
+
+        SqlPlan typed = getTypedSqlPlan(actionType, filterAttributes, filterOperations, null);
+        String key = "aggregate" + '\u0001' + expression + '\u0001' + group + '\u0001' + typed.sql;
+        SqlPlan plan = SQL_PLANS.get(key);
+        if (plan == null) {
+            StringBuilder sql = new StringBuilder("SELECT ");
+            if (group != null) {
+                sql.append(group).append(", ");
+            }
+            sql.append(expression).append(" AGG_VALUE");
+            sql.append(typed.sql.substring(typed.sql.indexOf(" FROM " + typed.tableName)));
+            if (group != null) {
+                sql.append(" GROUP BY ").append(group).append(" ORDER BY AGG_VALUE DESC, ").append(group);
+            }
+            plan = new SqlPlan(sql.toString(), typed.tableName, typed.bindColumns, typed.between);
+            plan.aggregate = function;
+            plan.groupColumn = group;
+            SQL_PLANS.put(key, plan);
+        }
+        return plan;
+    }
+
+    private static String checkColumnName(String column) {
+        if (column == null || !column.trim().matches("[A-Za-z][A-Za-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid column: " + column);
+        }
+        return column.trim().toUpperCase();
+    }
+
+    /**
+     * Column that pages are ordered by ahead of ROWID (it must be NOT NULL), or null to page by ROWID only
+     */
+    private static String getPageSortColumn(String tableName) {
+        return "CCT_CONTRACTS_TMG".equals(tableName) ? "AWARD_NUMBER" : null;
+    }
+
+    private SqlPlan createSqlPlan(String actionType, String[] attributes, String[] operations, String displayColumns,
+                                  boolean expandBetween) {
+        StringBuilder sql = new StringBuilder();
+
+        // SELECT clause
+        sql.append("SELECT ");
+        if (displayColumns != null && !displayColumns.trim().isEmpty()) {
+            sql.append(displayColumns);
+        } else {
+            sql.append("*");
+        }
+
+        // FROM clause based on action type
+        sql.append(" FROM ");
+        String tableName = getTableNameByActionType(actionType);
+        sql.append(tableName);
+
+        // WHERE clause - bind parameters per filter column, in order
+        List<String> bindColumns = new ArrayList<>();
+        boolean[] between = new boolean[attributes != null ? attributes.length : 0];
+
+        if (attributes != null && attributes.length > 0) {
+            sql.append(" WHERE ");
+            for (int i = 0; i < attributes.length; i++) {
+                if (i > 0)
+                    sql.append(" AND ");
+                String operation = (operations != null && i < operations.length) ? operations[i] : "=";
+                sql.append(attributes[i].trim())
+                   .append(" ")
+                   .append(operation)
+                   .append(" ?");
+                bindColumns.add(attributes[i].trim());
+                if (expandBetween && "BETWEEN".equals(operation)) {
+                    sql.append(" AND ?");
+                    between[i] = true;
+                }
+            }
+        }
+
+        return new SqlPlan(sql.toString(), tableName, bindColumns, between);
+    }
+
     private String getTableNameByActionType(String actionType) {
         switch (actionType) {
         case "contracts_by_contractnumber":
@@ -209,83 +560,340 @@ System.out.println("Count of rows==============>"+columnCount);
         }
     }
 
+    /**
+     * Run the cached plan for a query shape with comma-joined filters. queryTimeout is in seconds,
+     * null for the default.
+     */
     public Map<String, Object> executeNLPQuery(String actionType, String filterAttributes, String filterValues,
-                                               String filterOperations, String displayColumns) {
+                                               String filterOperations, String displayColumns,
+                                               Integer queryTimeout) {
         System.out.println("===============executeDynamicQuery============= actionType" + actionType +
                            "===========filterAttributes" + filterAttributes + "============filterValues" +
                            filterValues);
-        Map<String, Object> result = new HashMap<>();
-        PreparedStatement stmt = null;
-        ResultSet resultset = null;
+        // SQL for this query shape - generated once and reused from SQL_PLANS
+        SqlPlan plan;
+        try {
+            plan = getSqlPlan(actionType, filterAttributes, filterOperations, displayColumns);
+        } catch (Exception e) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("error", "SQL building failed: " + e.getMessage());
+            return result;
+        }
+        String[] values =
+            filterValues != null && !filterValues.trim().isEmpty() ? filterValues.split(",") : new String[0];
+        String[] attributes = filterAttributes != null ? filterAttributes.split(",") : new String[0];
+        String[] operations = filterOperations != null ? filterOperations.split(",") : null;
+        String contractNumber = getCachedContractNumber(actionType, attributes, operations, values);
+        int timeout = getQueryTimeout(queryTimeout);
+        if (contractNumber == null) {
+            return executePlan(plan, values, null, null, 0, null, timeout);
+        }
+        String key = ContractQueryCache.key(actionType, contractNumber, displayColumns, "nlp");
+        Map<String, Object> cached = ContractQueryCache.getInstance().get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, Object> result = executePlan(plan, values, null, null, 0, null, timeout);
+        ContractQueryCache.getInstance().put(key, contractNumber, result);
+        return result;
+    }
 
+    /**
+     * executeNLPQuery with one array entry per filter instead of comma-joined strings, so values may
+     * contain commas. Each value is bound with its column type (NUMBER, DATE or VARCHAR; DATE values
+     * as yyyy-MM-dd) so Oracle can compare against the column without converting it. A BETWEEN value
+     * holds both bounds as "low AND high". queryTimeout is in seconds, null for the default.
+     */
+    public Map<String, Object> executeTypedNLPQuery(String actionType, String[] filterAttributes,
+                                                    String[] filterOperations, String[] filterValues,
+                                                    String[] filterTypes, String displayColumns,
+                                                    Integer queryTimeout) {
+        System.out.println("===============executeTypedNLPQuery============= actionType" + actionType +
+                           "===========filterAttributes" + Arrays.toString(filterAttributes) +
+                           "============filterValues" + Arrays.toString(filterValues));
+        SqlPlan plan;
         try {
-            // Build SQL using existing method
-            Map<String, Object> sqlResult =
-                buildDynamicSQL(actionType, filterAttributes, filterValues, filterOperations, displayColumns);
+            plan = getTypedSqlPlan(actionType, filterAttributes, filterOperations, displayColumns);
+        } catch (Exception e) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("error", "SQL building failed: " + e.getMessage());
+            return result;
+        }
+        String[] values = filterValues != null ? filterValues : new String[0];
+        String[] types = filterTypes != null ? filterTypes : new String[0];
+        String contractNumber = getCachedContractNumber(actionType, filterAttributes, filterOperations, values);
+        int timeout = getQueryTimeout(queryTimeout);
+        if (contractNumber == null) {
+            return executePlan(plan, values, types, null, 0, null, timeout);
+        }
+        String key = ContractQueryCache.key(actionType, contractNumber, displayColumns, "typed");
+        Map<String, Object> cached = ContractQueryCache.getInstance().get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, Object> result = executePlan(plan, values, types, null, 0, null, timeout);
+        ContractQueryCache.getInstance().put(key, contractNumber, result);
+        return result;
+    }
 
-            if (!(Boolean) sqlResult.get("success")) {
-                result.put("success", false);
-                result.put("error", "SQL building failed: " + sqlResult.get("error"));
-                return result;
+    /**
+     * executeTypedNLPQuery that hands each row to handler while the result set is read instead of
+     * returning them, so a formatter can render thousands of contracts without holding the list.
+     * The result has no "data" entry; "rowCount" is the number of rows handed over. Rows are map
+     * views over the row values and remain valid after the call.
+     */
+    public Map<String, Object> streamTypedNLPQuery(String actionType, String[] filterAttributes,
+                                                   String[] filterOperations, String[] filterValues,
+                                                   String[] filterTypes, String displayColumns,
+                                                   QueryRows.RowHandler handler) {
+        if (handler == null) {
+            throw new IllegalArgumentException("Row handler is required");
+        }
+        SqlPlan plan;
+        try {
+            plan = getTypedSqlPlan(actionType, filterAttributes, filterOperations, displayColumns);
+        } catch (Exception e) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("error", "SQL building failed: " + e.getMessage());
+            return result;
+        }
+        return executePlan(plan, filterValues != null ? filterValues : new String[0],
+                           filterTypes != null ? filterTypes : new String[0], handler, 0, null);
+    }
+
+    /**
+     * One page of executeTypedNLPQuery. Rows are ordered by a key (AWARD_NUMBER then ROWID for
+     * contracts, ROWID otherwise) and each page continues after the last key of the previous one,
+     * so the database never reads the rows of earlier pages again.
+     * Pass pageToken null for the first page, then the "nextPageToken" of the previous result;
+     * "hasMore" tells whether there is another page. queryTimeout as in executeDynamicQuery.
+     */
+    public Map<String, Object> executePagedNLPQuery(String actionType, String[] filterAttributes,
+                                                    String[] filterOperations, String[] filterValues,
+                                                    String[] filterTypes, String displayColumns, Integer pageSize,
+                                                    String pageToken, Integer queryTimeout) {
+        System.out.println("===============executePagedNLPQuery============= actionType" + actionType +
+                           "===========pageSize" + pageSize + "============pageToken" + pageToken);
+        int size = pageSize == null || pageSize <= 0 ? MAX_ROWS : Math.min(pageSize, MAX_ROWS);
+        boolean continuation = pageToken != null && !pageToken.isEmpty();
+        SqlPlan plan;
+        try {
+            plan = getPagedSqlPlan(actionType, filterAttributes, filterOperations, displayColumns, continuation);
+        } catch (Exception e) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("error", "SQL building failed: " + e.getMessage());
+            return result;
+        }
+        String[] values = filterValues != null ? filterValues : new String[0];
+        String[] types = filterTypes != null ? filterTypes : new String[0];
+        if ("update_contract".equals(actionType)) {
+            // The contract is about to change - later lookups must not be served the old version
+            invalidateUpdatedContract(filterAttributes, values);
+        }
+        String contractNumber = getCachedContractNumber(actionType, filterAttributes, filterOperations, values);
+        int timeout = getQueryTimeout(queryTimeout);
+        if (contractNumber == null) {
+            return executePlan(plan, values, types, null, size, pageToken, timeout);
+        }
+        String key =
+            ContractQueryCache.key(actionType, contractNumber, displayColumns,
+                                   "page:" + size + ":" + (continuation ? pageToken : ""));
+        Map<String, Object> cached = ContractQueryCache.getInstance().get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, Object> result = executePlan(plan, values, types, null, size, pageToken, timeout);
+        ContractQueryCache.getInstance().put(key, contractNumber, result);
+        return result;
+    }
+
+    // Actions whose single-contract results go through ContractQueryCache, and the contract number columns
+    private static final Set<String> CACHED_CONTRACT_ACTIONS =
+        new HashSet<>(Arrays.asList("contracts_by_contractnumber", "parts_by_contract_number",
+                                    "parts_failed_by_contract_number"));
+    private static final Set<String> CONTRACT_NUMBER_COLUMNS =
+        new HashSet<>(Arrays.asList("AWARD_NUMBER", "LOADED_CP_NUMBER", "CONTRACT_NO"));
+
+    /**
+     * Contract number when the query is a cacheable single-contract lookup (one "=" filter on a
+     * contract number column), otherwise null
+     */
+    private static String getCachedContractNumber(String actionType, String[] attributes, String[] operations,
+                                                  String[] values) {
+        if (!CACHED_CONTRACT_ACTIONS.contains(actionType) || attributes == null || attributes.length != 1 ||
+            values == null || values.length != 1 || values[0] == null) {
+            return null;
+        }
+        String operation = operations != null && operations.length > 0 && operations[0] != null ? operations[0].trim() : "=";
+        if (!"=".equals(operation) || attributes[0] == null ||
+            !CONTRACT_NUMBER_COLUMNS.contains(attributes[0].trim().toUpperCase())) {
+            return null;
+        }
+        String contractNumber = unquote(values[0].trim()).trim();
+        return contractNumber.isEmpty() ? null : contractNumber;
+    }
+
+    private static void invalidateUpdatedContract(String[] attributes, String[] values) {
+        for (int i = 0; attributes != null && i < attributes.length && i < values.length; i++) {
+            if (attributes[i] != null && CONTRACT_NUMBER_COLUMNS.contains(attributes[i].trim().toUpperCase()) &&
+                values[i] != null) {
+                ContractQueryCache.getInstance().invalidate(unquote(values[i].trim()).trim());
             }
+        }
+    }
+
+    /**
+     * Drop the cached lookups of one contract, for writers that change it outside this module
+     */
+    public Map<String, Object> invalidateContractCache(String awardNumber) {
+        ContractQueryCache.getInstance().invalidate(awardNumber);
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", true);
+        return result;
+    }
+
+    /**
+     * Size and hit/miss counters of the contract lookup cache
+     */
+    public Map<String, Object> getContractCacheStatistics() {
+        Map<String, Object> result = new HashMap<>(ContractQueryCache.getInstance().getStatistics());
+        result.put("success", true);
+        return result;
+    }
 
-            String sqlQuery = (String) sqlResult.get("sqlQuery");
+    /**
+     * Run a plan. Without types every value is bound as a string (the comma-joined API); with types,
+     * values are bound per filter using setParameterByType. Rows are collected into a QueryRows
+     * result, or passed to handler when one is given. For a paged plan at most pageSize rows are
+     * returned, starting after pageToken. queryTimeout is in seconds.
+     */
+    private Map<String, Object> executePlan(SqlPlan plan, String[] values, String[] types,
+                                            QueryRows.RowHandler handler, int pageSize, String pageToken) {
+        return executePlan(plan, values, types, handler, pageSize, pageToken, QUERY_TIMEOUT);
+    }
+
+    private Map<String, Object> executePlan(SqlPlan plan, String[] values, String[] types,
+                                            QueryRows.RowHandler handler, int pageSize, String pageToken,
+                                            int queryTimeout) {
+        Map<String, Object> result = new HashMap<>();
+        PreparedStatement stmt = null;
+        ResultSet resultset = null;
+
+        try {
+            String sqlQuery = plan.sql;
             System.out.println("Generated SQL Query: " + sqlQuery);
 
-            // Execute query
-            stmt = getDBTransaction().createPreparedStatement(sqlQuery, 0);
+            // Execute query - the statement stays open in statementCache for the next query of this shape
+            stmt = prepareCached(sqlQuery);
 
             // Set parameters
-            if (filterValues != null && !filterValues.trim().isEmpty()) {
-                String[] values = filterValues.split(",");
+            if (types == null) {
                 for (int i = 0; i < values.length; i++) {
                     stmt.setString(i + 1, values[i].trim());
                 }
+            } else {
+                int index = bindTypedValues(stmt, plan, values, types);
+                if (plan.paged) {
+                    if (plan.continuation) {
+                        // Token is "rowid:sortKey" (or just the rowid when there is no sort column)
+                        int separator = pageToken.indexOf(':');
+                        String rowId = separator < 0 ? pageToken : pageToken.substring(0, separator);
+                        if (plan.pageSortColumn != null) {
+                            if (separator < 0) {
+                                throw new IllegalArgumentException("Invalid page token: " + pageToken);
+                            }
+                            String sortKey = pageToken.substring(separator + 1);
+                            stmt.setString(index++, sortKey);
+                            stmt.setString(index++, sortKey);
+                        }
+                        stmt.setString(index++, rowId);
+                    }
+                    // One extra row tells whether there is a next page
+                    stmt.setInt(index++, pageSize + 1);
+                }
             }
 
-            resultset = stmt.executeQuery();
-
-            // Convert ResultSet to List of Maps (raw data - no formatting)
-            List<Map<String, Object>> dataRows = new ArrayList<>();
+            stmt.setQueryTimeout(queryTimeout);
+            resultset = executeTracked(stmt);
 
-            // Get column names
-            java.sql.ResultSetMetaData metaData = resultset.getMetaData();
-            int columnCount = metaData.getColumnCount();
-            List<String> columnNames = new ArrayList<>();
-
-            for (int i = 1; i <= columnCount; i++) {
-                columnNames.add(metaData.getColumnName(i));
+            // Get column names - read from the metadata on the first execution of the plan only.
+            // The page key columns come last and are not part of the result.
+            List<String> columnNames = plan.columnNames;
+            if (columnNames == null) {
+                java.sql.ResultSetMetaData metaData = resultset.getMetaData();
+                int columnCount = metaData.getColumnCount() - plan.pageKeyColumns;
+                columnNames = new ArrayList<>(columnCount);
+                for (int i = 1; i <= columnCount; i++) {
+                    columnNames.add(metaData.getColumnName(i));
+                }
+                columnNames = Collections.unmodifiableList(columnNames);
+                plan.columnNames = columnNames;
             }
 
-            // Get data rows
+            // Get data rows (raw data - no formatting), reading each column by index
+            QueryRows dataRows = new QueryRows(columnNames);
+            int columnCount = columnNames.size();
+            int rowCount = 0;
+            boolean hasMore = false;
+            String lastPageToken = null;
             while (resultset.next()) {
-                Map<String, Object> row = new HashMap<>();
-                for (String columnName : columnNames) {
-                    Object value = resultset.getObject(columnName);
-                    row.put(columnName, value != null ? value.toString() : "N/A");
+                if (plan.paged && rowCount == pageSize) {
+                    hasMore = true;
+                    break;
+                }
+                if (plan.paged) {
+                    String rowId = resultset.getString(columnCount + 1);
+                    lastPageToken =
+                        plan.pageSortColumn != null ? rowId + ":" + resultset.getString(columnCount + 2) : rowId;
+                }
+                Object[] row = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    Object value = resultset.getObject(i + 1);
+                    row[i] = value != null ? value.toString() : "N/A";
+                }
+                rowCount++;
+                if (handler == null) {
+                    dataRows.addRow(row);
+                } else if (!handler.handleRow(dataRows.view(row))) {
+                    break;
                 }
-                dataRows.add(row);
             }
 
             result.put("success", true);
-            result.put("data", dataRows);
-            result.put("columnNames", columnNames);
-            result.put("rowCount", dataRows.size());
+            if (handler == null) {
+                result.put("data", dataRows);
+            }
+            result.put("columnNames", new ArrayList<>(columnNames));
+            result.put("rowCount", rowCount);
             result.put("sqlQuery", sqlQuery);
+            if (plan.paged) {
+                result.put("pageSize", pageSize);
+                result.put("hasMore", hasMore);
+                result.put("nextPageToken", hasMore ? lastPageToken : null);
+            }
 
         } catch (Exception ex) {
             ex.printStackTrace();
+            // The statement may be unusable after a failure - do not hand it out again
+            if (stmt != null) {
+                discardCached(stmt);
+            }
             result.put("success", false);
+            result.put("timedOut", isQueryTimeout(ex));
+            result.put("cancelled", cancelRequested);
             result.put("error", ex.getMessage());
             result.put("data", new ArrayList<>());
             result.put("columnNames", new ArrayList<>());
             result.put("rowCount", 0);
         } finally {
+            runningStatement = null;
             try {
                 if (resultset != null)
                     resultset.close();
-                if (stmt != null)
-                    stmt.close();
             } catch (Exception e) {
                 e.printStackTrace();
             }
@@ -294,6 +902,151 @@ System.out.println("Count of rows==============>"+columnCount);
         return result;
     }
 
+    /**
+     * "'2024-01-01' AND '2024-12-31'" -> both bounds without quotes
+     */
+    private static String[] splitBetween(String value) {
+        String[] bounds = value == null ? new String[0] : value.split("(?i)\\s+AND\\s+", 2);
+        if (bounds.length != 2) {
+            throw new IllegalArgumentException("BETWEEN value needs two bounds: " + value);
+        }
+        return new String[] { unquote(bounds[0]), unquote(bounds[1]) };
+    }
+
+    private static String unquote(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("'") && trimmed.endsWith("'")) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    /**
+     * Prepared statement for sql from this module's statement cache, with parameters cleared
+     */
+    private PreparedStatement prepareCached(String sql) throws SQLException {
+        PreparedStatement stmt = statementCache.get(sql);
+        if (stmt != null) {
+            if (!stmt.isClosed()) {
+                stmt.clearParameters();
+                return stmt;
+            }
+            statementCache.remove(sql);
+        }
+        stmt = getDBTransaction().createPreparedStatement(sql, 0);
+        stmt.setFetchSize(FETCH_SIZE);
+        statementCache.put(sql, stmt);
+        return stmt;
+    }
+
+    /**
+     * Timeout in seconds for a query: the caller's, or QUERY_TIMEOUT when it passes none
+     */
+    private static int getQueryTimeout(Integer queryTimeout) {
+        return queryTimeout != null && queryTimeout > 0 ? queryTimeout : QUERY_TIMEOUT;
+    }
+
+    /**
+     * Execute stmt as this module's running statement; the caller clears runningStatement once the
+     * result set is read
+     */
+    private ResultSet executeTracked(PreparedStatement stmt) throws SQLException {
+        cancelRequested = false;
+        runningStatement = stmt;
+        return stmt.executeQuery();
+    }
+
+    /**
+     * Stop the query this module is running (the user said "cancel" while it runs). The stopped query
+     * returns success=false and "cancelled"=true; "cancelled" here is false when nothing was running.
+     */
+    public Map<String, Object> cancelRunningQuery() {
+        Map<String, Object> result = new HashMap<>();
+        PreparedStatement stmt = runningStatement;
+        boolean cancelled = false;
+        if (stmt != null) {
+            try {
+                cancelRequested = true;
+                stmt.cancel();
+                cancelled = true;
+            } catch (SQLException e) {
+                result.put("error", e.getMessage());
+            }
+        }
+        result.put("success", true);
+        result.put("cancelled", cancelled);
+        return result;
+    }
+
+    /**
+     * The statement was stopped by its query timeout (ORA-01013 from drivers that do not throw
+     * SQLTimeoutException, unless cancelRunningQuery stopped it)
+     */
+    private boolean isQueryTimeout(Exception ex) {
+        return ex instanceof SQLTimeoutException ||
+               (ex instanceof SQLException && ((SQLException) ex).getErrorCode() == 1013 && !cancelRequested);
+    }
+
+    private void discardCached(PreparedStatement stmt) {
+        Iterator<PreparedStatement> iterator = statementCache.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() == stmt) {
+                iterator.remove();
+                break;
+            }
+        }
+        closeQuietly(stmt);
+    }
+
+    private void closeCachedStatements() {
+        for (PreparedStatement stmt : statementCache.values()) {
+            closeQuietly(stmt);
+        }
+        statementCache.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            // already unusable
+        }
+    }
+
+    /**
+     * SQL generated for one query shape, its bind parameters and the result columns
+     */
+    private static class SqlPlan {
+        final String sql;
+        final String tableName;
+        // Filter column for each filter, in order
+        final List<String> bindColumns;
+        final int parameterCount;
+        // Filters bound as two parameters (BETWEEN ? AND ?)
+        final boolean[] between;
+        // Result column names, filled in by the first execution
+        volatile List<String> columnNames;
+        // Keyset pagination (set once by createPagedSqlPlan before the plan is shared)
+        boolean paged;
+        boolean continuation;
+        String pageSortColumn;
+        int pageKeyColumns;
+        // Aggregate plans (set once by getAggregateSqlPlan): COUNT or COUNT_DISTINCT, and the group column
+        String aggregate;
+        String groupColumn;
+
+        SqlPlan(String sql, String tableName, List<String> bindColumns, boolean[] between) {
+            this.sql = sql;
+            this.tableName = tableName;
+            this.bindColumns = Collections.unmodifiableList(bindColumns);
+            this.parameterCount = bindColumns.size();
+            this.between = between;
+        }
+    }
+
     public Map pullContractDatesByAwardNumber(String awardNumber) {
         Map<String, Object> response = new HashMap<>();
         Map<String, String> dates = new HashMap<>();
@@ -367,6 +1120,21 @@ System.out.println("Count of rows==============>"+columnCount);
     }
 
     public Map pullContractsByFilters(String userName, List dateFilters, String query) {
+        return pullContractsByAwardRep(query, null);
+    }
+
+    /**
+     * pullContractsByFilters for a query with bind parameters (all bound as strings), e.g. the
+     * award-number list produced by the view's award rep index
+     */
+    public Map pullContractsByAwardNumbers(String query, String[] paramValues) {
+        return pullContractsByAwardRep(query, paramValues);
+    }
+
+    /**
+     * Contracts from query grouped by AWARD_REP
+     */
+    private Map pullContractsByAwardRep(String query, String[] paramValues) {
         Map<String, List> result = new HashMap<>();
         PreparedStatement stmt = null;
         ResultSet resultset = null;
@@ -374,7 +1142,16 @@ System.out.println("Count of rows==============>"+columnCount);
 
         try {
             stmt = getDBTransaction().createPreparedStatement(query, 0);
-            resultset = stmt.executeQuery();
+            // Grouped by user, so all rows are needed - but never more than MAX_ROWS of them
+            stmt.setMaxRows(MAX_ROWS);
+            stmt.setFetchSize(FETCH_SIZE);
+            stmt.setQueryTimeout(QUERY_TIMEOUT);
+            if (paramValues != null) {
+                for (int i = 0; i < paramValues.length; i++) {
+                    stmt.setString(i + 1, paramValues[i]);
+                }
+            }
+            resultset = executeTracked(stmt);
 
             while (resultset.next()) { // Changed from 'if' to 'while'
                 Map data = new HashMap();
@@ -422,6 +1199,7 @@ System.out.println("Count of rows==============>"+columnCount);
         } catch (SQLException ex) {
             ex.printStackTrace();
         } finally {
+            runningStatement = null;
             try {
                 if (resultset != null)
                     resultset.close();
@@ -435,36 +1213,33 @@ System.out.println("Count of rows==============>"+columnCount);
         return result;
     }
 
+    // Active customer lookup; the WHERE clause is completed by each caller
+    private static final String CUSTOMER_QUERY =
+        "SELECT CUST_ID, CUSTOMER_NO, CUSTOMER_NAME, ACCOUNT_TYPE, " +
+        "SALES_REP_ID, SALES_OWNER, SALES_TEAM, SALES_MANAGER, " +
+        "CURRENCY_CODE, PAYMENT_TERMS, IS_ACTIVE, AWARDREP " + "FROM HR.CCT_CUTSOMERS_TGM " +
+        "WHERE IS_ACTIVE = 'Y'";
+    private static final String[] CUSTOMER_COLUMNS = {
+        "CUST_ID", "CUSTOMER_NO", "CUSTOMER_NAME", "ACCOUNT_TYPE", "SALES_REP_ID", "SALES_OWNER", "SALES_TEAM",
+        "SALES_MANAGER", "CURRENCY_CODE", "PAYMENT_TERMS", "AWARDREP"
+    };
+    // Oracle allows at most 1000 entries in an IN list
+    private static final int MAX_IN_LIST = 1000;
+
     public Map<String, Object> pullCustomerDetails(String customerNumber) {
         System.out.println("pullCustomerDetails===================>"+customerNumber);
         Map<String, Object> result = new HashMap<>();
         PreparedStatement stmt = null;
         ResultSet resultset = null;
 
-        String query =
-            "SELECT CUST_ID, CUSTOMER_NO, CUSTOMER_NAME, ACCOUNT_TYPE, " +
-            "SALES_REP_ID, SALES_OWNER, SALES_TEAM, SALES_MANAGER, " +
-            "CURRENCY_CODE, PAYMENT_TERMS, IS_ACTIVE, AWARDREP " + "FROM HR.CCT_CUTSOMERS_TGM " +
-            "WHERE CUSTOMER_NO = ? AND IS_ACTIVE = 'Y'";
-
         try {
-            stmt = getDBTransaction().createPreparedStatement(query, 0);
+            stmt = prepareCached(CUSTOMER_QUERY + " AND CUSTOMER_NO = ?");
             stmt.setString(1, customerNumber);
             resultset = stmt.executeQuery();
 
             if (resultset.next()) {
                 result.put("exists", true);
-                result.put("CUST_ID", resultset.getString("CUST_ID"));
-                result.put("CUSTOMER_NO", resultset.getString("CUSTOMER_NO"));
-                result.put("CUSTOMER_NAME", resultset.getString("CUSTOMER_NAME"));
-                result.put("ACCOUNT_TYPE", resultset.getString("ACCOUNT_TYPE"));
-                result.put("SALES_REP_ID", resultset.getString("SALES_REP_ID"));
-                result.put("SALES_OWNER", resultset.getString("SALES_OWNER"));
-                result.put("SALES_TEAM", resultset.getString("SALES_TEAM"));
-                result.put("SALES_MANAGER", resultset.getString("SALES_MANAGER"));
-                result.put("CURRENCY_CODE", resultset.getString("CURRENCY_CODE"));
-                result.put("PAYMENT_TERMS", resultset.getString("PAYMENT_TERMS"));
-                result.put("AWARDREP", resultset.getString("AWARDREP"));
+                result.putAll(readCustomer(resultset));
             } else {
                 result.put("exists", false);
                 result.put("message", "Customer number " + customerNumber + " not found or inactive");
@@ -472,8 +1247,89 @@ System.out.println("Count of rows==============>"+columnCount);
 
         } catch (SQLException ex) {
             ex.printStackTrace();
+            if (stmt != null) {
+                discardCached(stmt);
+            }
             result.put("exists", false);
             result.put("error", "Database error: " + ex.getMessage());
+        } finally {
+            try {
+                if (resultset != null)
+                    resultset.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * pullCustomerDetails for many account numbers in one round trip per 1000 numbers.
+     * "customers" maps each active customer found to its details; numbers that are missing from
+     * it are unknown or inactive.
+     */
+    public Map<String, Object> pullCustomerDetailsBulk(String[] customerNumbers) {
+        Map<String, Object> result = new HashMap<>();
+        Map<String, Map<String, Object>> customers = new HashMap<>();
+        try {
+            int count = customerNumbers != null ? customerNumbers.length : 0;
+            for (int start = 0; start < count; start += MAX_IN_LIST) {
+                int end = Math.min(start + MAX_IN_LIST, count);
+                StringBuilder sql = new StringBuilder(CUSTOMER_QUERY).append(" AND CUSTOMER_NO IN (");
+                for (int i = start; i < end; i++) {
+                    sql.append(i > start ? ", ?" : "?");
+                }
+                sql.append(")");
+                readCustomers(sql.toString(), Arrays.copyOfRange(customerNumbers, start, end), 0, customers);
+            }
+            result.put("success", true);
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            result.put("success", false);
+            result.put("error", "Database error: " + ex.getMessage());
+        }
+        result.put("customers", customers);
+        return result;
+    }
+
+    /**
+     * Up to maxRows active customers (MAX_ROWS when null), for preloading a customer cache
+     */
+    public Map<String, Object> pullActiveCustomers(Integer maxRows) {
+        Map<String, Object> result = new HashMap<>();
+        Map<String, Map<String, Object>> customers = new HashMap<>();
+        try {
+            readCustomers(CUSTOMER_QUERY, new String[0], maxRows != null && maxRows > 0 ? maxRows : MAX_ROWS,
+                          customers);
+            result.put("success", true);
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            result.put("success", false);
+            result.put("error", "Database error: " + ex.getMessage());
+        }
+        result.put("customers", customers);
+        return result;
+    }
+
+    private void readCustomers(String sql, String[] params, int maxRows,
+                               Map<String, Map<String, Object>> customers) throws SQLException {
+        PreparedStatement stmt = null;
+        ResultSet resultset = null;
+        try {
+            stmt = getDBTransaction().createPreparedStatement(sql, 0);
+            stmt.setFetchSize(FETCH_SIZE);
+            if (maxRows > 0) {
+                stmt.setMaxRows(maxRows);
+            }
+            for (int i = 0; i < params.length; i++) {
+                stmt.setString(i + 1, params[i]);
+            }
+            resultset = stmt.executeQuery();
+            while (resultset.next()) {
+                Map<String, Object> customer = readCustomer(resultset);
+                customers.put((String) customer.get("CUSTOMER_NO"), customer);
+            }
         } finally {
             try {
                 if (resultset != null)
@@ -484,11 +1340,24 @@ System.out.println("Count of rows==============>"+columnCount);
                 e.printStackTrace();
             }
         }
+    }
 
-        return result;
+    private static Map<String, Object> readCustomer(ResultSet resultset) throws SQLException {
+        Map<String, Object> customer = new HashMap<>();
+        for (String column : CUSTOMER_COLUMNS) {
+            customer.put(column, resultset.getString(column));
+        }
+        return customer;
     }
 
 
+    // Columns a caller may set when creating a contract
+    private static final List<String> CONTRACT_CREATE_COLUMNS =
+        Arrays.asList("CUSTOMER_NUMBER", "CONTRACT_NAME", "CUSTOMER_NAME", "PRICE_LIST", "TITLE", "COMMENTS",
+                      "DESCRIPTION");
+    // Rows per JDBC batch in createContractsByBOT; every batch is committed
+    private static final int CONTRACT_BATCH_SIZE = 100;
+
     public Map<String, Object> createContractByBOT(Map<String, Object> contractData, String createdBy) {
         System.out.println("createContractByBOT==============>");
         System.out.println(contractData);
@@ -497,9 +1366,7 @@ System.out.println("Count of rows==============>"+columnCount);
         PreparedStatement stmt = null;
 
         // Define allowed columns
-        List<String> allowedColumns =
-            Arrays.asList("CUSTOMER_NUMBER", "CONTRACT_NAME", "CUSTOMER_NAME", "PRICE_LIST", "TITLE", "COMMENTS",
-                          "DESCRIPTION");
+        List<String> allowedColumns = CONTRACT_CREATE_COLUMNS;
 
         // Build dynamic insert query based on provided data
         StringBuilder columns = new StringBuilder();
@@ -525,26 +1392,22 @@ System.out.println("Count of rows==============>"+columnCount);
             values.append(", ");
         }
         columns.append("AWARD_NUMBER, CREATE_DATE, CREATED_BY, UPDATED_BY, UPDATED_DATE, STATUS");
-        values.append("AWARD_SEQ.NEXTVAL, SYSDATE, ?, ?, SYSDATE, 'IN-PROGRESS'");
-        parameters.add(createdBy);
-        parameters.add(createdBy);
+        values.append("?, SYSDATE, ?, ?, SYSDATE, 'IN-PROGRESS'");
 
         String insertQuery =
             "INSERT INTO HR.CCT_CONTRACTS_TMG (" + columns.toString() + ") VALUES (" + values.toString() + ")";
 
         try {
+            // Allocate the AWARD_NUMBER first so it can be returned and its cached lookups dropped
+            String awardNumber = nextAwardNumbers(1).get(0);
+            parameters.add(awardNumber);
+            parameters.add(createdBy);
+            parameters.add(createdBy);
             stmt = getDBTransaction().createPreparedStatement(insertQuery, 0);
 
             // Set parameters
             for (int i = 0; i < parameters.size(); i++) {
-                Object param = parameters.get(i);
-                if (param != null && param.equals("nocomments")) {
-                    stmt.setNull(i + 1, java.sql
-                                            .Types
-                                            .VARCHAR);
-                } else {
-                    stmt.setObject(i + 1, param);
-                }
+                setContractParameter(stmt, i + 1, parameters.get(i));
             }
 
             int rowsInserted = stmt.executeUpdate();
@@ -552,9 +1415,10 @@ System.out.println("Count of rows==============>"+columnCount);
 
             if (rowsInserted > 0) {
                 getDBTransaction().commit();
+                ContractQueryCache.getInstance().invalidate(awardNumber);
                 result.put("success", true);
                 result.put("message", "Contract created successfully");
-                result.put("contract", "100475");
+                result.put("contract", awardNumber);
             } else {
                 result.put("success", false);
                 result.put("message", "Failed to create contract");
@@ -577,5 +1441,189 @@ System.out.println("Count of rows==============>"+columnCount);
         return result;
     }
 
+    /**
+     * Create many contracts in JDBC batches. Each contract map is checked against the allowed
+     * columns; rows with the same column set share one INSERT and are sent CONTRACT_BATCH_SIZE at
+     * a time, with a commit after each batch. AWARD_NUMBERs are taken from AWARD_SEQ in one query
+     * per batch. When a batch fails, its rows are retried one by one so only the bad rows fail.
+     * "results" has one entry per input row: index, success and AWARD_NUMBER or error.
+     */
+    public Map<String, Object> createContractsByBOT(List<Map<String, Object>> contracts, String createdBy) {
+        System.out.println("createContractsByBOT==============> rows: " + (contracts != null ? contracts.size() : 0));
+        Map<String, Object> result = new HashMap<>();
+        int count = contracts != null ? contracts.size() : 0;
+        List<Map<String, Object>> outcomes = new ArrayList<>(count);
+
+        // Row indexes by column set, in input order
+        Map<List<String>, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> outcome = new HashMap<>();
+            outcome.put("index", i);
+            outcomes.add(outcome);
+            List<String> columns = contractColumns(contracts.get(i));
+            if (columns.isEmpty()) {
+                outcome.put("success", false);
+                outcome.put("error", "No contract columns; allowed: " + CONTRACT_CREATE_COLUMNS);
+                continue;
+            }
+            List<Integer> rows = groups.get(columns);
+            if (rows == null) {
+                rows = new ArrayList<>();
+                groups.put(columns, rows);
+            }
+            rows.add(i);
+        }
+
+        try {
+            for (Map.Entry<List<String>, List<Integer>> group : groups.entrySet()) {
+                insertContractGroup(group.getKey(), group.getValue(), contracts, createdBy, outcomes);
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            result.put("error", "Database error: " + ex.getMessage());
+            for (Map<String, Object> outcome : outcomes) {
+                if (!outcome.containsKey("success")) {
+                    outcome.put("success", false);
+                    outcome.put("error", "Not processed: " + ex.getMessage());
+                }
+            }
+        }
+
+        int created = 0;
+        for (Map<String, Object> outcome : outcomes) {
+            if (Boolean.TRUE.equals(outcome.get("success"))) {
+                created++;
+            }
+        }
+        result.put("success", created == count);
+        result.put("created", created);
+        result.put("failed", count - created);
+        result.put("results", outcomes);
+        result.put("message", created + " of " + count + " contracts created");
+        return result;
+    }
+
+    /**
+     * Allowed columns present in contract, in CONTRACT_CREATE_COLUMNS order
+     */
+    private static List<String> contractColumns(Map<String, Object> contract) {
+        List<String> columns = new ArrayList<>();
+        if (contract != null) {
+            for (String column : CONTRACT_CREATE_COLUMNS) {
+                if (contract.containsKey(column)) {
+                    columns.add(column);
+                }
+            }
+        }
+        return columns;
+    }
+
+    private void insertContractGroup(List<String> columns, List<Integer> rows, List<Map<String, Object>> contracts,
+                                     String createdBy, List<Map<String, Object>> outcomes) throws SQLException {
+        StringBuilder insertQuery = new StringBuilder("INSERT INTO HR.CCT_CONTRACTS_TMG (");
+        StringBuilder values = new StringBuilder();
+        for (String column : columns) {
+            insertQuery.append(column).append(", ");
+            values.append("?, ");
+        }
+        insertQuery.append("AWARD_NUMBER, CREATE_DATE, CREATED_BY, UPDATED_BY, UPDATED_DATE, STATUS) VALUES (")
+                   .append(values)
+                   .append("?, SYSDATE, ?, ?, SYSDATE, 'IN-PROGRESS')");
+
+        PreparedStatement stmt = null;
+        try {
+            stmt = getDBTransaction().createPreparedStatement(insertQuery.toString(), 0);
+            for (int start = 0; start < rows.size(); start += CONTRACT_BATCH_SIZE) {
+                List<Integer> batch = rows.subList(start, Math.min(start + CONTRACT_BATCH_SIZE, rows.size()));
+                List<String> awardNumbers = nextAwardNumbers(batch.size());
+                try {
+                    for (int i = 0; i < batch.size(); i++) {
+                        bindContract(stmt, columns, contracts.get(batch.get(i)), awardNumbers.get(i), createdBy);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    getDBTransaction().commit();
+                    for (int i = 0; i < batch.size(); i++) {
+                        Map<String, Object> outcome = outcomes.get(batch.get(i));
+                        outcome.put("success", true);
+                        outcome.put("AWARD_NUMBER", awardNumbers.get(i));
+                        ContractQueryCache.getInstance().invalidate(awardNumbers.get(i));
+                    }
+                } catch (SQLException ex) {
+                    // Find the failing rows: retry the batch row by row
+                    getDBTransaction().rollback();
+                    stmt.clearBatch();
+                    for (int i = 0; i < batch.size(); i++) {
+                        Map<String, Object> outcome = outcomes.get(batch.get(i));
+                        try {
+                            bindContract(stmt, columns, contracts.get(batch.get(i)), awardNumbers.get(i), createdBy);
+                            stmt.executeUpdate();
+                            getDBTransaction().commit();
+                            outcome.put("success", true);
+                            outcome.put("AWARD_NUMBER", awardNumbers.get(i));
+                            ContractQueryCache.getInstance().invalidate(awardNumbers.get(i));
+                        } catch (SQLException rowEx) {
+                            getDBTransaction().rollback();
+                            outcome.put("success", false);
+                            outcome.put("error", "Database error: " + rowEx.getMessage());
+                        }
+                    }
+                }
+            }
+        } finally {
+            if (stmt != null) {
+                closeQuietly(stmt);
+            }
+        }
+    }
+
+    private static void bindContract(PreparedStatement stmt, List<String> columns, Map<String, Object> contract,
+                                     String awardNumber, String createdBy) throws SQLException {
+        int index = 1;
+        for (String column : columns) {
+            setContractParameter(stmt, index++, contract.get(column));
+        }
+        stmt.setString(index++, awardNumber);
+        stmt.setString(index++, createdBy);
+        stmt.setString(index++, createdBy);
+    }
+
+    private static void setContractParameter(PreparedStatement stmt, int index, Object value) throws SQLException {
+        if (value != null && value.equals("nocomments")) {
+            stmt.setNull(index, java.sql
+                                    .Types
+                                    .VARCHAR);
+        } else {
+            stmt.setObject(index, value);
+        }
+    }
+
+    /**
+     * count values from AWARD_SEQ in one round trip
+     */
+    private List<String> nextAwardNumbers(int count) throws SQLException {
+        List<String> awardNumbers = new ArrayList<>(count);
+        PreparedStatement stmt = prepareCached("SELECT AWARD_SEQ.NEXTVAL FROM DUAL CONNECT BY LEVEL <= ?");
+        ResultSet resultset = null;
+        try {
+            stmt.setInt(1, count);
+            resultset = stmt.executeQuery();
+            while (resultset.next()) {
+                awardNumbers.add(resultset.getString(1));
+            }
+        } catch (SQLException ex) {
+            discardCached(stmt);
+            throw ex;
+        } finally {
+            if (resultset != null) {
+                resultset.close();
+            }
+        }
+        if (awardNumbers.size() != count) {
+            throw new SQLException("Expected " + count + " award numbers, got " + awardNumbers.size());
+        }
+        return awardNumbers;
+    }
+
 
 }
@@ -0,0 +1,169 @@
+package com.oracle.model;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-through cache of single-contract query results, shared by all application module instances
+ *
+ * contracts_by_contractnumber, parts_by_contract_number and parts_failed_by_contract_number are the
+ * most frequent actions and keep asking for the same contracts. Results of these actions with one
+ * "=" filter on the contract number column are kept here, keyed by (action type, contract number,
+ * projected columns, call variant), so repeated lookups skip the database.
+ *
+ * Entries expire after -Dnlp.contractCache.ttl milliseconds (default 5 minutes) and the least
+ * recently used entries are dropped beyond MAX_ENTRIES. invalidate(awardNumber) drops every entry
+ * of one contract; AppModuleImpl calls it when contracts are created or opened for update.
+ *
+ * All methods are thread-safe.
+ */
+public class ContractQueryCache {
+
+    public static final int MAX_ENTRIES = 2000;
+    public static final String TTL_PROPERTY = "nlp.contractCache.ttl";
+    public static final long DEFAULT_TTL = 300000; // 5 minutes
+    private static final long TTL = Long.getLong(TTL_PROPERTY, DEFAULT_TTL);
+
+    private static volatile ContractQueryCache instance;
+
+    // Access-ordered: the first entry is the least recently used
+    private final LinkedHashMap<String, CachedResult> entries = new LinkedHashMap<>(64, 0.75f, true);
+    // Contract number -> keys of its entries
+    private final Map<String, Set<String>> keysByContract = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    /**
+     * Get singleton instance
+     */
+    public static ContractQueryCache getInstance() {
+        if (instance == null) {
+            synchronized (ContractQueryCache.class) {
+                if (instance == null) {
+                    instance = new ContractQueryCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static String key(String actionType, String contractNumber, String displayColumns, String variant) {
+        return actionType + "|" + contractNumber + "|" + (displayColumns != null ? displayColumns.trim() : "") + "|" +
+               variant;
+    }
+
+    /**
+     * Copy of the cached result, or null. The copy may be changed by the caller; the rows are read-only.
+     */
+    public synchronized Map<String, Object> get(String key) {
+        CachedResult cached = entries.get(key);
+        if (cached != null && System.currentTimeMillis() - cached.writeTime >= TTL) {
+            remove(key);
+            expirations++;
+            cached = null;
+        }
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        Map<String, Object> result = new HashMap<>(cached.result);
+        result.put("cacheHit", true);
+        return result;
+    }
+
+    /**
+     * Store a successful result whose rows are read-only (QueryRows)
+     */
+    public synchronized void put(String key, String contractNumber, Map<String, Object> result) {
+        if (result == null || !Boolean.TRUE.equals(result.get("success"))) {
+            return;
+        }
+        remove(key);
+        while (entries.size() >= MAX_ENTRIES) {
+            Iterator<String> eldest = entries.keySet().iterator();
+            remove(eldest.next());
+            evictions++;
+        }
+        entries.put(key, new CachedResult(contractNumber, new HashMap<>(result), System.currentTimeMillis()));
+        Set<String> keys = keysByContract.get(contractNumber);
+        if (keys == null) {
+            keys = new HashSet<>();
+            keysByContract.put(contractNumber, keys);
+        }
+        keys.add(key);
+    }
+
+    /**
+     * Drop every cached result of one contract
+     */
+    public synchronized void invalidate(String contractNumber) {
+        if (contractNumber == null) {
+            return;
+        }
+        Set<String> keys = keysByContract.remove(contractNumber.trim());
+        if (keys != null) {
+            for (String key : keys) {
+                entries.remove(key);
+            }
+            invalidations++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        keysByContract.clear();
+    }
+
+    /**
+     * Size and hit/miss/eviction counters
+     */
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long requests = hits + misses;
+        stats.put("size", entries.size());
+        stats.put("contracts", keysByContract.size());
+        stats.put("maximumSize", MAX_ENTRIES);
+        stats.put("ttl", TTL);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hits / requests);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        stats.put("invalidations", invalidations);
+        return stats;
+    }
+
+    private void remove(String key) {
+        CachedResult removed = entries.remove(key);
+        if (removed != null) {
+            Set<String> keys = keysByContract.get(removed.contractNumber);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByContract.remove(removed.contractNumber);
+                }
+            }
+        }
+    }
+
+    private static class CachedResult {
+        final String contractNumber;
+        final Map<String, Object> result;
+        final long writeTime;
+
+        CachedResult(String contractNumber, Map<String, Object> result, long writeTime) {
+            this.contractNumber = contractNumber;
+            this.result = result;
+            this.writeTime = writeTime;
+        }
+    }
+}
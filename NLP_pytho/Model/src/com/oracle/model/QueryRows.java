@@ -0,0 +1,166 @@
+package com.oracle.model;
+
+import java.io.Serializable;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact query result - column names are stored once and each row is a plain value array
+ *
+ * The class is a read-only List of Map rows, so callers that cast the "data"/"rows" result entry
+ * to List<Map<String, Object>> keep working. A row map is only a view over its value array and
+ * is created when the row is read; nothing is copied.
+ *
+ * USAGE:
+ * - getObject(row, column) / getObject(row, columnName) for index-based access without a map
+ * - get(row).get(columnName) for the map view
+ * - RowHandler for streaming: rows are handed over one by one and never collected
+ */
+public class QueryRows extends AbstractList<Map<String, Object>> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] columnNames;
+    // Column name -> index; for a repeated name the last column wins, as with a HashMap row
+    private final LinkedHashMap<String, Integer> columnIndex;
+    private final ArrayList<Object[]> rows = new ArrayList<>();
+
+    public QueryRows(List<String> columnNames) {
+        this.columnNames = columnNames.toArray(new String[columnNames.size()]);
+        this.columnIndex = indexColumns(this.columnNames);
+    }
+
+    /**
+     * Append a row; values are in column order and the array is kept as is
+     */
+    public void addRow(Object[] values) {
+        if (values.length != columnNames.length) {
+            throw new IllegalArgumentException("Expected " + columnNames.length + " values, got " + values.length);
+        }
+        rows.add(values);
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    @Override
+    public Map<String, Object> get(int row) {
+        return new RowView(columnIndex, rows.get(row));
+    }
+
+    public Object getObject(int row, int column) {
+        return rows.get(row)[column];
+    }
+
+    /**
+     * Value of the named column, or null when there is no such column
+     */
+    public Object getObject(int row, String columnName) {
+        int column = getColumnIndex(columnName);
+        return column < 0 ? null : rows.get(row)[column];
+    }
+
+    /**
+     * Index of the named column, or -1
+     */
+    public int getColumnIndex(String columnName) {
+        Integer column = columnIndex.get(columnName);
+        return column == null ? -1 : column;
+    }
+
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(Arrays.asList(columnNames));
+    }
+
+    /**
+     * Map view of a value array with this result's columns, for rows that are not stored
+     */
+    Map<String, Object> view(Object[] values) {
+        return new RowView(columnIndex, values);
+    }
+
+    private static LinkedHashMap<String, Integer> indexColumns(String[] columnNames) {
+        LinkedHashMap<String, Integer> index = new LinkedHashMap<>(columnNames.length * 2);
+        for (int i = 0; i < columnNames.length; i++) {
+            index.put(columnNames[i], i);
+        }
+        return index;
+    }
+
+    /**
+     * Receives rows while the result set is read. Return false to stop reading.
+     */
+    public interface RowHandler {
+        boolean handleRow(Map<String, Object> row);
+    }
+
+    private static class RowView extends AbstractMap<String, Object> {
+        private final Map<String, Integer> columnIndex;
+        private final Object[] values;
+
+        RowView(Map<String, Integer> columnIndex, Object[] values) {
+            this.columnIndex = columnIndex;
+            this.values = values;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Integer column = columnIndex.get(key);
+            return column == null ? null : values[column];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return columnIndex.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return columnIndex.size();
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return new AbstractSet<Map.Entry<String, Object>>() {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    final Iterator<Map.Entry<String, Integer>> columns = columnIndex.entrySet().iterator();
+                    return new Iterator<Map.Entry<String, Object>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return columns.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, Object> next() {
+                            Map.Entry<String, Integer> column = columns.next();
+                            return new AbstractMap.SimpleImmutableEntry<String, Object>(column.getKey(),
+                                                                                        values[column.getValue()]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return columnIndex.size();
+                }
+            };
+        }
+    }
+}
@@ -12,17 +12,45 @@ public interface AppModule extends ApplicationModule {
     Map<String, Object> buildDynamicSQL(String actionType, String filterAttributes, String filterValues,
                                         String filterOperations, String displayColumns);
 
-    Map<String, Object> executeDynamicQuery(String sqlQuery, String[] paramValues, String[] paramTypes);
+    Map<String, Object> executeDynamicQuery(String sqlQuery, String[] paramValues, String[] paramTypes,
+                                            Integer queryTimeout);
 
     Map<String, Object> executeNLPQuery(String actionType, String filterAttributes, String filterValues,
-                                        String filterOperations, String displayColumns);
+                                        String filterOperations, String displayColumns, Integer queryTimeout);
+
+    Map<String, Object> executeTypedNLPQuery(String actionType, String[] filterAttributes, String[] filterOperations,
+                                             String[] filterValues, String[] filterTypes, String displayColumns,
+                                             Integer queryTimeout);
+
+    Map<String, Object> executePagedNLPQuery(String actionType, String[] filterAttributes, String[] filterOperations,
+                                             String[] filterValues, String[] filterTypes, String displayColumns,
+                                             Integer pageSize, String pageToken, Integer queryTimeout);
 
     Map pullContractDatesByAwardNumber(String awardNumber);
 
     Map pullContractsByFilters(String userName, List dateFilters, String query);
 
+    Map pullContractsByAwardNumbers(String query, String[] paramValues);
+
     Map<String, Object> pullCustomerDetails(String customerNumber);
 
+    Map<String, Object> pullCustomerDetailsBulk(String[] customerNumbers);
+
+    Map<String, Object> pullActiveCustomers(Integer maxRows);
+
     Map<String, Object> createContractByBOT(Map<String, Object> contractData, String createdBy);
+
+    Map<String, Object> createContractsByBOT(List<Map<String, Object>> contracts, String createdBy);
+
+    Map<String, Object> invalidateContractCache(String awardNumber);
+
+    Map<String, Object> getContractCacheStatistics();
+
+    Map<String, Object> cancelRunningQuery();
+
+    Map<String, Object> executeAggregateNLPQuery(String actionType, String[] filterAttributes,
+                                                 String[] filterOperations, String[] filterValues,
+                                                 String[] filterTypes, String aggregate, String aggregateColumn,
+                                                 String groupByColumn, Integer queryTimeout);
 }
 
@@ -1,7 +1,8 @@
 package com.oracle.view.deep;
 
+import com.oracle.view.source.BoundedCache;
 import com.oracle.view.source.StandardJSONProcessor;
-import com.oracle.view.source.StandardJSONProcessor.EntityFilter;
+import com.oracle.view.source.EntityFilter;
 import com.oracle.view.source.StandardJSONProcessor.Header;
 import com.oracle.view.source.StandardJSONProcessor.QueryResult;
 
@@ -12,7 +13,13 @@ import java.io.IOException;
 import java.io.PrintWriter;
 
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
@@ -237,9 +244,24 @@ public class ContractsModel {
     private boolean multiIntentEnabled = true;
     private static final String MODEL_VERSION = "2.0.0";
 
-    // Query cache - Using standard Java classes
-    private final Map<String, Map<String, Object>> queryCache = new ConcurrentHashMap<>();
-    private final long CACHE_EXPIRY_TIME = 300000; // 5 minutes
+    // Query cache - bounded by entry count and estimated result size, concurrent misses load once
+    private static final int CACHE_MAX_ENTRIES = 1000;
+    private static final long CACHE_MAX_WEIGHT = 4000000; // estimated characters held by cached results
+    private static final long CACHE_EXPIRY_TIME = 300000; // 5 minutes
+    private final BoundedCache<String, Map<String, Object>> queryCache =
+        new BoundedCache<>(CACHE_MAX_ENTRIES, CACHE_MAX_WEIGHT, CACHE_EXPIRY_TIME, new BoundedCache.Weigher<String, Map<String, Object>>() {
+            @Override
+            public int weigh(String key, Map<String, Object> value) {
+                return key.length() + estimateWeight(value, 0);
+            }
+        });
+
+    // Multi-intent sub-queries are classified in parallel; the caller runs one of them itself and
+    // also runs any that do not fit in the queue. All sub-queries of one request share the deadline.
+    private static final int MULTI_INTENT_THREADS =
+        Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final long MULTI_INTENT_DEADLINE = 2000; // 2 seconds per request
+    private static final ThreadPoolExecutor MULTI_INTENT_EXECUTOR = createMultiIntentExecutor();
 
     /**
      * STATIC INITIALIZATION METHODS - COMPREHENSIVE
@@ -767,17 +789,81 @@ public class ContractsModel {
         }
         subQueries.add(currentQuery);
 
-        // Process each sub-query with preserved context
-        List<Map<String, Object>> subResults = new ArrayList<>();
+        // Each sub-query already carries its context, so they are classified independently and in parallel
+        List<String> plannedQueries = new ArrayList<>();
         for (String subQuery : subQueries) {
             if (!subQuery.isEmpty()) {
-                Map<String, Object> subResult = processSingleIntent(subQuery);
-                subResults.add(subResult);
+                plannedQueries.add(subQuery);
             }
         }
+        List<String> skippedQueries = new ArrayList<>();
+        List<Map<String, Object>> subResults = processSubIntents(plannedQueries, skippedQueries);
 
         // Combine results with enhanced logic
-        return combineMultiIntentResults(subResults, query);
+        Map<String, Object> combined = combineMultiIntentResults(subResults, query);
+        if (!skippedQueries.isEmpty() && !subResults.isEmpty()) {
+            List<String> warnings = new ArrayList<>();
+            for (String skipped : skippedQueries) {
+                warnings.add("Part of the question was not processed: " + skipped);
+            }
+            combined.put("warnings", warnings);
+        }
+        return combined;
+    }
+
+    /**
+     * Results of processSingleIntent for each sub-query, in sub-query order. Sub-queries that fail
+     * or miss MULTI_INTENT_DEADLINE are left out and added to skippedQueries.
+     */
+    private List<Map<String, Object>> processSubIntents(List<String> subQueries, List<String> skippedQueries) {
+        List<Map<String, Object>> results = new ArrayList<>(subQueries.size());
+        if (subQueries.isEmpty()) {
+            return results;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MULTI_INTENT_DEADLINE);
+        List<Future<Map<String, Object>>> pending = new ArrayList<>(subQueries.size() - 1);
+        for (final String subQuery : subQueries.subList(1, subQueries.size())) {
+            pending.add(MULTI_INTENT_EXECUTOR.submit(() -> processSingleIntent(subQuery)));
+        }
+        // The calling thread takes the first sub-query instead of waiting idle
+        results.add(processSingleIntent(subQueries.get(0)));
+
+        for (int i = 0; i < pending.size(); i++) {
+            String subQuery = subQueries.get(i + 1);
+            Future<Map<String, Object>> future = pending.get(i);
+            try {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                skippedQueries.add(subQuery);
+                logger.warning("Multi-intent deadline passed, skipping: " + subQuery);
+            } catch (ExecutionException e) {
+                skippedQueries.add(subQuery);
+                logger.log(Level.WARNING, "Error processing sub-query: " + subQuery, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (int j = i; j < pending.size(); j++) {
+                    pending.get(j).cancel(true);
+                    skippedQueries.add(subQueries.get(j + 1));
+                }
+                break;
+            }
+        }
+        return results;
+    }
+
+    private static ThreadPoolExecutor createMultiIntentExecutor() {
+        final AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(MULTI_INTENT_THREADS, MULTI_INTENT_THREADS, 60, TimeUnit.SECONDS,
+                                   new ArrayBlockingQueue<Runnable>(64), runnable -> {
+                                       Thread thread =
+                                           new Thread(runnable, "contracts-model-intent-" + threadCount.incrementAndGet());
+                                       thread.setDaemon(true);
+                                       return thread;
+                                   }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     private Map<String, Object> processSingleIntent(String query) {
@@ -1301,45 +1387,49 @@ public class ContractsModel {
     /**
      * CACHE MANAGEMENT - ENHANCED
      */
-    private Map<String, Object> getCachedResult(String query) {
-        if (!cacheEnabled) {
-            return null;
-        }
+    private static boolean isCacheableResult(Map<String, Object> result) {
+        return result != null && !result.containsKey("error");
+    }
 
-        Map<String, Object> cachedEntry = queryCache.get(query.toLowerCase());
-        if (cachedEntry != null) {
-            long timestamp = (Long) cachedEntry.get("timestamp");
-            if (System.currentTimeMillis() - timestamp < CACHE_EXPIRY_TIME) {
-                // Update cache hit metadata
-                @SuppressWarnings("unchecked")
-                Map<String, Object> metadata = (Map<String, Object>) cachedEntry.get("metadata");
-                if (metadata != null) {
-                    metadata.put("cacheHit", true);
-                }
-                return cachedEntry;
-            } else {
-                // Remove expired entry
-                queryCache.remove(query.toLowerCase());
-            }
+    private static void markCacheHit(Map<String, Object> cachedEntry) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> metadata = (Map<String, Object>) cachedEntry.get("metadata");
+        if (metadata != null) {
+            metadata.put("cacheHit", true);
         }
-
-        return null;
     }
 
-    private void cacheResult(String query, Map<String, Object> result) {
-        if (cacheEnabled && result != null && !result.containsKey("error")) {
-            queryCache.put(query.toLowerCase(), result);
-
-            // Prevent cache from growing too large
-            if (queryCache.size() > 1000) {
-                // Remove oldest entries (simplified approach)
-                Iterator<Map.Entry<String, Map<String, Object>>> iterator = queryCache.entrySet().iterator();
-                for (int i = 0; i < 100 && iterator.hasNext(); i++) {
-                    iterator.next();
-                    iterator.remove();
-                }
+    /**
+     * Rough size of a result in characters, used as its cache weight. Nesting below a few levels
+     * is counted as a flat cost so weighing stays cheap.
+     */
+    private static int estimateWeight(Object value, int depth) {
+        if (value == null) {
+            return 1;
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length() + 1;
+        }
+        if (depth >= 4) {
+            return 16;
+        }
+        long weight = 1;
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                weight += estimateWeight(entry.getKey(), depth + 1) + estimateWeight(entry.getValue(), depth + 1);
+            }
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                weight += estimateWeight(element, depth + 1);
+            }
+        } else if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                weight += estimateWeight(element, depth + 1);
             }
+        } else {
+            weight = 8;
         }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
     }
 
     /**
@@ -1457,9 +1547,10 @@ public class ContractsModel {
 
         // Cache statistics
         Map<String, Object> cacheStats = new HashMap<>();
+        cacheStats.putAll(queryCache.getStatistics());
         cacheStats.put("enabled", cacheEnabled);
-        cacheStats.put("size", queryCache.size());
-        cacheStats.put("maxSize", 1000);
+        cacheStats.put("maxSize", CACHE_MAX_ENTRIES);
+        cacheStats.put("expiryTimeMs", CACHE_EXPIRY_TIME);
         metrics.put("cacheStatistics", cacheStats);
 
         // Configuration
@@ -1485,7 +1576,7 @@ public class ContractsModel {
     public void setCacheEnabled(boolean enabled) {
         this.cacheEnabled = enabled;
         if (!enabled) {
-            queryCache.clear();
+            queryCache.invalidateAll();
         }
     }
 
@@ -1498,7 +1589,7 @@ public class ContractsModel {
     }
 
     public void clearCache() {
-        queryCache.clear();
+        queryCache.invalidateAll();
     }
 
     public void resetMetrics() {
@@ -1646,18 +1737,20 @@ public class ContractsModel {
             return createErrorResponse("Query cannot be empty");
         }
 
-        // Check cache first
-        Map<String, Object> cachedResult = getCachedResult(query);
-        if (cachedResult != null) {
-            return cachedResult;
+        if (!cacheEnabled) {
+            return processQuery(query);
         }
 
-        // Process query
-        Map<String, Object> result = processQuery(query);
-
-        // Cache result
-        cacheResult(query, result);
+        // Concurrent callers with the same query share one processQuery call
+        final boolean[] computed = new boolean[1];
+        Map<String, Object> result = queryCache.getOrLoad(query.toLowerCase(), key -> {
+            computed[0] = true;
+            return processQuery(query);
+        }, ContractsModel::isCacheableResult);
 
+        if (!computed[0] && isCacheableResult(result)) {
+            markCacheHit(result);
+        }
         return result;
     }
 
@@ -1,5 +1,6 @@
 package com.oracle.view.deep;
 
+import com.oracle.view.source.EntityFilter;
 import com.oracle.view.source.NLPEntityProcessor;
 import com.oracle.view.source.NLPQueryClassifier;
 import com.oracle.view.source.NLPUserActionHandler;
@@ -16,28 +17,6 @@ import java.util.List;
  * Automates running all test queries through the NLP pipeline and generates detailed audit reports
  */
 public class NLPTestAuditRunner {
-    /**
-     * Convert NLPQueryClassifier.EntityFilter to NLPEntityProcessor.EntityFilter
-     * Both classes have the same structure: attribute, operation, value, source
-     */
-    private static List<NLPEntityProcessor.EntityFilter> convertEntityFilters(
-            List<NLPQueryClassifier.EntityFilter> nlpFilters) {
-        List<NLPEntityProcessor.EntityFilter> processorFilters = new ArrayList<>();
-        if (nlpFilters != null) {
-            for (NLPQueryClassifier.EntityFilter ef : nlpFilters) {
-                processorFilters.add(
-                    new NLPEntityProcessor.EntityFilter(
-                        ef.attribute,
-                        ef.operation,
-                        ef.value,
-                        ef.source
-                    )
-                );
-            }
-        }
-        return processorFilters;
-    }
-
     public static void main(String[] args) {
         NLPQueryClassifier classifier = new NLPQueryClassifier();
         NLPUserActionHandler userActionHandler = NLPUserActionHandler.getInstance();
@@ -66,20 +45,18 @@ public class NLPTestAuditRunner {
                 String correctedInput = (result.inputTracking != null) ? result.inputTracking.correctedInput : "";
                 String queryType = (result.metadata != null) ? result.metadata.queryType : "";
                 String actionType = (result.metadata != null) ? result.metadata.actionType : "";
-                List<NLPQueryClassifier.EntityFilter> filters = (result.entities != null) ? result.entities : new ArrayList<>();
+                List<EntityFilter> filters = (result.entities != null) ? result.entities : new ArrayList<>();
                 List<String> displayEntities = (result.displayEntities != null) ? result.displayEntities : new ArrayList<>();
 
                 // Only write if queryType is ERROR or actionType is UNHANDLED_CASE
                 boolean isError = "ERROR".equalsIgnoreCase(queryType) || "UNHANDLED_CASE".equalsIgnoreCase(actionType);
                 if (isError) {
                     errorCount++;
-                    // Convert EntityFilters to NLPEntityProcessor.EntityFilter format
-                    List<NLPEntityProcessor.EntityFilter> processorFilters = convertEntityFilters(filters);
-                    // Generate SQL using your business layer with converted filters
+                    // Generate SQL using your business layer with the classifier's filters
                     String sql = "";
                     try {
                         sql = userActionHandler.routeToActionHandlerWithDataProviderDB(
-                                actionType, processorFilters, displayEntities, userInput, screenWidth
+                                actionType, filters, displayEntities, userInput, screenWidth
                         );
                     } catch (Exception e) {
                         sql = "ERROR: " + e.getMessage();
@@ -31,7 +31,7 @@ public class ActionTypeDataProvider {
      * Main method to execute actions based on action type
      * This method routes to appropriate data provider methods
      */
-    public String executeAction(String actionType, List<StandardJSONProcessor.EntityFilter> filters, 
+    public String executeAction(String actionType, List<EntityFilter> filters, 
                                List<String> displayEntities, String userInput) {
         try {
             switch (actionType) {
@@ -80,7 +80,7 @@ public class ActionTypeDataProvider {
     /**
      * Execute contract by contract number
      */
-    private String executeContractByContractNumber(List<StandardJSONProcessor.EntityFilter> filters, List<String> displayEntities) {
+    private String executeContractByContractNumber(List<EntityFilter> filters, List<String> displayEntities) {
         String contractNumber = extractFilterValue(filters, "AWARD_NUMBER");
         if (contractNumber == null) {
             return "Contract number not found in query";
@@ -93,7 +93,7 @@ public class ActionTypeDataProvider {
     /**
      * Execute parts by contract number
      */
-    private String executePartsByContractNumber(List<StandardJSONProcessor.EntityFilter> filters, List<String> displayEntities) {
+    private String executePartsByContractNumber(List<EntityFilter> filters, List<String> displayEntities) {
         String contractNumber = extractFilterValue(filters, "AWARD_NUMBER");
         if (contractNumber == null) {
             return "Contract number not found in query";
@@ -106,7 +106,7 @@ public class ActionTypeDataProvider {
     /**
      * Execute failed parts by contract number
      */
-    private String executeFailedPartsByContractNumber(List<StandardJSONProcessor.EntityFilter> filters, List<String> displayEntities) {
+    private String executeFailedPartsByContractNumber(List<EntityFilter> filters, List<String> displayEntities) {
         String contractNumber = extractFilterValue(filters, "LOADED_CP_NUMBER");
         if (contractNumber == null) {
             return "Contract number not found in query";
@@ -119,7 +119,7 @@ public class ActionTypeDataProvider {
     /**
      * Execute parts by part number
      */
-    private String executePartsByPartNumber(List<StandardJSONProcessor.EntityFilter> filters, List<String> displayEntities) {
+    private String executePartsByPartNumber(List<EntityFilter> filters, List<String> displayEntities) {
         String partNumber = extractFilterValue(filters, "INVOICE_PART_NUMBER");
         if (partNumber == null) {
             return "Part number not found in query";
@@ -132,7 +132,7 @@ public class ActionTypeDataProvider {
     /**
      * Execute contracts by filter
      */
-    private String executeContractsByFilter(List<StandardJSONProcessor.EntityFilter> filters, List<String> displayEntities) {
+    private String executeContractsByFilter(List<EntityFilter> filters, List<String> displayEntities) {
         List<Map<String, Object>> results = getContractsByFilter(filters, displayEntities);
         return formatResultsAsString(results, "Contract data based on filters");
     }
@@ -140,7 +140,7 @@ public class ActionTypeDataProvider {
     /**
      * Execute parts by filter
      */
-    private String executePartsByFilter(List<StandardJSONProcessor.EntityFilter> filters, List<String> displayEntities) {
+    private String executePartsByFilter(List<EntityFilter> filters, List<String> displayEntities) {
         List<Map<String, Object>> results = getPartsByFilter(filters, displayEntities);
         return formatResultsAsString(results, "Parts data based on filters");
     }
@@ -148,7 +148,7 @@ public class ActionTypeDataProvider {
     /**
      * Execute update contract
      */
-    private String executeUpdateContract(List<StandardJSONProcessor.EntityFilter> filters, List<String> displayEntities) {
+    private String executeUpdateContract(List<EntityFilter> filters, List<String> displayEntities) {
         // Extract contract number and update data from filters
         String contractNumber = extractFilterValue(filters, "AWARD_NUMBER");
         if (contractNumber == null) {
@@ -165,7 +165,7 @@ public class ActionTypeDataProvider {
     /**
      * Execute create contract
      */
-    private String executeCreateContract(List<StandardJSONProcessor.EntityFilter> filters, List<String> displayEntities) {
+    private String executeCreateContract(List<EntityFilter> filters, List<String> displayEntities) {
         Map<String, Object> contractData = createParameterMapFromFilters(filters);
         
         int rowsAffected = createContract(contractData);
@@ -175,8 +175,8 @@ public class ActionTypeDataProvider {
     /**
      * Extract filter value by attribute name
      */
-    private String extractFilterValue(List<StandardJSONProcessor.EntityFilter> filters, String attributeName) {
-        for (StandardJSONProcessor.EntityFilter filter : filters) {
+    private String extractFilterValue(List<EntityFilter> filters, String attributeName) {
+        for (EntityFilter filter : filters) {
             if (filter.attribute.equals(attributeName)) {
                 return filter.value;
             }
@@ -230,7 +230,7 @@ public class ActionTypeDataProvider {
     /**
      * Retrieves contracts by filter criteria
      */
-    public List<Map<String, Object>> getContractsByFilter(List<StandardJSONProcessor.EntityFilter> filters, List<String> displayEntities) {
+    public List<Map<String, Object>> getContractsByFilter(List<EntityFilter> filters, List<String> displayEntities) {
         String sql = buildContractsByFilterQuery(displayEntities, filters);
         Map<String, Object> parameters = createParameterMapFromFilters(filters);
         
@@ -316,7 +316,7 @@ public class ActionTypeDataProvider {
     /**
      * Retrieves parts data by filter criteria
      */
-    public List<Map<String, Object>> getPartsByFilter(List<StandardJSONProcessor.EntityFilter> filters, List<String> displayEntities) {
+    public List<Map<String, Object>> getPartsByFilter(List<EntityFilter> filters, List<String> displayEntities) {
         String sql = buildPartsByFilterQuery(displayEntities, filters);
         Map<String, Object> parameters = createParameterMapFromFilters(filters);
         
@@ -341,7 +341,7 @@ public class ActionTypeDataProvider {
     /**
      * Retrieves failed parts data by filter criteria
      */
-    public List<Map<String, Object>> getFailedPartsByFilter(List<StandardJSONProcessor.EntityFilter> filters, List<String> displayEntities) {
+    public List<Map<String, Object>> getFailedPartsByFilter(List<EntityFilter> filters, List<String> displayEntities) {
         String sql = buildFailedPartsByFilterQuery(displayEntities, filters);
         Map<String, Object> parameters = createParameterMapFromFilters(filters);
         
@@ -363,7 +363,7 @@ public class ActionTypeDataProvider {
     /**
      * Builds contracts by filter query SQL
      */
-    private String buildContractsByFilterQuery(List<String> displayEntities, List<StandardJSONProcessor.EntityFilter> filters) {
+    private String buildContractsByFilterQuery(List<String> displayEntities, List<EntityFilter> filters) {
         String displayFields = displayEntities.isEmpty() ? "*" : String.join(", ", displayEntities);
         String whereClause = buildWhereClause(filters);
         return String.format("SELECT %s FROM contracts WHERE %s", displayFields, whereClause);
@@ -388,7 +388,7 @@ public class ActionTypeDataProvider {
     /**
      * Builds parts by filter query SQL
      */
-    private String buildPartsByFilterQuery(List<String> displayEntities, List<StandardJSONProcessor.EntityFilter> filters) {
+    private String buildPartsByFilterQuery(List<String> displayEntities, List<EntityFilter> filters) {
         String displayFields = displayEntities.isEmpty() ? "*" : String.join(", ", displayEntities);
         String whereClause = buildWhereClause(filters);
         return String.format("SELECT %s FROM parts WHERE %s", displayFields, whereClause);
@@ -405,7 +405,7 @@ public class ActionTypeDataProvider {
     /**
      * Builds failed parts by filter query SQL
      */
-    private String buildFailedPartsByFilterQuery(List<String> displayEntities, List<StandardJSONProcessor.EntityFilter> filters) {
+    private String buildFailedPartsByFilterQuery(List<String> displayEntities, List<EntityFilter> filters) {
         String displayFields = displayEntities.isEmpty() ? "*" : String.join(", ", displayEntities);
         String whereClause = buildWhereClause(filters);
         return String.format("SELECT %s FROM failed_parts WHERE %s", displayFields, whereClause);
@@ -507,14 +507,14 @@ public class ActionTypeDataProvider {
     /**
      * Builds WHERE clause from filters
      */
-    private String buildWhereClause(List<StandardJSONProcessor.EntityFilter> filters) {
+    private String buildWhereClause(List<EntityFilter> filters) {
         if (filters == null || filters.isEmpty()) {
             return "1=1"; // Default condition
         }
         
         StringBuilder whereClause = new StringBuilder();
         for (int i = 0; i < filters.size(); i++) {
-            StandardJSONProcessor.EntityFilter filter = filters.get(i);
+            EntityFilter filter = filters.get(i);
             if (i > 0) whereClause.append(" AND ");
             whereClause.append(filter.attribute).append(" ").append(filter.operation).append(" ?");
         }
@@ -524,10 +524,10 @@ public class ActionTypeDataProvider {
     /**
      * Creates parameter map from filters
      */
-    private Map<String, Object> createParameterMapFromFilters(List<StandardJSONProcessor.EntityFilter> filters) {
+    private Map<String, Object> createParameterMapFromFilters(List<EntityFilter> filters) {
         Map<String, Object> parameters = new HashMap<>();
         if (filters != null) {
-                    for (StandardJSONProcessor.EntityFilter filter : filters) {
+                    for (EntityFilter filter : filters) {
             parameters.put(filter.attribute, filter.value);
         }
         }
@@ -0,0 +1,272 @@
+package com.oracle.view.source;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory index of award reps (CCT_AWARD_CONTACTS_TMG.AWARD_REP) and their award numbers
+ *
+ * "Contracts created by X" used to run AWARD_REP LIKE '%X%', which cannot use an index and scans
+ * the contacts table on every question. This index answers the substring match from memory - each
+ * rep name is posted under its lower-case trigrams, a search intersects the postings of the query
+ * trigrams and verifies the candidates - so the database only receives the matching award numbers.
+ *
+ * LOADING:
+ * - AwardRepIndexWarmer loads every (award number, award rep) pair at application start; if it
+ *   has not, the first search does so through its Loader. Searches made during a load get null.
+ * - Every REFRESH_INTERVAL, rows with UPDATED_DATE on or after the newest date seen are merged in
+ * - Every FULL_RELOAD_INTERVAL the index is rebuilt, which drops deleted or reassigned contacts
+ *   (incremental refreshes only add)
+ *
+ * Matching is case-insensitive. The index can be slightly behind the table, so callers should still
+ * restrict the database fetch to the returned reps.
+ *
+ * All methods are thread-safe; only one thread refreshes at a time and searches never wait for it.
+ */
+public class AwardRepIndex {
+
+    public static final long REFRESH_INTERVAL = 60000; // 1 minute
+    public static final long FULL_RELOAD_INTERVAL = 21600000; // 6 hours
+    private static final int GRAM = 3;
+
+    private static volatile AwardRepIndex instance;
+
+    // Replaced as a whole on a full reload, updated in place (under the lock) by incremental refreshes
+    private Snapshot snapshot;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long lastRefreshTime;
+    private volatile long lastFullReloadTime;
+    private long fullReloads;
+    private long incrementalRefreshes;
+    private long searches;
+
+    /**
+     * Source of (award number, award rep, updated date) rows
+     */
+    public interface Loader {
+        /**
+         * Rows with UPDATED_DATE on or after since, or all rows when since is null
+         */
+        List<Entry> load(Date since);
+    }
+
+    /**
+     * One contacts row
+     */
+    public static class Entry {
+        public final String awardNumber;
+        public final String awardRep;
+        public final Date updatedDate;
+
+        public Entry(String awardNumber, String awardRep, Date updatedDate) {
+            this.awardNumber = awardNumber;
+            this.awardRep = awardRep;
+            this.updatedDate = updatedDate;
+        }
+    }
+
+    /**
+     * Get singleton instance
+     */
+    public static AwardRepIndex getInstance() {
+        if (instance == null) {
+            synchronized (AwardRepIndex.class) {
+                if (instance == null) {
+                    instance = new AwardRepIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Reps whose name contains name (case-insensitive), each with its award numbers, in rep order.
+     * Returns null when the index could not be loaded, so the caller can fall back to SQL.
+     */
+    public Map<String, Set<String>> findAwardsByRep(String name, Loader loader) {
+        refreshIfNeeded(loader);
+        if (name == null || name.trim().isEmpty()) {
+            return Collections.emptyMap();
+        }
+        String query = name.trim().toLowerCase();
+        synchronized (this) {
+            if (snapshot == null) {
+                return null;
+            }
+            searches++;
+            Map<String, Set<String>> matches = new TreeMap<>();
+            for (String rep : snapshot.candidates(query)) {
+                if (rep.toLowerCase().contains(query)) {
+                    matches.put(rep, new TreeSet<>(snapshot.awardsByRep.get(rep)));
+                }
+            }
+            return matches;
+        }
+    }
+
+    /**
+     * Load the index if it is empty and refresh it when due. Load failures are logged and leave
+     * the index as it was.
+     */
+    public void refreshIfNeeded(Loader loader) {
+        long now = System.currentTimeMillis();
+        boolean loaded;
+        synchronized (this) {
+            loaded = snapshot != null;
+        }
+        boolean fullReload = !loaded || now - lastFullReloadTime >= FULL_RELOAD_INTERVAL;
+        if (!fullReload && now - lastRefreshTime < REFRESH_INTERVAL) {
+            return;
+        }
+        // One refresh at a time; others keep searching the current index
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (fullReload) {
+                reload(loader);
+            } else {
+                refresh(loader);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("AwardRepIndex: load failed - " + e.getMessage());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private void reload(Loader loader) {
+        long start = System.currentTimeMillis();
+        Snapshot loaded = new Snapshot();
+        loaded.addAll(loader.load(null));
+        synchronized (this) {
+            snapshot = loaded;
+            fullReloads++;
+        }
+        lastFullReloadTime = start;
+        lastRefreshTime = start;
+        System.out.println("AwardRepIndex: loaded " + loaded.awardsByRep.size() + " award reps in " +
+                           (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private void refresh(Loader loader) {
+        long start = System.currentTimeMillis();
+        Date since;
+        synchronized (this) {
+            since = snapshot.newestUpdate;
+        }
+        List<Entry> changed = loader.load(since);
+        synchronized (this) {
+            snapshot.addAll(changed);
+            incrementalRefreshes++;
+        }
+        lastRefreshTime = start;
+    }
+
+    public synchronized void clear() {
+        snapshot = null;
+        lastRefreshTime = 0;
+        lastFullReloadTime = 0;
+    }
+
+    /**
+     * Index size and load/search counters
+     */
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("loaded", snapshot != null);
+        stats.put("awardReps", snapshot != null ? snapshot.awardsByRep.size() : 0);
+        stats.put("grams", snapshot != null ? snapshot.repsByGram.size() : 0);
+        stats.put("newestUpdate", snapshot != null ? snapshot.newestUpdate : null);
+        stats.put("fullReloads", fullReloads);
+        stats.put("incrementalRefreshes", incrementalRefreshes);
+        stats.put("searches", searches);
+        stats.put("lastRefreshTime", lastRefreshTime);
+        return stats;
+    }
+
+    private static class Snapshot {
+        // Rep as stored -> award numbers
+        final Map<String, Set<String>> awardsByRep = new HashMap<>();
+        // Lower-case trigram -> reps containing it
+        final Map<String, Set<String>> repsByGram = new HashMap<>();
+        Date newestUpdate;
+
+        void addAll(List<Entry> entries) {
+            if (entries == null) {
+                return;
+            }
+            for (Entry entry : entries) {
+                add(entry);
+            }
+        }
+
+        void add(Entry entry) {
+            if (entry.awardNumber == null || entry.awardRep == null || entry.awardRep.trim().isEmpty()) {
+                return;
+            }
+            Set<String> awards = awardsByRep.get(entry.awardRep);
+            if (awards == null) {
+                awards = new HashSet<>();
+                awardsByRep.put(entry.awardRep, awards);
+                for (String gram : grams(entry.awardRep.toLowerCase())) {
+                    Set<String> reps = repsByGram.get(gram);
+                    if (reps == null) {
+                        reps = new HashSet<>();
+                        repsByGram.put(gram, reps);
+                    }
+                    reps.add(entry.awardRep);
+                }
+            }
+            awards.add(entry.awardNumber);
+            if (entry.updatedDate != null && (newestUpdate == null || entry.updatedDate.after(newestUpdate))) {
+                newestUpdate = entry.updatedDate;
+            }
+        }
+
+        /**
+         * Reps that contain every trigram of query; all reps for queries shorter than a trigram
+         */
+        Set<String> candidates(String query) {
+            if (query.length() < GRAM) {
+                return awardsByRep.keySet();
+            }
+            Set<String> smallest = null;
+            List<Set<String>> postings = new ArrayList<>();
+            for (String gram : grams(query)) {
+                Set<String> reps = repsByGram.get(gram);
+                if (reps == null) {
+                    return Collections.emptySet();
+                }
+                postings.add(reps);
+                if (smallest == null || reps.size() < smallest.size()) {
+                    smallest = reps;
+                }
+            }
+            Set<String> result = new HashSet<>(smallest);
+            for (Set<String> reps : postings) {
+                if (reps != smallest) {
+                    result.retainAll(reps);
+                }
+            }
+            return result;
+        }
+
+        private static Set<String> grams(String text) {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                grams.add(text.substring(i, i + GRAM));
+            }
+            return grams;
+        }
+    }
+}
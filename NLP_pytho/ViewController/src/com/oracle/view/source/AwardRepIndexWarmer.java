@@ -0,0 +1,96 @@
+package com.oracle.view.source;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+import javax.sql.DataSource;
+
+/**
+ * Loads the AwardRepIndex when the application starts
+ *
+ * The index is normally loaded by the first "created by" search, which then waits for the whole
+ * contacts table. This listener runs that first load on a background thread with its own JDBC
+ * connection (the ADF bindings used by NLPUserActionHandler only exist on request threads). Searches
+ * made while it runs use the AWARD_REP LIKE query instead of waiting.
+ *
+ * USAGE:
+ * - Registered as a listener in web.xml
+ * - The data source is the AppModule one (jdbc/HrConnDS); the context-param DATA_SOURCE_PARAM
+ *   overrides it
+ *
+ * A failed load is logged and the index is loaded by the first search as before.
+ */
+public class AwardRepIndexWarmer implements ServletContextListener {
+
+    public static final String DATA_SOURCE_PARAM = "nlp.awardRepIndex.dataSource";
+    private static final String DEFAULT_DATA_SOURCE = "jdbc/HrConnDS";
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        String configured = event.getServletContext().getInitParameter(DATA_SOURCE_PARAM);
+        final String dataSourceName =
+            configured != null && !configured.trim().isEmpty() ? configured.trim() : DEFAULT_DATA_SOURCE;
+        Thread warmer = new Thread(() -> warm(dataSourceName), "AwardRepIndexWarmer");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+    }
+
+    private static void warm(String dataSourceName) {
+        try {
+            DataSource dataSource = lookup(dataSourceName);
+            AwardRepIndex.getInstance().refreshIfNeeded(since -> load(dataSource, since));
+        } catch (NamingException e) {
+            System.out.println("AwardRepIndexWarmer: data source " + dataSourceName + " not found - " + e.getMessage());
+        }
+    }
+
+    /**
+     * The data source under java:comp/env, else under its global name
+     */
+    private static DataSource lookup(String name) throws NamingException {
+        InitialContext context = new InitialContext();
+        try {
+            return (DataSource) context.lookup("java:comp/env/" + name);
+        } catch (NamingException e) {
+            return (DataSource) context.lookup(name);
+        }
+    }
+
+    private static List<AwardRepIndex.Entry> load(DataSource dataSource, Date since) {
+        String sql = NLPUserActionHandler.AWARD_REP_QUERY + (since != null ? " AND UPDATED_DATE >= ?" : "");
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setFetchSize(1000);
+            if (since != null) {
+                stmt.setTimestamp(1, new Timestamp(since.getTime()));
+            }
+            List<AwardRepIndex.Entry> entries = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp updatedDate = rs.getTimestamp("UPDATED_DATE");
+                    entries.add(new AwardRepIndex.Entry(rs.getString("AWARD_NUMBER"), rs.getString("AWARD_REP"),
+                                                        updatedDate != null ? new Date(updatedDate.getTime()) : null));
+                }
+            }
+            return entries;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Award rep query failed: " + e.getMessage(), e);
+        }
+    }
+}
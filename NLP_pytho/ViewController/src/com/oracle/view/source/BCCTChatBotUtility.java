@@ -6,6 +6,7 @@ import java.time.format.DateTimeFormatter;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -251,64 +252,42 @@ public class BCCTChatBotUtility {
     }
 
     public static String createCompleteResponseJSONWithHelpContent(Object queryResult, String helpContent) {
-        StringBuilder json = new StringBuilder();
-        json.append("{\n");
-        json.append("  \"success\": true,\n");
-        json.append("  \"message\": \"Help request processed successfully\",\n");
-        json.append("  \"isHelpQuery\": true,\n");
-        json.append("  \"nlpResponse\": {},\n");
-        json.append("  \"helpContent\": \"")
-            .append(escapeJson(helpContent))
-            .append("\"\n");
-        json.append("}");
-        return json.toString();
+        JsonWriter json = JsonWriter.create();
+        json.beginObject()
+            .name("success").value(true)
+            .name("message").value("Help request processed successfully")
+            .name("isHelpQuery").value(true)
+            .name("nlpResponse").beginObject().endObject()
+            .name("helpContent").value(helpContent != null ? helpContent : "")
+            .endObject();
+        return json.finish();
     }
 
     public static String escapeJson(String input) {
-        if (input == null)
-            return "";
-        return input.replace("\\", "\\\\")
-                    .replace("\"", "\\\"")
-                    .replace("\n", "\\n")
-                    .replace("\r", "\\r")
-                    .replace("\t", "\\t");
+        return JsonWriter.escape(input);
     }
 
     public static String extractDataProviderResponseFromJson(String jsonResponse) {
-        try {
-            String searchKey = "\"dataProviderResponse\": \"";
-            int startIndex = jsonResponse.indexOf(searchKey);
-            if (startIndex == -1) {
-                return "<div style='color: orange;'>No data content found in response</div>";
-            }
-            startIndex += searchKey.length();
-            int endIndex = findEndOfJsonStringValue(jsonResponse, startIndex);
-            if (endIndex == -1) {
-                return "<div style='color: red;'>Malformed JSON response</div>";
-            }
-            String htmlContent = jsonResponse.substring(startIndex, endIndex);
-            return unescapeJsonString(htmlContent);
-        } catch (Exception e) {
-            return "<div style='color: red;'>Error extracting data content: " + e.getMessage() + "</div>";
-        }
+        return extractStringField(jsonResponse, "dataProviderResponse", "data");
     }
 
     public static String extractHelpContentFromJson(String jsonResponse) {
+        return extractStringField(jsonResponse, "helpContent", "help");
+    }
+
+    private static String extractStringField(String jsonResponse, String field, String description) {
         try {
-            String searchKey = "\"helpContent\": \"";
-            int startIndex = jsonResponse.indexOf(searchKey);
-            if (startIndex == -1) {
-                return "<div style='color: orange;'>No help content found in response</div>";
+            String content = JsonReader.readStrings(jsonResponse, field).get(field);
+            if (content != null) {
+                return content;
             }
-            startIndex += searchKey.length();
-            int endIndex = findEndOfJsonStringValue(jsonResponse, startIndex);
-            if (endIndex == -1) {
+            if (jsonResponse.contains("\"" + field + "\"")) {
                 return "<div style='color: red;'>Malformed JSON response</div>";
             }
-            String htmlContent = jsonResponse.substring(startIndex, endIndex);
-            return unescapeJsonString(htmlContent);
+            return "<div style='color: orange;'>No " + description + " content found in response</div>";
         } catch (Exception e) {
-            return "<div style='color: red;'>Error extracting help content: " + e.getMessage() + "</div>";
+            return "<div style='color: red;'>Error extracting " + description + " content: " + e.getMessage() +
+                   "</div>";
         }
     }
 
@@ -328,23 +307,19 @@ public class BCCTChatBotUtility {
     }
 
     public static String unescapeJsonString(String escapedString) {
-        if (escapedString == null)
-            return null;
-        return escapedString.replace("\\\"", "\"")
-                            .replace("\\n", "\n")
-                            .replace("\\r", "\r")
-                            .replace("\\t", "\t")
-                            .replace("\\\\", "\\");
+        return JsonReader.unescape(escapedString);
     }
 
+    /**
+     * dataProviderResponse, else helpContent, read in one pass over the response
+     */
     public static String extractHtmlContentFromJsonResponse(String jsonResponse) {
-        String dataContent = extractDataProviderResponseFromJson(jsonResponse);
-        if (dataContent != null && !dataContent.contains("Error")) {
-            return dataContent;
+        Map<String, String> fields = JsonReader.readStrings(jsonResponse, "dataProviderResponse", "helpContent");
+        if (fields.get("dataProviderResponse") != null) {
+            return fields.get("dataProviderResponse");
         }
-        String helpContent = extractHelpContentFromJson(jsonResponse);
-        if (helpContent != null && !helpContent.contains("Error")) {
-            return helpContent;
+        if (fields.get("helpContent") != null) {
+            return fields.get("helpContent");
         }
         return "<div style='color: orange;'>No HTML content found in response</div>";
     }
@@ -374,7 +349,7 @@ public class BCCTChatBotUtility {
         }
         if (response.entities != null) {
             System.out.println("entities:");
-            for (ConversationalNLPManager.EntityFilter e : response.entities) {
+            for (EntityFilter e : response.entities) {
                 System.out.println("  attribute: " + e.attribute + ", operation: " + e.operation + ", value: " +
                                    e.value + ", source: " + e.source);
             }
@@ -388,7 +363,7 @@ public class BCCTChatBotUtility {
         }
         if (response.errors != null) {
             System.out.println("errors:");
-            for (ConversationalNLPManager.ValidationError err : response.errors) {
+            for (ValidationError err : response.errors) {
                 System.out.println("  code: " + err.code + ", message: " + err.message + ", severity: " + err.severity);
             }
         } else {
@@ -428,7 +403,7 @@ public class BCCTChatBotUtility {
         }
         if (queryResult.entities != null) {
             System.out.println("entities:");
-            for (NLPEntityProcessor.EntityFilter e : queryResult.entities) {
+            for (EntityFilter e : queryResult.entities) {
                 System.out.println("  attribute: " + e.attribute + ", operation: " + e.operation + ", value: " +
                                    e.value + ", source: " + e.source);
             }
@@ -442,7 +417,7 @@ public class BCCTChatBotUtility {
         }
         if (queryResult.errors != null) {
             System.out.println("errors:");
-            for (NLPEntityProcessor.ValidationError err : queryResult.errors) {
+            for (ValidationError err : queryResult.errors) {
                 System.out.println("  code: " + err.code + ", message: " + err.message + ", severity: " + err.severity);
             }
         } else {
@@ -456,43 +431,16 @@ public class BCCTChatBotUtility {
         if (response == null) {
             return null;
         }
-        NLPEntityProcessor.QueryResult queryResult = new NLPEntityProcessor.QueryResult();
-        // Convert InputTrackingInfo to InputTrackingResult
-        if (response.inputTracking != null) {
-            queryResult.inputTracking =
-                new NLPEntityProcessor.InputTrackingResult(response.inputTracking.originalInput,
-                                                           response.inputTracking.correctedInput,
-                                                           response.inputTracking.correctionConfidence);
-        }
-        // Convert ResponseMetadata to QueryMetadata
-        if (response.metadata != null) {
-            queryResult.metadata =
-                new NLPEntityProcessor.QueryMetadata(response.metadata.queryType, response.metadata.actionType,
-                                                     response.metadata.processingTimeMs);
-        }
-        // Convert EntityFilter list
-        if (response.entities != null) {
-            for (ConversationalNLPManager.EntityFilter sourceFilter : response.entities) {
-                NLPEntityProcessor.EntityFilter targetFilter =
-                    new NLPEntityProcessor.EntityFilter(sourceFilter.attribute, sourceFilter.operation,
-                                                        sourceFilter.value, sourceFilter.source);
-                queryResult.entities.add(targetFilter);
-            }
-        }
-        // Convert display entities
-        if (response.displayEntities != null) {
-            queryResult.displayEntities.addAll(response.displayEntities);
-        }
-        // Convert ValidationError list
-        if (response.errors != null) {
-            for (ConversationalNLPManager.ValidationError sourceError : response.errors) {
-                NLPEntityProcessor.ValidationError targetError =
-                    new NLPEntityProcessor.ValidationError(sourceError.code, sourceError.message, sourceError.severity);
-                queryResult.errors.add(targetError);
-            }
-        }
-        // Note: Header is not present in ChatbotResponse, so it remains null
-        // This is expected as ChatbotResponse focuses on conversational flow rather than entity extraction
+        // Input tracking, metadata and the lists are the response's own objects, shared not copied.
+        // Header is not present in ChatbotResponse, so it remains null
+        NLPEntityProcessor.QueryResult queryResult =
+            new NLPEntityProcessor.QueryResult(response.inputTracking, null, response.metadata,
+                                               response.entities != null ? response.entities :
+                                               Collections.<EntityFilter>emptyList(),
+                                               response.displayEntities != null ? response.displayEntities :
+                                               Collections.<String>emptyList(),
+                                               response.errors != null ? response.errors :
+                                               Collections.<ValidationError>emptyList());
         printQueryResult(queryResult);
         return queryResult;
     }
@@ -506,52 +454,8 @@ public class BCCTChatBotUtility {
         if (completeJsonResponse == null || completeJsonResponse.trim().isEmpty()) {
             return null;
         }
-
-        try {
-            // Find the start of dataProviderResponse
-            int startIndex = completeJsonResponse.indexOf("\"dataProviderResponse\":");
-            if (startIndex == -1) {
-                return null;
-            }
-
-            // Move past the key and opening quote
-            startIndex = completeJsonResponse.indexOf("\"", startIndex + 22); // 22 is length of "dataProviderResponse":
-            if (startIndex == -1) {
-                return null;
-            }
-            startIndex++; // Move past the opening quote
-
-            // Find the closing quote (handle escaped quotes)
-            int endIndex = startIndex;
-            boolean inEscapedQuote = false;
-
-            while (endIndex < completeJsonResponse.length()) {
-                char currentChar = completeJsonResponse.charAt(endIndex);
-
-                if (currentChar == '\\' && endIndex + 1 < completeJsonResponse.length()) {
-                    // Skip escaped character
-                    endIndex += 2;
-                    continue;
-                }
-
-                if (currentChar == '"' && !inEscapedQuote) {
-                    break;
-                }
-
-                endIndex++;
-            }
-
-            if (endIndex > startIndex) {
-                String extractedResponse = completeJsonResponse.substring(startIndex, endIndex);
-                // Unescape common JSON escape sequences
-                return unescapeJsonString(extractedResponse);
-            }
-
-        } catch (Exception e) {
-            System.err.println("Error extracting dataProviderResponse: " + e.getMessage());
-        }
-
-        return null;
+        String response = JsonReader.readStrings(completeJsonResponse, "dataProviderResponse").get("dataProviderResponse");
+        return response != null && !response.isEmpty() ? response : null;
     }
 
     /**
@@ -601,7 +505,7 @@ public class BCCTChatBotUtility {
         if (queryResult.entities != null && !queryResult.entities.isEmpty()) {
             System.out.println("�? Entity Filters (" + queryResult.entities.size() + " items):");
             for (int i = 0; i < queryResult.entities.size(); i++) {
-                NLPQueryClassifier.EntityFilter filter = queryResult.entities.get(i);
+                EntityFilter filter = queryResult.entities.get(i);
                 System.out.println("   [" + (i + 1) + "] Attribute: " + filter.attribute);
                 System.out.println("       Operation: " + filter.operation);
                 System.out.println("       Value: " + filter.value);
@@ -625,7 +529,7 @@ public class BCCTChatBotUtility {
         if (queryResult.errors != null && !queryResult.errors.isEmpty()) {
             System.out.println("�?� Validation Errors (" + queryResult.errors.size() + " items):");
             for (int i = 0; i < queryResult.errors.size(); i++) {
-                NLPQueryClassifier.ValidationError error = queryResult.errors.get(i);
+                ValidationError error = queryResult.errors.get(i);
                 System.out.println("   [" + (i + 1) + "] Error Type: " + error.message);
                 System.out.println("       Message: " + error.message);
                 System.out.println("       Field: " + error.code);
@@ -651,7 +555,7 @@ public class BCCTChatBotUtility {
      * @param filters List of EntityFilter objects
      * @return SQL query string
      */
-    public static String buildContractQuery(List<NLPEntityProcessor.EntityFilter> filters) {
+    public static String buildContractQuery(List<EntityFilter> filters) {
         StringBuilder query = new StringBuilder();
 
         // Base SELECT clause
@@ -669,7 +573,7 @@ public class BCCTChatBotUtility {
 
         // Add filter conditions
         if (filters != null && !filters.isEmpty()) {
-            for (NLPEntityProcessor.EntityFilter filter : filters) {
+            for (EntityFilter filter : filters) {
                 query.append(" AND ");
 
                 String fullAttribute =
@@ -952,59 +856,6 @@ public class BCCTChatBotUtility {
                "</ul>";
     }
 
-    public static NLPQueryClassifier.QueryResult convertChatbotResponseToQueryResult(ConversationalNLPManager.ChatbotResponse response) {
-        NLPQueryClassifier.QueryResult result = new NLPQueryClassifier.QueryResult();
-
-        // Input tracking
-        if (response.inputTracking != null) {
-            result.inputTracking =
-                new NLPQueryClassifier.InputTrackingResult(response.inputTracking.originalInput,
-                                                           response.inputTracking.correctedInput,
-                                                           response.inputTracking.correctionConfidence);
-        }
-
-        // Header (if available in data or metadata, otherwise leave as new Header)
-        result.header = new NLPQueryClassifier.Header();
-        // Optionally extract contract/part/customer info from response.data if present
-
-        // Metadata
-        if (response.metadata != null) {
-            result.metadata =
-                new NLPQueryClassifier.QueryMetadata(response.metadata.queryType, response.metadata.actionType,
-                                                     response.metadata.processingTimeMs);
-        }
-
-        // Entities: map ConversationalNLPManager.EntityFilter to NLPQueryClassifier.EntityFilter
-        if (response.entities != null) {
-            List<NLPQueryClassifier.EntityFilter> mappedEntities = new ArrayList<>();
-            for (ConversationalNLPManager.EntityFilter ef : response.entities) {
-                mappedEntities.add(new NLPQueryClassifier.EntityFilter(ef.attribute, ef.operation, ef.value,
-                                                                       ef.source));
-            }
-            result.entities = mappedEntities;
-        } else {
-            result.entities = new ArrayList<>();
-        }
-
-        // Display entities
-        result.displayEntities = response.displayEntities != null ? response.displayEntities : new ArrayList<>();
-
-        // Errors: map ConversationalNLPManager.ValidationError to NLPQueryClassifier.ValidationError
-        if (response.errors != null) {
-            List<NLPQueryClassifier.ValidationError> mappedErrors = new ArrayList<>();
-            for (ConversationalNLPManager.ValidationError ve : response.errors) {
-                mappedErrors.add(new NLPQueryClassifier.ValidationError(ve.code, ve.message, ve.severity));
-            }
-            result.errors = mappedErrors;
-        } else {
-            result.errors = new ArrayList<>();
-        }
-
-        // Optionally, you can store the raw data or dataProviderResponse in a custom field or context if needed
-
-        return result;
-    }
-
     public static String confirmationCreateCOntract(String accountNumber, String contractName, String description,
                                                     String comments, String contractNo, String title,
                                                     String isPricelist) {
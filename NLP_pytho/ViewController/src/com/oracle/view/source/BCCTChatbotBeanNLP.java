@@ -1832,7 +1832,7 @@
 //                            writer.write("Display Items:"+res.getDisplayEntities());
 //                            String filters="";
 //                            writer.write("Filters ===>") ;
-//                            for(NLPEntityProcessor.EntityFilter fl:res.getFilters()){
+//                            for(EntityFilter fl:res.getFilters()){
 //                          String   S="Attribute :"+fl.attribute+" Operation :"+fl.operation+", Value :"+fl.value;
 //                                
 //                                writer.write(S) ;
@@ -3,6 +3,7 @@ package com.oracle.view.source;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -400,9 +401,9 @@ public class BCCTContractManagementNLPBean {
                 handleErrorResponse(response);
             }
 
-            // After getting the QueryResult from the classifier:
-            NLPQueryClassifier.QueryResult queryResult = BCCTChatBotUtility.convertChatbotResponseToQueryResult(response);
-            for (NLPQueryClassifier.EntityFilter filter : queryResult.entities) {
+            // Filters of the classifier result, as carried by the response
+            List<EntityFilter> entities = response.entities != null ? response.entities : Collections.<EntityFilter>emptyList();
+            for (EntityFilter filter : entities) {
                 if ("CUSTOMER_NUMBER".equalsIgnoreCase(filter.attribute)) {
                     String accountNumber = filter.value;
                     if (validateCustomer(accountNumber)) {
@@ -573,7 +574,7 @@ public class BCCTContractManagementNLPBean {
         errorMessage.append("I encountered some issues:\n\n");
 
         if (response.errors != null) {
-            for (ConversationalNLPManager.ValidationError error : response.errors) {
+            for (ValidationError error : response.errors) {
                 errorMessage.append("")
                             .append(error.message)
                             .append("\n");
@@ -616,8 +617,16 @@ public class BCCTContractManagementNLPBean {
         }
         
         System.out.println("handlingDatOPerationsWIthDEntityEXtraction==================>");
-        String dataProviderResult =
-            handler.executeDataProviderActionWithDB(queryResult, DEFAULT_SCREEN_WIDTH, sessionId);
+        // User search results are stored straight into the ConversationalNLPManager session
+        String conversationId = (currentConversationId != null) ? currentConversationId : sessionId;
+        ConversationSession session = conversationalNLPManager.getSession(conversationId, "ADF_USER");
+        ConversationSession previous = handler.bindSearchSession(session);
+        String dataProviderResult;
+        try {
+            dataProviderResult = handler.executeDataProviderActionWithDB(queryResult, DEFAULT_SCREEN_WIDTH, sessionId);
+        } finally {
+            handler.restoreSearchSession(previous);
+        }
         if (hasUserActionRequired(dataProviderResult)) {
             dataProviderResult = removeUserActionRequiredTags(dataProviderResult);
             this.isWaitingForUserInput = true;
@@ -629,21 +638,10 @@ public class BCCTContractManagementNLPBean {
                 System.out.println("Setting currentConversationId to sessionId: " + sessionId);
             }
 
-            // Store user search results in ConversationalNLPManager session
-            Map<String, List<Map<String, String>>> userResults = handler.getUserSearchCache();
-            if (userResults != null && !userResults.isEmpty()) {
-                // Get the actual display order from NLPUserActionHandler (the order shown to user)
-                List<String> userDisplayOrder = handler.getUserDisplayOrder();
-
-                // If display order is empty, fall back to keySet order
-                if (userDisplayOrder == null || userDisplayOrder.isEmpty()) {
-                    userDisplayOrder = new ArrayList<>(userResults.keySet());
-                }
-
-                // Store user search results in ConversationalNLPManager session using currentConversationId
-                String conversationId = (currentConversationId != null) ? currentConversationId : sessionId;
-                conversationalNLPManager.storeUserSearchResultsInSession(conversationId, userResults, userDisplayOrder);
-                System.out.println("User search results stored in session: " + userDisplayOrder +
+            // The session now holds the user search results, in the order shown to the user
+            if (session.isUserSearchValid()) {
+                session.setWaitingForUserInput(true);
+                System.out.println("User search results stored in session: " + session.getAvailableUsers() +
                                    " with conversation ID: " + conversationId);
             }
         }
@@ -737,7 +735,7 @@ public class BCCTContractManagementNLPBean {
                     }
                 } else {
                     System.out.println("User selection failed");
-                    for (ConversationalNLPManager.ValidationError error : response.errors) {
+                    for (ValidationError error : response.errors) {
                         System.out.println("Error message--->" + error.message);
                         
                         addBotMessage("<p><b>Hello! I'm your BCCT Contract Management Assistant with enhanced conversational capabilities.</b></p>" +
@@ -76,7 +76,7 @@
 //        line.append(escapeForTable(displayEntitiesStr)).append(" | ");
 //        
 //        // FILTER_ENTITIES
-//        List<StandardJSONProcessor.EntityFilter> filters = response.getFilters();
+//        List<EntityFilter> filters = response.getFilters();
 //        String filterEntitiesStr = formatFilterEntities(filters);
 //        line.append(escapeForTable(filterEntitiesStr));
 //        
@@ -102,7 +102,7 @@
 //    /**
 //     * Formats filter entities list into readable string
 //     */
-//    private static String formatFilterEntities(List<StandardJSONProcessor.EntityFilter> filters) {
+//    private static String formatFilterEntities(List<EntityFilter> filters) {
 //        if (filters == null || filters.isEmpty()) {
 //            return "";
 //        }
@@ -110,7 +110,7 @@
 //        StringBuilder sb = new StringBuilder();
 //        for (int i = 0; i < filters.size(); i++) {
 //            if (i > 0) sb.append(", ");
-//            StandardJSONProcessor.EntityFilter filter = filters.get(i);
+//            EntityFilter filter = filters.get(i);
 //            sb.append(filter.attribute)
 //              .append(" ")
 //              .append(filter.operation)
@@ -0,0 +1,386 @@
+package com.oracle.view.source;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-memory cache with frequency-aware admission and expire-after-write
+ *
+ * Entries are kept in LRU order. When the cache is full, a new key is only admitted if it has
+ * been requested more often than the LRU victims it would displace (TinyLFU admission, using a
+ * small count-min sketch that is periodically halved so old popularity fades). A burst of one-off
+ * keys therefore cannot flush the frequently used entries.
+ *
+ * USAGE:
+ * - new BoundedCache<>(maximumSize, expireAfterWriteMillis) - a TTL of 0 disables expiry
+ * - new BoundedCache<>(maximumSize, maximumWeight, expireAfterWriteMillis, weigher) to also bound
+ *   the total weight (e.g. an estimate of the memory held by each value)
+ * - get(key) returns null on a miss; put(key, value) may decline to store a rarely used key
+ * - getOrLoad(key, loader) computes a missing value once, even when many threads ask for it together
+ * - getStatistics() for hit/miss/eviction counters
+ *
+ * All methods are thread-safe.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maximumSize;
+    private final long maximumWeight;
+    private final long expireAfterWriteMillis;
+    private final Weigher<? super K, ? super V> weigher;
+    // Access-ordered: the first entry is the least recently used
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+    private final FrequencySketch sketch;
+    // Loads in progress; callers asking for the same key wait on the same task
+    private final Map<K, FutureTask<V>> loading = new ConcurrentHashMap<>();
+
+    private long totalWeight;
+    // Bumped by every invalidation; a load that started before it must not store its value
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long rejections;
+    private long expirations;
+    private long loads;
+    private long loadFailures;
+    private long coalescedLoads;
+
+    public BoundedCache(int maximumSize, long expireAfterWriteMillis) {
+        this(maximumSize, Long.MAX_VALUE, expireAfterWriteMillis, null);
+    }
+
+    public BoundedCache(int maximumSize, long maximumWeight, long expireAfterWriteMillis,
+                        Weigher<? super K, ? super V> weigher) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maximumSize);
+        }
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Cache weight must be positive: " + maximumWeight);
+        }
+        this.maximumSize = maximumSize;
+        this.maximumWeight = maximumWeight;
+        this.expireAfterWriteMillis = expireAfterWriteMillis;
+        this.weigher = weigher;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Cached value, or null when absent or expired
+     */
+    public synchronized V get(K key) {
+        sketch.increment(key);
+        CacheEntry<V> entry = entries.get(key);
+        if (entry != null && isExpired(entry, System.currentTimeMillis())) {
+            removeEntry(key);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Store a value. When full, the key is only admitted if it is used more often than each LRU
+     * entry it would displace.
+     */
+    public synchronized void put(K key, V value) {
+        if (key == null || value == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int weight = weigher == null ? 1 : Math.max(0, weigher.weigh(key, value));
+        if (weight > maximumWeight) {
+            rejections++;
+            return;
+        }
+        // A key that is already cached was admitted before; only new keys go through admission
+        boolean admitted = entries.containsKey(key);
+        removeEntry(key);
+        if (!hasRoom(weight)) {
+            removeExpired(now);
+        }
+        if (!hasRoom(weight)) {
+            // Pick victims from the LRU end until the new entry fits, then decide on admission
+            int candidateFrequency = sketch.frequency(key);
+            List<K> victims = new ArrayList<>();
+            int freedEntries = 0;
+            long freedWeight = 0;
+            for (Map.Entry<K, CacheEntry<V>> victim : entries.entrySet()) {
+                if (!admitted && sketch.frequency(victim.getKey()) >= candidateFrequency) {
+                    rejections++;
+                    return;
+                }
+                victims.add(victim.getKey());
+                freedEntries++;
+                freedWeight += victim.getValue().weight;
+                if (entries.size() - freedEntries < maximumSize && totalWeight - freedWeight + weight <= maximumWeight) {
+                    break;
+                }
+            }
+            for (K victim : victims) {
+                removeEntry(victim);
+                evictions++;
+            }
+        }
+        entries.put(key, new CacheEntry<>(value, now, weight));
+        totalWeight += weight;
+    }
+
+    /**
+     * Cached value, or the value computed by loader. Concurrent callers for the same missing key
+     * share one loader call. The result is only stored when cacheable is null or accepts it; a null
+     * result is returned but never stored, and neither is a result whose key was invalidated while it
+     * was loading. Exceptions thrown by the loader reach every waiting caller.
+     */
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader, Predicate<? super V> cacheable) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+        }
+        FutureTask<V> task = new FutureTask<>(() -> loader.apply(key));
+        FutureTask<V> inFlight = loading.putIfAbsent(key, task);
+        if (inFlight != null) {
+            synchronized (this) {
+                coalescedLoads++;
+            }
+            return await(inFlight);
+        }
+        try {
+            task.run();
+            V loaded = await(task);
+            boolean store = loaded != null && (cacheable == null || cacheable.test(loaded));
+            synchronized (this) {
+                // An invalidation during the load may have been meant for this very value
+                if (store && loadGeneration == generation) {
+                    put(key, loaded);
+                }
+                loads++;
+            }
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                loadFailures++;
+            }
+            throw e;
+        } finally {
+            // Removed only after the value is stored, so a late caller finds one or the other
+            loading.remove(key, task);
+        }
+    }
+
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        return getOrLoad(key, loader, null);
+    }
+
+    /**
+     * Remove the key. A load of it that is still running is detached: its callers get its value, but
+     * it is not stored and later callers start a new load.
+     */
+    public synchronized void invalidate(K key) {
+        removeEntry(key);
+        loading.remove(key);
+        generation++;
+    }
+
+    /**
+     * Remove every entry and detach the running loads, as invalidate() does for one key
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        totalWeight = 0;
+        loading.clear();
+        generation++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Hit/miss/eviction counters and current size
+     */
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long requests = hits + misses;
+        stats.put("size", entries.size());
+        stats.put("maximumSize", maximumSize);
+        if (weigher != null) {
+            stats.put("weight", totalWeight);
+            stats.put("maximumWeight", maximumWeight);
+        }
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hits / requests);
+        stats.put("evictions", evictions);
+        stats.put("rejections", rejections);
+        stats.put("expirations", expirations);
+        stats.put("loads", loads);
+        stats.put("loadFailures", loadFailures);
+        stats.put("coalescedLoads", coalescedLoads);
+        stats.put("loadsInProgress", loading.size());
+        return stats;
+    }
+
+    private static <V> V await(FutureTask<V> task) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    // The load is shared with other callers, so keep waiting and restore the flag after
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Cache load failed", cause);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean hasRoom(int weight) {
+        return entries.size() < maximumSize && totalWeight + weight <= maximumWeight;
+    }
+
+    private void removeEntry(K key) {
+        CacheEntry<V> removed = entries.remove(key);
+        if (removed != null) {
+            totalWeight -= removed.weight;
+        }
+    }
+
+    private boolean isExpired(CacheEntry<V> entry, long now) {
+        return expireAfterWriteMillis > 0 && now - entry.writeTime >= expireAfterWriteMillis;
+    }
+
+    private int removeExpired(long now) {
+        if (expireAfterWriteMillis <= 0) {
+            return 0;
+        }
+        int removed = 0;
+        Iterator<CacheEntry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            CacheEntry<V> entry = iterator.next();
+            if (isExpired(entry, now)) {
+                iterator.remove();
+                totalWeight -= entry.weight;
+                removed++;
+            }
+        }
+        expirations += removed;
+        return removed;
+    }
+
+    private static class CacheEntry<V> {
+        final V value;
+        final long writeTime;
+        final int weight;
+
+        CacheEntry(V value, long writeTime, int weight) {
+            this.value = value;
+            this.writeTime = writeTime;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Relative size of an entry, counted against maximumWeight
+     */
+    public interface Weigher<K, V> {
+        int weigh(K key, V value);
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters; all counters are halved every sampleSize increments
+     */
+    private static class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F };
+
+        private final byte[][] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maximumSize) {
+            int width = Integer.highestOneBit(Math.max(16, maximumSize * 2) - 1) << 1;
+            counters = new byte[DEPTH][width];
+            mask = width - 1;
+            sampleSize = Math.max(10 * maximumSize, 100);
+        }
+
+        void increment(Object key) {
+            int hash = spread(key);
+            boolean added = false;
+            for (int row = 0; row < DEPTH; row++) {
+                int index = indexOf(hash, row);
+                if (counters[row][index] < MAX_COUNT) {
+                    counters[row][index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key);
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                frequency = Math.min(frequency, counters[row][indexOf(hash, row)]);
+            }
+            return frequency;
+        }
+
+        private void reset() {
+            for (byte[] row : counters) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = (byte) (row[i] >>> 1);
+                }
+            }
+            additions /= 2;
+        }
+
+        private int indexOf(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        private static int spread(Object key) {
+            int h = key == null ? 0 : key.hashCode();
+            h ^= h >>> 16;
+            h *= 0x45D9F3B;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.oracle.view.source;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class to verify BoundedCache admission, single-flight loading and invalidation
+ */
+public class BoundedCacheTest {
+
+    private static int passed;
+    private static int failed;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== BoundedCache Test ===\n");
+
+        testTinyLfuAdmission();
+        testSingleFlightLoad();
+        testInvalidateAllDuringLoad();
+        testInvalidateDuringLoad();
+
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Passed: " + passed + ", Failed: " + failed);
+    }
+
+    private static void testTinyLfuAdmission() {
+        System.out.println("--- Test 1: TinyLFU Admission ---");
+        BoundedCache<String, String> cache = new BoundedCache<>(3, 0);
+        for (String key : new String[] { "a", "b", "c" }) {
+            cache.put(key, key);
+            for (int i = 0; i < 5; i++) {
+                cache.get(key);
+            }
+        }
+
+        // A burst of one-off keys must not flush the popular entries
+        for (int i = 0; i < 20; i++) {
+            cache.get("once" + i);
+            cache.put("once" + i, "x");
+        }
+        check("popular entries survive a burst of one-off keys",
+              "a".equals(cache.get("a")) && "b".equals(cache.get("b")) && "c".equals(cache.get("c")));
+        check("cache stays at its maximum size", cache.size() == 3);
+
+        // A key requested more often than the LRU victim is admitted
+        for (int i = 0; i < 10; i++) {
+            cache.get("hot");
+        }
+        cache.put("hot", "hot");
+        check("frequently requested key is admitted", "hot".equals(cache.get("hot")));
+    }
+
+    private static void testSingleFlightLoad() throws Exception {
+        System.out.println("\n--- Test 2: Single-Flight getOrLoad ---");
+        BoundedCache<String, String> cache = new BoundedCache<>(10, 0);
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> cache.getOrLoad("k", key -> {
+                    loaderCalls.incrementAndGet();
+                    await(release);
+                    return "value";
+                })));
+            }
+            // Let every caller reach the cache before the load finishes
+            Thread.sleep(200);
+            release.countDown();
+            boolean allSame = true;
+            for (Future<String> future : futures) {
+                allSame &= "value".equals(future.get(5, TimeUnit.SECONDS));
+            }
+            check("loader runs once for concurrent callers", loaderCalls.get() == 1);
+            check("every caller gets the loaded value", allSame);
+            check("loaded value is cached", "value".equals(cache.get("k")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void testInvalidateAllDuringLoad() throws Exception {
+        System.out.println("\n--- Test 3: invalidateAll Racing an In-Flight Load ---");
+        BoundedCache<String, String> cache = new BoundedCache<>(10, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> cache.getOrLoad("k", key -> {
+                started.countDown();
+                await(release);
+                return "stale";
+            }));
+            await(started);
+            cache.invalidateAll();
+            release.countDown();
+
+            check("caller of the running load still gets its value", "stale".equals(stale.get(5, TimeUnit.SECONDS)));
+            check("stale value is not put back after invalidateAll", cache.get("k") == null);
+            check("next caller loads again", "fresh".equals(cache.getOrLoad("k", key -> "fresh")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void testInvalidateDuringLoad() throws Exception {
+        System.out.println("\n--- Test 4: invalidate(key) Racing an In-Flight Load ---");
+        BoundedCache<String, String> cache = new BoundedCache<>(10, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> cache.getOrLoad("k", key -> {
+                started.countDown();
+                await(release);
+                return "stale";
+            }));
+            await(started);
+            cache.invalidate("k");
+            // A caller arriving after the invalidation must not join the detached load
+            String fresh = cache.getOrLoad("k", key -> "fresh");
+            release.countDown();
+            stale.get(5, TimeUnit.SECONDS);
+
+            check("caller after invalidate starts its own load", "fresh".equals(fresh));
+            check("detached load does not overwrite the new value", "fresh".equals(cache.get("k")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            passed++;
+            System.out.println("PASS: " + description);
+        } else {
+            failed++;
+            System.out.println("FAIL: " + description);
+        }
+    }
+}
@@ -106,7 +106,7 @@ public class ContractCreationDetectionTest {
             // Show errors if any
             if (result.errors != null && !result.errors.isEmpty()) {
                 System.out.println("Errors: " + result.errors.size());
-                for (NLPQueryClassifier.ValidationError error : result.errors) {
+                for (ValidationError error : result.errors) {
                     System.out.println("  - " + error.message);
                 }
             }
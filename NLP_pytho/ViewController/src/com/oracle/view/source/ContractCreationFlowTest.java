@@ -27,7 +27,7 @@ public class ContractCreationFlowTest {
             
             if (response1.errors != null && !response1.errors.isEmpty()) {
                 System.out.println("Errors:");
-                for (ConversationalNLPManager.ValidationError error : response1.errors) {
+                for (ValidationError error : response1.errors) {
                     System.out.println("  - " + error.message);
                 }
             }
@@ -46,7 +46,7 @@ public class ContractCreationFlowTest {
             
             if (response2.errors != null && !response2.errors.isEmpty()) {
                 System.out.println("Errors:");
-                for (ConversationalNLPManager.ValidationError error : response2.errors) {
+                for (ValidationError error : response2.errors) {
                     System.out.println("  - " + error.message);
                 }
             }
@@ -284,48 +284,48 @@ public class ContractProcessor {
     /**
      * Extract filter entities
      */
-    private List<NLPQueryClassifier.EntityFilter> extractEntities(String originalInput, String correctedInput, HeaderInfo headerInfo) {
-        List<NLPQueryClassifier.EntityFilter> entities = new ArrayList<>();
+    private List<EntityFilter> extractEntities(String originalInput, String correctedInput, HeaderInfo headerInfo) {
+        List<EntityFilter> entities = new ArrayList<>();
         // Always use AWARD_NUMBER for contract number
         if (headerInfo.header.contractNumber != null) {
-            entities.add(new NLPQueryClassifier.EntityFilter("AWARD_NUMBER", "=", headerInfo.header.contractNumber, "extracted"));
+            entities.add(new EntityFilter("AWARD_NUMBER", "=", headerInfo.header.contractNumber, "extracted"));
         }
         if (headerInfo.header.customerNumber != null) {
-            entities.add(new NLPQueryClassifier.EntityFilter("CUSTOMER_NUMBER", "=", headerInfo.header.customerNumber, "extracted"));
+            entities.add(new EntityFilter("CUSTOMER_NUMBER", "=", headerInfo.header.customerNumber, "extracted"));
         }
         if (headerInfo.header.customerName != null) {
-            entities.add(new NLPQueryClassifier.EntityFilter("CUSTOMER_NAME", "=", headerInfo.header.customerName, "extracted"));
+            entities.add(new EntityFilter("CUSTOMER_NAME", "=", headerInfo.header.customerName, "extracted"));
         }
         if (headerInfo.header.createdBy != null) {
-            entities.add(new NLPQueryClassifier.EntityFilter("CREATED_BY", "=", headerInfo.header.createdBy, "extracted"));
+            entities.add(new EntityFilter("CREATED_BY", "=", headerInfo.header.createdBy, "extracted"));
         }
         // Enhanced date extraction using EnhancedDateExtractor
         EnhancedDateExtractor.DateExtractionResult dateResult = EnhancedDateExtractor.extractDateInfo(originalInput);
         if (dateResult.hasDateInfo()) {
             if (dateResult.getInYear() != null) {
-                entities.add(new NLPQueryClassifier.EntityFilter("CREATE_DATE", "IN_YEAR", dateResult.getInYear().toString(), "extracted"));
+                entities.add(new EntityFilter("CREATE_DATE", "IN_YEAR", dateResult.getInYear().toString(), "extracted"));
             } else if (dateResult.getAfterYear() != null) {
                 if ("AFTER_TO_CURRENT".equals(dateResult.getTemporalOperation())) {
                     int currentYear = java.time.LocalDate.now().getYear();
                     String dateRange = dateResult.getAfterYear() + "," + currentYear;
-                    entities.add(new NLPQueryClassifier.EntityFilter("CREATE_DATE", "YEAR_RANGE", dateRange, "extracted"));
+                    entities.add(new EntityFilter("CREATE_DATE", "YEAR_RANGE", dateRange, "extracted"));
                 } else {
-                    entities.add(new NLPQueryClassifier.EntityFilter("CREATE_DATE", "AFTER_YEAR", dateResult.getAfterYear().toString(), "extracted"));
+                    entities.add(new EntityFilter("CREATE_DATE", "AFTER_YEAR", dateResult.getAfterYear().toString(), "extracted"));
                 }
             } else if (dateResult.getBeforeYear() != null) {
-                entities.add(new NLPQueryClassifier.EntityFilter("CREATE_DATE", "BEFORE_YEAR", dateResult.getBeforeYear().toString(), "extracted"));
+                entities.add(new EntityFilter("CREATE_DATE", "BEFORE_YEAR", dateResult.getBeforeYear().toString(), "extracted"));
             } else if (dateResult.getStartYear() != null && dateResult.getEndYear() != null) {
                 String dateRange = dateResult.getStartYear() + "," + dateResult.getEndYear();
-                entities.add(new NLPQueryClassifier.EntityFilter("CREATE_DATE", "YEAR_RANGE", dateRange, "extracted"));
+                entities.add(new EntityFilter("CREATE_DATE", "YEAR_RANGE", dateRange, "extracted"));
             } else if (dateResult.getStartMonth() != null && dateResult.getEndMonth() != null) {
                 int currentYear = dateResult.getStartYear() != null ? dateResult.getStartYear() : java.time.LocalDate.now().getYear();
                 int endYear = dateResult.getEndYear() != null ? dateResult.getEndYear() : currentYear;
                 java.time.LocalDate startDate = java.time.LocalDate.of(currentYear, dateResult.getStartMonth(), 1);
                 java.time.LocalDate endDate = java.time.LocalDate.of(endYear, dateResult.getEndMonth(), java.time.LocalDate.of(endYear, dateResult.getEndMonth(), 1).lengthOfMonth());
                 String dateRange = startDate.toString() + "," + endDate.toString();
-                entities.add(new NLPQueryClassifier.EntityFilter("CREATE_DATE", "MONTH_RANGE", dateRange, "extracted"));
+                entities.add(new EntityFilter("CREATE_DATE", "MONTH_RANGE", dateRange, "extracted"));
             } else if (dateResult.getSpecificDate() != null) {
-                entities.add(new NLPQueryClassifier.EntityFilter("CREATE_DATE", "=", dateResult.getSpecificDate().toString(), "extracted"));
+                entities.add(new EntityFilter("CREATE_DATE", "=", dateResult.getSpecificDate().toString(), "extracted"));
             }
         }
         return entities;
@@ -499,15 +499,15 @@ public class ContractProcessor {
     /**
      * Validate input
      */
-    private List<NLPQueryClassifier.ValidationError> validateInput(HeaderInfo headerInfo, List<NLPQueryClassifier.EntityFilter> entities) {
-        List<NLPQueryClassifier.ValidationError> errors = new ArrayList<>();
+    private List<ValidationError> validateInput(HeaderInfo headerInfo, List<EntityFilter> entities) {
+        List<ValidationError> errors = new ArrayList<>();
         
         // Check if we have at least one identifier
         if (headerInfo.header.contractNumber == null && 
             headerInfo.header.customerNumber == null && 
             headerInfo.header.customerName == null &&
             headerInfo.header.createdBy == null) {
-            errors.add(new NLPQueryClassifier.ValidationError("MISSING_IDENTIFIER", 
+            errors.add(new ValidationError("MISSING_IDENTIFIER", 
                 "Please provide a contract number, customer number, customer name, or creator name", "WARNING"));
         }
         
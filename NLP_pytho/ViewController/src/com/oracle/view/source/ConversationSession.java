@@ -33,17 +33,20 @@ public class ConversationSession {
     // Data collection for multi-turn conversations
     private final Map<String, Object> collectedData = new ConcurrentHashMap<>();
     
-    // User search results for "created by" queries
-    private Map<String, List<Map<String, String>>> userSearchResults = new HashMap<>();
-    private List<String> userDisplayOrder = new ArrayList<>(); // Store the display order
-    private long userSearchTimestamp = 0;
+    // User search results for "created by" queries and contract search results for multiple
+    // contracts per user. Each is an immutable snapshot replaced as a whole, so concurrent requests
+    // of one session never see a half-written result set.
+    private volatile SearchResults<String> userSearch = SearchResults.empty();
+    private volatile SearchResults<Object> contractSearch = SearchResults.empty();
     private static final long USER_SEARCH_EXPIRY = 300000; // 5 minutes
-    
-    // Contract search results for multiple contracts per user
-    private Map<String, List<Map<String, Object>>> contractSearchResults = new HashMap<>();
-    private List<String> contractDisplayOrder = new ArrayList<>(); // Store the display order
-    private long contractSearchTimestamp = 0;
     private static final long CONTRACT_SEARCH_EXPIRY = 300000; // 5 minutes
+    // Memory bounds per stored result set
+    public static final int MAX_SEARCH_ENTRIES = 200;
+    public static final int MAX_SEARCH_ROWS = 10000;
+    
+    // Remaining pages of the last query result ("show more"), replaced as a whole
+    private volatile StoredPage pageContinuation;
+    private static final long PAGE_CONTINUATION_EXPIRY = 300000; // 5 minutes
     
     // Validation results
     private final Map<String, ValidationResult> validationResults = new ConcurrentHashMap<>();
@@ -155,67 +158,52 @@ public class ConversationSession {
      * Store user search results with display order
      */
     public void storeUserSearchResults(Map<String, List<Map<String, String>>> results, List<String> displayOrder) {
-        this.userSearchResults.clear();
-        this.userSearchResults.putAll(results);
-        this.userDisplayOrder.clear();
-        if (displayOrder != null) {
-            this.userDisplayOrder.addAll(displayOrder);
-        }
-        this.userSearchTimestamp = System.currentTimeMillis();
+        this.userSearch = SearchResults.of(results, displayOrder, USER_SEARCH_EXPIRY);
     }
     
     /**
      * Store user search results (backward compatibility)
      */
     public void storeUserSearchResults(Map<String, List<Map<String, String>>> results) {
-        this.userSearchResults.clear();
-        this.userSearchResults.putAll(results);
-        // Create display order from map keys (maintains insertion order if using LinkedHashMap)
-        this.userDisplayOrder.clear();
-        this.userDisplayOrder.addAll(results.keySet());
-        this.userSearchTimestamp = System.currentTimeMillis();
+        // Display order from map keys (maintains insertion order if using LinkedHashMap)
+        this.userSearch = SearchResults.of(results, null, USER_SEARCH_EXPIRY);
     }
     
     /**
      * Get user search results
      */
     public Map<String, List<Map<String, String>>> getUserSearchResults() {
-        return new HashMap<>(userSearchResults);
+        return new LinkedHashMap<>(userSearch.entries);
     }
     
     /**
      * Check if user search results are valid (not expired)
      */
     public boolean isUserSearchValid() {
-        return !userSearchResults.isEmpty() && 
-               (System.currentTimeMillis() - userSearchTimestamp) < USER_SEARCH_EXPIRY;
+        return userSearch.isValid();
     }
     
     /**
-     * Get user by index (1, 2, 3, etc.)
+     * Get user by index (1, 2, 3, etc.) in display order
      */
     public String getUserByIndex(int index) {
-        if (!isUserSearchValid()) {
+        SearchResults<String> search = userSearch;
+        if (!search.isValid() || index < 1 || index > search.displayOrder.size()) {
             return null;
         }
-        
-        // Use display order if available, otherwise fall back to map keys
-        List<String> userNames = !userDisplayOrder.isEmpty() ? userDisplayOrder : new ArrayList<>(userSearchResults.keySet());
-        if (index >= 1 && index <= userNames.size()) {
-            return userNames.get(index - 1);
-        }
-        return null;
+        return search.displayOrder.get(index - 1);
     }
     
     /**
      * Get user by name
      */
     public String getUserByName(String name) {
-        if (!isUserSearchValid()) {
+        SearchResults<String> search = userSearch;
+        if (!search.isValid()) {
             return null;
         }
         
-        for (String userName : userSearchResults.keySet()) {
+        for (String userName : search.entries.keySet()) {
             if (userName.equalsIgnoreCase(name)) {
                 return userName;
             }
@@ -227,91 +215,104 @@ public class ConversationSession {
      * Get contracts for a specific user
      */
     public List<Map<String, String>> getContractsForUser(String userName) {
-        if (!isUserSearchValid()) {
-            return null;
-        }
-        return userSearchResults.get(userName);
+        SearchResults<String> search = userSearch;
+        return search.isValid() ? search.entries.get(userName) : null;
     }
     
     /**
      * Get available users in display order
      */
     public List<String> getAvailableUsers() {
-        if (!isUserSearchValid()) {
-            return new ArrayList<>();
-        }
-        // Return display order if available, otherwise fall back to map keys
-        return !userDisplayOrder.isEmpty() ? new ArrayList<>(userDisplayOrder) : new ArrayList<>(userSearchResults.keySet());
+        SearchResults<String> search = userSearch;
+        return search.isValid() ? new ArrayList<>(search.displayOrder) : new ArrayList<>();
     }
     
     /**
      * Clear user search results
      */
     public void clearUserSearchResults() {
-        userSearchResults.clear();
-        userDisplayOrder.clear();
-        userSearchTimestamp = 0;
+        userSearch = SearchResults.empty();
     }
     
     /**
      * Store contract search results
      */
     public void storeContractSearchResults(Map<String, List<Map<String, Object>>> results) {
-        this.contractSearchResults.clear();
-        this.contractSearchResults.putAll(results);
-        this.contractSearchTimestamp = System.currentTimeMillis();
+        this.contractSearch = SearchResults.of(results, null, CONTRACT_SEARCH_EXPIRY);
     }
     
     /**
      * Store contract search results with display order
      */
     public void storeContractSearchResults(Map<String, List<Map<String, Object>>> results, List<String> displayOrder) {
-        this.contractSearchResults.clear();
-        this.contractSearchResults.putAll(results);
-        this.contractDisplayOrder.clear();
-        if (displayOrder != null) {
-            this.contractDisplayOrder.addAll(displayOrder);
-        }
-        this.contractSearchTimestamp = System.currentTimeMillis();
+        this.contractSearch = SearchResults.of(results, displayOrder, CONTRACT_SEARCH_EXPIRY);
     }
     
     /**
      * Get contract search results
      */
     public Map<String, List<Map<String, Object>>> getContractSearchResults() {
-        return new HashMap<>(contractSearchResults);
+        return new LinkedHashMap<>(contractSearch.entries);
     }
     
     /**
      * Check if contract search results are valid (not expired)
      */
     public boolean isContractSearchValid() {
-        return !contractSearchResults.isEmpty() && 
-               (System.currentTimeMillis() - contractSearchTimestamp) < CONTRACT_SEARCH_EXPIRY;
+        return contractSearch.isValid();
     }
     
     /**
      * Get contract by index (1, 2, 3, etc.)
      */
     public List<Map<String, Object>> getContractByIndex(int index) {
-        String cacheKey = String.valueOf(index);
-        return contractSearchResults.get(cacheKey);
+        SearchResults<Object> search = contractSearch;
+        return search.isValid() ? search.entries.get(String.valueOf(index)) : null;
     }
     
     /**
      * Get contract display order
      */
     public List<String> getContractDisplayOrder() {
-        return new ArrayList<>(contractDisplayOrder);
+        return new ArrayList<>(contractSearch.displayOrder);
     }
     
     /**
      * Clear contract search results
      */
     public void clearContractSearchResults() {
-        contractSearchResults.clear();
-        contractDisplayOrder.clear();
-        contractSearchTimestamp = 0;
+        contractSearch = SearchResults.empty();
+    }
+    
+    /**
+     * Store the continuation of a paged result; null clears it (the last result had no more pages)
+     */
+    public void storePageContinuation(PageContinuation continuation) {
+        this.pageContinuation =
+            continuation != null ? new StoredPage(continuation, System.currentTimeMillis() + PAGE_CONTINUATION_EXPIRY) :
+            null;
+    }
+    
+    /**
+     * Continuation for "show more", or null when there are no more results or it has expired
+     */
+    public PageContinuation getPageContinuation() {
+        StoredPage stored = pageContinuation;
+        return stored != null && System.currentTimeMillis() < stored.expiresAt ? stored.continuation : null;
+    }
+    
+    /**
+     * Check if the last query result has more pages (not expired)
+     */
+    public boolean hasMoreResults() {
+        return getPageContinuation() != null;
+    }
+    
+    /**
+     * Clear the paged result continuation
+     */
+    public void clearPageContinuation() {
+        pageContinuation = null;
     }
     
     /**
@@ -747,6 +748,129 @@ public class ConversationSession {
         }
     }
     
+    /**
+     * Query and position of a paged result - everything needed to fetch the next page
+     */
+    public static class PageContinuation {
+        public final String actionType;
+        public final String[] filterAttributes;
+        public final String[] filterOperations;
+        public final String[] filterValues;
+        public final String[] filterTypes;
+        public final String displayColumns;
+        public final List<String> displayEntities;
+        public final int screenWidth;
+        public final int pageSize;
+        // Opaque position after the last row shown
+        public final String pageToken;
+        // Rows shown so far, over all pages
+        public final int rowsShown;
+        
+        public PageContinuation(String actionType, String[] filterAttributes, String[] filterOperations,
+                                String[] filterValues, String[] filterTypes, String displayColumns,
+                                List<String> displayEntities, int screenWidth, int pageSize, String pageToken,
+                                int rowsShown) {
+            this.actionType = actionType;
+            this.filterAttributes = filterAttributes;
+            this.filterOperations = filterOperations;
+            this.filterValues = filterValues;
+            this.filterTypes = filterTypes;
+            this.displayColumns = displayColumns;
+            this.displayEntities = displayEntities;
+            this.screenWidth = screenWidth;
+            this.pageSize = pageSize;
+            this.pageToken = pageToken;
+            this.rowsShown = rowsShown;
+        }
+        
+        /**
+         * Same query, positioned after the next page
+         */
+        public PageContinuation next(String nextPageToken, int pageRows) {
+            return new PageContinuation(actionType, filterAttributes, filterOperations, filterValues, filterTypes,
+                                        displayColumns, displayEntities, screenWidth, pageSize, nextPageToken,
+                                        rowsShown + pageRows);
+        }
+    }
+    
+    /**
+     * A continuation with its expiry time
+     */
+    private static final class StoredPage {
+        final PageContinuation continuation;
+        final long expiresAt;
+
+        StoredPage(PageContinuation continuation, long expiresAt) {
+            this.continuation = continuation;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    /**
+     * One stored search result set - entries in display order with their own expiry time
+     *
+     * Immutable: at most MAX_SEARCH_ENTRIES entries and MAX_SEARCH_ROWS rows are kept, the entries
+     * shown first win, and the row maps are shared with the query result (not copied).
+     */
+    static final class SearchResults<V> {
+        private static final SearchResults<?> EMPTY =
+            new SearchResults<>(Collections.<String, List<Map<String, Object>>>emptyMap(),
+                                Collections.<String>emptyList(), 0);
+
+        final Map<String, List<Map<String, V>>> entries;
+        final List<String> displayOrder;
+        final long expiresAt;
+
+        private SearchResults(Map<String, List<Map<String, V>>> entries, List<String> displayOrder,
+                              long expiresAt) {
+            this.entries = entries;
+            this.displayOrder = displayOrder;
+            this.expiresAt = expiresAt;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <V> SearchResults<V> empty() {
+            return (SearchResults<V>) EMPTY;
+        }
+
+        /**
+         * Snapshot of results; keys missing from displayOrder follow it in map order
+         */
+        static <V> SearchResults<V> of(Map<String, List<Map<String, V>>> results, List<String> displayOrder,
+                                       long expiryMillis) {
+            if (results == null || results.isEmpty()) {
+                return empty();
+            }
+            Set<String> keys = new LinkedHashSet<>();
+            if (displayOrder != null) {
+                keys.addAll(displayOrder);
+            }
+            keys.addAll(results.keySet());
+
+            Map<String, List<Map<String, V>>> entries = new LinkedHashMap<>();
+            List<String> order = new ArrayList<>();
+            int rows = 0;
+            for (String key : keys) {
+                List<Map<String, V>> value = results.get(key);
+                if (value == null) {
+                    continue;
+                }
+                rows += value.size();
+                if (entries.size() == MAX_SEARCH_ENTRIES || rows > MAX_SEARCH_ROWS) {
+                    break;
+                }
+                entries.put(key, Collections.unmodifiableList(new ArrayList<>(value)));
+                order.add(key);
+            }
+            return new SearchResults<>(Collections.unmodifiableMap(entries), Collections.unmodifiableList(order),
+                                       System.currentTimeMillis() + expiryMillis);
+        }
+
+        boolean isValid() {
+            return !entries.isEmpty() && System.currentTimeMillis() < expiresAt;
+        }
+    }
+    
     public static void main(String v[]) {
         ConversationSession session=new ConversationSession("e16902bf-273f-418c-86ca-970b79b31ebc","igsbhs");
 //        DataExtractionResult dataExtractionResult = session.processUserInput("contract name: Vinod Contract BY VINod,\n" + "account: 12345678,\n" +
@@ -30,6 +30,11 @@ public class ConversationalNLPManager {
     // Session management for multi-turn conversations
     private final ConversationSessionManager sessionManager = ConversationSessionManager.getInstance();
 
+    // Inputs that ask for the next page of the last result
+    private static final Set<String> SHOW_MORE_PHRASES =
+        new HashSet<>(Arrays.asList("show more", "more", "more results", "show more results", "next page", "next",
+                                    "load more", "see more"));
+
     public ConversationalNLPManager() {
         this.nlpClassifier = new NLPQueryClassifier();
         this.flowManager = new ConversationalFlowManager();
@@ -55,9 +60,13 @@ public class ConversationalNLPManager {
             session.getChecklistFieldMap().clear();
             session.getContractFieldMap().clear();
             session.getContext().clear();
+            session.clearPageContinuation();
+            boolean queryStopped = NLPUserActionHandler.getInstance().cancelRunningQuery();
             ChatbotResponse response = new ChatbotResponse();
             response.isSuccess = true;
-            response.dataProviderResponse = "Process cancelled. You can start a new request.";
+            response.dataProviderResponse =
+                queryStopped ? "The running search was stopped. You can start a new request." :
+                "Process cancelled. You can start a new request.";
             return response;
         }
 
@@ -108,6 +117,13 @@ public class ConversationalNLPManager {
                 return handleContractCreationFlow(userInput, session);
             }
 
+            // "show more" continues the last paged result
+            ConversationSession.PageContinuation continuation =
+                SHOW_MORE_PHRASES.contains(lowerInput) ? session.getPageContinuation() : null;
+            if (continuation != null) {
+                return handleShowMore(userInput, continuation, session, startTime);
+            }
+
             // Step 2: NLP intent/entity extraction and disambiguation (only for new sessions)
             NLPQueryClassifier.QueryResult nlpResult = nlpClassifier.classifyWithDisambiguation(userInput);
             System.out.println("Query Result Intent===" + nlpResult.intent);
@@ -493,17 +509,16 @@ public class ConversationalNLPManager {
             response.metadata.confidence = 1.0; // High confidence for fixed prompts
 
             // Set input tracking
-            response.inputTracking = new InputTrackingInfo();
-            response.inputTracking.originalInput = userInput;
-            response.inputTracking.correctedInput = nlpResult.inputTracking.correctedInput;
-            response.inputTracking.correctionConfidence = nlpResult.inputTracking.correctionConfidence;
+            response.inputTracking =
+                new NLPEntityProcessor.InputTrackingResult(userInput, nlpResult.inputTracking.correctedInput,
+                                                           nlpResult.inputTracking.correctionConfidence);
 
             // Set entities and display entities
-            response.entities = convertToEntityFilters(nlpResult.entities);
+            response.entities = nlpResult.entities;
             response.displayEntities = nlpResult.displayEntities;
 
             // Set errors
-            response.errors = convertToValidationErrors(nlpResult.errors);
+            response.errors = nlpResult.errors;
 
             // Set the HTML response as data
             response.data = htmlResponse;
@@ -518,6 +533,41 @@ public class ConversationalNLPManager {
         }
     }
 
+    /**
+     * Handle "show more" - the next page of the last paged query result in this session
+     */
+    private ChatbotResponse handleShowMore(String userInput, ConversationSession.PageContinuation continuation,
+                                           ConversationSession session, long startTime) {
+        NLPUserActionHandler handler = NLPUserActionHandler.getInstance();
+        // The handler stores the continuation after this page in the bound session
+        ConversationSession previous = handler.bindSearchSession(session);
+        String htmlResponse;
+        try {
+            htmlResponse = handler.showMoreResults(continuation);
+        } finally {
+            handler.restoreSearchSession(previous);
+        }
+
+        ChatbotResponse response = new ChatbotResponse();
+        response.isSuccess = true;
+
+        response.metadata = new ResponseMetadata();
+        response.metadata.queryType = "SHOW_MORE";
+        response.metadata.actionType = continuation.actionType;
+        response.metadata.processingTimeMs = System.currentTimeMillis() - startTime;
+        response.metadata.confidence = 1.0;
+
+        response.inputTracking = new NLPEntityProcessor.InputTrackingResult(userInput, userInput, 1.0);
+
+        response.entities = Collections.emptyList();
+        response.displayEntities = continuation.displayEntities;
+        response.errors = Collections.emptyList();
+
+        response.data = htmlResponse;
+        response.dataProviderResponse = htmlResponse;
+        return response;
+    }
+
     /**
      * Handle direct queries (parts, contracts, failed parts)
      */
@@ -535,23 +585,22 @@ public class ConversationalNLPManager {
         response.metadata.confidence = calculateConfidence(nlpResult);
 
         // Set input tracking
-        response.inputTracking = new InputTrackingInfo();
-        response.inputTracking.originalInput = userInput;
-        response.inputTracking.correctedInput = nlpResult.inputTracking.correctedInput;
-        response.inputTracking.correctionConfidence = nlpResult.inputTracking.correctionConfidence;
+        response.inputTracking =
+            new NLPEntityProcessor.InputTrackingResult(userInput, nlpResult.inputTracking.correctedInput,
+                                                       nlpResult.inputTracking.correctionConfidence);
 
         // Set entities and display entities
-        response.entities = convertToEntityFilters(nlpResult.entities);
+        response.entities = nlpResult.entities;
         response.displayEntities = nlpResult.displayEntities;
 
         // Set errors
-        response.errors = convertToValidationErrors(nlpResult.errors);
+        response.errors = nlpResult.errors;
 
         // Generate SQL and execute query (using existing logic)
         if (response.errors.isEmpty()) {
             try {
                 // This would integrate with your existing SQL generation logic
-                response.data = executeQuery(nlpResult);
+                response.data = executeQuery(nlpResult, session);
                 response.isSuccess = true;
 
                 // Check if response indicates user selection is needed
@@ -561,18 +610,15 @@ public class ConversationalNLPManager {
                     session.setWaitingForUserInput(true);
                     response.useractionrequired = true; // Set useractionrequired to true
                     System.out.println("Session set to waiting for user input");
-
-                    // Store user search results in session for future user selection
-                    NLPUserActionHandler handler = NLPUserActionHandler.getInstance();
-                    Map<String, List<Map<String, String>>> userResults = handler.getUserSearchCache();
-                    if (userResults != null && !userResults.isEmpty()) {
-                        session.storeUserSearchResults(userResults);
-                        System.out.println("User search results stored in session: " + userResults.keySet());
-                    }
+                    // The handler stored the user search results in this session for the selection
+                    System.out.println("User search results stored in session: " + session.getAvailableUsers());
                 }
 
             } catch (Exception e) {
-                response.errors.add(new ValidationError("QUERY_EXECUTION_ERROR", e.getMessage(), "ERROR"));
+                // response.errors is the classifier's read-only list
+                List<ValidationError> errors = new ArrayList<>(response.errors);
+                errors.add(new ValidationError("QUERY_EXECUTION_ERROR", e.getMessage(), "ERROR"));
+                response.errors = errors;
                 response.isSuccess = false;
             }
         } else {
@@ -1087,10 +1133,8 @@ public class ConversationalNLPManager {
         response.metadata.confidence = 1.0;
 
         // Set input tracking
-        response.inputTracking = new InputTrackingInfo();
-        response.inputTracking.originalInput = userInput != null ? userInput : "meaningless_input";
-        response.inputTracking.correctedInput = userInput != null ? userInput : "meaningless_input";
-        response.inputTracking.correctionConfidence = 1.0;
+        String trackedInput = userInput != null ? userInput : "meaningless_input";
+        response.inputTracking = new NLPEntityProcessor.InputTrackingResult(trackedInput, trackedInput, 1.0);
 
         return response;
     }
@@ -1231,10 +1275,7 @@ public class ConversationalNLPManager {
             response.metadata.confidence = 1.0;
 
             // Set input tracking
-            response.inputTracking = new InputTrackingInfo();
-            response.inputTracking.originalInput = userInput;
-            response.inputTracking.correctedInput = userInput;
-            response.inputTracking.correctionConfidence = 1.0;
+            response.inputTracking = new NLPEntityProcessor.InputTrackingResult(userInput, userInput, 1.0);
 
             // Clear waiting state and user search results since selection is complete
             session.setWaitingForUserInput(false);
@@ -1354,57 +1395,27 @@ public class ConversationalNLPManager {
         return Math.max(0.0, Math.min(1.0, confidence));
     }
 
-    /**
-     * Convert NLP entities to EntityFilter format
-     */
-    private List<EntityFilter> convertToEntityFilters(List<NLPQueryClassifier.EntityFilter> nlpEntities) {
-        List<EntityFilter> entities = new ArrayList<>();
-        for (NLPQueryClassifier.EntityFilter nlpEntity : nlpEntities) {
-            entities.add(new EntityFilter(nlpEntity.attribute, nlpEntity.operation, nlpEntity.value, nlpEntity.source));
-        }
-        return entities;
-    }
-
-    /**
-     * Convert NLP validation errors to ValidationError format
-     */
-    private List<ValidationError> convertToValidationErrors(List<NLPQueryClassifier.ValidationError> nlpErrors) {
-        List<ValidationError> errors = new ArrayList<>();
-        for (NLPQueryClassifier.ValidationError nlpError : nlpErrors) {
-            errors.add(new ValidationError(nlpError.code, nlpError.message, nlpError.severity));
-        }
-        return errors;
-    }
-
     /**
      * Execute query using existing logic
      */
-    private Object executeQuery(NLPQueryClassifier.QueryResult nlpResult) {
+    private Object executeQuery(NLPQueryClassifier.QueryResult nlpResult, ConversationSession session) {
         System.out.println("executeQuery=================>ConversationalNLPManager.............");
+        // Use the existing NLPUserActionHandler logic
+        NLPUserActionHandler handler = NLPUserActionHandler.getInstance();
+        // User/contract search results and the "show more" continuation of this query are kept in this session
+        ConversationSession previous = handler.bindSearchSession(session);
         try {
-            // Use the existing NLPUserActionHandler logic
-            NLPUserActionHandler handler = NLPUserActionHandler.getInstance();
-
             // Convert NLPQueryClassifier.QueryResult to the format expected by NLPUserActionHandler
             // We'll use the existing processUserInputCompleteResponse method
             String userInput = nlpResult.inputTracking.originalInput;
-            String result = handler.processUserInputCompleteResponse(userInput, 400); // Default screen width
-
-            // Check if this is a user selection response (multiple users found)
-            if (result != null && result.contains("Please select a user:")) {
-                // Extract user search results from NLPUserActionHandler cache
-                Map<String, List<Map<String, String>>> userResults = handler.getUserSearchCache();
-                if (userResults != null && !userResults.isEmpty()) {
-                    // Store in session for future user selection
-                    // This will be handled by the session when user selection is detected
-                    System.out.println("User search results available for session storage");
-                }
-            }
-
-            return result;
+            // A paged result stores its continuation for "show more" again; any other result leaves none
+            session.clearPageContinuation();
+            return handler.processUserInputCompleteResponse(userInput, 400); // Default screen width
 
         } catch (Exception e) {
             return "Error executing query: " + e.getMessage();
+        } finally {
+            handler.restoreSearchSession(previous);
         }
     }
 
@@ -1552,7 +1563,7 @@ public class ConversationalNLPManager {
     public static class ChatbotResponse {
         public boolean isSuccess;
         public ResponseMetadata metadata;
-        public InputTrackingInfo inputTracking;
+        public NLPEntityProcessor.InputTrackingResult inputTracking;
         public List<EntityFilter> entities;
         public List<String> displayEntities;
         public List<ValidationError> errors;
@@ -1561,44 +1572,18 @@ public class ConversationalNLPManager {
         public boolean useractionrequired; // Indicates if user action is required (e.g., user selection)
     }
 
-    public static class ResponseMetadata {
-        public String queryType;
-        public String actionType;
-        public double processingTimeMs;
+    /**
+     * Metadata of a response; an NLPEntityProcessor.QueryMetadata so it can be handed on as is
+     */
+    public static class ResponseMetadata extends NLPEntityProcessor.QueryMetadata {
         public double confidence;
-    }
-
-    public static class InputTrackingInfo {
-        public String originalInput;
-        public String correctedInput;
-        public double correctionConfidence;
-    }
 
-    public static class EntityFilter {
-        public final String attribute;
-        public final String operation;
-        public final String value;
-        public final String source;
-
-        public EntityFilter(String attribute, String operation, String value, String source) {
-            this.attribute = attribute;
-            this.operation = operation;
-            this.value = value;
-            this.source = source;
+        public ResponseMetadata() {
+            super(null, null, 0);
         }
     }
 
-    public static class ValidationError {
-        public final String code;
-        public final String message;
-        public final String severity;
 
-        public ValidationError(String code, String message, String severity) {
-            this.code = code;
-            this.message = message;
-            this.severity = severity;
-        }
-    }
 
     /**
      * Enhanced processing result class
@@ -0,0 +1,228 @@
+package com.oracle.view.source;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Near-cache for customer (account number) lookups against HR.CCT_CUTSOMERS_TGM
+ *
+ * Contract creation validates the account number on every input, and users often retry the same
+ * invalid number. Active customers are cached with their details for CUSTOMER_TTL; unknown or
+ * inactive numbers are remembered for the shorter UNKNOWN_TTL, so a customer added meanwhile is
+ * found soon after. Database errors are never cached.
+ *
+ * USAGE:
+ * - getCustomer(accountNumber, source) / isValid(accountNumber, source) for a single number
+ * - validateAll(accountNumbers, source) checks a list with one bulk query for the numbers not cached
+ * - preload(source) fills the cache with active customers (see PRELOAD_PROPERTY)
+ *
+ * Concurrent lookups of the same number share one database call. All methods are thread-safe.
+ */
+public class CustomerCache {
+
+    public static final int MAX_CUSTOMERS = 10000;
+    public static final long CUSTOMER_TTL = 600000; // 10 minutes
+    public static final int MAX_UNKNOWN = 5000;
+    public static final long UNKNOWN_TTL = 120000; // 2 minutes
+    // -Dnlp.customer.preload=true loads the active customers on first use
+    public static final String PRELOAD_PROPERTY = "nlp.customer.preload";
+
+    private static volatile CustomerCache instance;
+
+    // Account number -> details of an active customer
+    private final BoundedCache<String, Map<String, Object>> customers =
+        new BoundedCache<>(MAX_CUSTOMERS, CUSTOMER_TTL);
+    // Account numbers that are unknown or inactive
+    private final BoundedCache<String, Boolean> unknown = new BoundedCache<>(MAX_UNKNOWN, UNKNOWN_TTL);
+    private volatile boolean preloadChecked;
+
+    /**
+     * Database access for the cache
+     */
+    public interface Source {
+        /**
+         * pullCustomerDetails result: "exists", the customer columns, or "error"
+         */
+        Map<String, Object> lookup(String accountNumber);
+
+        /**
+         * Active customers among accountNumbers, by account number; null when the query failed
+         */
+        Map<String, Map<String, Object>> lookupAll(List<String> accountNumbers);
+
+        /**
+         * Active customers to preload, by account number; null when the query failed
+         */
+        Map<String, Map<String, Object>> loadActive();
+    }
+
+    /**
+     * Get singleton instance
+     */
+    public static CustomerCache getInstance() {
+        if (instance == null) {
+            synchronized (CustomerCache.class) {
+                if (instance == null) {
+                    instance = new CustomerCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Details of the active customer, or null when the number is unknown, inactive or could not be checked
+     */
+    public Map<String, Object> getCustomer(String accountNumber, final Source source) {
+        if (accountNumber == null || accountNumber.trim().isEmpty()) {
+            return null;
+        }
+        preloadIfEnabled(source);
+        String key = accountNumber.trim();
+        if (unknown.get(key) != null) {
+            return null;
+        }
+        return customers.getOrLoad(key, number -> {
+            Map<String, Object> result;
+            try {
+                result = source.lookup(number);
+            } catch (RuntimeException e) {
+                System.out.println("CustomerCache: lookup failed for " + number + " - " + e.getMessage());
+                return null;
+            }
+            if (result != null && Boolean.TRUE.equals(result.get("exists"))) {
+                return details(result);
+            }
+            if (result != null && !result.containsKey("error")) {
+                unknown.put(number, Boolean.TRUE);
+            }
+            return null;
+        });
+    }
+
+    public boolean isValid(String accountNumber, Source source) {
+        return getCustomer(accountNumber, source) != null;
+    }
+
+    /**
+     * Valid/invalid for each account number, in input order. Numbers that are not cached are
+     * looked up together; if that query fails they are reported invalid and not cached.
+     */
+    public Map<String, Boolean> validateAll(Collection<String> accountNumbers, Source source) {
+        Map<String, Boolean> validity = new LinkedHashMap<>();
+        if (accountNumbers == null || accountNumbers.isEmpty()) {
+            return validity;
+        }
+        preloadIfEnabled(source);
+        List<String> missing = new ArrayList<>();
+        for (String accountNumber : accountNumbers) {
+            if (accountNumber == null || accountNumber.trim().isEmpty()) {
+                continue;
+            }
+            String key = accountNumber.trim();
+            if (validity.containsKey(key)) {
+                continue;
+            }
+            if (unknown.get(key) != null) {
+                validity.put(key, false);
+            } else if (customers.get(key) != null) {
+                validity.put(key, true);
+            } else {
+                validity.put(key, false);
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, Map<String, Object>> found = source.lookupAll(missing);
+            if (found != null) {
+                for (String key : missing) {
+                    Map<String, Object> customer = found.get(key);
+                    if (customer != null) {
+                        customers.put(key, details(customer));
+                        validity.put(key, true);
+                    } else {
+                        unknown.put(key, Boolean.TRUE);
+                    }
+                }
+            }
+        }
+        return validity;
+    }
+
+    /**
+     * Load active customers into the cache; returns the number loaded
+     */
+    public int preload(Source source) {
+        Map<String, Map<String, Object>> active = source.loadActive();
+        if (active == null) {
+            return 0;
+        }
+        for (Map.Entry<String, Map<String, Object>> customer : active.entrySet()) {
+            if (customer.getKey() != null) {
+                customers.put(customer.getKey(), details(customer.getValue()));
+                unknown.invalidate(customer.getKey());
+            }
+        }
+        System.out.println("CustomerCache: preloaded " + active.size() + " active customers");
+        return active.size();
+    }
+
+    /**
+     * Forget what is known about one account number (e.g. after it was created or deactivated)
+     */
+    public void invalidate(String accountNumber) {
+        if (accountNumber != null) {
+            customers.invalidate(accountNumber.trim());
+            unknown.invalidate(accountNumber.trim());
+        }
+    }
+
+    public void clear() {
+        customers.invalidateAll();
+        unknown.invalidateAll();
+    }
+
+    /**
+     * Counters of the customer and unknown-number caches
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("customers", customers.getStatistics());
+        stats.put("unknown", unknown.getStatistics());
+        return stats;
+    }
+
+    private void preloadIfEnabled(Source source) {
+        if (preloadChecked) {
+            return;
+        }
+        synchronized (this) {
+            if (preloadChecked) {
+                return;
+            }
+            preloadChecked = true;
+        }
+        if (Boolean.getBoolean(PRELOAD_PROPERTY)) {
+            try {
+                preload(source);
+            } catch (RuntimeException e) {
+                System.out.println("CustomerCache: preload failed - " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Read-only copy of the customer columns (without the "exists"/"message" flags)
+     */
+    private static Map<String, Object> details(Map<String, Object> result) {
+        Map<String, Object> details = new HashMap<>(result);
+        details.remove("exists");
+        details.remove("message");
+        return Collections.unmodifiableMap(details);
+    }
+}
@@ -70,13 +70,13 @@ public class CustomerProcessor {
     /**
      * Extract filter entities
      */
-    private List<NLPQueryClassifier.EntityFilter> extractEntities(String originalInput, String correctedInput, HeaderInfo headerInfo) {
-        List<NLPQueryClassifier.EntityFilter> entities = new ArrayList<>();
+    private List<EntityFilter> extractEntities(String originalInput, String correctedInput, HeaderInfo headerInfo) {
+        List<EntityFilter> entities = new ArrayList<>();
         if (headerInfo.header.customerNumber != null) {
-            entities.add(new NLPQueryClassifier.EntityFilter("CUSTOMER_NUMBER", "=", headerInfo.header.customerNumber, "extracted"));
+            entities.add(new EntityFilter("CUSTOMER_NUMBER", "=", headerInfo.header.customerNumber, "extracted"));
         }
         if (headerInfo.header.customerName != null) {
-            entities.add(new NLPQueryClassifier.EntityFilter("CUSTOMER_NAME", "=", headerInfo.header.customerName, "extracted"));
+            entities.add(new EntityFilter("CUSTOMER_NAME", "=", headerInfo.header.customerName, "extracted"));
         }
         return entities;
     }
@@ -104,10 +104,10 @@ public class CustomerProcessor {
     /**
      * Validate input
      */
-    private List<NLPQueryClassifier.ValidationError> validateInput(HeaderInfo headerInfo, List<NLPQueryClassifier.EntityFilter> entities) {
-        List<NLPQueryClassifier.ValidationError> errors = new ArrayList<>();
+    private List<ValidationError> validateInput(HeaderInfo headerInfo, List<EntityFilter> entities) {
+        List<ValidationError> errors = new ArrayList<>();
         if (headerInfo.header.customerNumber == null && headerInfo.header.customerName == null) {
-            errors.add(new NLPQueryClassifier.ValidationError("MISSING_IDENTIFIER", "Please provide a customer number or customer name", "WARNING"));
+            errors.add(new ValidationError("MISSING_IDENTIFIER", "Please provide a customer number or customer name", "WARNING"));
         }
         return errors;
     }
@@ -51,72 +51,128 @@ public class EnhancedNLPProcessor {
         return String.join(" ", normalizedWords);
     }
     
+    // Feature ids for the classifier vocabularies - one bit each in KeywordAutomaton.Features
+    private static final int F_HELP_EN = 0;
+    private static final int F_HELP_ES = 1;
+    private static final int F_CONTRACT = 2;
+    private static final int F_CONTRATO = 3;
+    private static final int F_DATA_RETRIEVAL = 4;
+    private static final int F_WHEN = 5;
+    private static final int F_CREATED = 6;
+    private static final int F_INFORMATION = 7;
+    private static final int F_HOW_IS = 8;
+    private static final int F_FAILED = 9;
+    private static final int F_LEAD_TIME = 10;
+    private static final int F_PART_SPECIFIC = 11;
+    private static final int F_PART_CONTEXT = 12;
+    private static final int F_CONTRACT_OR_TYPO = 13;
+    private static final int F_EXPLICIT_CREATION = 14;
+    private static final int F_HELP_INDICATOR = 15;
+    private static final int F_DATA_RETRIEVAL_PHRASE = 16;
+    private static final int F_CREATION_VERB_WORD = 17;
+    private static final int F_EXPLICIT_HELP = 18;
+    private static final int F_CONCATENATED_CREATION = 19;
+    private static final int F_PAST_TENSE_WORD = 20;
+    private static final int F_PROGRESSIVE_WORD = 21;
+    private static final int F_NOUN_FORM_WORD = 22;
+    private static final int F_CONTRACT_CREATION_QUERY = 23;
+    private static final int F_PART_WORD = 24;
+    private static final int F_PART_ATTRIBUTE_WORD = 25;
+    private static final int F_USER_INSTRUCTION = 26;
+    private static final int F_CAN_YOU_SHOW_ME = 27;
+    private static final int F_CAN_YOU_EXPLAIN = 28;
+    private static final int F_BOT_CREATE = 29;
+    private static final int F_BOT_REQUEST = 30;
+
+    // Part number shapes that are not plain keywords - compiled once
+    // "\b[A-Za-z0-9-]+\b" also covers the narrower "\b[A-Za-z]{2}\d{4,6}\b" and "\b[A-Za-z]{2,4}-[A-Za-z0-9]+\b" shapes
+    private static final Pattern ANY_PART_TOKEN_PATTERN = Pattern.compile("\\b[A-Za-z0-9-]+\\b");
+    private static final Pattern PART_NUMBER_PATTERN = Pattern.compile("\\b[A-Za-z0-9]{3,}(?:-[A-Za-z0-9]+)*\\b");
+
+    // Compiled once over every vocabulary used by determineQueryType/determineActionType
+    private static final KeywordAutomaton CLASSIFIER_AUTOMATON = new KeywordAutomaton()
+        // PRIORITY 0: HELP detection for contract creation/instruction queries (ENGLISH & SPANISH)
+        .addKeywords(F_HELP_EN, false, "how to", "steps", "process", "guide", "tell me", "show me", "instructions", "walk me through", "explain", "need guidance", "what's the process", "help", "guidance", "create", "make", "build", "generate", "set up", "setup", "draft", "initiate", "start", "produce", "prepare", "compose", "write", "construct", "form", "develop", "assemble", "manufacture", "fabricate", "establish")
+        .addKeywords(F_HELP_ES, false, "cómo crear", "pasos", "proceso", "guía", "instrucciones", "explícame", "puedes mostrarme", "camíname por", "necesito", "cuál es el proceso", "ayuda", "guía", "crear", "hacer", "generar", "construir", "iniciar", "empezar", "producir", "preparar", "componer", "escribir", "formar", "desarrollar", "ensamblar", "fabricar", "establecer")
+        .addKeywords(F_CONTRACT, false, "contract")
+        .addKeywords(F_CONTRATO, false, "contrato")
+        .addKeywords(F_DATA_RETRIEVAL, false, "show me", "get", "what", "tell", "list", "display", "find", "search", "show", "get me", "find me", "search for", "look for", "tell me")
+        .addKeywords(F_WHEN, false, "when", "what date")
+        .addKeywords(F_CREATED, false, "created", "made", "started", "initiated")
+        .addKeywords(F_INFORMATION, false, "information on", "info on", "details on", "tell me about", "what about", "status on", "update on")
+        .addKeywords(F_HOW_IS, false, "how is")
+        .addKeywords(F_FAILED, false, "failed", "error", "failure", "reason", "why", "caused")
+        .addKeywords(F_LEAD_TIME, false, "lead time", "leadtime")
+        .addKeywords(F_PART_SPECIFIC, false, "cost of part", "price of part", "minimum order quantity for", "moq for", "lead time for part", "uom for part")
+        .addKeywords(F_PART_CONTEXT, false, "part", "parts", "pasts", "past", "lead time", "leadtime", "price", "cost", "moq", "uom")
+        .addKeywords(F_CONTRACT_OR_TYPO, false, "contract", "contarct")
+        .addKeywords(F_EXPLICIT_CREATION, false, "create contract", "make contract", "generate contract", "build contract", "draft contract", "initiate contract", "start contract", "produce contract", "prepare contract", "compose contract", "write contract", "construct contract", "form contract", "develop contract", "assemble contract", "manufacture contract", "fabricate contract", "establish contract", "setup contract")
+        .addKeywords(F_HELP_INDICATOR, false, "help", "how", "guide", "steps", "process", "method", "procedure", "approach", "technique", "strategy", "plan", "scheme", "design", "layout", "structure", "framework", "system", "mechanism", "workflow", "pipeline", "sequence", "series", "chain", "line", "path", "route", "way", "means", "manner", "mode", "style", "format", "pattern", "template", "model", "example", "sample", "instance", "case", "scenario", "situation", "circumstance", "context", "environment", "setting", "background")
+        .addKeywords(F_DATA_RETRIEVAL_PHRASE, false, "show me", "tell me", "get me", "find me", "search for", "look for", "display", "list")
+        .addKeywords(F_CREATION_VERB_WORD, true, "create", "make", "generate", "build", "draft", "initiate", "start", "produce", "prepare", "compose", "write", "construct", "form", "develop", "assemble", "manufacture", "fabricate", "establish", "setup")
+        .addKeywords(F_EXPLICIT_HELP, false, "help", "how to", "guide", "steps", "instructions", "process", "method", "procedure")
+        .addKeywords(F_CONCATENATED_CREATION, false, "contractcreation", "contractcreate", "createcontract", "makecontract", "generatecontract", "draftcontract", "initiatecontract", "startcontract", "producecontract", "buildcontract", "preparecontract", "composecontract", "writecontract", "constructcontract", "formcontract", "developcontract", "assemblecontract", "manufacturecontract", "fabricatecontract", "establishcontract", "setupcontract", "docontract", "drawcontract", "putcontract", "getcontract", "givecontract", "sendcontract", "providecontract", "helpcontract", "assistcontract", "needcontract", "wantcontract", "requirecontract", "requestcontract", "ordercontract", "askcontract", "demandcontract", "wishcontract", "likecontract")
+        .addKeywords(F_PAST_TENSE_WORD, true, "made", "generated", "created", "built", "drafted", "initiated", "started", "produced", "prepared", "composed", "wrote", "constructed", "formed", "developed", "assembled", "manufactured", "fabricated", "established", "set up", "did", "drew", "put", "got", "gave", "sent", "provided", "helped", "assisted", "needed", "wanted", "required", "requested", "ordered", "asked", "demanded", "wished", "liked")
+        .addKeywords(F_PROGRESSIVE_WORD, true, "creating", "making", "generating", "building", "drafting", "initiating", "starting", "producing", "preparing", "composing", "writing", "constructing", "forming", "developing", "assembling", "manufacturing", "fabricating", "establishing", "setting up", "doing", "drawing", "putting", "getting", "giving", "sending", "providing", "helping", "assisting", "needing", "wanting", "requiring", "requesting", "ordering", "asking", "demanding", "wishing", "liking")
+        .addKeywords(F_NOUN_FORM_WORD, true, "creation", "generation", "making", "building", "drafting", "initiation", "starting", "production", "preparation", "composition", "writing", "construction", "formation", "development", "assembly", "manufacturing", "fabrication", "establishment", "setup", "doing", "drawing", "putting", "getting", "giving", "sending", "providing", "helping", "assisting", "needing", "wanting", "requiring", "requesting", "ordering", "asking", "demanding", "wishing", "liking")
+        .addKeywords(F_CONTRACT_CREATION_QUERY, false, "create", "make", "generate", "build", "how to", "steps", "process", "guide")
+        .addKeywords(F_PART_WORD, true, "part", "parts")
+        .addKeywords(F_PART_ATTRIBUTE_WORD, true, "price", "cost", "moq", "lead time", "uom")
+        // HELP action typing - "<phrase>.*contract" checks use match positions
+        .addKeywords(F_USER_INSTRUCTION, false, "how to", "steps to", "steps for", "walk me through", "explain how to", "instructions for", "process for", "guide for", "show me how to", "what's the process", "need guidance", "help understanding", "understanding", "guidance", "explain", "instructions", "process", "guide", "walk me through", "need help understanding", "i need guidance", "explain how", "explain")
+        .addKeywords(F_CAN_YOU_SHOW_ME, false, "can you show me")
+        .addKeywords(F_CAN_YOU_EXPLAIN, false, "can you explain")
+        .addKeywords(F_BOT_CREATE, false, "create", "make", "generate", "set up", "setup", "draft", "initiate", "start", "produce", "prepare", "compose", "write", "construct", "form", "develop", "assemble", "manufacture", "fabricate", "establish")
+        .addKeywords(F_BOT_REQUEST, false, "for me", "can you", "please", "could you", "need you to", "want you to")
+        .compile();
+
+    /**
+     * Scan both forms of the input once; the result feeds determineQueryType and determineActionType
+     */
+    public static QueryFeatures extractFeatures(String originalInput, String normalizedInput) {
+        return new QueryFeatures(originalInput, normalizedInput);
+    }
+
     /**
      * Enhanced query type detection using WordDatabase
      */
     public static String determineQueryType(String originalInput, String normalizedInput) {
-        if (originalInput == null || normalizedInput == null) {
+        return determineQueryType(extractFeatures(originalInput, normalizedInput));
+    }
+
+    /**
+     * Enhanced query type detection using WordDatabase
+     * Every keyword check reads from the features scanned once per request
+     */
+    public static String determineQueryType(QueryFeatures features) {
+        if (features.original == null) {
             return "CONTRACTS"; // Default fallback
         }
         
-        String lowerOriginal = originalInput.toLowerCase();
-        String lowerNormalized = normalizedInput.toLowerCase();
+        String lowerOriginal = features.lowerOriginal;
+        String lowerNormalized = features.lowerNormalized;
+        KeywordAutomaton.Features original = features.original;
+        KeywordAutomaton.Features normalized = features.normalized;
         
         // PRIORITY 0: HELP detection for contract creation/instruction queries (ENGLISH & SPANISH)
         // This MUST be checked FIRST before any other classification
-        String[] helpKeywordsEN = {"how to", "steps", "process", "guide", "tell me", "show me", "instructions", "walk me through", "explain", "need guidance", "what's the process", "help", "guidance", "create", "make", "build", "generate", "set up", "setup", "draft", "initiate", "start", "produce", "prepare", "compose", "write", "construct", "form", "develop", "assemble", "manufacture", "fabricate", "establish"};
-        String[] helpKeywordsES = {"cómo crear", "pasos", "proceso", "guía", "instrucciones", "explícame", "puedes mostrarme", "camíname por", "necesito", "cuál es el proceso", "ayuda", "guía", "crear", "hacer", "generar", "construir", "iniciar", "empezar", "producir", "preparar", "componer", "escribir", "formar", "desarrollar", "ensamblar", "fabricar", "establecer"};
-        boolean hasHelpEN = false;
-        for (String kw : helpKeywordsEN) {
-            if (lowerOriginal.contains(kw)) { hasHelpEN = true; break; }
-        }
-        boolean hasHelpES = false;
-        for (String kw : helpKeywordsES) {
-            if (lowerOriginal.contains(kw)) { hasHelpES = true; break; }
-        }
-        if ((hasHelpEN && lowerOriginal.contains("contract")) || (hasHelpES && lowerOriginal.contains("contrato"))) {
+        if ((original.has(F_HELP_EN) && original.has(F_CONTRACT)) ||
+            (original.has(F_HELP_ES) && original.has(F_CONTRATO))) {
             return "HELP";
         }
         
         // PRIORITY 1: Check for specific data retrieval patterns that should NOT be HELP
         // These patterns should override HELP classification when specific data identifiers are present
-        boolean hasContractNumber = lowerOriginal.matches(".*\\b\\d{6,}\\b.*") || lowerNormalized.matches(".*\\b\\d{6,}\\b.*") ||
-                                   lowerOriginal.matches(".*\\d{6,}.*") || lowerNormalized.matches(".*\\d{6,}.*");
-        // Enhanced part number detection to handle various formats including AIR-A320-001
-        boolean hasPartNumber = lowerOriginal.matches(".*\\b[A-Za-z]{2}\\d{4,6}\\b.*") || lowerNormalized.matches(".*\\b[A-Za-z]{2}\\d{4,6}\\b.*") ||
-                               lowerOriginal.matches(".*\\b[A-Za-z]{2,4}-[A-Za-z0-9]+\\b.*") || lowerNormalized.matches(".*\\b[A-Za-z]{2,4}-[A-Za-z0-9]+\\b.*") ||
-                               lowerOriginal.matches(".*\\b[A-Za-z0-9-]+\\b.*") || lowerNormalized.matches(".*\\b[A-Za-z0-9-]+\\b.*");
-        boolean hasDataRetrievalWords = lowerOriginal.contains("show me") || lowerOriginal.contains("get") || 
-                                       lowerOriginal.contains("what") || lowerOriginal.contains("tell") ||
-                                       lowerOriginal.contains("list") || lowerOriginal.contains("display") ||
-                                       lowerOriginal.contains("find") || lowerOriginal.contains("search") ||
-                                       lowerOriginal.contains("show") || lowerOriginal.contains("get me") ||
-                                       lowerOriginal.contains("find me") || lowerOriginal.contains("search for") ||
-                                       lowerOriginal.contains("look for") || lowerOriginal.contains("tell me") ||
-                                       lowerNormalized.contains("show me") || lowerNormalized.contains("get") || 
-                                       lowerNormalized.contains("what") || lowerNormalized.contains("tell") ||
-                                       lowerNormalized.contains("list") || lowerNormalized.contains("display") ||
-                                       lowerNormalized.contains("find") || lowerNormalized.contains("search") ||
-                                       lowerNormalized.contains("show") || lowerNormalized.contains("get me") ||
-                                       lowerNormalized.contains("find me") || lowerNormalized.contains("search for") ||
-                                       lowerNormalized.contains("look for") || lowerNormalized.contains("tell me");
+        boolean hasContractNumber = hasDigitRun(original, 6) || hasDigitRun(normalized, 6);
+        boolean hasDataRetrievalWords = original.has(F_DATA_RETRIEVAL) || normalized.has(F_DATA_RETRIEVAL);
         
         // CRITICAL FIX: Check for specific creation date/information queries that should be CONTRACTS, not HELP
-        boolean isCreationDateQuery = (lowerOriginal.contains("when") || lowerOriginal.contains("what date")) && 
-                                     (lowerOriginal.contains("created") || lowerOriginal.contains("made") || 
-                                      lowerOriginal.contains("started") || lowerOriginal.contains("initiated")) &&
-                                     hasContractNumber;
+        boolean isCreationDateQuery = original.has(F_WHEN) && original.has(F_CREATED) && hasContractNumber;
         
-        boolean isInformationQuery = lowerOriginal.contains("information on") || lowerOriginal.contains("info on") ||
-                                    lowerOriginal.contains("details on") || lowerOriginal.contains("tell me about") ||
-                                    lowerOriginal.contains("what about") || lowerOriginal.contains("status on") ||
-                                    lowerOriginal.contains("update on") || lowerOriginal.contains("how is") &&
-                                    hasContractNumber;
+        boolean isInformationQuery = original.has(F_INFORMATION) || (original.has(F_HOW_IS) && hasContractNumber);
         
         // PRIORITY 1: If it has failed/error keywords, it's likely a FAILED_PARTS query
-        if (lowerOriginal.contains("failed") || lowerOriginal.contains("error") || 
-            lowerOriginal.contains("failure") || lowerOriginal.contains("reason") ||
-            lowerOriginal.contains("why") || lowerOriginal.contains("caused")) {
+        if (original.has(F_FAILED)) {
             return "FAILED_PARTS";
         }
         
@@ -126,22 +182,20 @@ public class EnhancedNLPProcessor {
         }
         
         // PRIORITY 2: Lead time queries should always be PARTS queries
-        if (lowerOriginal.contains("lead time") || lowerOriginal.contains("leadtime")) {
+        if (original.has(F_LEAD_TIME)) {
             return "PARTS";
         }
         
+        // Enhanced part number detection to handle various formats including AIR-A320-001
+        boolean hasPartNumber = features.hasAnyPartToken();
+        
         // PRIORITY 3: If it has part number and data retrieval words, it's likely a PARTS query
         if (hasPartNumber && hasDataRetrievalWords) {
             return "PARTS";
         }
         
         // CRITICAL FIX: Specific part-related queries should be PARTS, not CONTRACTS
-        boolean isPartSpecificQuery = (lowerOriginal.contains("cost of part") || lowerOriginal.contains("price of part") ||
-                                      lowerOriginal.contains("minimum order quantity for") || lowerOriginal.contains("moq for") ||
-                                      lowerOriginal.contains("lead time for part") || lowerOriginal.contains("uom for part")) &&
-                                     hasPartNumber;
-        
-        if (isPartSpecificQuery) {
+        if (original.has(F_PART_SPECIFIC) && hasPartNumber) {
             return "PARTS";
         }
         
@@ -152,189 +206,75 @@ public class EnhancedNLPProcessor {
         
         // PRIORITY 5: If it has data retrieval words and contract/part context, classify appropriately
         if (hasDataRetrievalWords) {
-            // Enhanced part context detection with typo handling and lead time context
-            boolean hasPartContext = lowerOriginal.contains("part") || lowerOriginal.contains("parts") ||
-                                    lowerOriginal.contains("pasts") || lowerOriginal.contains("past") || // Handle typos
-                                    lowerOriginal.contains("lead time") || lowerOriginal.contains("leadtime") || // Lead time context
-                                    lowerOriginal.contains("price") || lowerOriginal.contains("cost") || // Price/cost context
-                                    lowerOriginal.contains("moq") || lowerOriginal.contains("uom"); // Part attributes
-            
-            if (hasPartContext || hasPartNumber) {
+            // Enhanced part context detection with typo handling, lead time, price/cost and part attributes
+            if (original.has(F_PART_CONTEXT) || hasPartNumber) {
                 return "PARTS";
-            } else if (lowerOriginal.contains("contract") || hasContractNumber) {
+            } else if (original.has(F_CONTRACT) || hasContractNumber) {
                 return "CONTRACTS";
             }
         }
         
         // Define creation context check
-        boolean hasCreationContext = lowerOriginal.contains("contract") || lowerOriginal.contains("contarct") ||
-                                    lowerNormalized.contains("contract") || lowerNormalized.contains("contarct");
+        boolean hasCreationContext = original.has(F_CONTRACT_OR_TYPO) || normalized.has(F_CONTRACT_OR_TYPO);
         
         // Define explicit creation context check
-        boolean hasExplicitCreationContext = lowerOriginal.contains("create contract") || 
-                                            lowerOriginal.contains("make contract") ||
-                                            lowerOriginal.contains("generate contract") ||
-                                            lowerOriginal.contains("build contract") ||
-                                            lowerOriginal.contains("draft contract") ||
-                                            lowerOriginal.contains("initiate contract") ||
-                                            lowerOriginal.contains("start contract") ||
-                                            lowerOriginal.contains("produce contract") ||
-                                            lowerOriginal.contains("prepare contract") ||
-                                            lowerOriginal.contains("compose contract") ||
-                                            lowerOriginal.contains("write contract") ||
-                                            lowerOriginal.contains("construct contract") ||
-                                            lowerOriginal.contains("form contract") ||
-                                            lowerOriginal.contains("develop contract") ||
-                                            lowerOriginal.contains("assemble contract") ||
-                                            lowerOriginal.contains("manufacture contract") ||
-                                            lowerOriginal.contains("fabricate contract") ||
-                                            lowerOriginal.contains("establish contract") ||
-                                            lowerOriginal.contains("setup contract") ||
-                                            lowerNormalized.contains("create contract") || 
-                                            lowerNormalized.contains("make contract") ||
-                                            lowerNormalized.contains("generate contract") ||
-                                            lowerNormalized.contains("build contract") ||
-                                            lowerNormalized.contains("draft contract") ||
-                                            lowerNormalized.contains("initiate contract") ||
-                                            lowerNormalized.contains("start contract") ||
-                                            lowerNormalized.contains("produce contract") ||
-                                            lowerNormalized.contains("prepare contract") ||
-                                            lowerNormalized.contains("compose contract") ||
-                                            lowerNormalized.contains("write contract") ||
-                                            lowerNormalized.contains("construct contract") ||
-                                            lowerNormalized.contains("form contract") ||
-                                            lowerNormalized.contains("develop contract") ||
-                                            lowerNormalized.contains("assemble contract") ||
-                                            lowerNormalized.contains("manufacture contract") ||
-                                            lowerNormalized.contains("fabricate contract") ||
-                                            lowerNormalized.contains("establish contract") ||
-                                            lowerNormalized.contains("setup contract");
+        boolean hasExplicitCreationContext = original.has(F_EXPLICIT_CREATION) || normalized.has(F_EXPLICIT_CREATION);
         
         // Check for explicit HELP indicators
-        if (lowerOriginal.contains("help") || lowerOriginal.contains("how") || 
-            lowerOriginal.contains("guide") || lowerOriginal.contains("steps") ||
-            lowerOriginal.contains("process") || lowerOriginal.contains("method") ||
-            lowerOriginal.contains("procedure") || lowerOriginal.contains("approach") ||
-            lowerOriginal.contains("technique") || lowerOriginal.contains("strategy") ||
-            lowerOriginal.contains("plan") || lowerOriginal.contains("scheme") ||
-            lowerOriginal.contains("design") || lowerOriginal.contains("layout") ||
-            lowerOriginal.contains("structure") || lowerOriginal.contains("framework") ||
-            lowerOriginal.contains("system") || lowerOriginal.contains("mechanism") ||
-            lowerOriginal.contains("workflow") || lowerOriginal.contains("pipeline") ||
-            lowerOriginal.contains("sequence") || lowerOriginal.contains("series") ||
-            lowerOriginal.contains("chain") || lowerOriginal.contains("line") ||
-            lowerOriginal.contains("path") || lowerOriginal.contains("route") ||
-            lowerOriginal.contains("way") || lowerOriginal.contains("means") ||
-            lowerOriginal.contains("manner") || lowerOriginal.contains("mode") ||
-            lowerOriginal.contains("style") || lowerOriginal.contains("format") ||
-            lowerOriginal.contains("pattern") || lowerOriginal.contains("template") ||
-            lowerOriginal.contains("model") || lowerOriginal.contains("example") ||
-            lowerOriginal.contains("sample") || lowerOriginal.contains("instance") ||
-            lowerOriginal.contains("case") || lowerOriginal.contains("scenario") ||
-            lowerOriginal.contains("situation") || lowerOriginal.contains("circumstance") ||
-            lowerOriginal.contains("context") || lowerOriginal.contains("environment") ||
-            lowerOriginal.contains("setting") || lowerOriginal.contains("background")) {
+        if (original.has(F_HELP_INDICATOR)) {
             return "HELP";
         }
         
         // Check for creation words using WordDatabase only in explicit creation context
-        boolean hasCreationWords = WordDatabase.containsCreationWords(lowerOriginal) || 
-                                  WordDatabase.containsCreationWords(lowerNormalized);
-        
-        if (hasCreationWords && hasExplicitCreationContext) {
+        if (hasExplicitCreationContext &&
+            (WordDatabase.containsCreationWords(lowerOriginal) || WordDatabase.containsCreationWords(lowerNormalized))) {
             return "HELP";
         }
         
         // Check for question words only in explicit creation context
-        boolean hasQuestionWords = WordDatabase.containsQuestionWords(lowerOriginal) || 
-                                  WordDatabase.containsQuestionWords(lowerNormalized);
-        
-        if (hasQuestionWords && hasExplicitCreationContext) {
+        if (hasExplicitCreationContext &&
+            (WordDatabase.containsQuestionWords(lowerOriginal) || WordDatabase.containsQuestionWords(lowerNormalized))) {
             return "HELP";
         }
         
         // Check for imperative indicators only in explicit creation context
-        // But exclude common data retrieval phrases
-        boolean hasImperativeIndicators = WordDatabase.containsImperativeIndicators(lowerOriginal) || 
-                                         WordDatabase.containsImperativeIndicators(lowerNormalized);
-        
-        // Exclude common data retrieval phrases that shouldn't be classified as HELP
-        boolean isDataRetrievalPhrase = lowerOriginal.contains("show me") || 
-                                       lowerOriginal.contains("tell me") ||
-                                       lowerOriginal.contains("get me") ||
-                                       lowerOriginal.contains("find me") ||
-                                       lowerOriginal.contains("search for") ||
-                                       lowerOriginal.contains("look for") ||
-                                       lowerOriginal.contains("display") ||
-                                       lowerOriginal.contains("list") ||
-                                       lowerNormalized.contains("show me") || 
-                                       lowerNormalized.contains("tell me") ||
-                                       lowerNormalized.contains("get me") ||
-                                       lowerNormalized.contains("find me") ||
-                                       lowerNormalized.contains("search for") ||
-                                       lowerNormalized.contains("look for") ||
-                                       lowerNormalized.contains("display") ||
-                                       lowerNormalized.contains("list");
-        
-        if (hasImperativeIndicators && hasExplicitCreationContext && !isDataRetrievalPhrase) {
+        // But exclude common data retrieval phrases that shouldn't be classified as HELP
+        boolean isDataRetrievalPhrase = original.has(F_DATA_RETRIEVAL_PHRASE) || normalized.has(F_DATA_RETRIEVAL_PHRASE);
+        
+        if (hasExplicitCreationContext && !isDataRetrievalPhrase &&
+            (WordDatabase.containsImperativeIndicators(lowerOriginal) ||
+             WordDatabase.containsImperativeIndicators(lowerNormalized))) {
             return "HELP";
         }
         
         // Check for specific patterns that indicate HELP (more restrictive)
         // Only classify as HELP if these words are used in creation context
-        if (hasCreationContext && 
-            (lowerOriginal.matches(".*\\b(create|make|generate|build|draft|initiate|start|produce|prepare|compose|write|construct|form|develop|assemble|manufacture|fabricate|establish|setup)\\b.*") ||
-             lowerNormalized.matches(".*\\b(create|make|generate|build|draft|initiate|start|produce|prepare|compose|write|construct|form|develop|assemble|manufacture|fabricate|establish|setup)\\b.*"))) {
+        if (hasCreationContext && (hasWord(original, F_CREATION_VERB_WORD) || hasWord(normalized, F_CREATION_VERB_WORD))) {
             return "HELP";
         }
         
         // Check for explicit help requests
-        if (lowerOriginal.contains("help") || lowerOriginal.contains("how to") || 
-            lowerOriginal.contains("guide") || lowerOriginal.contains("steps") ||
-            lowerOriginal.contains("instructions") || lowerOriginal.contains("process") ||
-            lowerOriginal.contains("method") || lowerOriginal.contains("procedure")) {
+        if (original.has(F_EXPLICIT_HELP)) {
             return "HELP";
         }
         
         // Check for word boundary issues
-        if (lowerOriginal.contains("contractcreation") || lowerOriginal.contains("contractcreate") ||
-            lowerOriginal.contains("createcontract") || lowerOriginal.contains("makecontract") ||
-            lowerOriginal.contains("generatecontract") || lowerOriginal.contains("draftcontract") ||
-            lowerOriginal.contains("initiatecontract") || lowerOriginal.contains("startcontract") ||
-            lowerOriginal.contains("producecontract") || lowerOriginal.contains("buildcontract") ||
-            lowerOriginal.contains("preparecontract") || lowerOriginal.contains("composecontract") ||
-            lowerOriginal.contains("writecontract") || lowerOriginal.contains("constructcontract") ||
-            lowerOriginal.contains("formcontract") || lowerOriginal.contains("developcontract") ||
-            lowerOriginal.contains("assemblecontract") || lowerOriginal.contains("manufacturecontract") ||
-            lowerOriginal.contains("fabricatecontract") || lowerOriginal.contains("establishcontract") ||
-            lowerOriginal.contains("setupcontract") || lowerOriginal.contains("docontract") ||
-            lowerOriginal.contains("drawcontract") || lowerOriginal.contains("putcontract") ||
-            lowerOriginal.contains("getcontract") || lowerOriginal.contains("givecontract") ||
-            lowerOriginal.contains("sendcontract") || lowerOriginal.contains("providecontract") ||
-            lowerOriginal.contains("helpcontract") || lowerOriginal.contains("assistcontract") ||
-            lowerOriginal.contains("needcontract") || lowerOriginal.contains("wantcontract") ||
-            lowerOriginal.contains("requirecontract") || lowerOriginal.contains("requestcontract") ||
-            lowerOriginal.contains("ordercontract") || lowerOriginal.contains("askcontract") ||
-            lowerOriginal.contains("demandcontract") || lowerOriginal.contains("wishcontract") ||
-            lowerOriginal.contains("likecontract")) {
+        if (original.has(F_CONCATENATED_CREATION)) {
             return "HELP";
         }
         
         // Check for verb tense variations
-        if (lowerOriginal.matches(".*\\b(made|generated|created|built|drafted|initiated|started|produced|prepared|composed|wrote|constructed|formed|developed|assembled|manufactured|fabricated|established|set up|did|drew|put|got|gave|sent|provided|helped|assisted|needed|wanted|required|requested|ordered|asked|demanded|wished|liked)\\b.*") ||
-            lowerNormalized.matches(".*\\b(made|generated|created|built|drafted|initiated|started|produced|prepared|composed|wrote|constructed|formed|developed|assembled|manufactured|fabricated|established|set up|did|drew|put|got|gave|sent|provided|helped|assisted|needed|wanted|required|requested|ordered|asked|demanded|wished|liked)\\b.*")) {
+        if (hasWord(original, F_PAST_TENSE_WORD) || hasWord(normalized, F_PAST_TENSE_WORD)) {
             return "HELP";
         }
         
         // Check for progressive tense variations
-        if (lowerOriginal.matches(".*\\b(creating|making|generating|building|drafting|initiating|starting|producing|preparing|composing|writing|constructing|forming|developing|assembling|manufacturing|fabricating|establishing|setting up|doing|drawing|putting|getting|giving|sending|providing|helping|assisting|needing|wanting|requiring|requesting|ordering|asking|demanding|wishing|liking)\\b.*") ||
-            lowerNormalized.matches(".*\\b(creating|making|generating|building|drafting|initiating|starting|producing|preparing|composing|writing|constructing|forming|developing|assembling|manufacturing|fabricating|establishing|setting up|doing|drawing|putting|getting|giving|sending|providing|helping|assisting|needing|wanting|requiring|requesting|ordering|asking|demanding|wishing|liking)\\b.*")) {
+        if (hasWord(original, F_PROGRESSIVE_WORD) || hasWord(normalized, F_PROGRESSIVE_WORD)) {
             return "HELP";
         }
         
         // Check for noun forms
-        if (lowerOriginal.matches(".*\\b(creation|generation|making|building|drafting|initiation|starting|production|preparation|composition|writing|construction|formation|development|assembly|manufacturing|fabrication|establishment|setup|doing|drawing|putting|getting|giving|sending|providing|helping|assisting|needing|wanting|requiring|requesting|ordering|asking|demanding|wishing|liking)\\b.*") ||
-            lowerNormalized.matches(".*\\b(creation|generation|making|building|drafting|initiation|starting|production|preparation|composition|writing|construction|formation|development|assembly|manufacturing|fabrication|establishment|setup|doing|drawing|putting|getting|giving|sending|providing|helping|assisting|needing|wanting|requiring|requesting|ordering|asking|demanding|wishing|liking)\\b.*")) {
+        if (hasWord(original, F_NOUN_FORM_WORD) || hasWord(normalized, F_NOUN_FORM_WORD)) {
             return "HELP";
         }
         
@@ -347,19 +287,12 @@ public class EnhancedNLPProcessor {
             }
         }
         
-
-
         // PRIORITY 5: Check for specific part-related queries that should be PARTS
         // But exclude contract creation queries that contain "part" words
-        boolean isContractCreationQuery = lowerOriginal.contains("create") || lowerOriginal.contains("make") || 
-                                         lowerOriginal.contains("generate") || lowerOriginal.contains("build") ||
-                                         lowerOriginal.contains("how to") || lowerOriginal.contains("steps") ||
-                                         lowerOriginal.contains("process") || lowerOriginal.contains("guide");
+        boolean isContractCreationQuery = original.has(F_CONTRACT_CREATION_QUERY);
         
         // Only match 'part' or 'parts' as standalone words
-        boolean hasStandalonePart = lowerOriginal.matches(".*\\bpart\\b.*") || lowerOriginal.matches(".*\\bparts\\b.*");
-        
-        if ((hasStandalonePart || lowerOriginal.matches(".*\\b(price|cost|moq|lead time|uom)\\b.*")) && !isContractCreationQuery) {
+        if ((hasWord(original, F_PART_WORD) || hasWord(original, F_PART_ATTRIBUTE_WORD)) && !isContractCreationQuery) {
             return "PARTS";
         }
         
@@ -368,20 +301,27 @@ public class EnhancedNLPProcessor {
     
     /**
      * Enhanced action type detection using WordDatabase
-     * FIXED: Now returns action types that match NLPEntityProcessor expectations
      */
     public static String determineActionType(String originalInput, String normalizedInput, String queryType) {
-        String lowerOriginal = originalInput.toLowerCase();
-        String lowerNormalized = normalizedInput.toLowerCase();
+        return determineActionType(extractFeatures(originalInput, normalizedInput), queryType);
+    }
+
+    /**
+     * Enhanced action type detection using WordDatabase
+     * FIXED: Now returns action types that match NLPEntityProcessor expectations
+     */
+    public static String determineActionType(QueryFeatures features, String queryType) {
+        if (features.original == null) {
+            return "contracts_by_contractnumber"; // Default fallback
+        }
         
         // Handle PARTS queries
         if ("PARTS".equals(queryType)) {
             // Check for contract number (6+ digits)
-            boolean hasContractNumber = lowerOriginal.matches(".*\\b\\d{6,}\\b.*") || lowerNormalized.matches(".*\\b\\d{6,}\\b.*");
+            boolean hasContractNumber = features.hasContractNumberWord();
             
             // Check for part number patterns
-            boolean hasPartNumber = lowerOriginal.matches(".*\\b[A-Za-z0-9]{3,}(?:-[A-Za-z0-9]+)*\\b.*") || 
-                                   lowerNormalized.matches(".*\\b[A-Za-z0-9]{3,}(?:-[A-Za-z0-9]+)*\\b.*");
+            boolean hasPartNumber = features.hasPartNumber();
             
             if (hasPartNumber && hasContractNumber) {
                 // Specific part query with contract number
@@ -406,16 +346,15 @@ public class EnhancedNLPProcessor {
         // Handle HELP queries
         if ("HELP".equals(queryType)) {
             // Refined logic for distinguishing USER vs BOT intent
-            String lower = lowerOriginal;
-            // Explicit instructional/question forms (USER)
-            boolean isUserInstruction =
-                lower.matches(".*(how to|steps to|steps for|walk me through|explain how to|instructions for|process for|guide for|show me how to|what's the process|need guidance|help understanding|understanding|guidance|explain|instructions|process|guide|walk me through|need help understanding|i need guidance|explain how|explain).*contract.*")
-                || lower.matches(".*can you show me.*contract.*")
-                || lower.matches(".*can you explain.*contract.*");
-            // Imperative/command forms (BOT)
-            boolean isBotCreate =
-                lower.matches(".*(create|make|generate|set up|setup|draft|initiate|start|produce|prepare|compose|write|construct|form|develop|assemble|manufacture|fabricate|establish).*contract.*")
-                && !isUserInstruction;
+            KeywordAutomaton.Features lower = features.original;
+            // Explicit instructional/question forms (USER): "<instruction>.*contract"
+            boolean isUserInstruction = !lower.hasLineTerminator() &&
+                                        (lower.hasBefore(F_USER_INSTRUCTION, F_CONTRACT) ||
+                                         lower.hasBefore(F_CAN_YOU_SHOW_ME, F_CONTRACT) ||
+                                         lower.hasBefore(F_CAN_YOU_EXPLAIN, F_CONTRACT));
+            // Imperative/command forms (BOT): "<create verb>.*contract"
+            boolean isBotCreate = !lower.hasLineTerminator() && lower.hasBefore(F_BOT_CREATE, F_CONTRACT) &&
+                                  !isUserInstruction;
             // If both, prioritize USER if question/instructional context is present
             if (isUserInstruction) {
                 return "HELP_CONTRACT_CREATE_USER";
@@ -423,7 +362,7 @@ public class EnhancedNLPProcessor {
                 return "HELP_CONTRACT_CREATE_BOT";
             } else {
                 // Fallback: if 'for me', treat as BOT
-                if (lower.contains("for me") || lower.contains("can you") || lower.contains("please") || lower.contains("could you") || lower.contains("need you to") || lower.contains("want you to")) {
+                if (lower.has(F_BOT_REQUEST)) {
                     return "HELP_CONTRACT_CREATE_BOT";
                 }
                 // Default to USER
@@ -434,9 +373,7 @@ public class EnhancedNLPProcessor {
         // Handle CONTRACTS queries
         if ("CONTRACTS".equals(queryType)) {
             // Check for contract number (6+ digits)
-            boolean hasContractNumber = lowerOriginal.matches(".*\\b\\d{6,}\\b.*") || lowerNormalized.matches(".*\\b\\d{6,}\\b.*");
-            
-            if (hasContractNumber) {
+            if (features.hasContractNumberWord()) {
                 return "contracts_by_contractnumber";
             } else {
                 return "contracts_by_filter";
@@ -447,6 +384,34 @@ public class EnhancedNLPProcessor {
         return "contracts_by_contractnumber";
     }
     
+    /**
+     * Equivalent of text.matches(".*\\d{n,}.*")
+     */
+    private static boolean hasDigitRun(KeywordAutomaton.Features features, int minLength) {
+        return !features.hasLineTerminator() && features.getMaxDigitRun() >= minLength;
+    }
+    
+    /**
+     * Equivalent of text.matches(".*\\b\\d{6,}\\b.*") - a whole word of 6 or more digits
+     */
+    private static boolean hasBoundedDigitRun(KeywordAutomaton.Features features) {
+        return !features.hasLineTerminator() && features.getMaxDigitWord() >= 6;
+    }
+    
+    /**
+     * Equivalent of text.matches(".*\\b(word1|word2|...)\\b.*") for a word-bounded feature
+     */
+    private static boolean hasWord(KeywordAutomaton.Features features, int feature) {
+        return !features.hasLineTerminator() && features.has(feature);
+    }
+    
+    /**
+     * Equivalent of text.matches(".*" + pattern + ".*") using a precompiled pattern
+     */
+    private static boolean matchesSomewhere(Pattern pattern, String text, KeywordAutomaton.Features features) {
+        return !features.hasLineTerminator() && pattern.matcher(text).find();
+    }
+    
     /**
      * Comprehensive text analysis using WordDatabase
      */
@@ -456,8 +421,9 @@ public class EnhancedNLPProcessor {
         }
         
         String normalized = normalizeText(input);
-        String queryType = determineQueryType(input, normalized);
-        String actionType = determineActionType(input, normalized, queryType);
+        QueryFeatures features = extractFeatures(input, normalized);
+        String queryType = determineQueryType(features);
+        String actionType = determineActionType(features, queryType);
         
         // Calculate confidence based on analysis
         double confidence = calculateConfidence(input, normalized, queryType, actionType);
@@ -484,6 +450,53 @@ public class EnhancedNLPProcessor {
         return Math.min(1.0, Math.max(0.0, confidence));
     }
     
+    /**
+     * Features of one request - the original and normalized input scanned once each by the
+     * classifier automaton, with the part-number regex checks evaluated at most once
+     */
+    public static final class QueryFeatures {
+        private final String lowerOriginal;
+        private final String lowerNormalized;
+        private final KeywordAutomaton.Features original;
+        private final KeywordAutomaton.Features normalized;
+        private Boolean anyPartToken;
+        private Boolean partNumber;
+
+        private QueryFeatures(String originalInput, String normalizedInput) {
+            if (originalInput == null || normalizedInput == null) {
+                lowerOriginal = null;
+                lowerNormalized = null;
+                original = null;
+                normalized = null;
+                return;
+            }
+            lowerOriginal = originalInput.toLowerCase();
+            lowerNormalized = normalizedInput.toLowerCase();
+            original = CLASSIFIER_AUTOMATON.scan(lowerOriginal);
+            normalized = CLASSIFIER_AUTOMATON.scan(lowerNormalized);
+        }
+
+        boolean hasContractNumberWord() {
+            return hasBoundedDigitRun(original) || hasBoundedDigitRun(normalized);
+        }
+
+        boolean hasAnyPartToken() {
+            if (anyPartToken == null) {
+                anyPartToken = matchesSomewhere(ANY_PART_TOKEN_PATTERN, lowerOriginal, original) ||
+                               matchesSomewhere(ANY_PART_TOKEN_PATTERN, lowerNormalized, normalized);
+            }
+            return anyPartToken;
+        }
+
+        boolean hasPartNumber() {
+            if (partNumber == null) {
+                partNumber = matchesSomewhere(PART_NUMBER_PATTERN, lowerOriginal, original) ||
+                             matchesSomewhere(PART_NUMBER_PATTERN, lowerNormalized, normalized);
+            }
+            return partNumber;
+        }
+    }
+
     /**
      * Result class for text analysis
      */
@@ -283,7 +283,7 @@ public class EnhancedTestRunner {
                     
                     // Filter entities
                     writer.println("Filter Entities (" + result.entities.size() + "):");
-                    for (StandardJSONProcessor.EntityFilter filter : result.entities) {
+                    for (EntityFilter filter : result.entities) {
                         writer.println("  - " + filter.attribute + " " + filter.operation + " '" + filter.value + "'");
                     }
                     
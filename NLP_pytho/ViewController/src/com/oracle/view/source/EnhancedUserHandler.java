@@ -29,8 +29,7 @@ public class EnhancedUserHandler {
     public String processUserInputCompleteResponse(String userInput) {
         try {
             // Step 1: Process NLP
-            String jsonResponse = nlpProcessor.processQuery(userInput);
-            StandardJSONProcessor.QueryResult queryResult = nlpProcessor.parseJSONToObject(jsonResponse);
+            StandardJSONProcessor.QueryResult queryResult = nlpProcessor.processQueryToObject(userInput);
             
             // Step 2: Execute DataProvider actions
             String dataProviderResponse = executeDataProviderActions(queryResult);
@@ -65,8 +64,7 @@ public class EnhancedUserHandler {
     public String processUserInputJSONResponse(String userInput) {
         try {
             // Process NLP
-            String jsonResponse = nlpProcessor.processQuery(userInput);
-            StandardJSONProcessor.QueryResult queryResult = nlpProcessor.parseJSONToObject(jsonResponse);
+            StandardJSONProcessor.QueryResult queryResult = nlpProcessor.processQueryToObject(userInput);
             
             // Create structured JSON response
             StructuredJSONResponse structuredResponse = new StructuredJSONResponse();
@@ -107,8 +105,8 @@ public class EnhancedUserHandler {
             
         } catch (Exception e) {
             StructuredJSONResponse errorResponse = new StructuredJSONResponse();
-            List<StandardJSONProcessor.ValidationError> errors = new java.util.ArrayList<>();
-            errors.add(new StandardJSONProcessor.ValidationError("ERROR", e.getMessage(), "ERROR"));
+            List<ValidationError> errors = new java.util.ArrayList<>();
+            errors.add(new ValidationError("ERROR", e.getMessage(), "ERROR"));
             errorResponse.setErrors(errors);
             return formatStructuredResponseToJSON(errorResponse);
         }
@@ -125,8 +123,7 @@ public class EnhancedUserHandler {
     public CompleteQueryObject processUserInputCompleteObject(String userInput) {
         try {
             // Process NLP
-            String jsonResponse = nlpProcessor.processQuery(userInput);
-            StandardJSONProcessor.QueryResult queryResult = nlpProcessor.parseJSONToObject(jsonResponse);
+            StandardJSONProcessor.QueryResult queryResult = nlpProcessor.processQueryToObject(userInput);
             
             // Create complete object
             CompleteQueryObject completeObject = new CompleteQueryObject();
@@ -201,7 +198,7 @@ public class EnhancedUserHandler {
     private Map<String, Object> createParameterMap(StandardJSONProcessor.QueryResult queryResult) {
         Map<String, Object> parameters = new HashMap<>();
         
-        for (StandardJSONProcessor.EntityFilter filter : queryResult.entities) {
+        for (EntityFilter filter : queryResult.entities) {
             parameters.put(filter.attribute, filter.value);
         }
         
@@ -255,9 +252,9 @@ public class EnhancedUserHandler {
     public static class StructuredJSONResponse {
         private Header header;
         private QueryMetadata queryMetadata;
-        private List<StandardJSONProcessor.EntityFilter> entities;
+        private List<EntityFilter> entities;
         private List<String> displayEntities;
-        private List<StandardJSONProcessor.ValidationError> errors;
+        private List<ValidationError> errors;
         
         // Getters and setters
         public Header getHeader() { return header; }
@@ -266,14 +263,14 @@ public class EnhancedUserHandler {
         public QueryMetadata getQueryMetadata() { return queryMetadata; }
         public void setQueryMetadata(QueryMetadata queryMetadata) { this.queryMetadata = queryMetadata; }
         
-        public List<StandardJSONProcessor.EntityFilter> getEntities() { return entities; }
-        public void setEntities(List<StandardJSONProcessor.EntityFilter> entities) { this.entities = entities; }
+        public List<EntityFilter> getEntities() { return entities; }
+        public void setEntities(List<EntityFilter> entities) { this.entities = entities; }
         
         public List<String> getDisplayEntities() { return displayEntities; }
         public void setDisplayEntities(List<String> displayEntities) { this.displayEntities = displayEntities; }
         
-        public List<StandardJSONProcessor.ValidationError> getErrors() { return errors; }
-        public void setErrors(List<StandardJSONProcessor.ValidationError> errors) { this.errors = errors; }
+        public List<ValidationError> getErrors() { return errors; }
+        public void setErrors(List<ValidationError> errors) { this.errors = errors; }
         
         public static class Header {
             private String contractNumber;
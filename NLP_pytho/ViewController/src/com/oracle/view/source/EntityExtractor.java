@@ -1,11 +1,8 @@
 package com.oracle.view.source;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.InputStream;
-
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -15,11 +12,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import opennlp.tools.namefind.NameFinderME;
-import opennlp.tools.namefind.TokenNameFinderModel;
-import opennlp.tools.postag.POSModel;
-import opennlp.tools.postag.POSTaggerME;
 import opennlp.tools.tokenize.TokenizerME;
-import opennlp.tools.tokenize.TokenizerModel;
 import opennlp.tools.util.Span;
 
 public class EntityExtractor {
@@ -395,21 +388,24 @@ public class EntityExtractor {
     }};
     
     private final Map<Pattern, String> entityPatterns;
-    private TokenizerME tokenizer;
-    private POSTaggerME posTagger;
-    private NameFinderME personFinder;
-    private NameFinderME organizationFinder;
-    private NameFinderME contractNumberFinder;
-    private NameFinderME customerNameFinder;
+    // OpenNLP models are shared process-wide; ME instances are thread-confined by the registry
+    private final OpenNLPModelRegistry nlpModels = OpenNLPModelRegistry.getInstance();
     private NameFinderME dateFinder;
-    private static boolean modelsInitialized = false;
-    public static final String MODEL_PATH = "F:\\GitHub_VinodLearning\\NLPTEST\\NLP\\NLPMachineDesignApp\\models\\";
+    private static volatile boolean modelsInitialized = false;
+    public static final String MODEL_PATH = OpenNLPModelRegistry.DEFAULT_MODEL_PATH;
     
     public EntityExtractor() {
         this.entityPatterns = initializeEntityPatterns();
         initializeNLPModelsOnce();
     }
     
+    /**
+     * Spell correction dictionary, shared with the SpellCorrector spelling index
+     */
+    static Map<String, String> getSpellCorrections() {
+        return Collections.unmodifiableMap(SPELL_CORRECTIONS);
+    }
+    
     /**
      * Spell correction from StandardJSONProcessor
      */
@@ -448,6 +444,7 @@ public class EntityExtractor {
         String correctedInput = correctSpelling(input);
         
         // Use OpenNLP tokenizer if available
+        TokenizerME tokenizer = tokenizer();
         if (tokenizer != null) {
             String[] tokens = tokenizer.tokenize(correctedInput);
             return Arrays.asList(tokens);
@@ -739,7 +736,8 @@ public class EntityExtractor {
         }
     }
 // Keep existing OpenNLP methods
-    private synchronized void initializeNLPModelsOnce() {
+    private void initializeNLPModelsOnce() {
+        // The registry deserializes each model once per JVM and is safe to call from any thread
         if (!modelsInitialized) {
             initializeNLPModels();
             modelsInitialized = true;
@@ -749,96 +747,39 @@ public class EntityExtractor {
     private void initializeNLPModels() {
         System.out.println("=== Initializing OpenNLP Models (One Time) ===");
         
-        try {
-            // Initialize tokenizer
-            InputStream tokenModelIn = getModelInputStream("en-token.bin");
-            if (tokenModelIn != null) {
-                TokenizerModel tokenModel = new TokenizerModel(tokenModelIn);
-                tokenizer = new TokenizerME(tokenModel);
-                tokenModelIn.close();
-                System.out.println("? Tokenizer model loaded successfully");
-            }
-            
-            // Initialize POS tagger
-            InputStream posModelIn = getModelInputStream("en-pos-maxent.bin");
-            if (posModelIn != null) {
-                POSModel posModel = new POSModel(posModelIn);
-                posTagger = new POSTaggerME(posModel);
-                posModelIn.close();
-                System.out.println("? POS Tagger model loaded successfully");
-            }
-            
-            // Initialize Named Entity Recognition
-            InputStream personModelIn = getModelInputStream("en-ner-person.bin");
-            if (personModelIn != null) {
-                TokenNameFinderModel personModel = new TokenNameFinderModel(personModelIn);
-                personFinder = new NameFinderME(personModel);
-                personModelIn.close();
-                System.out.println("? Person NER model loaded successfully");
-            }
-            
-            InputStream orgModelIn = getModelInputStream("en-ner-organization.bin");
-            if (orgModelIn != null) {
-                TokenNameFinderModel orgModel = new TokenNameFinderModel(orgModelIn);
-                organizationFinder = new NameFinderME(orgModel);
-                orgModelIn.close();
-                System.out.println("? Organization NER model loaded successfully");
-            }
-            
-            // Load custom NER models for business entities
-            InputStream contractModelIn = getModelInputStream("en-ner-contractnumber.bin");
-            if (contractModelIn != null) {
-                TokenNameFinderModel contractModel = new TokenNameFinderModel(contractModelIn);
-                contractNumberFinder = new NameFinderME(contractModel);
-                contractModelIn.close();
-            }
-            InputStream customerModelIn = getModelInputStream("en-ner-customername.bin");
-            if (customerModelIn != null) {
-                TokenNameFinderModel customerModel = new TokenNameFinderModel(customerModelIn);
-                customerNameFinder = new NameFinderME(customerModel);
-                customerModelIn.close();
-            }
-//            InputStream dateModelIn = getModelInputStream("en-ner-date.bin");
-//            if (dateModelIn != null) {
-//                TokenNameFinderModel dateModel = new TokenNameFinderModel(dateModelIn);
-//                dateFinder = new NameFinderME(dateModel);
-//                dateModelIn.close();
-//            }
-            
-            System.out.println("=== OpenNLP Models Initialization Complete ===");
-            
-        } catch (Exception e) {
-            System.err.println("Warning: Could not load OpenNLP models, falling back to basic tokenization");
-            e.printStackTrace();
+        if (nlpModels.getTokenizer(OpenNLPModelRegistry.EN_TOKEN) != null) {
+            System.out.println("? Tokenizer model loaded successfully");
         }
+        if (nlpModels.getPosTagger(OpenNLPModelRegistry.EN_POS) != null) {
+            System.out.println("? POS Tagger model loaded successfully");
+        }
+        if (nlpModels.getNameFinder(OpenNLPModelRegistry.EN_NER_PERSON) != null) {
+            System.out.println("? Person NER model loaded successfully");
+        }
+        if (nlpModels.getNameFinder(OpenNLPModelRegistry.EN_NER_ORGANIZATION) != null) {
+            System.out.println("? Organization NER model loaded successfully");
+        }
+        
+        // Load custom NER models for business entities
+        nlpModels.getNameFinder(OpenNLPModelRegistry.EN_NER_CONTRACT_NUMBER);
+        nlpModels.getNameFinder(OpenNLPModelRegistry.EN_NER_CUSTOMER_NAME);
+        
+        System.out.println("=== OpenNLP Models Initialization Complete ===");
     }
     
-    private InputStream getModelInputStream(String fileName) {
-        if (fileName != null) {
-            try {
-                String fullPath = MODEL_PATH + fileName;
-                File modelFile = new File(fullPath);
-                
-                if (!modelFile.exists()) {
-                    System.err.println("Model file not found: " + fullPath);
-                    return null;
-                }
-                if (!modelFile.canRead()) {
-                    System.err.println("Cannot read model file: " + fullPath);
-                    return null;
-                }
-                if (modelFile.length() == 0) {
-                    System.err.println("Model file is empty: " + fullPath);
-                    return null;
-                }
-
-                return new FileInputStream(modelFile);
-            } catch (Exception e) {
-                System.err.println("Error loading model " + fileName + ": " + e.getMessage());
-                return null;
-            }
-        }
-        return null;
+    /**
+     * Thread-confined OpenNLP runtimes - null when the model is not available
+     */
+    private TokenizerME tokenizer() {
+        return nlpModels.getTokenizer(OpenNLPModelRegistry.EN_TOKEN);
+    }
+    
+    private NameFinderME contractNumberFinder() {
+        return nlpModels.getNameFinder(OpenNLPModelRegistry.EN_NER_CONTRACT_NUMBER);
+    }
+    
+    private NameFinderME customerNameFinder() {
+        return nlpModels.getNameFinder(OpenNLPModelRegistry.EN_NER_CUSTOMER_NAME);
     }
     
     // Legacy methods for backward compatibility
@@ -893,9 +834,12 @@ public class EntityExtractor {
     // Advanced Entity Extraction Method
     public Map<String, String> extractAllEntities(String input) {
         Map<String, String> entities = new HashMap<>();
+        TokenizerME tokenizer = tokenizer();
         String[] tokens = tokenizer != null ? tokenizer.tokenize(input) : input.split("\\s+");
 
         // Run all custom NER models
+        NameFinderME contractNumberFinder = contractNumberFinder();
+        NameFinderME customerNameFinder = customerNameFinder();
         if (contractNumberFinder != null) {
             for (Span span : contractNumberFinder.find(tokens)) {
                 String value = String.join(" ", Arrays.copyOfRange(tokens, span.getStart(), span.getEnd()));
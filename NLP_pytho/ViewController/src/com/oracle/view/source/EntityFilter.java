@@ -1,10 +1,15 @@
 package com.oracle.view.source;
 
+import java.util.Objects;
+
 /**
  * EntityFilter - Represents a filter condition for database queries
- * Extracted from StandardJSONProcessor for standalone use
+ *
+ * The one filter type shared by NLPQueryClassifier, NLPEntityProcessor, StandardJSONProcessor,
+ * ConversationalNLPManager and the action handlers. Instances are immutable, so filter lists are
+ * passed between stages by reference instead of being copied into each stage's own class.
  */
-public class EntityFilter {
+public final class EntityFilter {
     public final String attribute;
     public final String operation;
     public final String value;
@@ -19,7 +24,7 @@ public class EntityFilter {
 
     @Override
     public String toString() {
-        return String.format("EntityFilter{attribute='%s', operation='%s', value='%s', source='%s'}", 
+        return String.format("EntityFilter{attribute='%s', operation='%s', value='%s', source='%s'}",
                            attribute, operation, value, source);
     }
 
@@ -28,18 +33,14 @@ public class EntityFilter {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         EntityFilter that = (EntityFilter) obj;
-        return attribute.equals(that.attribute) && 
-               operation.equals(that.operation) && 
-               value.equals(that.value) && 
-               source.equals(that.source);
+        return Objects.equals(attribute, that.attribute) &&
+               Objects.equals(operation, that.operation) &&
+               Objects.equals(value, that.value) &&
+               Objects.equals(source, that.source);
     }
 
     @Override
     public int hashCode() {
-        int result = attribute.hashCode();
-        result = 31 * result + operation.hashCode();
-        result = 31 * result + value.hashCode();
-        result = 31 * result + source.hashCode();
-        return result;
+        return Objects.hash(attribute, operation, value, source);
     }
-} 
\ No newline at end of file
+}
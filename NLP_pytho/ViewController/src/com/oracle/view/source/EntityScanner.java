@@ -0,0 +1,341 @@
+package com.oracle.view.source;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single-pass entity scanner for normalized NLP input.
+ *
+ * Replaces the per-request Pattern.compile()/find() chains used by NLPEntityProcessor.
+ * The input is walked once, word run by word run (a word run is a maximal sequence of
+ * letters, digits and '_' - the same definition regex \b uses), and every typed entity
+ * is emitted together with its span:
+ *
+ * - CONTRACT_NUMBER     exactly 6 digits                      (\b\d{6}\b)
+ * - CREATED_BY          "created|loaded|made|built|developed|uploaded|imported by X"
+ * - BY_NAME             "by X"
+ * - CUSTOMER_REFERENCE  "customer [number] X"
+ * - PART_REFERENCE      "part [number] X"
+ * - EFFECTIVE_DATE      "effective date <date>"
+ * - EXPIRATION_DATE     "expiration|expire date <date>"
+ *
+ * Keyword matching is ASCII case-insensitive, matching Pattern.CASE_INSENSITIVE, and
+ * whitespace means the regex \s class. The scanner is stateless and thread-safe.
+ */
+public final class EntityScanner {
+
+    /**
+     * Entity types emitted by the scanner
+     */
+    public enum Type {
+        CONTRACT_NUMBER,
+        CREATED_BY,
+        BY_NAME,
+        CUSTOMER_REFERENCE,
+        PART_REFERENCE,
+        EFFECTIVE_DATE,
+        EXPIRATION_DATE
+    }
+
+    private static final String[] CREATOR_VERBS = {
+        "created", "loaded", "made", "built", "developed", "uploaded", "imported"
+    };
+
+    private EntityScanner() {
+    }
+
+    /**
+     * A typed entity found in the input. start/end are the span of value in the scanned string.
+     */
+    public static class Entity {
+        public final Type type;
+        public final String value;
+        public final int start;
+        public final int end;
+
+        public Entity(Type type, String value, int start, int end) {
+            this.type = type;
+            this.value = value;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public String toString() {
+            return type + "[" + start + "," + end + "]=" + value;
+        }
+    }
+
+    /**
+     * Result of one scan - entities in the order they were found
+     */
+    public static class ScanResult {
+        private final List<Entity> entities;
+
+        ScanResult(List<Entity> entities) {
+            this.entities = Collections.unmodifiableList(entities);
+        }
+
+        public List<Entity> getEntities() {
+            return entities;
+        }
+
+        /**
+         * First entity of the given type, or null
+         */
+        public Entity first(Type type) {
+            for (Entity entity : entities) {
+                if (entity.type == type) {
+                    return entity;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Value of the first entity of the given type, or null
+         */
+        public String firstValue(Type type) {
+            Entity entity = first(type);
+            return entity != null ? entity.value : null;
+        }
+
+        /**
+         * All entities of the given type in input order
+         */
+        public List<Entity> all(Type type) {
+            List<Entity> result = new ArrayList<>();
+            for (Entity entity : entities) {
+                if (entity.type == type) {
+                    result.add(entity);
+                }
+            }
+            return result;
+        }
+
+        public boolean has(Type type) {
+            return first(type) != null;
+        }
+    }
+
+    /**
+     * Scan the input once and return every typed entity with its span
+     */
+    public static ScanResult scan(String input) {
+        List<Entity> entities = new ArrayList<>();
+        if (input == null || input.isEmpty()) {
+            return new ScanResult(entities);
+        }
+
+        int length = input.length();
+        int pos = 0;
+        while (pos < length) {
+            if (!isWordChar(input.charAt(pos))) {
+                pos++;
+                continue;
+            }
+            int start = pos;
+            while (pos < length && isWordChar(input.charAt(pos))) {
+                pos++;
+            }
+            scanRun(input, start, pos, entities);
+        }
+        return new ScanResult(entities);
+    }
+
+    /**
+     * Classify one word run [start, end) and try every phrase that can begin or end on it
+     */
+    private static void scanRun(String input, int start, int end, List<Entity> entities) {
+        if (end - start == 6 && allAsciiDigits(input, start, end)) {
+            add(entities, Type.CONTRACT_NUMBER, input, start, end);
+        }
+
+        // Phrases anchored on whole words: "<verb> by X" and "by X"
+        int runLength = end - start;
+        if (runLength == 2 && regionMatches(input, start, "by")) {
+            int value = skipWhitespace(input, end);
+            if (value > end) {
+                addCapture(entities, Type.BY_NAME, input, value, wordEnd(input, value));
+            }
+        } else {
+            for (String verb : CREATOR_VERBS) {
+                if (runLength == verb.length() && regionMatches(input, start, verb)) {
+                    int by = skipWhitespace(input, end);
+                    if (by > end && regionMatches(input, by, "by")) {
+                        int value = skipWhitespace(input, by + 2);
+                        if (value > by + 2) {
+                            addCapture(entities, Type.CREATED_BY, input, value, wordEnd(input, value));
+                        }
+                    }
+                    break;
+                }
+            }
+        }
+
+        // Phrases whose keyword may end a longer word: "customer X", "part X", "... date <date>"
+        if (endsWith(input, start, end, "customer")) {
+            addReference(entities, Type.CUSTOMER_REFERENCE, input, end, false);
+        } else if (endsWith(input, start, end, "part")) {
+            addReference(entities, Type.PART_REFERENCE, input, end, true);
+        } else if (endsWith(input, start, end, "effective")) {
+            addKeywordDate(entities, Type.EFFECTIVE_DATE, input, end);
+        } else if (endsWith(input, start, end, "expiration") || endsWith(input, start, end, "expire")) {
+            addKeywordDate(entities, Type.EXPIRATION_DATE, input, end);
+        }
+    }
+
+    /**
+     * keyword\s+(?:number\s+)?(value) - value is [A-Za-z0-9]+, plus '-' for part references
+     */
+    private static void addReference(List<Entity> entities, Type type, String input, int keywordEnd,
+                                     boolean allowHyphen) {
+        int value = skipWhitespace(input, keywordEnd);
+        if (value == keywordEnd) {
+            return;
+        }
+        if (regionMatches(input, value, "number")) {
+            int afterNumber = skipWhitespace(input, value + 6);
+            if (afterNumber > value + 6) {
+                int valueEnd = referenceEnd(input, afterNumber, allowHyphen);
+                if (valueEnd > afterNumber) {
+                    addCapture(entities, type, input, afterNumber, valueEnd);
+                    return;
+                }
+            }
+        }
+        addCapture(entities, type, input, value, referenceEnd(input, value, allowHyphen));
+    }
+
+    /**
+     * keyword\s+date\s+(yyyy-mm-dd|dd/mm/yyyy)
+     */
+    private static void addKeywordDate(List<Entity> entities, Type type, String input, int keywordEnd) {
+        int dateWord = skipWhitespace(input, keywordEnd);
+        if (dateWord == keywordEnd || !regionMatches(input, dateWord, "date")) {
+            return;
+        }
+        int value = skipWhitespace(input, dateWord + 4);
+        if (value > dateWord + 4) {
+            int valueEnd = dateEnd(input, value);
+            if (valueEnd > 0) {
+                addCapture(entities, type, input, value, valueEnd);
+            }
+        }
+    }
+
+    private static void add(List<Entity> entities, Type type, String input, int start, int end) {
+        entities.add(new Entity(type, input.substring(start, end), start, end));
+    }
+
+    private static void addCapture(List<Entity> entities, Type type, String input, int start, int end) {
+        if (end > start) {
+            add(entities, type, input, start, end);
+        }
+    }
+
+    /**
+     * End of a yyyy-mm-dd or dd/mm/yyyy date starting at pos, or -1
+     */
+    private static int dateEnd(String input, int pos) {
+        if (pos + 10 > input.length()) {
+            return -1;
+        }
+        if (digitsAt(input, pos, 4) && input.charAt(pos + 4) == '-' && digitsAt(input, pos + 5, 2) &&
+            input.charAt(pos + 7) == '-' && digitsAt(input, pos + 8, 2)) {
+            return pos + 10;
+        }
+        if (digitsAt(input, pos, 2) && input.charAt(pos + 2) == '/' && digitsAt(input, pos + 3, 2) &&
+            input.charAt(pos + 5) == '/' && digitsAt(input, pos + 6, 4)) {
+            return pos + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * End of an ASCII \w+ run starting at pos
+     */
+    private static int wordEnd(String input, int pos) {
+        while (pos < input.length()) {
+            char c = input.charAt(pos);
+            if (!isAsciiLetter(c) && !isAsciiDigit(c) && c != '_') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int referenceEnd(String input, int pos, boolean allowHyphen) {
+        while (pos < input.length()) {
+            char c = input.charAt(pos);
+            if (!isAsciiLetter(c) && !isAsciiDigit(c) && !(allowHyphen && c == '-')) {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipWhitespace(String input, int pos) {
+        while (pos < input.length() && isRegexWhitespace(input.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean digitsAt(String input, int pos, int count) {
+        return allAsciiDigits(input, pos, pos + count);
+    }
+
+    private static boolean allAsciiDigits(String input, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isAsciiDigit(input.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean endsWith(String input, int start, int end, String lowerKeyword) {
+        int from = end - lowerKeyword.length();
+        return from >= start && regionMatches(input, from, lowerKeyword);
+    }
+
+    /**
+     * ASCII case-insensitive comparison against a lower-case keyword
+     */
+    private static boolean regionMatches(String input, int pos, String lowerKeyword) {
+        int length = lowerKeyword.length();
+        if (pos + length > input.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(pos + i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            if (c != lowerKeyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
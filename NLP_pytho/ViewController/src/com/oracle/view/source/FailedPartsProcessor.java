@@ -192,17 +192,17 @@ public class FailedPartsProcessor {
     /**
      * Extract filter entities
      */
-    private List<NLPQueryClassifier.EntityFilter> extractEntities(String originalInput, String correctedInput, HeaderInfo headerInfo) {
-        List<NLPQueryClassifier.EntityFilter> entities = new ArrayList<>();
+    private List<EntityFilter> extractEntities(String originalInput, String correctedInput, HeaderInfo headerInfo) {
+        List<EntityFilter> entities = new ArrayList<>();
         
         // Add contract number filter
         if (headerInfo.header.contractNumber != null) {
-            entities.add(new NLPQueryClassifier.EntityFilter("CONTRACT_NO", "=", headerInfo.header.contractNumber, "extracted"));
+            entities.add(new EntityFilter("CONTRACT_NO", "=", headerInfo.header.contractNumber, "extracted"));
         }
         
         // Add part number filter
         if (headerInfo.header.partNumber != null) {
-            entities.add(new NLPQueryClassifier.EntityFilter("PART_NUMBER", "=", headerInfo.header.partNumber, "extracted"));
+            entities.add(new EntityFilter("PART_NUMBER", "=", headerInfo.header.partNumber, "extracted"));
         }
         
         return entities;
@@ -253,12 +253,12 @@ public class FailedPartsProcessor {
     /**
      * Validate input
      */
-    private List<NLPQueryClassifier.ValidationError> validateInput(HeaderInfo headerInfo, List<NLPQueryClassifier.EntityFilter> entities) {
-        List<NLPQueryClassifier.ValidationError> errors = new ArrayList<>();
+    private List<ValidationError> validateInput(HeaderInfo headerInfo, List<EntityFilter> entities) {
+        List<ValidationError> errors = new ArrayList<>();
         
         // Check if we have at least one identifier
         if (headerInfo.header.contractNumber == null && headerInfo.header.partNumber == null) {
-            errors.add(new NLPQueryClassifier.ValidationError("MISSING_IDENTIFIER", 
+            errors.add(new ValidationError("MISSING_IDENTIFIER", 
                 "Please provide a contract number or part number", "WARNING"));
         }
         
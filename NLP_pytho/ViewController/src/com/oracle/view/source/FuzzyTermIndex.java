@@ -0,0 +1,176 @@
+package com.oracle.view.source;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BK-tree over field vocabulary (synonyms, business terms, column names) for fuzzy column lookup
+ *
+ * Each term maps to a column. A search only descends into the subtrees whose edge distance can
+ * still be within the requested radius (triangle inequality), and each distance is computed with
+ * an early exit once it can no longer matter, so lookups touch a small part of the vocabulary.
+ *
+ * USAGE:
+ * - add(term, column) for every term, in priority order (the first term added wins on ties)
+ * - best(query, maxDistance) or search(query, maxDistance, limit) for the top-k candidates
+ *
+ * Instances are immutable once built and safe to share between threads.
+ */
+public class FuzzyTermIndex {
+
+    private Node root;
+    private int size;
+
+    /**
+     * Add a term (case-insensitive). A term that is already present keeps its first column.
+     */
+    public FuzzyTermIndex add(String term, String column) {
+        if (term == null || term.isEmpty() || column == null) {
+            return this;
+        }
+        String normalized = term.toLowerCase();
+        if (root == null) {
+            root = new Node(normalized, column, size++);
+            return this;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(normalized, node.term, Integer.MAX_VALUE);
+            if (distance == 0) {
+                return this;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(normalized, column, size++));
+                node.maxEdge = Math.max(node.maxEdge, distance);
+                return this;
+            }
+            node = child;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Closest term within maxDistance, or null. Ties go to the term added first.
+     */
+    public Match best(String query, int maxDistance) {
+        List<Match> matches = search(query, maxDistance, 1);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    /**
+     * Up to limit terms within maxDistance, closest first (ties in insertion order)
+     */
+    public List<Match> search(String query, int maxDistance, int limit) {
+        List<Match> matches = new ArrayList<>();
+        if (query == null || root == null || limit <= 0 || maxDistance < 0) {
+            return matches;
+        }
+        String normalized = query.toLowerCase();
+        List<Node> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.remove(pending.size() - 1);
+            // Children are only reachable for distances up to maxEdge + maxDistance
+            int limitForNode = node.maxEdge + maxDistance;
+            int distance = distance(normalized, node.term, limitForNode);
+            if (distance < 0) {
+                continue;
+            }
+            if (distance <= maxDistance) {
+                matches.add(new Match(node.term, node.column, distance, node.order));
+            }
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                int edge = child.getKey();
+                if (edge >= distance - maxDistance && edge <= distance + maxDistance) {
+                    pending.add(child.getValue());
+                }
+            }
+        }
+        Collections.sort(matches, MATCH_ORDER);
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Levenshtein distance, or -1 as soon as it is known to exceed limit
+     */
+    static int distance(String a, String b, int limit) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > limit) {
+            return -1;
+        }
+        int[] costs = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            costs[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            costs[0] = i;
+            int nw = i - 1;
+            int rowMin = costs[0];
+            for (int j = 1; j <= m; j++) {
+                int cj = Math.min(1 + Math.min(costs[j], costs[j - 1]), a.charAt(i - 1) == b.charAt(j - 1) ? nw : nw + 1);
+                nw = costs[j];
+                costs[j] = cj;
+                rowMin = Math.min(rowMin, cj);
+            }
+            if (rowMin > limit) {
+                return -1;
+            }
+        }
+        return costs[m] <= limit ? costs[m] : -1;
+    }
+
+    private static final Comparator<Match> MATCH_ORDER = new Comparator<Match>() {
+        @Override
+        public int compare(Match a, Match b) {
+            if (a.distance != b.distance) {
+                return Integer.compare(a.distance, b.distance);
+            }
+            return Integer.compare(a.order, b.order);
+        }
+    };
+
+    private static class Node {
+        final String term;
+        final String column;
+        final int order;
+        final Map<Integer, Node> children = new HashMap<>();
+        int maxEdge;
+
+        Node(String term, String column, int order) {
+            this.term = term;
+            this.column = column;
+            this.order = order;
+        }
+    }
+
+    /**
+     * A fuzzy match - the vocabulary term, the column it maps to and its edit distance
+     */
+    public static class Match {
+        public final String term;
+        public final String column;
+        public final int distance;
+        private final int order;
+
+        Match(String term, String column, int distance, int order) {
+            this.term = term;
+            this.column = column;
+            this.distance = distance;
+            this.order = order;
+        }
+
+        @Override
+        public String toString() {
+            return term + "->" + column + "(" + distance + ")";
+        }
+    }
+}
@@ -42,10 +42,10 @@ public class HelpProcessor {
         // Extract entities (use OpenNLP-powered extraction for filters/entities)
         result.entities = new ArrayList<>();
         if (nlpEntities.containsKey("CUSTOMER_NUMBER")) {
-            result.entities.add(new NLPQueryClassifier.EntityFilter("CUSTOMER_NUMBER", "=", nlpEntities.get("CUSTOMER_NUMBER"), "nlp"));
+            result.entities.add(new EntityFilter("CUSTOMER_NUMBER", "=", nlpEntities.get("CUSTOMER_NUMBER"), "nlp"));
         }
         if (nlpEntities.containsKey("CUSTOMER_NAME")) {
-            result.entities.add(new NLPQueryClassifier.EntityFilter("CUSTOMER_NAME", "=", nlpEntities.get("CUSTOMER_NAME"), "nlp"));
+            result.entities.add(new EntityFilter("CUSTOMER_NAME", "=", nlpEntities.get("CUSTOMER_NAME"), "nlp"));
         }
         // ... add more as needed
 
@@ -53,7 +53,7 @@ public class HelpProcessor {
         java.util.regex.Matcher m = java.util.regex.Pattern.compile("(\\d{6,})").matcher(correctedInput);
         if (m.find() && nlpEntities.get("CUSTOMER_NUMBER") == null) {
             String accountNumber = m.group(1);
-            result.entities.add(new NLPQueryClassifier.EntityFilter("CUSTOMER_NUMBER", "=", accountNumber, "user_input"));
+            result.entities.add(new EntityFilter("CUSTOMER_NUMBER", "=", accountNumber, "user_input"));
         }
         // --- End account number extraction ---
 
@@ -210,8 +210,8 @@ public class HelpProcessor {
     /**
      * Validate input
      */
-    private List<NLPQueryClassifier.ValidationError> validateInput() {
-        List<NLPQueryClassifier.ValidationError> errors = new ArrayList<>();
+    private List<ValidationError> validateInput() {
+        List<ValidationError> errors = new ArrayList<>();
         
         // Help queries don't typically need validation
         // But we could add validation for specific cases if needed
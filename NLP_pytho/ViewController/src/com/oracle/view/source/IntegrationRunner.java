@@ -156,7 +156,7 @@ public class IntegrationRunner {
             // Show entities
             if (response.entities != null && !response.entities.isEmpty()) {
                 System.out.println("✅ Entities found:");
-                for (ConversationalNLPManager.EntityFilter entity : response.entities) {
+                for (EntityFilter entity : response.entities) {
                     System.out.println("   - " + entity.attribute + " " + entity.operation + " " + entity.value);
                 }
             }
@@ -188,7 +188,7 @@ public class IntegrationRunner {
             // Show date filter entities
             if (response.entities != null && !response.entities.isEmpty()) {
                 System.out.println("✅ Date Filter Entities:");
-                for (ConversationalNLPManager.EntityFilter entity : response.entities) {
+                for (EntityFilter entity : response.entities) {
                     if (entity.attribute.equals("CREATE_DATE")) {
                         System.out.println("   - Date Filter: " + entity.operation + " " + entity.value);
                     }
@@ -0,0 +1,314 @@
+package com.oracle.view.source;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass, event-based JSON reader for chatbot responses
+ *
+ * next() walks the text and reports one event at a time; string values are only located, and
+ * decoded when getString() is called, so skipping a large value (an HTML table) costs one scan and
+ * no copy. readStrings() pulls several fields out of a response in one pass instead of one indexOf
+ * scan per field.
+ *
+ * USAGE:
+ * - Map<String, String> fields = JsonReader.readStrings(response, "dataProviderResponse", "helpContent");
+ * - JsonReader reader = new JsonReader(json);
+ *   for (JsonReader.Event event = reader.next(); event != JsonReader.Event.END; event = reader.next()) { ... }
+ *
+ * Malformed input makes next() throw IllegalArgumentException. A reader is not thread-safe.
+ */
+public class JsonReader {
+
+    public enum Event {
+        START_OBJECT,
+        END_OBJECT,
+        START_ARRAY,
+        END_ARRAY,
+        NAME,
+        STRING,
+        NUMBER,
+        TRUE,
+        FALSE,
+        NULL,
+        END
+    }
+
+    private final String json;
+    private int pos;
+    // Per nesting level: true for an object, false for an array
+    private boolean[] objects = new boolean[8];
+    private int depth;
+    private boolean expectName;
+    // Text of the current NAME/STRING/NUMBER event: json[tokenStart, tokenEnd)
+    private int tokenStart;
+    private int tokenEnd;
+    private boolean tokenEscaped;
+
+    public JsonReader(String json) {
+        this.json = json != null ? json : "";
+    }
+
+    /**
+     * First scalar value of each name, at any depth, as text (null for a JSON null). Names that are
+     * missing, hold an object or array, or come after a syntax error are left out.
+     */
+    public static Map<String, String> readStrings(String json, String... names) {
+        Map<String, String> found = new HashMap<>();
+        Set<String> wanted = new HashSet<>(Arrays.asList(names));
+        JsonReader reader = new JsonReader(json);
+        String pending = null;
+        try {
+            for (Event event = reader.next(); event != Event.END; event = reader.next()) {
+                if (event == Event.NAME) {
+                    pending = reader.matchName(wanted);
+                    if (pending != null && found.containsKey(pending)) {
+                        pending = null;
+                    }
+                    continue;
+                }
+                if (pending != null && event != Event.START_OBJECT && event != Event.START_ARRAY) {
+                    found.put(pending, event == Event.NULL ? null : reader.getString());
+                    if (found.size() == wanted.size()) {
+                        break;
+                    }
+                }
+                pending = null;
+            }
+        } catch (IllegalArgumentException e) {
+            // Keep what was read before the error
+        }
+        return found;
+    }
+
+    /**
+     * Decode JSON escapes (\", \\, \/, \b, \f, \n, \r, \t, \\uXXXX) in one pass
+     */
+    public static String unescape(String text) {
+        if (text == null || text.indexOf('\\') < 0) {
+            return text;
+        }
+        return unescape(text, 0, text.length());
+    }
+
+    public Event next() {
+        skipWhitespace();
+        if (pos >= json.length()) {
+            if (depth > 0) {
+                throw error("Unexpected end of input");
+            }
+            return Event.END;
+        }
+        char c = json.charAt(pos);
+        if (depth > 0 && objects[depth] && expectName) {
+            if (c == ',') {
+                pos++;
+                skipWhitespace();
+                c = pos < json.length() ? json.charAt(pos) : 0;
+            } else if (c == '}') {
+                pos++;
+                return endContainer(Event.END_OBJECT);
+            }
+            if (c != '"') {
+                throw error("Expected a name");
+            }
+            readString();
+            skipWhitespace();
+            if (pos >= json.length() || json.charAt(pos) != ':') {
+                throw error("Expected ':'");
+            }
+            pos++;
+            expectName = false;
+            return Event.NAME;
+        }
+        if (depth > 0 && !objects[depth]) {
+            if (c == ',') {
+                pos++;
+                skipWhitespace();
+                c = pos < json.length() ? json.charAt(pos) : 0;
+            } else if (c == ']') {
+                pos++;
+                return endContainer(Event.END_ARRAY);
+            }
+        }
+        switch (c) {
+        case '{':
+            pos++;
+            push(true);
+            return Event.START_OBJECT;
+        case '[':
+            pos++;
+            push(false);
+            return Event.START_ARRAY;
+        case '"':
+            readString();
+            return afterValue(Event.STRING);
+        case 't':
+            return literal("true", Event.TRUE);
+        case 'f':
+            return literal("false", Event.FALSE);
+        case 'n':
+            return literal("null", Event.NULL);
+        default:
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                tokenStart = pos;
+                while (pos < json.length() && "+-.eE0123456789".indexOf(json.charAt(pos)) >= 0) {
+                    pos++;
+                }
+                tokenEnd = pos;
+                tokenEscaped = false;
+                return afterValue(Event.NUMBER);
+            }
+            throw error("Unexpected character '" + c + "'");
+        }
+    }
+
+    /**
+     * Text of the current NAME, STRING or NUMBER event
+     */
+    public String getString() {
+        return tokenEscaped ? unescape(json, tokenStart, tokenEnd) : json.substring(tokenStart, tokenEnd);
+    }
+
+    /**
+     * Nesting level: 1 inside the outermost object or array
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Skip the value that follows the current NAME (or the rest of the container just started)
+     */
+    public void skipValue() {
+        int target = depth;
+        Event event = next();
+        if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+            while (depth > target) {
+                next();
+            }
+        }
+    }
+
+    private String matchName(Set<String> names) {
+        if (tokenEscaped) {
+            String name = getString();
+            return names.contains(name) ? name : null;
+        }
+        int length = tokenEnd - tokenStart;
+        for (String name : names) {
+            if (name.length() == length && json.regionMatches(tokenStart, name, 0, length)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private void readString() {
+        tokenStart = ++pos;
+        tokenEscaped = false;
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (c == '"') {
+                tokenEnd = pos++;
+                return;
+            }
+            if (c == '\\') {
+                tokenEscaped = true;
+                pos++;
+            }
+            pos++;
+        }
+        throw error("Unterminated string");
+    }
+
+    private Event literal(String word, Event event) {
+        if (!json.startsWith(word, pos)) {
+            throw error("Unexpected token");
+        }
+        tokenStart = pos;
+        pos += word.length();
+        tokenEnd = pos;
+        tokenEscaped = false;
+        return afterValue(event);
+    }
+
+    private void push(boolean object) {
+        depth++;
+        if (depth == objects.length) {
+            objects = Arrays.copyOf(objects, depth * 2);
+        }
+        objects[depth] = object;
+        expectName = object;
+    }
+
+    private Event endContainer(Event event) {
+        depth--;
+        return afterValue(event);
+    }
+
+    private Event afterValue(Event event) {
+        expectName = depth > 0 && objects[depth];
+        return event;
+    }
+
+    private void skipWhitespace() {
+        while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos);
+    }
+
+    private static String unescape(String text, int start, int end) {
+        StringBuilder decoded = new StringBuilder(end - start);
+        int run = start;
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) != '\\' || i + 1 >= end) {
+                continue;
+            }
+            decoded.append(text, run, i);
+            char c = text.charAt(++i);
+            switch (c) {
+            case 'n':
+                decoded.append('\n');
+                break;
+            case 'r':
+                decoded.append('\r');
+                break;
+            case 't':
+                decoded.append('\t');
+                break;
+            case 'b':
+                decoded.append('\b');
+                break;
+            case 'f':
+                decoded.append('\f');
+                break;
+            case 'u':
+                if (i + 4 < end) {
+                    try {
+                        decoded.append((char) Integer.parseInt(text.substring(i + 1, i + 5), 16));
+                        i += 4;
+                        break;
+                    } catch (NumberFormatException e) {
+                        // Not a valid escape: keep the character as is
+                    }
+                }
+                decoded.append(c);
+                break;
+            default:
+                // \" \\ \/ and unknown escapes
+                decoded.append(c);
+            }
+            run = i + 1;
+        }
+        decoded.append(text, run, end);
+        return decoded.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package com.oracle.view.source;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class to verify that JsonWriter escaping and JsonReader unescaping round-trip
+ */
+public class JsonRoundTripTest {
+
+    private static int passed;
+    private static int failed;
+
+    public static void main(String[] args) {
+        System.out.println("=== JSON Escape/Unescape Round-Trip Test ===\n");
+
+        List<String> values = Arrays.asList(
+            "plain text",
+            "say \"hello\"",
+            "C:\\temp\\new",
+            "ends with backslash \\",
+            "\\\\ double backslash",
+            "literal \\u0041 is not an escape",
+            "line one\nline two\r\n\ttabbed",
+            "control \u0001 and \u001f",
+            "separators \u2028 and \u2029",
+            "caf\u00e9 \u20ac \ud83d\ude00",
+            "<table class=\"x\"><tr><td>a/b</td></tr></table>",
+            ""
+        );
+
+        System.out.println("--- Test 1: escape() then unescape() ---");
+        for (String value : values) {
+            check("round-trip " + describe(value), value.equals(JsonReader.unescape(JsonWriter.escape(value))));
+        }
+
+        System.out.println("\n--- Test 2: JsonWriter then JsonReader ---");
+        for (String value : values) {
+            String json = JsonWriter.create().beginObject().name("html").value(value).endObject().finish();
+            Map<String, String> fields = JsonReader.readStrings(json, "html");
+            check("writer/reader " + describe(value), value.equals(fields.get("html")));
+        }
+
+        System.out.println("\n--- Test 3: Escapes ---");
+        check("U+2028 is written as \\u2028", "\\u2028".equals(JsonWriter.escape("\u2028")));
+        check("U+2029 is written as \\u2029", "\\u2029".equals(JsonWriter.escape("\u2029")));
+        check("control character is written as \\u0001", "\\u0001".equals(JsonWriter.escape("\u0001")));
+        check("\\u00e9 decodes to \u00e9", "\u00e9".equals(JsonReader.unescape("\\u00e9")));
+        check("\\u2028 decodes to U+2028", "\u2028".equals(JsonReader.unescape("\\u2028")));
+        check("surrogate pair decodes", "\ud83d\ude00".equals(JsonReader.unescape("\\ud83d\\ude00")));
+        check("escaped backslash before n stays a backslash", "\\n".equals(JsonReader.unescape("\\\\n")));
+        check("escaped backslash before u is not a \\u escape", "\\u0041".equals(JsonReader.unescape("\\\\u0041")));
+        check("escaped slash decodes", "a/b".equals(JsonReader.unescape("a\\/b")));
+        check("unescapeJsonString delegates to JsonReader",
+              "\"quoted\"\n".equals(BCCTChatBotUtility.unescapeJsonString("\\\"quoted\\\"\\n")));
+
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Passed: " + passed + ", Failed: " + failed);
+    }
+
+    private static String describe(String value) {
+        String escaped = JsonWriter.escape(value);
+        return "\"" + (escaped.length() > 40 ? escaped.substring(0, 40) + "..." : escaped) + "\"";
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            passed++;
+            System.out.println("PASS: " + description);
+        } else {
+            failed++;
+            System.out.println("FAIL: " + description);
+        }
+    }
+}
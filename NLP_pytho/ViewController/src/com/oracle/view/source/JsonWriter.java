@@ -0,0 +1,332 @@
+package com.oracle.view.source;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Streaming JSON writer for chatbot responses
+ *
+ * Values are escaped in one pass straight into the output, so a large dataProviderResponse (HTML
+ * tables) is copied once instead of once per String.replace. Output is pretty-printed with two-space
+ * indentation and "name": value pairs, the layout the response parsers and JSON_DESIGN.md expect.
+ *
+ * USAGE:
+ * - JsonWriter json = JsonWriter.create();   // per-thread reusable buffer
+ *   json.beginObject().name("success").value(true).name("dataProviderResponse").value(html).endObject();
+ *   String response = json.finish();        // returns the buffer for reuse
+ * - new JsonWriter(appendable) writes to any Appendable (e.g. a servlet Writer)
+ * - JsonWriter.escape(text) for code that still builds JSON by hand
+ *
+ * A writer is not thread-safe; use one per response.
+ */
+public class JsonWriter {
+
+    // Buffers larger than this are dropped after use instead of staying pinned to the thread
+    // (16K chars = 32KB per app-server thread); large responses allocate their own buffer
+    public static final int MAX_POOLED_CAPACITY = 16 * 1024;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final String INDENT = "                                ";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // One idle buffer per thread; taken while a writer uses it, so nested writers get their own
+    private static final ThreadLocal<StringBuilder> BUFFERS = new ThreadLocal<>();
+
+    private final Appendable out;
+    private StringBuilder pooled;
+    private int depth;
+    // Per nesting level: something was written in this object/array
+    private boolean[] hasItems = new boolean[8];
+    private boolean afterName;
+
+    public JsonWriter(Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * Writer on this thread's reusable buffer; call finish() to get the JSON
+     */
+    public static JsonWriter create() {
+        StringBuilder buffer = BUFFERS.get();
+        if (buffer == null) {
+            buffer = new StringBuilder(INITIAL_CAPACITY);
+        } else {
+            BUFFERS.set(null);
+            buffer.setLength(0);
+        }
+        JsonWriter writer = new JsonWriter(buffer);
+        writer.pooled = buffer;
+        return writer;
+    }
+
+    /**
+     * The JSON written so far; a buffer from create() is handed back for reuse
+     */
+    public String finish() {
+        String json = out.toString();
+        if (pooled != null) {
+            if (pooled.capacity() <= MAX_POOLED_CAPACITY) {
+                BUFFERS.set(pooled);
+            }
+            pooled = null;
+        }
+        return json;
+    }
+
+    public JsonWriter beginObject() {
+        return open('{');
+    }
+
+    public JsonWriter endObject() {
+        return close('}');
+    }
+
+    public JsonWriter beginArray() {
+        return open('[');
+    }
+
+    public JsonWriter endArray() {
+        return close(']');
+    }
+
+    public JsonWriter name(String name) {
+        separate();
+        quote(name);
+        append(": ");
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * String value, or null
+     */
+    public JsonWriter value(String value) {
+        beforeValue();
+        if (value == null) {
+            append("null");
+        } else {
+            quote(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        return rawValue(value ? "true" : "false");
+    }
+
+    public JsonWriter value(long value) {
+        return rawValue(Long.toString(value));
+    }
+
+    /**
+     * Number value; NaN and infinity are written as null
+     */
+    public JsonWriter value(double value) {
+        return rawValue(Double.isNaN(value) || Double.isInfinite(value) ? "null" : Double.toString(value));
+    }
+
+    /**
+     * null, String, Number, Boolean, Map (as object) or Collection (as array); anything else as its toString()
+     */
+    public JsonWriter value(Object value) {
+        if (value == null || value instanceof String) {
+            return value((String) value);
+        }
+        if (value instanceof Boolean) {
+            return value(((Boolean) value).booleanValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return value(((Number) value).doubleValue());
+        }
+        if (value instanceof Number) {
+            return rawValue(value.toString());
+        }
+        if (value instanceof Map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                name(String.valueOf(entry.getKey())).value(entry.getValue());
+            }
+            return endObject();
+        }
+        if (value instanceof Collection) {
+            beginArray();
+            for (Object item : (Collection<?>) value) {
+                value(item);
+            }
+            return endArray();
+        }
+        return value(value.toString());
+    }
+
+    /**
+     * Value that is already JSON (e.g. a formatted number)
+     */
+    public JsonWriter rawValue(String json) {
+        beforeValue();
+        append(json);
+        return this;
+    }
+
+    /**
+     * text with JSON escapes, without quotes; "" for null
+     */
+    public static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        int i = 0;
+        while (i < text.length() && !needsEscape(text.charAt(i))) {
+            i++;
+        }
+        if (i == text.length()) {
+            return text;
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        try {
+            escape(text, escaped);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Append text with JSON escapes; runs without special characters are copied as one block
+     */
+    public static void escape(CharSequence text, Appendable out) throws IOException {
+        int start = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (!needsEscape(c)) {
+                continue;
+            }
+            out.append(text, start, i);
+            switch (c) {
+            case '"':
+                out.append("\\\"");
+                break;
+            case '\\':
+                out.append("\\\\");
+                break;
+            case '\n':
+                out.append("\\n");
+                break;
+            case '\r':
+                out.append("\\r");
+                break;
+            case '\t':
+                out.append("\\t");
+                break;
+            case '\b':
+                out.append("\\b");
+                break;
+            case '\f':
+                out.append("\\f");
+                break;
+            default:
+                // Other control characters, and U+2028/U+2029 which break JavaScript string literals
+                out.append("\\u")
+                   .append(HEX[(c >> 12) & 0xF])
+                   .append(HEX[(c >> 8) & 0xF])
+                   .append(HEX[(c >> 4) & 0xF])
+                   .append(HEX[c & 0xF]);
+            }
+            start = i + 1;
+        }
+        out.append(text, start, length);
+    }
+
+    private static boolean needsEscape(char c) {
+        return c < 0x20 || c == '"' || c == '\\' || c == '\u2028' || c == '\u2029';
+    }
+
+    private JsonWriter open(char bracket) {
+        beforeValue();
+        append(bracket);
+        depth++;
+        if (depth == hasItems.length) {
+            boolean[] grown = new boolean[depth * 2];
+            System.arraycopy(hasItems, 0, grown, 0, depth);
+            hasItems = grown;
+        }
+        hasItems[depth] = false;
+        return this;
+    }
+
+    private JsonWriter close(char bracket) {
+        if (depth == 0) {
+            throw new IllegalStateException("Nothing to close with " + bracket);
+        }
+        boolean empty = !hasItems[depth];
+        depth--;
+        if (!empty) {
+            newLine();
+        }
+        append(bracket);
+        return this;
+    }
+
+    /**
+     * Comma and new line before an object member or array element
+     */
+    private void separate() {
+        if (depth > 0) {
+            if (hasItems[depth]) {
+                append(',');
+            }
+            hasItems[depth] = true;
+            newLine();
+        }
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+        } else {
+            separate();
+        }
+    }
+
+    private void newLine() {
+        append('\n');
+        int spaces = depth * 2;
+        while (spaces > 0) {
+            int chunk = Math.min(spaces, INDENT.length());
+            append(INDENT, chunk);
+            spaces -= chunk;
+        }
+    }
+
+    private void quote(String text) {
+        try {
+            out.append('"');
+            escape(text, out);
+            out.append('"');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void append(char c) {
+        try {
+            out.append(c);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void append(String text) {
+        append(text, text.length());
+    }
+
+    private void append(String text, int length) {
+        try {
+            out.append(text, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.oracle.view.source;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled multi-keyword matcher (Aho-Corasick) producing a feature bitset
+ *
+ * Each keyword is registered under a feature id (0..63). Scanning a string walks it once and
+ * sets the bit of every feature whose keyword occurs in it - the same answer as running
+ * String.contains() for every keyword, without rescanning the input per keyword.
+ *
+ * USAGE:
+ * - Register vocabularies with addKeywords(feature, wordBounded, keywords...)
+ * - Call compile() once, then scan() from any thread
+ *
+ * Word-bounded keywords only match with a regex \b on both sides, i.e. the equivalent of
+ * "\\b(kw1|kw2|...)\\b". The scan also records, per feature, where the first match ends and
+ * where the last match starts, so "A.*B" ordering checks can be answered from the result, and
+ * the longest digit run and longest all-digit word for the number checks.
+ */
+public class KeywordAutomaton {
+
+    public static final int MAX_FEATURES = 64;
+
+    // Trie under construction
+    private final List<Node> nodes = new ArrayList<>();
+    private int featureCount;
+    private boolean compiled;
+
+    // Compiled transition table - per state, sorted edge labels and their targets
+    private char[][] edgeChars;
+    private int[][] edgeTargets;
+    private int[] failure;
+    // Per state, every keyword ending here (including via failure links)
+    private int[][] outputLengths;
+    private long[][] outputMasks;
+    private boolean[][] outputBounded;
+
+    public KeywordAutomaton() {
+        nodes.add(new Node());
+    }
+
+    /**
+     * Register keywords for a feature. Keywords are matched as-is, so callers lower-case both the
+     * keywords and the scanned text.
+     */
+    public KeywordAutomaton addKeywords(int feature, boolean wordBounded, String... keywords) {
+        if (compiled) {
+            throw new IllegalStateException("KeywordAutomaton is already compiled");
+        }
+        if (feature < 0 || feature >= MAX_FEATURES) {
+            throw new IllegalArgumentException("Feature id out of range: " + feature);
+        }
+        featureCount = Math.max(featureCount, feature + 1);
+        for (String keyword : keywords) {
+            if (keyword == null || keyword.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                Integer next = nodes.get(state).children.get(c);
+                if (next == null) {
+                    next = nodes.size();
+                    nodes.add(new Node());
+                    nodes.get(state).children.put(c, next);
+                }
+                state = next;
+            }
+            nodes.get(state).outputs.add(new Output(keyword.length(), 1L << feature, wordBounded));
+        }
+        return this;
+    }
+
+    /**
+     * Build failure links and the flat transition tables. Must be called before scan().
+     */
+    public KeywordAutomaton compile() {
+        if (compiled) {
+            return this;
+        }
+        int size = nodes.size();
+        edgeChars = new char[size][];
+        edgeTargets = new int[size][];
+        failure = new int[size];
+        outputLengths = new int[size][];
+        outputMasks = new long[size][];
+        outputBounded = new boolean[size][];
+
+        for (int state = 0; state < size; state++) {
+            Node node = nodes.get(state);
+            char[] chars = new char[node.children.size()];
+            int index = 0;
+            for (Character c : node.children.keySet()) {
+                chars[index++] = c;
+            }
+            Arrays.sort(chars);
+            int[] targets = new int[chars.length];
+            for (int i = 0; i < chars.length; i++) {
+                targets[i] = node.children.get(chars[i]);
+            }
+            edgeChars[state] = chars;
+            edgeTargets[state] = targets;
+        }
+
+        // Breadth-first failure links; a state's outputs include those of its failure state
+        List<List<Output>> merged = new ArrayList<>(size);
+        for (int state = 0; state < size; state++) {
+            merged.add(new ArrayList<>(nodes.get(state).outputs));
+        }
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int target : edgeTargets[0]) {
+            failure[target] = 0;
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            char[] chars = edgeChars[state];
+            int[] targets = edgeTargets[state];
+            for (int i = 0; i < chars.length; i++) {
+                int target = targets[i];
+                int fallback = failure[state];
+                int next;
+                while ((next = transition(fallback, chars[i])) < 0 && fallback != 0) {
+                    fallback = failure[fallback];
+                }
+                failure[target] = next >= 0 ? next : 0;
+                merged.get(target).addAll(merged.get(failure[target]));
+                queue.add(target);
+            }
+        }
+
+        for (int state = 0; state < size; state++) {
+            List<Output> outputs = merged.get(state);
+            outputLengths[state] = new int[outputs.size()];
+            outputMasks[state] = new long[outputs.size()];
+            outputBounded[state] = new boolean[outputs.size()];
+            for (int i = 0; i < outputs.size(); i++) {
+                outputLengths[state][i] = outputs.get(i).length;
+                outputMasks[state][i] = outputs.get(i).mask;
+                outputBounded[state][i] = outputs.get(i).wordBounded;
+            }
+        }
+        nodes.clear();
+        compiled = true;
+        return this;
+    }
+
+    /**
+     * Scan text once and return the features it contains
+     */
+    public Features scan(String text) {
+        if (!compiled) {
+            throw new IllegalStateException("KeywordAutomaton.compile() has not been called");
+        }
+        Features features = new Features(featureCount);
+        if (text == null) {
+            return features;
+        }
+
+        int state = 0;
+        int digitRun = 0;
+        int wordLength = 0;
+        boolean digitWord = true;
+        int length = text.length();
+        for (int pos = 0; pos < length; pos++) {
+            char c = text.charAt(pos);
+
+            // Lexical statistics gathered in the same pass
+            boolean digit = c >= '0' && c <= '9';
+            if (digit) {
+                digitRun++;
+                features.maxDigitRun = Math.max(features.maxDigitRun, digitRun);
+            } else {
+                digitRun = 0;
+            }
+            if (isWordChar(c)) {
+                wordLength++;
+                digitWord &= digit;
+            } else {
+                features.endWord(wordLength, digitWord);
+                wordLength = 0;
+                digitWord = true;
+            }
+            if (isLineTerminator(c)) {
+                features.hasLineTerminator = true;
+            }
+
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = failure[state];
+            }
+            state = next >= 0 ? next : 0;
+
+            int[] lengths = outputLengths[state];
+            for (int i = 0; i < lengths.length; i++) {
+                int start = pos + 1 - lengths[i];
+                if (outputBounded[state][i] && !isWordBoundary(text, start, pos + 1)) {
+                    continue;
+                }
+                features.record(outputMasks[state][i], start, pos + 1);
+            }
+        }
+        features.endWord(wordLength, digitWord);
+        return features;
+    }
+
+    private int transition(int state, char c) {
+        char[] chars = edgeChars[state];
+        int index = Arrays.binarySearch(chars, c);
+        return index >= 0 ? edgeTargets[state][index] : -1;
+    }
+
+    /**
+     * Regex \b at both ends of [start, end)
+     */
+    private static boolean isWordBoundary(String text, int start, int end) {
+        boolean startBoundary = start == 0 || isWordChar(text.charAt(start - 1)) != isWordChar(text.charAt(start));
+        boolean endBoundary = end == text.length() || isWordChar(text.charAt(end - 1)) != isWordChar(text.charAt(end));
+        return startBoundary && endBoundary;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Result of one scan - a feature bitset plus match positions
+     */
+    public static class Features {
+        private long bits;
+        private final int[] firstEnd;
+        private final int[] lastStart;
+        private int maxDigitRun;
+        private int maxDigitWord;
+        private boolean hasLineTerminator;
+
+        Features(int featureCount) {
+            firstEnd = new int[featureCount];
+            lastStart = new int[featureCount];
+            Arrays.fill(firstEnd, -1);
+            Arrays.fill(lastStart, -1);
+        }
+
+        private void record(long mask, int start, int end) {
+            bits |= mask;
+            long remaining = mask;
+            while (remaining != 0) {
+                int feature = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                if (firstEnd[feature] < 0 || end < firstEnd[feature]) {
+                    firstEnd[feature] = end;
+                }
+                if (start > lastStart[feature]) {
+                    lastStart[feature] = start;
+                }
+            }
+        }
+
+        private void endWord(int wordLength, boolean digitWord) {
+            if (digitWord && wordLength > maxDigitWord) {
+                maxDigitWord = wordLength;
+            }
+        }
+
+        public long getBits() {
+            return bits;
+        }
+
+        public boolean has(int feature) {
+            return (bits & (1L << feature)) != 0;
+        }
+
+        /**
+         * True when some match of first ends at or before the start of some match of second ("first.*second")
+         */
+        public boolean hasBefore(int first, int second) {
+            return has(first) && has(second) && firstEnd[first] <= lastStart[second];
+        }
+
+        /**
+         * Length of the longest run of ASCII digits
+         */
+        public int getMaxDigitRun() {
+            return maxDigitRun;
+        }
+
+        /**
+         * Length of the longest word (regex \w run) made only of ASCII digits, i.e. \b\d+\b
+         */
+        public int getMaxDigitWord() {
+            return maxDigitWord;
+        }
+
+        /**
+         * Regex "." does not match line terminators, so matches(".*x.*") is false when this is set
+         */
+        public boolean hasLineTerminator() {
+            return hasLineTerminator;
+        }
+    }
+
+    private static class Node {
+        final Map<Character, Integer> children = new HashMap<>();
+        final List<Output> outputs = new ArrayList<>();
+    }
+
+    private static class Output {
+        final int length;
+        final long mask;
+        final boolean wordBounded;
+
+        Output(int length, long mask, boolean wordBounded) {
+            this.length = length;
+            this.mask = mask;
+            this.wordBounded = wordBounded;
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package com.oracle.view.source;
 
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Lightweight Offline Lemmatizer for Business Domain
@@ -21,8 +22,8 @@ public class Lemmatizer {
     // Singleton instance
     private static volatile Lemmatizer instance;
     
-    // Business domain specific lemmatization rules
-    private final Map<String, String> businessLemmatizationRules = new HashMap<>();
+    // Business domain specific lemmatization rules (mutable at runtime)
+    private final Map<String, String> businessLemmatizationRules = new ConcurrentHashMap<>();
     
     // Common English lemmatization patterns
     private final Map<String, String> commonLemmatizationRules = new HashMap<>();
@@ -36,12 +37,24 @@ public class Lemmatizer {
     // Suffix patterns for lemmatization
     private final List<LemmatizationRule> suffixRules = new ArrayList<>();
     
+    // Suffix rules compiled into a trie over reversed suffixes
+    private final SuffixNode suffixTrie;
+    
+    // Memo cache: surface form -> lemma. Cleared when full or when business rules change.
+    private static final int MAX_CACHED_LEMMAS = 10000;
+    private final Map<String, String> lemmaCache = new ConcurrentHashMap<>();
+    // Bumped by every business rule change so in-flight lookups do not cache stale lemmas
+    private final AtomicLong rulesVersion = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    
     private Lemmatizer() {
         initializeBusinessLemmatizationRules();
         initializeCommonLemmatizationRules();
         initializeIrregularVerbs();
         initializeBusinessPlurals();
         initializeSuffixRules();
+        suffixTrie = compileSuffixRules(suffixRules);
     }
     
     public static Lemmatizer getInstance() {
@@ -341,23 +354,23 @@ public class Lemmatizer {
      */
     private void initializeSuffixRules() {
         // Verb suffixes
-        suffixRules.add(new LemmatizationRule("ing$", "", "VB")); // running -> run
-        suffixRules.add(new LemmatizationRule("ed$", "", "VB"));   // walked -> walk
-        suffixRules.add(new LemmatizationRule("s$", "", "VB"));    // walks -> walk
+        suffixRules.add(new LemmatizationRule("ing", "", "VB")); // running -> run
+        suffixRules.add(new LemmatizationRule("ed", "", "VB"));   // walked -> walk
+        suffixRules.add(new LemmatizationRule("s", "", "VB"));    // walks -> walk
         
         // Noun suffixes
-        suffixRules.add(new LemmatizationRule("ies$", "y", "NN")); // categories -> category
-        suffixRules.add(new LemmatizationRule("s$", "", "NN"));    // parts -> part
+        suffixRules.add(new LemmatizationRule("ies", "y", "NN")); // categories -> category
+        suffixRules.add(new LemmatizationRule("s", "", "NN"));    // parts -> part
         
         // Adjective suffixes
-        suffixRules.add(new LemmatizationRule("er$", "", "JJ"));   // faster -> fast
-        suffixRules.add(new LemmatizationRule("est$", "", "JJ"));  // fastest -> fast
-        suffixRules.add(new LemmatizationRule("al$", "", "JJ"));   // technical -> technical
-        suffixRules.add(new LemmatizationRule("ic$", "", "JJ"));   // specific -> specific
-        suffixRules.add(new LemmatizationRule("ous$", "", "JJ"));  // various -> various
-        suffixRules.add(new LemmatizationRule("ive$", "", "JJ"));  // active -> active
-        suffixRules.add(new LemmatizationRule("able$", "", "JJ")); // available -> available
-        suffixRules.add(new LemmatizationRule("ible$", "", "JJ")); // possible -> possible
+        suffixRules.add(new LemmatizationRule("er", "", "JJ"));   // faster -> fast
+        suffixRules.add(new LemmatizationRule("est", "", "JJ"));  // fastest -> fast
+        suffixRules.add(new LemmatizationRule("al", "", "JJ"));   // technical -> technical
+        suffixRules.add(new LemmatizationRule("ic", "", "JJ"));   // specific -> specific
+        suffixRules.add(new LemmatizationRule("ous", "", "JJ"));  // various -> various
+        suffixRules.add(new LemmatizationRule("ive", "", "JJ"));  // active -> active
+        suffixRules.add(new LemmatizationRule("able", "", "JJ")); // available -> available
+        suffixRules.add(new LemmatizationRule("ible", "", "JJ")); // possible -> possible
     }
     
     /**
@@ -368,6 +381,27 @@ public class Lemmatizer {
             return word;
         }
         
+        String cached = lemmaCache.get(word);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return cached;
+        }
+        cacheMisses.incrementAndGet();
+        
+        long version = rulesVersion.get();
+        String lemma = lemmatizeUncached(word);
+        if (lemmaCache.size() >= MAX_CACHED_LEMMAS) {
+            lemmaCache.clear();
+        }
+        lemmaCache.put(word, lemma);
+        if (rulesVersion.get() != version) {
+            // A business rule changed while this lemma was computed
+            lemmaCache.remove(word);
+        }
+        return lemma;
+    }
+    
+    private String lemmatizeUncached(String word) {
         String lowerWord = word.toLowerCase().trim();
         
         // Check business-specific rules first (highest priority)
@@ -402,14 +436,56 @@ public class Lemmatizer {
     
     /**
      * Apply suffix-based lemmatization rules
+     * One walk of the word from its last character through the suffix trie finds every rule whose
+     * suffix matches; the earliest registered rule wins, as with the original rule list.
      */
     private String applySuffixRules(String word) {
-        for (LemmatizationRule rule : suffixRules) {
-            if (rule.matches(word)) {
-                return rule.apply(word);
+        // A regex "$" also matches before one final line terminator
+        int end = word.length();
+        if (end > 0 && isFinalLineTerminator(word.charAt(end - 1))) {
+            end--;
+        }
+        
+        LemmatizationRule best = null;
+        int bestIndex = Integer.MAX_VALUE;
+        SuffixNode node = suffixTrie;
+        for (int i = end - 1; i >= 0 && node != null; i--) {
+            node = node.children.get(word.charAt(i));
+            if (node != null && node.ruleIndex < bestIndex) {
+                bestIndex = node.ruleIndex;
+                best = suffixRules.get(bestIndex);
             }
         }
-        return word;
+        if (best == null) {
+            return word;
+        }
+        return word.substring(0, end - best.suffix.length()) + best.replacement + word.substring(end);
+    }
+    
+    private static boolean isFinalLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+    
+    /**
+     * Build the reversed-suffix trie; each node keeps the index of the first rule ending there
+     */
+    private static SuffixNode compileSuffixRules(List<LemmatizationRule> rules) {
+        SuffixNode root = new SuffixNode();
+        for (int index = 0; index < rules.size(); index++) {
+            String suffix = rules.get(index).suffix;
+            SuffixNode node = root;
+            for (int i = suffix.length() - 1; i >= 0; i--) {
+                char c = suffix.charAt(i);
+                SuffixNode child = node.children.get(c);
+                if (child == null) {
+                    child = new SuffixNode();
+                    node.children.put(c, child);
+                }
+                node = child;
+            }
+            node.ruleIndex = Math.min(node.ruleIndex, index);
+        }
+        return root;
     }
     
     /**
@@ -516,6 +592,7 @@ public class Lemmatizer {
      */
     public void addBusinessRule(String word, String lemma) {
         businessLemmatizationRules.put(word.toLowerCase(), lemma.toLowerCase());
+        invalidateCache();
     }
     
     /**
@@ -523,6 +600,12 @@ public class Lemmatizer {
      */
     public void removeBusinessRule(String word) {
         businessLemmatizationRules.remove(word.toLowerCase());
+        invalidateCache();
+    }
+    
+    private void invalidateCache() {
+        rulesVersion.incrementAndGet();
+        lemmaCache.clear();
     }
     
     /**
@@ -549,6 +632,9 @@ public class Lemmatizer {
         stats.put("irregularVerbs", irregularVerbs.size());
         stats.put("businessPlurals", businessPlurals.size());
         stats.put("suffixRules", suffixRules.size());
+        stats.put("cachedLemmas", lemmaCache.size());
+        stats.put("cacheHits", cacheHits.get());
+        stats.put("cacheMisses", cacheMisses.get());
         return stats;
     }
     
@@ -556,26 +642,26 @@ public class Lemmatizer {
      * Lemmatization rule for suffix-based transformations
      */
     private static class LemmatizationRule {
-        private final Pattern pattern;
+        private final String suffix;
         private final String replacement;
         private final String posTag;
         
-        public LemmatizationRule(String regex, String replacement, String posTag) {
-            this.pattern = Pattern.compile(regex);
+        public LemmatizationRule(String suffix, String replacement, String posTag) {
+            this.suffix = suffix;
             this.replacement = replacement;
             this.posTag = posTag;
         }
         
-        public boolean matches(String word) {
-            return pattern.matcher(word).find();
-        }
-        
-        public String apply(String word) {
-            return pattern.matcher(word).replaceAll(replacement);
-        }
-        
         public String getPosTag() {
             return posTag;
         }
     }
+    
+    /**
+     * Reversed-suffix trie node
+     */
+    private static class SuffixNode {
+        private final Map<Character, SuffixNode> children = new HashMap<>();
+        private int ruleIndex = Integer.MAX_VALUE;
+    }
 } 
\ No newline at end of file
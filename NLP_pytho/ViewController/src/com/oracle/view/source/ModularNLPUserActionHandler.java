@@ -117,8 +117,9 @@ public class ModularNLPUserActionHandler {
             String preprocessedInput = preprocessInput(userInput);
             
             // Step 2: Spell correction using SpellCorrector
-            String correctedInput = spellCorrector.correct(preprocessedInput);
-            double correctionConfidence = spellCorrector.getCorrectionConfidence(preprocessedInput, correctedInput);
+            SpellCorrector.CorrectionResult correction = spellCorrector.correctWithConfidence(preprocessedInput);
+            String correctedInput = correction.corrected;
+            double correctionConfidence = correction.confidence;
             
             // Step 3: Query classification using NLPQueryClassifier
             NLPQueryClassifier.QueryResult classificationResult = queryClassifier.processQuery(userInput);
@@ -236,36 +237,15 @@ public class ModularNLPUserActionHandler {
             );
         }
         
-        // Convert entities
+        // Entities, display entities and errors are the same types in both results: share them
         if (nlpResult.entities != null) {
-            standardResult.entities = new ArrayList<>();
-            for (NLPQueryClassifier.EntityFilter nlpEntity : nlpResult.entities) {
-                StandardJSONProcessor.EntityFilter standardEntity = new StandardJSONProcessor.EntityFilter(
-                    nlpEntity.attribute,
-                    nlpEntity.operation,
-                    nlpEntity.value,
-                    nlpEntity.source
-                );
-                standardResult.entities.add(standardEntity);
-            }
+            standardResult.entities = nlpResult.entities;
         }
-        
-        // Convert display entities
         if (nlpResult.displayEntities != null) {
-            standardResult.displayEntities = new ArrayList<>(nlpResult.displayEntities);
+            standardResult.displayEntities = nlpResult.displayEntities;
         }
-        
-        // Convert errors
         if (nlpResult.errors != null) {
-            standardResult.errors = new ArrayList<>();
-            for (NLPQueryClassifier.ValidationError nlpError : nlpResult.errors) {
-                StandardJSONProcessor.ValidationError standardError = new StandardJSONProcessor.ValidationError(
-                    nlpError.code,
-                    nlpError.message,
-                    nlpError.severity
-                );
-                standardResult.errors.add(standardError);
-            }
+            standardResult.errors = nlpResult.errors;
         }
         
         return standardResult;
@@ -355,15 +335,14 @@ public class ModularNLPUserActionHandler {
     /**
      * Enhanced entity extraction with TableColumnConfig validation
      */
-    private List<StandardJSONProcessor.EntityFilter> extractEntitiesWithValidation(String userInput, String tableType) {
-        List<StandardJSONProcessor.EntityFilter> entities = new ArrayList<>();
+    private List<EntityFilter> extractEntitiesWithValidation(String userInput, String tableType) {
+        List<EntityFilter> entities = new ArrayList<>();
         
         // Extract entities using StandardJSONProcessor logic
-        String jsonResult = standardProcessor.processQuery(userInput);
-        StandardJSONProcessor.QueryResult queryResult = standardProcessor.parseJSONToObject(jsonResult);
+        StandardJSONProcessor.QueryResult queryResult = standardProcessor.processQueryToObject(userInput);
         
         if (queryResult.entities != null) {
-            for (StandardJSONProcessor.EntityFilter entity : queryResult.entities) {
+            for (EntityFilter entity : queryResult.entities) {
                 // Validate column using TableColumnConfig
                 if (isValidColumn(entity.attribute, tableType)) {
                     entities.add(entity);
@@ -384,8 +363,7 @@ public class ModularNLPUserActionHandler {
         Set<String> displayableColumns = getDisplayableColumns(tableType);
         
         // Extract display entities using StandardJSONProcessor logic
-        String jsonResult = standardProcessor.processQuery(userInput);
-        StandardJSONProcessor.QueryResult queryResult = standardProcessor.parseJSONToObject(jsonResult);
+        StandardJSONProcessor.QueryResult queryResult = standardProcessor.processQueryToObject(userInput);
         
         if (queryResult.displayEntities != null) {
             for (String entity : queryResult.displayEntities) {
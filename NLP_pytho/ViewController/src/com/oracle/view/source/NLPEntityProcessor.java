@@ -8,10 +8,12 @@ import java.io.PrintWriter;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -28,20 +30,18 @@ public class NLPEntityProcessor {
     private static final Pattern CONTRACT_NUMBER_PATTERN = Pattern.compile("\\b\\d{6}\\b"); // Exactly 6 digits = Contract
     private static final Pattern CUSTOMER_NUMBER_PATTERN = Pattern.compile("\\b\\d{7,}\\b"); // 7+ digits = Customer/Account
     private static final Pattern PART_NUMBER_PATTERN = Pattern.compile("\\b[A-Za-z0-9]{3,}\\b"); // Alphanumeric = Parts
-    private static final Pattern OPPORTUNITY_PATTERN = Pattern.compile("\\bCRF\\d+\\b", Pattern.CASE_INSENSITIVE); // CRF + digits = Opportunities
     private static final Pattern YEAR_PATTERN = Pattern.compile("\\b(19|20)\\d{2}\\b");
     
     // Business validation constants
     private static final int CONTRACT_NUMBER_LENGTH = 6; // Contract numbers are exactly 6 digits
     private static final int CONTRACT_VALIDITY_YEARS = 2; // Contracts valid for next 2 years
 
-    // ENHANCED: Multiple part number patterns for different formats
-    private static final Pattern PART_PATTERN_1 = Pattern.compile("\\b[A-Za-z]{2}\\d{5}\\b"); // AE12345
-    private static final Pattern PART_PATTERN_2 = Pattern.compile("\\b[A-Za-z]{2}\\d{4,6}\\b"); // BC67890, DE23456
-    private static final Pattern PART_PATTERN_3 = Pattern.compile("\\b[A-Za-z]\\d{4,8}\\b"); // A12345678
-    private static final Pattern PART_PATTERN_4 = Pattern.compile("\\b\\d{4,8}[A-Za-z]{1,3}\\b"); // 12345ABC
-    private static final Pattern PART_PATTERN_5 = Pattern.compile("\\b[A-Za-z]{3,4}-\\d{3,6}\\b"); // ABC-123456
-    private static final Pattern PART_PATTERN_6 = Pattern.compile("\\b[A-Za-z]{2}\\d{4}-[A-Za-z]{3}\\b"); // AE1337-ERT
+    // Precompiled helper patterns - compiled once instead of on every request
+    private static final Pattern NUMBER_SUFFIX_PATTERN = Pattern.compile("(\\d+)([a-zA-Z]+)");
+    private static final Pattern CUSTOMER_NUMBER_WORD_PATTERN = Pattern.compile("(customer)([a-zA-Z]*)(\\d+)([a-zA-Z]*)");
+    private static final Pattern PART_SUFFIX_PATTERN = Pattern.compile("([a-zA-Z]+\\d+)([a-zA-Z]*)");
+    private static final Pattern PREFIX_NUMBER_SUFFIX_PATTERN = Pattern.compile("([a-zA-Z]+)(\\d+)([a-zA-Z]*)");
+    private static final Pattern UPPER_PART_SUFFIX_PATTERN = Pattern.compile("([A-Z]+\\d+)([a-zA-Z]+)");
 
     // Command words to filter out
     private static final Set<String> COMMAND_WORDS =
@@ -94,6 +94,12 @@ public class NLPEntityProcessor {
     // Table column mappings for validation - NOW USING CENTRALIZED CONFIG
     private static final TableColumnConfig TABLE_CONFIG = TableColumnConfig.getInstance();
 
+    // Results by query shape - identifiers are masked so they generalize across values (see QueryShapeCache)
+    private static final int SHAPE_CACHE_SIZE = 2000;
+    private static final long SHAPE_CACHE_TTL_MS = 10 * 60 * 1000L;
+    private static final QueryShapeCache<QueryResult> SHAPE_CACHE =
+        new QueryShapeCache<>(SHAPE_CACHE_SIZE, SHAPE_CACHE_TTL_MS, new ShapeBinder());
+
     /**
      * Validate if a column exists in the specified table
      */
@@ -120,11 +126,64 @@ public class NLPEntityProcessor {
 
     /**
      * Process query and return Java object for easy access
-     * Converts JSON string to QueryResult object
+     * Builds the QueryResult directly - no JSON is generated or parsed on this path
      */
     public QueryResult processQueryToObject(String originalInput) {
-        String jsonString = processQuery(originalInput);
-        return parseJSONToObject(jsonString);
+        return SHAPE_CACHE.resolve(originalInput, this::buildQueryResult).seal();
+    }
+
+    /**
+     * Shape cache counters (hits, learned and rejected templates)
+     */
+    public static Map<String, Object> getShapeCacheStatistics() {
+        return SHAPE_CACHE.getStatistics();
+    }
+
+    public static void clearShapeCache() {
+        SHAPE_CACHE.clear();
+    }
+
+    private QueryResult buildQueryResult(String originalInput) {
+        long startTime = System.currentTimeMillis();
+        try {
+            // Normalize input
+            String normalizedInput = EnhancedNLPProcessor.normalizeText(originalInput);
+
+            // Use EnhancedNLPProcessor for query type and action type
+            EnhancedNLPProcessor.QueryFeatures features = EnhancedNLPProcessor.extractFeatures(originalInput, normalizedInput);
+            String queryType = EnhancedNLPProcessor.determineQueryType(features);
+            String actionType = EnhancedNLPProcessor.determineActionType(features, queryType);
+
+            // Input tracking
+            InputTrackingResult inputTracking = new InputTrackingResult(originalInput, normalizedInput, 1.0);
+
+            // One entity scan shared by header analysis and entity extraction
+            EntityScanner.ScanResult scan = EntityScanner.scan(normalizedInput);
+
+            // Header analysis (contract/part/customer numbers, customer name, created by)
+            HeaderResult headerResult = analyzeHeaders(normalizedInput, scan);
+
+            // Extract entities and display entities
+            List<EntityFilter> entities = extractEntities(normalizedInput, scan);
+            List<String> displayEntities = determineDisplayEntitiesFromPrompt(originalInput, normalizedInput);
+
+            // Build QueryMetadata
+            double processingTime = (System.currentTimeMillis() - startTime) / 1000.0;
+            QueryMetadata metadata = new QueryMetadata(queryType, actionType, processingTime);
+
+            return createQueryResult(inputTracking, headerResult, metadata, entities, displayEntities, new ArrayList<>());
+        } catch (Exception e) {
+            double processingTime = (System.currentTimeMillis() - startTime) / 1000.0;
+            return createErrorResult(originalInput, "Error processing query: " + e.getMessage(), processingTime);
+        }
+    }
+
+    /**
+     * Serialize a QueryResult to the JSON_DESIGN.md format
+     * Only needed by callers that want the string form
+     */
+    public String toJSON(QueryResult result) {
+        return generateStandardJSON(result);
     }
 
     /**
@@ -525,31 +584,59 @@ public class NLPEntityProcessor {
         return new InputTrackingResult(originalInput, correctedInput, confidence);
     }
 
-    private String extractCreatorNameEnhanced(String input) {
+    /**
+     * Creator name from the scan's "by X" tokens; input is the string that was scanned
+     * ("created ... by X" needs "created" somewhere, so "by X" covers it)
+     */
+    private String extractCreatorNameEnhanced(String input, EntityScanner.ScanResult scan) {
+        List<EntityScanner.Entity> byNames = scan.all(EntityScanner.Type.BY_NAME);
+
         // Pattern 1: "created by [name]"
-        Pattern creatorPattern1 = Pattern.compile("created\\s+by\\s+([a-zA-Z]+)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher1 = creatorPattern1.matcher(input);
-        if (matcher1.find()) {
-            return matcher1.group(1);
+        for (EntityScanner.Entity byName : byNames) {
+            String name = leadingLetters(byName.value);
+            if (name != null && isCreatedBy(input, byName.start)) {
+                return name;
+            }
         }
 
         // Pattern 2: "by [name]" (when "created" appears earlier)
-        if (input.contains("created")) {
-            Pattern creatorPattern2 = Pattern.compile("\\bby\\s+([a-zA-Z]+)", Pattern.CASE_INSENSITIVE);
-            Matcher matcher2 = creatorPattern2.matcher(input);
-            if (matcher2.find()) {
-                return matcher2.group(1);
+        if (input.toLowerCase().contains("created")) {
+            for (EntityScanner.Entity byName : byNames) {
+                String name = leadingLetters(byName.value);
+                if (name != null) {
+                    return name;
+                }
             }
         }
+        return null;
+    }
 
-        // Pattern 3: Handle cases where "created" and "by" are separated by other words
-        Pattern creatorPattern3 = Pattern.compile("created\\s+\\w+\\s+by\\s+([a-zA-Z]+)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher3 = creatorPattern3.matcher(input);
-        if (matcher3.find()) {
-            return matcher3.group(1);
+    /**
+     * Leading ASCII letters of a name token in lower case, or null when it starts with something else
+     */
+    private static String leadingLetters(String value) {
+        int end = 0;
+        while (end < value.length() && ((value.charAt(end) >= 'a' && value.charAt(end) <= 'z') ||
+                                        (value.charAt(end) >= 'A' && value.charAt(end) <= 'Z'))) {
+            end++;
         }
+        return end > 0 ? value.substring(0, end).toLowerCase() : null;
+    }
 
-        return null;
+    /**
+     * True when the "by" before the name starting at nameStart directly follows "created"
+     */
+    private static boolean isCreatedBy(String input, int nameStart) {
+        int pos = nameStart;
+        while (pos > 0 && Character.isWhitespace(input.charAt(pos - 1))) {
+            pos--;
+        }
+        int byStart = pos - 2;
+        pos = byStart;
+        while (pos > 0 && Character.isWhitespace(input.charAt(pos - 1))) {
+            pos--;
+        }
+        return pos < byStart && pos >= 7 && input.regionMatches(true, pos - 7, "created", 0, 7);
     }
 
 
@@ -557,7 +644,7 @@ public class NLPEntityProcessor {
      * Enhanced header analysis that handles all the failed cases
      * Improved to extract contract/part numbers from conversational queries.
      */
-    private HeaderResult analyzeHeaders(String input) {
+    private HeaderResult analyzeHeaders(String input, EntityScanner.ScanResult scan) {
         Header header = new Header();
         List<String> issues = new ArrayList<>();
 
@@ -672,7 +759,7 @@ public class NLPEntityProcessor {
         }
 
         if (hasCreatorContext) {
-            String creatorName = extractCreatorNameEnhanced(cleanInput);
+            String creatorName = extractCreatorNameEnhanced(input, scan);
             if (creatorName != null) {
                 header.createdBy = creatorName;
             }
@@ -736,8 +823,7 @@ public class NLPEntityProcessor {
 
         // Pattern for "contract" + number + suffix (like "456789status")
         if (word.matches("\\d+[a-zA-Z]+")) {
-            Pattern numberSuffixPattern = Pattern.compile("(\\d+)([a-zA-Z]+)");
-            java.util.regex.Matcher matcher = numberSuffixPattern.matcher(word);
+            java.util.regex.Matcher matcher = NUMBER_SUFFIX_PATTERN.matcher(word);
             if (matcher.matches()) {
                 result.add(matcher.group(1)); // number part
                 result.add(matcher.group(2)); // suffix part
@@ -747,8 +833,7 @@ public class NLPEntityProcessor {
 
         // Pattern 2: "customernumber123456contract" -> ["customer", "number", "123456", "contract"]
         if (word.matches("customer[a-zA-Z]*\\d+[a-zA-Z]*")) {
-            Pattern pattern = Pattern.compile("(customer)([a-zA-Z]*)(\\d+)([a-zA-Z]*)");
-            java.util.regex.Matcher matcher = pattern.matcher(word);
+            java.util.regex.Matcher matcher = CUSTOMER_NUMBER_WORD_PATTERN.matcher(word);
             if (matcher.matches()) {
                 result.add(matcher.group(1)); // "customer"
                 if (!matcher.group(2).isEmpty())
@@ -764,8 +849,7 @@ public class NLPEntityProcessor {
         if (word.matches("contract[a-zA-Z]+\\d+[a-zA-Z]*")) {
             result.add("contract");
             String remainder = word.substring("contract".length());
-            Pattern partPattern = Pattern.compile("([a-zA-Z]+\\d+)([a-zA-Z]*)");
-            java.util.regex.Matcher partMatcher = partPattern.matcher(remainder);
+            java.util.regex.Matcher partMatcher = PART_SUFFIX_PATTERN.matcher(remainder);
             if (partMatcher.matches()) {
                 result.add(partMatcher.group(1).toUpperCase()); // "AE125"
                 if (!partMatcher.group(2).isEmpty())
@@ -783,8 +867,7 @@ public class NLPEntityProcessor {
         }
 
         // General pattern: letters followed by numbers followed by letters
-        Pattern pattern = Pattern.compile("([a-zA-Z]+)(\\d+)([a-zA-Z]*)");
-        java.util.regex.Matcher matcher = pattern.matcher(word);
+        java.util.regex.Matcher matcher = PREFIX_NUMBER_SUFFIX_PATTERN.matcher(word);
 
         if (matcher.matches()) {
             String prefix = matcher.group(1); // e.g., "contract"
@@ -798,8 +881,7 @@ public class NLPEntityProcessor {
             }
         } else {
             // Try simple letter-number splits like "AE125parts"
-            Pattern pattern3 = Pattern.compile("([A-Z]+\\d+)([a-zA-Z]+)");
-            java.util.regex.Matcher matcher3 = pattern3.matcher(word);
+            java.util.regex.Matcher matcher3 = UPPER_PART_SUFFIX_PATTERN.matcher(word);
 
             if (matcher3.matches()) {
                 String partNumber = matcher3.group(1); // e.g., "AE125"
@@ -905,27 +987,28 @@ public class NLPEntityProcessor {
 
     /**
      * Enhanced entity extraction with improved accuracy based on NLPQueryProcessor patterns
+     * Uses a single EntityScanner pass instead of compiling and running one regex per entity
      */
-    private List<EntityFilter> extractEntities(String processedInput) {
+    private List<EntityFilter> extractEntities(String processedInput, EntityScanner.ScanResult scan) {
         List<EntityFilter> entities = new ArrayList<>();
         String lowerInput = processedInput.toLowerCase();
         
         // 1. Extract username for created by / loaded by queries
         if (isCreatedByQuery(lowerInput) || isLoadedByQuery(lowerInput)) {
-            String username = extractUsernameFromInput(processedInput);
+            String username = extractUsernameFromInput(scan);
             if (username != null) {
                 entities.add(new EntityFilter("USERNAME", username, "=", "STRING"));
             }
         }
         
         // 2. Extract 6-digit contract numbers
-        String contractNumber = extractSixDigitNumber(processedInput);
+        String contractNumber = extractSixDigitNumber(scan);
         if (contractNumber != null) {
             entities.add(new EntityFilter("AWARD_NUMBER", contractNumber, "=", "STRING"));
         }
         
         // 3. Extract other entities using existing logic
-        entities.addAll(extractOtherEntities(lowerInput));
+        entities.addAll(extractOtherEntities(scan));
         
         return entities;
     }
@@ -1106,165 +1189,19 @@ public class NLPEntityProcessor {
         }
     }
 
-    /**
-     * Enhanced contract number extraction
-     */
-    private void extractContractNumbers(String lowerInput, List<EntityFilter> entities, Set<String> filterNumbers) {
-        // Updated pattern matching for contract numbers (exactly 6 digits per business rule)
-        Pattern[] contractPatterns = {
-            Pattern.compile("(?:for|of|contract|in)\\s*(\\d{6})(?![0-9])"), // Exactly 6 digits
-            Pattern.compile("\\b(\\d{6})\\b"), // Exactly 6 digits with word boundaries
-            Pattern.compile("(\\d{6})"), // Exactly 6 digits without word boundaries (e.g., "show100476")
-            Pattern.compile("contract\\s*(\\d{6})"), // Contract + exactly 6 digits
-            Pattern.compile("(\\d{6})\\s*(?:contract|details|info|status)") // Exactly 6 digits + context
-        };
-
-        String foundContractNum = null;
-        for (Pattern pattern : contractPatterns) {
-            Matcher matcher = pattern.matcher(lowerInput);
-            while (matcher.find()) {
-                String contractNum = matcher.group(1);
-                // Validate exactly 6 digits per business rule
-                if (contractNum.matches("\\d{6}") && !filterNumbers.contains(contractNum) &&
-                    !lowerInput.matches(".*\\b[A-Z]{2,3}" + contractNum + "\\b.*")) {
-                    foundContractNum = contractNum;
-                    break;
-                }
-            }
-            if (foundContractNum != null)
-                break;
-        }
-
-        if (foundContractNum != null && isValidContractNumber(foundContractNum)) {
-            // BUSINESS RULE: Determine the appropriate column based on context
-            if (lowerInput.contains("parts") &&
-                (lowerInput.contains("failed") || lowerInput.contains("error") || lowerInput.contains("failure") ||
-                 lowerInput.contains("faild") || lowerInput.contains("reason") || lowerInput.contains("why") ||
-                 lowerInput.contains("caused") || lowerInput.contains("problem") || lowerInput.contains("issue"))) {
-                // Failed Parts: Use CONTRACT_NO column
-                entities.add(new EntityFilter("CONTRACT_NO", "=", foundContractNum, "user_input"));
-            } else if (lowerInput.contains("parts") || lowerInput.contains("invoice part") ||
-                       lowerInput.contains("invoice parts") || lowerInput.contains("part") ||
-                       lowerInput.contains("parts")) {
-                // Parts: Use LOADED_CP_NUMBER column
-                entities.add(new EntityFilter("LOADED_CP_NUMBER", "=", foundContractNum, "user_input"));
-            } else {
-                // Contracts: Use AWARD_NUMBER column
-                entities.add(new EntityFilter("AWARD_NUMBER", "=", foundContractNum, "user_input"));
-            }
-        }
-    }
-
-    /**
-     * Enhanced part number extraction with improved pattern recognition
-     */
-    private void extractPartNumbers(String lowerInput, List<EntityFilter> entities) {
-        // ENHANCED: Multiple part number patterns for different formats
-        Pattern[] partPatterns = { PART_PATTERN_1, PART_PATTERN_2, PART_PATTERN_3, PART_PATTERN_4, PART_PATTERN_5, PART_PATTERN_6 };
-
-        for (Pattern pattern : partPatterns) {
-            Matcher matcher = pattern.matcher(lowerInput);
-            if (matcher.find()) {
-                String partNum = matcher.group().toUpperCase();
-                if (isValidPartNumber(partNum)) {
-                    entities.add(new EntityFilter("INVOICE_PART_NUMBER", "=", partNum, "user_input"));
-                    return; // Found a valid part number, don't look for others
-                }
-            }
-        }
-        
-        // Additional pattern for general alphanumeric with hyphens (like AE1337-ERT)
-        Pattern generalPartPattern = Pattern.compile("\\b([A-Za-z]{2,4}\\d{3,6}(?:-[A-Za-z]{2,4})?)\\b", Pattern.CASE_INSENSITIVE);
-        Matcher generalMatcher = generalPartPattern.matcher(lowerInput);
-        if (generalMatcher.find()) {
-            String partNum = generalMatcher.group(1).toUpperCase();
-            if (isValidPartNumber(partNum) && !isCommonWord(partNum) && !isCommandWord(partNum)) {
-                entities.add(new EntityFilter("INVOICE_PART_NUMBER", "=", partNum, "user_input"));
-                return; // Found a valid part number, don't look for others
-            }
-        }
-
-        // Enhanced pattern for part numbers (2-3 letters + 5 digits format) - HIGHEST PRIORITY
-        Pattern partNumberPattern = Pattern.compile("\\b([A-Z]{2,3}\\d{5})\\b", Pattern.CASE_INSENSITIVE);
-        Matcher partMatcher = partNumberPattern.matcher(lowerInput);
-        if (partMatcher.find()) {
-            String partNum = partMatcher.group(1).toUpperCase();
-            entities.add(new EntityFilter("INVOICE_PART_NUMBER", "=", partNum, "user_input"));
-            return; // Found a proper part number, don't look for others
-        }
-
-        // Pattern 1: "part [number]" - but avoid common words
-        Pattern partPattern = Pattern.compile("part\\s+([A-Za-z0-9_/-]{3,})", Pattern.CASE_INSENSITIVE);
-        Matcher partMatcher2 = partPattern.matcher(lowerInput);
-        if (partMatcher2.find()) {
-            String partNum = partMatcher2.group(1).toUpperCase();
-            // ENHANCED: Don't extract common words as part numbers
-            if (!isCommonWord(partNum) && partNum.matches("[A-Z0-9_/-]{3,}") && !isCommandWord(partNum)) {
-                entities.add(new EntityFilter("INVOICE_PART_NUMBER", "=", partNum, "user_input"));
-            }
-        }
-
-        // Pattern 2: "price of [number]", "item [number]", etc.
-        Pattern priceOfPartMatcher =
-            Pattern.compile("(?:price of|item|for part|of part|for item|of item)\\s+([A-Za-z0-9_/-]{3,})",
-                            Pattern.CASE_INSENSITIVE);
-        Matcher priceMatcher = priceOfPartMatcher.matcher(lowerInput);
-        if (priceMatcher.find()) {
-            String partNum = priceMatcher.group(1).toUpperCase();
-            if (!isCommonWord(partNum) && partNum.matches("[A-Z0-9_/-]{3,}") && !isCommandWord(partNum)) {
-                entities.add(new EntityFilter("INVOICE_PART_NUMBER", "=", partNum, "user_input"));
-            }
-        }
-
-        // Pattern 3: Specific part number patterns from test cases
-        Pattern specificPartPattern = Pattern.compile("\\b([A-Z]{2,3}\\d{5})\\b", Pattern.CASE_INSENSITIVE);
-        Matcher specificMatcher = specificPartPattern.matcher(lowerInput);
-        if (specificMatcher.find()) {
-            String partNum = specificMatcher.group(1).toUpperCase();
-            entities.add(new EntityFilter("INVOICE_PART_NUMBER", "=", partNum, "user_input"));
-        }
-
-        // Pattern 4: Enhanced detection for parts queries without explicit "part" keyword
-        // Look for part-specific attributes followed by alphanumeric patterns
-        if (lowerInput.matches(".*\\b(price|moq|uom|lead time|status|classification|class)\\b.*")) {
-            // Try multiple part number patterns for attribute-based queries
-            Pattern[] attrPartPatterns = {
-                Pattern.compile("\\b([A-Z]{2,3}\\d{5})\\b", Pattern.CASE_INSENSITIVE),
-                Pattern.compile("\\b([A-Z]{2}\\d{4}-[A-Z]{3})\\b", Pattern.CASE_INSENSITIVE), // AE1337-ERT format
-                Pattern.compile("\\b([A-Za-z0-9]{3,}(?:-[A-Za-z0-9]+)*)\\b", Pattern.CASE_INSENSITIVE) // General alphanumeric with hyphens
-            };
-            
-            for (Pattern attrPartPattern : attrPartPatterns) {
-                Matcher attrMatcher = attrPartPattern.matcher(lowerInput);
-                if (attrMatcher.find()) {
-                    String partNum = attrMatcher.group(1).toUpperCase();
-                    // Validate that it's not a common word and looks like a part number
-                    if (!isCommonWord(partNum) && !isCommandWord(partNum) && partNum.length() >= 3) {
-                        entities.add(new EntityFilter("INVOICE_PART_NUMBER", "=", partNum, "user_input"));
-                        return; // Found a valid part number, don't look for others
-                    }
-                }
-            }
-        }
-
-        // Special handling for part files
-        if (lowerInput.contains("part files") || lowerInput.contains("part file")) {
-            entities.add(new EntityFilter("PART_FILE", "=", "true", "user_input"));
-        }
-    }
-
     // ENHANCED: Check if a word is a command word that shouldn't be extracted as a part number
+    private static final Set<String> UPPER_COMMAND_WORDS =
+        new HashSet<>(Arrays.asList("LIST", "SHOW", "GET", "DISPLAY", "FIND", "RETRIEVE", "GIVE", "PROVIDE", "WHAT",
+                                    "HOW", "WHY", "WHEN", "WHERE", "WHICH", "WHO", "IS", "ARE", "CAN", "WILL",
+                                    "THE", "OF", "FOR", "IN", "ON", "AT", "BY", "WITH", "FROM", "TO", "AND", "OR",
+                                    "CONTRACT", "CONTRACTS", "PART", "PARTS", "CUSTOMER", "ACCOUNT", "INFO",
+                                    "DETAILS", "STATUS", "DATA", "ALL", "ANY", "SOME", "MANY", "MUCH", "MORE",
+                                    "MOST", "LESS", "CREATED", "EXPIRED", "ACTIVE", "INACTIVE", "FAILED", "PASSED",
+                                    "LOADED", "MISSING", "UNDER", "NAME", "NUMBER", "AFTER", "BEFORE", "BETWEEN",
+                                    "DURING", "WITHIN"));
+
     private boolean isCommandWord(String word) {
-        Set<String> commandWords =
-            new HashSet<>(Arrays.asList("LIST", "SHOW", "GET", "DISPLAY", "FIND", "RETRIEVE", "GIVE", "PROVIDE", "WHAT",
-                                        "HOW", "WHY", "WHEN", "WHERE", "WHICH", "WHO", "IS", "ARE", "CAN", "WILL",
-                                        "THE", "OF", "FOR", "IN", "ON", "AT", "BY", "WITH", "FROM", "TO", "AND", "OR",
-                                        "CONTRACT", "CONTRACTS", "PART", "PARTS", "CUSTOMER", "ACCOUNT", "INFO",
-                                        "DETAILS", "STATUS", "DATA", "ALL", "ANY", "SOME", "MANY", "MUCH", "MORE",
-                                        "MOST", "LESS", "CREATED", "EXPIRED", "ACTIVE", "INACTIVE", "FAILED", "PASSED",
-                                        "LOADED", "MISSING", "UNDER", "NAME", "NUMBER", "AFTER", "BEFORE", "BETWEEN",
-                                        "DURING", "WITHIN"));
-        return commandWords.contains(word.toUpperCase());
+        return UPPER_COMMAND_WORDS.contains(word.toUpperCase());
     }
 
     // ENHANCED: Additional validation methods from ContractsModel
@@ -1326,42 +1263,6 @@ public class NLPEntityProcessor {
         }
     }
 
-    /**
-     * Extract opportunities (CRF + digits per business rule)
-     */
-    private void extractOpportunities(String lowerInput, List<EntityFilter> entities) {
-        // Extract opportunities starting with CRF + digits per business rule
-        Matcher opportunityMatcher = OPPORTUNITY_PATTERN.matcher(lowerInput);
-        while (opportunityMatcher.find()) {
-            String opportunityNum = opportunityMatcher.group().toUpperCase();
-            entities.add(new EntityFilter("OPPORTUNITY_NUMBER", "=", opportunityNum, "user_input"));
-        }
-    }
-    
-    /**
-     * Extract customer numbers (7+ digits per business rule)
-     */
-    private void extractCustomerNumbers(String lowerInput, List<EntityFilter> entities) {
-        // Updated to extract 7+ digits as customer/account numbers per business rule
-        Matcher customerMatcher = Pattern.compile("\\b(\\d{7,})\\b").matcher(lowerInput);
-        while (customerMatcher.find()) {
-            String custNum = customerMatcher.group(1);
-            // Validate 7+ digits per business rule
-            if (custNum.matches("\\d{7,}")) {
-                entities.add(new EntityFilter("CUSTOMER_NUMBER", "=", custNum, "user_input"));
-            }
-        }
-        
-        // Also check for explicit customer context
-        Matcher explicitCustomerMatcher = Pattern.compile("customer\\s*(\\d{7,})").matcher(lowerInput);
-        if (explicitCustomerMatcher.find()) {
-            String custNum = explicitCustomerMatcher.group(1);
-            if (custNum.matches("\\d{7,}")) {
-                entities.add(new EntityFilter("CUSTOMER_NUMBER", "=", custNum, "user_input"));
-            }
-        }
-    }
-
     // ENHANCED: Context-aware entity extraction from ContractsModel
     private List<String> extractContextIndicators(String query) {
         List<String> indicators = new ArrayList<>();
@@ -1790,121 +1691,96 @@ public class NLPEntityProcessor {
                 lowerInput.contains("imported by")) && 
                lowerInput.contains("part");
     }
+    /**
+     * Build QueryResult from the pipeline outputs
+     */
+    private QueryResult createQueryResult(InputTrackingResult inputTracking, HeaderResult headerResult,
+                                          QueryMetadata metadata, List<EntityFilter> entities,
+                                          List<String> displayEntities, List<ValidationError> errors) {
+        return new QueryResult(inputTracking,
+                               headerResult != null && headerResult.header != null ? headerResult.header : new Header(),
+                               metadata, entities, displayEntities, errors);
+    }
+
     /**
      * Generate standard JSON following JSON_DESIGN.md exactly
      */
-    private String generateStandardJSON(String originalInput, InputTrackingResult inputTracking,
-                                        HeaderResult headerResult, QueryMetadata metadata, List<EntityFilter> entities,
-                                        List<String> displayEntities, List<ValidationError> errors) {
-        StringBuilder json = new StringBuilder();
+    private String generateStandardJSON(QueryResult result) {
+        Header header = result.header != null ? result.header : new Header();
+        InputTrackingResult inputTracking = result.inputTracking;
+        QueryMetadata metadata = result.metadata;
+        JsonWriter json = JsonWriter.create();
 
-        json.append("{\n");
+        json.beginObject();
 
         // Header section with inputTracking
-        json.append("  \"header\": {\n");
-        json.append("    \"contractNumber\": ")
-            .append(quote(headerResult.header.contractNumber))
-            .append(",\n");
-        json.append("    \"partNumber\": ")
-            .append(quote(headerResult.header.partNumber))
-            .append(",\n");
-        json.append("    \"customerNumber\": ")
-            .append(quote(headerResult.header.customerNumber))
-            .append(",\n");
-        json.append("    \"customerName\": ")
-            .append(quote(headerResult.header.customerName))
-            .append(",\n");
-        json.append("    \"createdBy\": ")
-            .append(quote(headerResult.header.createdBy))
-            .append(",\n");
+        json.name("header").beginObject()
+            .name("contractNumber").value(header.contractNumber)
+            .name("partNumber").value(header.partNumber)
+            .name("customerNumber").value(header.customerNumber)
+            .name("customerName").value(header.customerName)
+            .name("createdBy").value(header.createdBy);
 
         // InputTracking section (NEW as per JSON_DESIGN.md)
-        json.append("    \"inputTracking\": {\n");
-        json.append("      \"originalInput\": ")
-            .append(quote(inputTracking.originalInput))
-            .append(",\n");
-        json.append("      \"correctedInput\": ")
-            .append(quote(inputTracking.correctedInput))
-            .append(",\n");
-        json.append("      \"correctionConfidence\": ")
-            .append(inputTracking.correctionConfidence)
-            .append("\n");
-        json.append("    }\n");
-        json.append("  },\n");
+        json.name("inputTracking").beginObject()
+            .name("originalInput").value(inputTracking.originalInput)
+            .name("correctedInput").value(inputTracking.correctedInput)
+            .name("correctionConfidence").value(inputTracking.correctionConfidence)
+            .endObject();
+        json.endObject();
 
         // QueryMetadata section
-        json.append("  \"queryMetadata\": {\n");
-        json.append("    \"queryType\": ")
-            .append(quote(metadata.queryType))
-            .append(",\n");
-        json.append("    \"actionType\": ")
-            .append(quote(metadata.actionType))
-            .append(",\n");
-        json.append("    \"processingTimeMs\": ")
-            .append(String.format("%.3f", metadata.processingTimeMs))
-            .append("\n");
-        json.append("  },\n");
+        json.name("queryMetadata").beginObject()
+            .name("queryType").value(metadata.queryType)
+            .name("actionType").value(metadata.actionType)
+            .name("processingTimeMs").rawValue(String.format(Locale.ROOT, "%.3f", metadata.processingTimeMs))
+            .endObject();
 
         // Entities section
-        json.append("  \"entities\": [\n");
-        for (int i = 0; i < entities.size(); i++) {
-            EntityFilter entity = entities.get(i);
-            json.append("    {\n");
-            json.append("      \"attribute\": ")
-                .append(quote(entity.attribute))
-                .append(",\n");
-            json.append("      \"operation\": ")
-                .append(quote(entity.operation))
-                .append(",\n");
-            json.append("      \"value\": ")
-                .append(quote(entity.value))
-                .append(",\n");
-            json.append("      \"source\": ")
-                .append(quote(entity.source))
-                .append("\n");
-            json.append("    }")
-                .append(i < entities.size() - 1 ? "," : "")
-                .append("\n");
-        }
-        json.append("  ],\n");
+        json.name("entities").beginArray();
+        for (EntityFilter entity : result.entities) {
+            json.beginObject()
+                .name("attribute").value(entity.attribute)
+                .name("operation").value(entity.operation)
+                .name("value").value(entity.value)
+                .name("source").value(entity.source)
+                .endObject();
+        }
+        json.endArray();
 
         // DisplayEntities section
-        json.append("  \"displayEntities\": [\n");
-        for (int i = 0; i < displayEntities.size(); i++) {
-            json.append("    ").append(quote(displayEntities.get(i)));
-            json.append(i < displayEntities.size() - 1 ? "," : "").append("\n");
+        json.name("displayEntities").beginArray();
+        for (String displayEntity : result.displayEntities) {
+            json.value(displayEntity);
         }
-        json.append("  ],\n");
+        json.endArray();
 
         // Errors section
-        json.append("  \"errors\": [\n");
-        for (int i = 0; i < errors.size(); i++) {
-            ValidationError error = errors.get(i);
-            json.append("    {\n");
-            json.append("      \"code\": ")
-                .append(quote(error.code))
-                .append(",\n");
-            json.append("      \"message\": ")
-                .append(quote(error.message))
-                .append(",\n");
-            json.append("      \"severity\": ")
-                .append(quote(error.severity))
-                .append("\n");
-            json.append("    }")
-                .append(i < errors.size() - 1 ? "," : "")
-                .append("\n");
-        }
-        json.append("  ]\n");
-
-        json.append("}");
-
-        return json.toString();
+        json.name("errors").beginArray();
+        for (ValidationError error : result.errors) {
+            json.beginObject()
+                .name("code").value(error.code)
+                .name("message").value(error.message)
+                .name("severity").value(error.severity)
+                .endObject();
+        }
+        json.endArray();
+
+        json.endObject();
+        return json.finish();
     }
 
     /**
      * Generate error JSON
      */
     private String generateErrorJSON(String originalInput, String errorMessage, double processingTime) {
+        return toJSON(createErrorResult(originalInput, errorMessage, processingTime));
+    }
+
+    /**
+     * Build error QueryResult
+     */
+    private QueryResult createErrorResult(String originalInput, String errorMessage, double processingTime) {
         // Try to determine query type and action type even in error case
         String queryType = "UNKNOWN";
         String actionType = "error";
@@ -1939,69 +1815,46 @@ public class NLPEntityProcessor {
             actionType = "error";
         }
         
-        return String.format("{\n" + "  \"header\": {\n" + "    \"contractNumber\": null,\n" + "    \"partNumber\": null,\n" + "    \"customerNumber\": null,\n" + "    \"customerName\": null,\n" + "    \"createdBy\": null,\n" + "    \"inputTracking\": {\n" + "      \"originalInput\": %s,\n" + "      \"correctedInput\": null,\n" + "      \"correctionConfidence\": 0\n" + "    }\n" + "  },\n" + "  \"queryMetadata\": {\n" + "    \"queryType\": \"%s\",\n" + "    \"actionType\": \"%s\",\n" + "    \"processingTimeMs\": %.3f\n" + "  },\n" + "  \"entities\": [],\n" + "  \"displayEntities\": [],\n" + "  \"errors\": [\n" + "    {\n" + "      \"code\": \"PROCESSING_ERROR\",\n" + "      \"message\": %s,\n" + "      \"severity\": \"BLOCKER\"\n" + "    }\n" + "  ]\n" + "}", quote(originalInput), queryType, actionType, processingTime, quote(errorMessage));
-    }
-
-    private String quote(String value) {
-        return value == null ? "null" : "\"" + value.replace("\"", "\\\"") + "\"";
+        QueryResult result = new QueryResult();
+        result.inputTracking = new InputTrackingResult(originalInput, null, 0.0);
+        result.header = new Header();
+        result.metadata = new QueryMetadata(queryType, actionType, processingTime);
+        result.errors.add(new ValidationError("PROCESSING_ERROR", errorMessage, "BLOCKER"));
+        return result;
     }
 
-    private String extractUsernameFromInput(String input) {
-        if (input == null) return null;
-        
+    private String extractUsernameFromInput(EntityScanner.ScanResult scan) {
         // Pattern: "created by vinod", "loaded by john", etc.
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("\\b(?:created|loaded|made|built|developed|uploaded|imported)\\s+by\\s+(\\w+)", java.util.regex.Pattern.CASE_INSENSITIVE);
-        java.util.regex.Matcher matcher = pattern.matcher(input);
-        
-        if (matcher.find()) {
-            return matcher.group(1);
+        String username = scan.firstValue(EntityScanner.Type.CREATED_BY);
+        if (username != null) {
+            return username;
         }
         
         // Alternative pattern: "by vinod"
-        pattern = java.util.regex.Pattern.compile("\\bby\\s+(\\w+)", java.util.regex.Pattern.CASE_INSENSITIVE);
-        matcher = pattern.matcher(input);
-        
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        
-        return null;
+        return scan.firstValue(EntityScanner.Type.BY_NAME);
     }
-    private String extractCustomerNumber(String input) {
-        if (input == null) return null;
-        
-        // Look for customer number patterns
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("customer\\s+(?:number\\s+)?([A-Z0-9]+)", java.util.regex.Pattern.CASE_INSENSITIVE);
-        java.util.regex.Matcher matcher = pattern.matcher(input);
-        
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        
-        return null;
-    }
-    private List<EntityFilter> extractOtherEntities(String lowerInput) {
+    private List<EntityFilter> extractOtherEntities(EntityScanner.ScanResult scan) {
         List<EntityFilter> entities = new ArrayList<>();
         
-        // Extract customer information
-        String customerNumber = extractCustomerNumber(lowerInput);
+        // Extract customer information ("customer [number] X")
+        String customerNumber = lowerCase(scan.firstValue(EntityScanner.Type.CUSTOMER_REFERENCE));
         if (customerNumber != null) {
             entities.add(new EntityFilter("CUSTOMER_NUMBER", customerNumber, "=", "STRING"));
         }
         
-        // Extract part numbers
-        String partNumber = extractPartNumber(lowerInput);
+        // Extract part numbers ("part [number] X")
+        String partNumber = lowerCase(scan.firstValue(EntityScanner.Type.PART_REFERENCE));
         if (partNumber != null) {
             entities.add(new EntityFilter("INVOICE_PART_NUMBER", partNumber, "=", "STRING"));
         }
         
         // Extract dates if present
-        String effectiveDate = extractEffectiveDate(lowerInput);
+        String effectiveDate = scan.firstValue(EntityScanner.Type.EFFECTIVE_DATE);
         if (effectiveDate != null) {
             entities.add(new EntityFilter("EFFECTIVE_DATE", effectiveDate, "=", "DATE"));
         }
         
-        String expirationDate = extractExpirationDate(lowerInput);
+        String expirationDate = scan.firstValue(EntityScanner.Type.EXPIRATION_DATE);
         if (expirationDate != null) {
             entities.add(new EntityFilter("EXPIRATION_DATE", expirationDate, "=", "DATE"));
         }
@@ -2074,49 +1927,10 @@ public class NLPEntityProcessor {
                input.contains("part") && input.matches(".*\\b[A-Z0-9]{4,}\\b.*"); // Generic alphanumeric
     }
 
-    private String extractPartNumber(String input) {
-        if (input == null) return null;
-        
-        // Look for part number patterns
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("part\\s+(?:number\\s+)?([A-Z0-9-]+)", java.util.regex.Pattern.CASE_INSENSITIVE);
-        java.util.regex.Matcher matcher = pattern.matcher(input);
-        
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        
-        return null;
-    }
-    private String extractEffectiveDate(String input) {
-        if (input == null) return null;
-        
-        // Look for effective date patterns
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("effective\\s+date\\s+(\\d{4}-\\d{2}-\\d{2}|\\d{2}/\\d{2}/\\d{4})", java.util.regex.Pattern.CASE_INSENSITIVE);
-        java.util.regex.Matcher matcher = pattern.matcher(input);
-        
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        
-        return null;
+    private static String lowerCase(String value) {
+        return value != null ? value.toLowerCase() : null;
     }
 
-    /**
-     * Extract expiration date from input
-     */
-    private String extractExpirationDate(String input) {
-        if (input == null) return null;
-        
-        // Look for expiration date patterns
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("expir(?:ation|e)\\s+date\\s+(\\d{4}-\\d{2}-\\d{2}|\\d{2}/\\d{2}/\\d{4})", java.util.regex.Pattern.CASE_INSENSITIVE);
-        java.util.regex.Matcher matcher = pattern.matcher(input);
-        
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        
-        return null;
-    }
 
 
     public static class InputTrackingResult {
@@ -2161,31 +1975,7 @@ public class NLPEntityProcessor {
         }
     }
 
-    public static class EntityFilter {
-        public final String attribute;
-        public final String operation;
-        public final String value;
-        public final String source;
-
-        public EntityFilter(String attribute, String operation, String value, String source) {
-            this.attribute = attribute;
-            this.operation = operation;
-            this.value = value;
-            this.source = source;
-        }
-    }
-
-    public static class ValidationError {
-        public final String code;
-        public final String message;
-        public final String severity;
 
-        public ValidationError(String code, String message, String severity) {
-            this.code = code;
-            this.message = message;
-            this.severity = severity;
-        }
-    }
 
     /**
      * QueryResult class for easy Java object access
@@ -2205,6 +1995,30 @@ public class NLPEntityProcessor {
             this.errors = new ArrayList<>();
         }
 
+        /**
+         * Result over parts that are already built; nothing is copied
+         */
+        QueryResult(InputTrackingResult inputTracking, Header header, QueryMetadata metadata,
+                    List<EntityFilter> entities, List<String> displayEntities, List<ValidationError> errors) {
+            this.inputTracking = inputTracking;
+            this.header = header;
+            this.metadata = metadata;
+            this.entities = entities;
+            this.displayEntities = displayEntities;
+            this.errors = errors;
+        }
+
+        /**
+         * Make the filter, display-entity and error lists read-only; called when the result leaves
+         * processQueryToObject, after which the lists are shared by reference
+         */
+        QueryResult seal() {
+            entities = entities != null ? Collections.unmodifiableList(entities) : null;
+            displayEntities = displayEntities != null ? Collections.unmodifiableList(displayEntities) : null;
+            errors = errors != null ? Collections.unmodifiableList(errors) : null;
+            return this;
+        }
+
         // Convenience methods for easy access
         public String getContractNumber() {
             return header != null ? header.contractNumber : null;
@@ -2302,6 +2116,68 @@ public class NLPEntityProcessor {
     }
 
 
+    /**
+     * Copies QueryResults with substituted identifier values for the shape cache
+     */
+    private static class ShapeBinder extends QueryShapeCache.FieldBinder<QueryResult> {
+        @Override
+        public boolean isCacheable(QueryResult result) {
+            // Blockers come from exceptions or invalid identifier values, not from the query shape
+            return !result.hasBlockingErrors();
+        }
+
+        @Override
+        public void recordTime(QueryResult result, long elapsedNanos) {
+            if (result.metadata != null) {
+                // Same unit as buildQueryResult
+                result.metadata.processingTimeMs = elapsedNanos / 1_000_000_000.0;
+            }
+        }
+
+        @Override
+        protected QueryResult copy(QueryResult result, QueryShapeCache.Values values) {
+            QueryResult copy = new QueryResult();
+            if (values.present(result.inputTracking)) {
+                copy.inputTracking =
+                    new InputTrackingResult(values.id(result.inputTracking.originalInput),
+                                            values.id(result.inputTracking.correctedInput),
+                                            values.keep(result.inputTracking.correctionConfidence));
+            }
+            if (values.present(result.header)) {
+                copy.header = new Header();
+                copy.header.contractNumber = values.id(result.header.contractNumber);
+                copy.header.partNumber = values.id(result.header.partNumber);
+                copy.header.customerNumber = values.id(result.header.customerNumber);
+                copy.header.customerName = values.id(result.header.customerName);
+                copy.header.createdBy = values.id(result.header.createdBy);
+            }
+            if (values.present(result.metadata)) {
+                copy.metadata = new QueryMetadata(values.keep(result.metadata.queryType),
+                                                  values.keep(result.metadata.actionType),
+                                                  result.metadata.processingTimeMs);
+            }
+            copy.entities = null;
+            if (values.present(result.entities)) {
+                copy.entities = new ArrayList<>(result.entities.size());
+                for (EntityFilter filter : result.entities) {
+                    copy.entities.add(new EntityFilter(values.keep(filter.attribute), values.keep(filter.operation),
+                                                       values.id(filter.value), values.keep(filter.source)));
+                }
+            }
+            copy.displayEntities = result.displayEntities != null ? new ArrayList<>(result.displayEntities) : null;
+            values.keep(copy.displayEntities);
+            copy.errors = null;
+            if (values.present(result.errors)) {
+                copy.errors = new ArrayList<>(result.errors.size());
+                for (ValidationError error : result.errors) {
+                    copy.errors.add(new ValidationError(values.keep(error.code), values.id(error.message),
+                                                        values.keep(error.severity)));
+                }
+            }
+            return copy;
+        }
+    }
+
     // Minimal QueryFilter class for filters
 
     public static class QueryFilter {
@@ -2548,32 +2424,7 @@ public class NLPEntityProcessor {
      * Process query and return JSON string following JSON_DESIGN.md standards
      */
     public String processQuery(String originalInput) {
-        long startTime = System.currentTimeMillis();
-        try {
-            // Normalize input
-            String normalizedInput = EnhancedNLPProcessor.normalizeText(originalInput);
-
-            // Use EnhancedNLPProcessor for query type and action type
-            String queryType = EnhancedNLPProcessor.determineQueryType(originalInput, normalizedInput);
-            String actionType = EnhancedNLPProcessor.determineActionType(originalInput, normalizedInput, queryType);
-
-            // Input tracking
-            InputTrackingResult inputTracking = new InputTrackingResult(originalInput, normalizedInput, 1.0);
-
-            // Extract entities and display entities
-            List<EntityFilter> entities = extractEntities(normalizedInput);
-            List<String> displayEntities = determineDisplayEntitiesFromPrompt(originalInput, normalizedInput);
-
-            // Build QueryMetadata
-            double processingTime = (System.currentTimeMillis() - startTime) / 1000.0;
-            QueryMetadata metadata = new QueryMetadata(queryType, actionType, processingTime);
-
-            // Generate JSON
-            return generateStandardJSON(originalInput, inputTracking, null, metadata, entities, displayEntities, new ArrayList<>());
-        } catch (Exception e) {
-            double processingTime = (System.currentTimeMillis() - startTime) / 1000.0;
-            return generateErrorJSON(originalInput, "Error processing query: " + e.getMessage(), processingTime);
-        }
+        return toJSON(processQueryToObject(originalInput));
     }
 
     /**
@@ -2692,8 +2543,7 @@ public class NLPEntityProcessor {
     public String processUserRequest(String userInput) {
         try {
             // Step 1: Process user input through NLP
-            String jsonResponse = processQuery(userInput);
-            QueryResult queryResult = parseJSONToObject(jsonResponse);
+            QueryResult queryResult = processQueryToObject(userInput);
             
             // Step 2: Extract action type and route to appropriate handler
             String actionType = queryResult.metadata.actionType;
@@ -2837,10 +2687,8 @@ public class NLPEntityProcessor {
     private String handleContractsByFilter(ActionTypeDataProvider dataProvider, List<EntityFilter> filters,
                                           List<String> displayEntities, String userInput, QueryResult queryResult) {
         try {
-            // Convert EntityFilter to NLPEntityProcessor.EntityFilter
-            List<NLPEntityProcessor.EntityFilter> convertedFilters = convertToStandardFilters(filters);
             // Call data provider method
-            List<Map<String, Object>> results = dataProvider.getContractsByFilter((List) convertedFilters, displayEntities);
+            List<Map<String, Object>> results = dataProvider.getContractsByFilter(filters, displayEntities);
             
             // Generate response
             return generateSuccessJSON(userInput, queryResult, results, "Contract filter query processed successfully");
@@ -2853,10 +2701,8 @@ public class NLPEntityProcessor {
     private String handlePartsByFilter(ActionTypeDataProvider dataProvider, List<EntityFilter> filters,
                                       List<String> displayEntities, String userInput, QueryResult queryResult) {
         try {
-            // Convert EntityFilter to NLPEntityProcessor.EntityFilter
-            List<NLPEntityProcessor.EntityFilter> convertedFilters = convertToStandardFilters(filters);
             // Call data provider method
-            List<Map<String, Object>> results = dataProvider.getPartsByFilter((List) convertedFilters, displayEntities);
+            List<Map<String, Object>> results = dataProvider.getPartsByFilter(filters, displayEntities);
             
             // Generate response
             return generateSuccessJSON(userInput, queryResult, results, "Parts filter query processed successfully");
@@ -2950,19 +2796,6 @@ public class NLPEntityProcessor {
         return parameters;
     }
     
-    /**
-     * Convert EntityFilter to NLPEntityProcessor.EntityFilter
-     */
-    private List<NLPEntityProcessor.EntityFilter> convertToStandardFilters(List<EntityFilter> filters) {
-        List<NLPEntityProcessor.EntityFilter> convertedFilters = new ArrayList<>();
-        if (filters != null) {
-            for (EntityFilter filter : filters) {
-                convertedFilters.add(new NLPEntityProcessor.EntityFilter(
-                    filter.attribute, filter.operation, filter.value, filter.source));
-            }
-        }
-        return convertedFilters;
-    }
     
     private String generateSuccessJSON(String userInput, QueryResult queryResult, List<Map<String, Object>> results, String message) {
         // Generate success response JSON
@@ -3364,18 +3197,19 @@ public class NLPEntityProcessor {
     /**
      * Check if a word is a common word that shouldn't be extracted as a part number
      */
+    private static final Set<String> UPPER_COMMON_WORDS =
+        new HashSet<>(Arrays.asList("DETAILS", "INFO", "INFORMATION", "DATA", "SUMMARY", "STATUS", "STAUS", "PRICE",
+                                    "COST", "MOQ", "UOM", "LEAD", "TIME", "CLASS", "CLASSIFICATION", "FOR", "OF",
+                                    "THE", "AND", "OR", "WITH", "FROM", "TO", "IN", "ON", "AT", "BY", "FOR",
+                                    "ABOUT", "WITH", "WITHOUT", "BETWEEN", "AMONG", "DURING", "BEFORE", "AFTER",
+                                    "SINCE", "UNTIL", "WHILE", "WHEN", "WHERE", "WHY", "HOW", "WHAT", "WHICH",
+                                    "WHO", "WHOSE", "WHOM", "THAT", "THIS", "THESE", "THOSE", "ALL", "ANY", "EACH",
+                                    "EVERY", "SOME", "MANY", "MOST", "FEW", "SEVERAL", "VARIOUS", "DIFFERENT",
+                                    "SAME", "SIMILAR", "OTHER", "ANOTHER", "NEXT", "PREVIOUS", "CURRENT", "RECENT",
+                                    "OLD", "NEW", "LATEST", "EARLIEST"));
+
     private boolean isCommonWord(String word) {
-        Set<String> commonWords =
-            new HashSet<>(Arrays.asList("DETAILS", "INFO", "INFORMATION", "DATA", "SUMMARY", "STATUS", "STAUS", "PRICE",
-                                        "COST", "MOQ", "UOM", "LEAD", "TIME", "CLASS", "CLASSIFICATION", "FOR", "OF",
-                                        "THE", "AND", "OR", "WITH", "FROM", "TO", "IN", "ON", "AT", "BY", "FOR",
-                                        "ABOUT", "WITH", "WITHOUT", "BETWEEN", "AMONG", "DURING", "BEFORE", "AFTER",
-                                        "SINCE", "UNTIL", "WHILE", "WHEN", "WHERE", "WHY", "HOW", "WHAT", "WHICH",
-                                        "WHO", "WHOSE", "WHOM", "THAT", "THIS", "THESE", "THOSE", "ALL", "ANY", "EACH",
-                                        "EVERY", "SOME", "MANY", "MOST", "FEW", "SEVERAL", "VARIOUS", "DIFFERENT",
-                                        "SAME", "SIMILAR", "OTHER", "ANOTHER", "NEXT", "PREVIOUS", "CURRENT", "RECENT",
-                                        "OLD", "NEW", "LATEST", "EARLIEST"));
-        return commonWords.contains(word.toUpperCase());
+        return UPPER_COMMON_WORDS.contains(word.toUpperCase());
     }
 
         /**
@@ -4311,17 +4145,8 @@ public class NLPEntityProcessor {
         
         return displayEntities;
     }
-    private String extractSixDigitNumber(String input) {
-        if (input == null) return null;
-        
+    private String extractSixDigitNumber(EntityScanner.ScanResult scan) {
         // Look for 6-digit numbers
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("\\b(\\d{6})\\b");
-        java.util.regex.Matcher matcher = pattern.matcher(input);
-        
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        
-        return null;
+        return scan.firstValue(EntityScanner.Type.CONTRACT_NUMBER);
     }
 }
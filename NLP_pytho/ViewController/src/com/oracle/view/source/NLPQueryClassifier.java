@@ -16,15 +16,7 @@
 package com.oracle.view.source;
 
 import java.util.*;
-import opennlp.tools.tokenize.TokenizerME;
-import opennlp.tools.tokenize.TokenizerModel;
-import opennlp.tools.postag.POSModel;
-import opennlp.tools.postag.POSTaggerME;
-import opennlp.tools.namefind.NameFinderME;
-import opennlp.tools.namefind.TokenNameFinderModel;
 import opennlp.tools.util.Span;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 
@@ -50,17 +42,11 @@ public class NLPQueryClassifier {
     private final CustomerProcessor customerProcessor = new CustomerProcessor();
     private final OpportunitiesProcessor opportunitiesProcessor = new OpportunitiesProcessor();
     
-    private TokenizerME tokenizer;
-    private POSTaggerME posTagger;
-    private NameFinderME nameFinder;
-    private NameFinderME orgNameFinder;
+    // OpenNLP models are shared process-wide; ME instances are thread-confined by the registry
+    private final OpenNLPModelRegistry nlpModels = OpenNLPModelRegistry.getInstance();
     private boolean nlpModelsLoaded = false;
 
     // Spanish models
-    private TokenizerME esTokenizer;
-    private POSTaggerME esPosTagger;
-    private NameFinderME esPersonFinder;
-    private NameFinderME esOrgFinder;
     private boolean esModelsLoaded = false;
 
     // Simple lemmatizer (dictionary-based, can be extended)
@@ -71,7 +57,17 @@ public class NLPQueryClassifier {
         esLemmaDict.put("creando", "crear"); esLemmaDict.put("creado", "crear"); esLemmaDict.put("contratos", "contrato");
         // Add more as needed
     }
-public static final String MODEL_PATH="F:\\GitHub_VinodLearning\\NLPTEST\\NLP\\NLPMachineDesignApp\\models\\";
+public static final String MODEL_PATH=OpenNLPModelRegistry.DEFAULT_MODEL_PATH;
+    // Classification cache keyed on the whitespace-normalized input (shared by all classifier instances)
+    private static final int CLASSIFICATION_CACHE_SIZE = 2000;
+    private static final long CLASSIFICATION_CACHE_TTL_MS = 10 * 60 * 1000L;
+    private static final BoundedCache<String, QueryResult> CLASSIFICATION_CACHE =
+        new BoundedCache<>(CLASSIFICATION_CACHE_SIZE, CLASSIFICATION_CACHE_TTL_MS);
+    // Behind it, classifications by query shape (identifiers masked into slots, see QueryShapeCache)
+    private static final QueryShapeCache<QueryResult> SHAPE_CACHE =
+        new QueryShapeCache<>(CLASSIFICATION_CACHE_SIZE, CLASSIFICATION_CACHE_TTL_MS, new ShapeBinder());
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
     // Regex-based date extraction (English and Spanish)
     private static final Pattern DATE_PATTERN = Pattern.compile(
         "\\b(\\d{1,2}[/-]\\d{1,2}[/-]\\d{2,4})\\b|" + // 12/05/2024 or 12-05-2024
@@ -79,30 +75,20 @@ public static final String MODEL_PATH="F:\\GitHub_VinodLearning\\NLPTEST\\NLP\\N
         Pattern.CASE_INSENSITIVE);
 
     public NLPQueryClassifier() {
-        try {
-            tokenizer = new TokenizerME(new TokenizerModel(new FileInputStream(MODEL_PATH+"en-token.bin")));
-            posTagger = new POSTaggerME(new POSModel(new FileInputStream(MODEL_PATH+"en-pos-maxent.bin")));
-            nameFinder = new NameFinderME(new TokenNameFinderModel(new FileInputStream(MODEL_PATH+"en-ner-person.bin")));
-            orgNameFinder = new NameFinderME(new TokenNameFinderModel(new FileInputStream(MODEL_PATH+"en-ner-organization.bin")));
-            nlpModelsLoaded = true;
-            // Commented out date NER model loading as per user request
-            // dateFinder = new NameFinderME(new TokenNameFinderModel(new FileInputStream(MODEL_PATH+"en-ner-date.bin")));
-        } catch (IOException e) {
-            System.err.println("[OpenNLP] Failed to load English models: " + e.getMessage());
-            nlpModelsLoaded = false;
+        // Models are deserialized once per JVM by the registry, not per classifier instance
+        nlpModelsLoaded = nlpModels.getTokenizer(OpenNLPModelRegistry.EN_TOKEN) != null &&
+                          nlpModels.getPosTagger(OpenNLPModelRegistry.EN_POS) != null &&
+                          nlpModels.getNameFinder(OpenNLPModelRegistry.EN_NER_PERSON) != null &&
+                          nlpModels.getNameFinder(OpenNLPModelRegistry.EN_NER_ORGANIZATION) != null;
+        if (!nlpModelsLoaded) {
+            System.err.println("[OpenNLP] Failed to load English models");
         }
         // Spanish model loading is disabled due to unavailability of classic models
         /*
-        try {
-            esTokenizer = new TokenizerME(new TokenizerModel(new FileInputStream(MODEL_PATH+"es-token.bin")));
-            esPosTagger = new POSTaggerME(new POSModel(new FileInputStream(MODEL_PATH+"es-pos-perceptron.bin")));
-            esPersonFinder = new NameFinderME(new TokenNameFinderModel(new FileInputStream(MODEL_PATH+"es-ner-person.bin")));
-            esOrgFinder = new NameFinderME(new TokenNameFinderModel(new FileInputStream(MODEL_PATH+"es-ner-organization.bin")));
-            esModelsLoaded = true;
-        } catch (IOException e) {
-            System.err.println("[OpenNLP] Spanish models not found or failed to load: " + e.getMessage());
-            esModelsLoaded = false;
-        }
+        esModelsLoaded = nlpModels.getTokenizer(OpenNLPModelRegistry.ES_TOKEN) != null &&
+                         nlpModels.getPosTagger(OpenNLPModelRegistry.ES_POS) != null &&
+                         nlpModels.getNameFinder(OpenNLPModelRegistry.ES_NER_PERSON) != null &&
+                         nlpModels.getNameFinder(OpenNLPModelRegistry.ES_NER_ORGANIZATION) != null;
         */
         this.failedPartsProcessor = new FailedPartsProcessor();
         this.partsProcessor = new PartsProcessor();
@@ -145,7 +131,42 @@ public static final String MODEL_PATH="F:\\GitHub_VinodLearning\\NLPTEST\\NLP\\N
     }
 
     // New method: OpenNLP-based intent/entity extraction and disambiguation
+    // Repeated inputs are answered from the classification cache without running the models; inputs
+    // that only differ in contract/part/customer numbers or years reuse the classification of their shape.
+    // The whitespace-normalized text is only the cache key; a miss classifies the input as typed.
     public QueryResult classifyWithDisambiguation(String input) {
+        if (input == null) {
+            return classifyInput(input).seal();
+        }
+        String key = WHITESPACE_PATTERN.matcher(input.trim()).replaceAll(" ");
+        QueryResult cached = CLASSIFICATION_CACHE.get(key);
+        if (cached != null) {
+            return cached.copy();
+        }
+        QueryResult result = SHAPE_CACHE.resolve(input, this::classifyInput).seal();
+        // Cache a private snapshot so callers cannot modify the cached entry
+        CLASSIFICATION_CACHE.put(key, result.copy());
+        return result;
+    }
+
+    /**
+     * Hit/miss/eviction counters of the classification cache, with the shape cache counters under "shape"
+     */
+    public static Map<String, Object> getClassificationCacheStatistics() {
+        Map<String, Object> stats = CLASSIFICATION_CACHE.getStatistics();
+        stats.put("shape", SHAPE_CACHE.getStatistics());
+        return stats;
+    }
+
+    /**
+     * Drop all cached classifications, e.g. after changing TableColumnConfig
+     */
+    public static void clearClassificationCache() {
+        CLASSIFICATION_CACHE.invalidateAll();
+        SHAPE_CACHE.clear();
+    }
+
+    private QueryResult classifyInput(String input) {
         QueryResult result = new QueryResult();
         String lang = detectLanguage(input);
         String[] tokens;
@@ -153,15 +174,16 @@ public static final String MODEL_PATH="F:\\GitHub_VinodLearning\\NLPTEST\\NLP\\N
         Span[] nameSpans;
         Span[] orgSpans;
         if (lang.equals("es") && esModelsLoaded) {
-            tokens = esTokenizer.tokenize(input);
-            tags = esPosTagger.tag(tokens);
-            nameSpans = esPersonFinder.find(tokens);
-            orgSpans = esOrgFinder.find(tokens);
+            tokens = nlpModels.getTokenizer(OpenNLPModelRegistry.ES_TOKEN).tokenize(input);
+            tags = nlpModels.getPosTagger(OpenNLPModelRegistry.ES_POS).tag(tokens);
+            nameSpans = nlpModels.getNameFinder(OpenNLPModelRegistry.ES_NER_PERSON).find(tokens);
+            orgSpans = nlpModels.getNameFinder(OpenNLPModelRegistry.ES_NER_ORGANIZATION).find(tokens);
         } else if (nlpModelsLoaded) {
-            tokens = tokenizer.tokenize(input);
-            tags = posTagger.tag(tokens);
-            nameSpans = nameFinder.find(tokens);
-            orgSpans = orgNameFinder.find(tokens);
+            // Thread-confined instances - safe to call from concurrent request threads
+            tokens = nlpModels.getTokenizer(OpenNLPModelRegistry.EN_TOKEN).tokenize(input);
+            tags = nlpModels.getPosTagger(OpenNLPModelRegistry.EN_POS).tag(tokens);
+            nameSpans = nlpModels.getNameFinder(OpenNLPModelRegistry.EN_NER_PERSON).find(tokens);
+            orgSpans = nlpModels.getNameFinder(OpenNLPModelRegistry.EN_NER_ORGANIZATION).find(tokens);
         } else {
             // Fallback: return a default QueryResult if models are not loaded
             result.inputTracking = new InputTrackingResult(input, input, 1.0);
@@ -941,14 +963,128 @@ public static final String MODEL_PATH="F:\\GitHub_VinodLearning\\NLPTEST\\NLP\\N
         public String intent;
         public Map<String, String> entitiesMap = new HashMap<>();
         public String clarificationPrompt;
+        private boolean sealed;
         
         public QueryResult() {
             this.entities = new ArrayList<>();
             this.displayEntities = new ArrayList<>();
             this.errors = new ArrayList<>();
         }
+        
+        /**
+         * Make the filter, display-entity and error lists read-only once classification is done;
+         * from then on they are shared with the caches and the later stages
+         */
+        QueryResult seal() {
+            if (!sealed) {
+                entities = entities != null ? Collections.unmodifiableList(entities) : null;
+                displayEntities = displayEntities != null ? Collections.unmodifiableList(displayEntities) : null;
+                errors = errors != null ? Collections.unmodifiableList(errors) : null;
+                sealed = true;
+            }
+            return this;
+        }
+        
+        /**
+         * Copy with its own map, header and metadata. Sealed lists are shared, others are copied
+         * (filters and errors are immutable).
+         */
+        public QueryResult copy() {
+            QueryResult copy = new QueryResult();
+            copy.inputTracking = inputTracking;
+            copy.header = header != null ? header.copy() : null;
+            copy.metadata = metadata != null ? new QueryMetadata(metadata.queryType, metadata.actionType, metadata.processingTimeMs) : null;
+            copy.entities = sealed || entities == null ? entities : new ArrayList<>(entities);
+            copy.displayEntities = sealed || displayEntities == null ? displayEntities : new ArrayList<>(displayEntities);
+            copy.errors = sealed || errors == null ? errors : new ArrayList<>(errors);
+            copy.sealed = sealed;
+            copy.intent = intent;
+            copy.entitiesMap = entitiesMap != null ? new HashMap<>(entitiesMap) : null;
+            copy.clarificationPrompt = clarificationPrompt;
+            return copy;
+        }
     }
     
+    /**
+     * Copies QueryResults with substituted identifier values for the shape cache
+     */
+    private static class ShapeBinder extends QueryShapeCache.FieldBinder<QueryResult> {
+        @Override
+        public boolean isCacheable(QueryResult result) {
+            // Error results are never reused for other inputs
+            if (result.errors != null) {
+                for (ValidationError error : result.errors) {
+                    if ("BLOCKER".equals(error.severity)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void recordTime(QueryResult result, long elapsedNanos) {
+            if (result.metadata != null) {
+                result.metadata.processingTimeMs = elapsedNanos / 1_000_000.0;
+            }
+        }
+
+        @Override
+        protected QueryResult copy(QueryResult result, QueryShapeCache.Values values) {
+            QueryResult copy = new QueryResult();
+            if (values.present(result.inputTracking)) {
+                copy.inputTracking =
+                    new InputTrackingResult(values.id(result.inputTracking.originalInput),
+                                            values.id(result.inputTracking.correctedInput),
+                                            values.keep(result.inputTracking.correctionConfidence));
+            }
+            if (values.present(result.header)) {
+                copy.header = new Header();
+                copy.header.contractNumber = values.id(result.header.contractNumber);
+                copy.header.partNumber = values.id(result.header.partNumber);
+                copy.header.customerNumber = values.id(result.header.customerNumber);
+                copy.header.customerName = values.id(result.header.customerName);
+                copy.header.createdBy = values.id(result.header.createdBy);
+                copy.header.opportunityNumber = values.id(result.header.opportunityNumber);
+                copy.header.opportunityName = values.id(result.header.opportunityName);
+            }
+            if (values.present(result.metadata)) {
+                copy.metadata = new QueryMetadata(values.keep(result.metadata.queryType),
+                                                  values.keep(result.metadata.actionType),
+                                                  result.metadata.processingTimeMs);
+            }
+            copy.entities = null;
+            if (values.present(result.entities)) {
+                copy.entities = new ArrayList<>(result.entities.size());
+                for (EntityFilter filter : result.entities) {
+                    copy.entities.add(new EntityFilter(values.keep(filter.attribute), values.keep(filter.operation),
+                                                       values.id(filter.value), values.keep(filter.source)));
+                }
+            }
+            copy.displayEntities = result.displayEntities != null ? new ArrayList<>(result.displayEntities) : null;
+            values.keep(copy.displayEntities);
+            copy.errors = null;
+            if (values.present(result.errors)) {
+                copy.errors = new ArrayList<>(result.errors.size());
+                for (ValidationError error : result.errors) {
+                    copy.errors.add(new ValidationError(values.keep(error.code), values.id(error.message),
+                                                        values.keep(error.severity)));
+                }
+            }
+            copy.intent = values.keep(result.intent);
+            copy.entitiesMap = null;
+            if (result.entitiesMap != null) {
+                copy.entitiesMap = new HashMap<>();
+                for (Map.Entry<String, String> entry : result.entitiesMap.entrySet()) {
+                    copy.entitiesMap.put(entry.getKey(), values.substitute(entry.getValue()));
+                }
+            }
+            values.keep(copy.entitiesMap);
+            copy.clarificationPrompt = values.id(result.clarificationPrompt);
+            return copy;
+        }
+    }
+
     /**
      * Input Tracking Result Class
      */
@@ -976,6 +1112,18 @@ public static final String MODEL_PATH="F:\\GitHub_VinodLearning\\NLPTEST\\NLP\\N
         // --- Added for OpportunitiesProcessor ---
         public String opportunityNumber;
         public String opportunityName;
+        
+        public Header copy() {
+            Header copy = new Header();
+            copy.contractNumber = contractNumber;
+            copy.partNumber = partNumber;
+            copy.customerNumber = customerNumber;
+            copy.customerName = customerName;
+            copy.createdBy = createdBy;
+            copy.opportunityNumber = opportunityNumber;
+            copy.opportunityName = opportunityName;
+            return copy;
+        }
     }
     
     /**
@@ -993,37 +1141,7 @@ public static final String MODEL_PATH="F:\\GitHub_VinodLearning\\NLPTEST\\NLP\\N
         }
     }
     
-    /**
-     * Entity Filter Class
-     */
-    public static class EntityFilter {
-        public final String attribute;
-        public final String operation;
-        public final String value;
-        public final String source;
-        
-        public EntityFilter(String attribute, String operation, String value, String source) {
-            this.attribute = attribute;
-            this.operation = operation;
-            this.value = value;
-            this.source = source;
-        }
-    }
     
-    /**
-     * Validation Error Class
-     */
-    public static class ValidationError {
-        public final String code;
-        public final String message;
-        public final String severity;
-        
-        public ValidationError(String code, String message, String severity) {
-            this.code = code;
-            this.message = message;
-            this.severity = severity;
-        }
-    }
 
     // --- YES/NO Normalization Utility ---
     private static final Set<String> YES_WORDS = new HashSet<>(Arrays.asList(
@@ -14,8 +14,10 @@ import java.time.temporal.ChronoField;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -34,6 +36,64 @@ public class NLPUserActionHandler {
 
     private static final int DEFAULT_SCREEN_WIDTH = 400; // Default screen width in pixels
     private static final int TABULAR_THRESHOLD = 3; // If more than 3 attributes, use tabular format
+    public static final int DEFAULT_PAGE_SIZE = 20; // Rows per chat response; "show more" fetches the next page
+    // Database timeout per query in seconds: -Dnlp.query.timeoutSeconds.<actionType>, otherwise
+    // PARTS_QUERY_TIMEOUT for parts actions (CCT_PARTS_TMG queries are the slow ones) and DEFAULT_QUERY_TIMEOUT
+    public static final int DEFAULT_QUERY_TIMEOUT = 15;
+    public static final int PARTS_QUERY_TIMEOUT = 30;
+    public static final String QUERY_TIMEOUT_PROPERTY_PREFIX = "nlp.query.timeoutSeconds.";
+    private static final String QUERY_TIMEOUT_MESSAGE =
+        "<p><b>The search took too long and was stopped.</b> Please add more filters (e.g. a contract number) and try again.</p>";
+
+    // Award rep -> award numbers for "created by" searches, loaded from the contacts table
+    static final String AWARD_REP_QUERY = "SELECT AWARD_NUMBER, AWARD_REP, UPDATED_DATE FROM " +
+                                          TableColumnConfig.TABLE_CONTRACT_CONTACTS + " WHERE AWARD_REP IS NOT NULL";
+    // More index matches than this are fetched with the AWARD_REP LIKE query instead of IN lists
+    private static final int MAX_AWARD_CANDIDATES = 1000;
+    // IN lists are padded to one of these sizes so the SQL text repeats (statement cache, shared pool)
+    private static final int[] IN_LIST_SIZES = { 1, 8, 64, 256, MAX_AWARD_CANDIDATES };
+    private static final AwardRepIndex.Loader AWARD_REP_LOADER = new AwardRepIndex.Loader() {
+        @Override
+        public List<AwardRepIndex.Entry> load(java.util.Date since) {
+            return loadAwardReps(since);
+        }
+    };
+
+    // Customer lookups for CustomerCache, through the Model layer
+    private static final CustomerCache.Source CUSTOMER_SOURCE = new CustomerCache.Source() {
+        @Override
+        public Map<String, Object> lookup(String accountNumber) {
+            OperationBinding binding = BCCTChatBotUtility.findOperationBinding("pullCustomerDetails");
+            binding.getParamsMap().put("customerNumber", accountNumber);
+            Map<String, Object> result = (Map<String, Object>) binding.execute();
+            System.out.println("result for pullCustomerDetails==============>" + result);
+            return result;
+        }
+
+        @Override
+        public Map<String, Map<String, Object>> lookupAll(List<String> accountNumbers) {
+            OperationBinding binding = BCCTChatBotUtility.findOperationBinding("pullCustomerDetailsBulk");
+            binding.getParamsMap().put("customerNumbers", accountNumbers.toArray(new String[accountNumbers.size()]));
+            return customers((Map<String, Object>) binding.execute());
+        }
+
+        @Override
+        public Map<String, Map<String, Object>> loadActive() {
+            OperationBinding binding = BCCTChatBotUtility.findOperationBinding("pullActiveCustomers");
+            binding.getParamsMap().put("maxRows", CustomerCache.MAX_CUSTOMERS);
+            return customers((Map<String, Object>) binding.execute());
+        }
+
+        private Map<String, Map<String, Object>> customers(Map<String, Object> result) {
+            if (result == null || !Boolean.TRUE.equals(result.get("success"))) {
+                return null;
+            }
+            return (Map<String, Map<String, Object>>) result.get("customers");
+        }
+    };
+
+    // Session whose user/contract search results and "show more" continuation this thread's request reads and writes
+    private static final ThreadLocal<ConversationSession> SEARCH_SESSION = new ThreadLocal<>();
 
     // Centralized table column configuration
     private static final TableColumnConfig TABLE_CONFIG = TableColumnConfig.getInstance();
@@ -245,11 +305,8 @@ public class NLPUserActionHandler {
      * Get QueryResult from NLPEntityProcessor
      */
     private NLPEntityProcessor.QueryResult getQueryResultFromNLP(String userInput) throws Exception {
-        // Use the original processQuery method to get proper inputTracking
-        String jsonResponse = nlpProcessor.processQuery(userInput);
-
-        // Parse the response to extract metadata
-        return nlpProcessor.parseJSONToObject(jsonResponse);
+        // Build the QueryResult directly (same inputTracking as processQuery, without the JSON round-trip)
+        return nlpProcessor.processQueryToObject(userInput);
     }
 
     /**
@@ -358,7 +415,7 @@ public class NLPUserActionHandler {
         response.setQueryType(finalQueryType);
         response.setActionType(finalActionType);
         response.setNlpProcessingTime(queryResult.metadata.processingTimeMs);
-        response.setFilters(convertToStandardFilters(queryResult.entities));
+        response.setFilters(sharedFilters(queryResult.entities));
         response.setDisplayEntities(queryResult.displayEntities);
         response.setSuccess(true);
         response.setMessage("Request processed successfully");
@@ -379,7 +436,7 @@ public class NLPUserActionHandler {
      * Route to appropriate action handler with DataProvider integration
      */
     private String routeToActionHandlerWithDataProvider(String actionType,
-                                                        List<NLPEntityProcessor.EntityFilter> filters,
+                                                        List<EntityFilter> filters,
                                                         List<String> displayEntities, String userInput) {
 
         // Check for count queries first
@@ -453,7 +510,7 @@ public class NLPUserActionHandler {
     // ============================================================================
     // DATA PROVIDER ACTION HANDLERS
     // ============================================================================
-    private String handleContractByContractNumberWithDataProvider(List<NLPEntityProcessor.EntityFilter> filters,
+    private String handleContractByContractNumberWithDataProvider(List<EntityFilter> filters,
                                                                   List<String> displayEntities, String userInput) {
         try {
             // Check if this is a count query
@@ -491,19 +548,30 @@ public class NLPUserActionHandler {
 
     private String createCompleteResponseJSON(NLPEntityProcessor.QueryResult queryResult, String dataProviderResult,
                                               Map<String, Object> contractsValidation) {
-        StringBuilder json = new StringBuilder();
-        json.append("{\n");
-        json.append("  \"success\": true,\n");
-        json.append("  \"message\": \"Request processed successfully\",\n");
-        json.append("  \"nlpResponse\": {\n");
-        json.append("    \"originalInput\": \"")
-            .append(escapeJson(queryResult.inputTracking.originalInput))
-            .append("\",\n");
-        json.append("    \"correctedInput\": \"")
-            .append(escapeJson(queryResult.inputTracking.correctedInput))
-            .append("\",\n");
-
         // FIX: Use corrected query type and action type from ContractsModel if available
+        String[] types = getFinalTypes(queryResult, contractsValidation);
+
+        JsonWriter json = JsonWriter.create();
+        json.beginObject()
+            .name("success").value(true)
+            .name("message").value("Request processed successfully")
+            .name("nlpResponse").beginObject()
+            .name("originalInput").value(orEmpty(queryResult.inputTracking.originalInput))
+            .name("correctedInput").value(orEmpty(queryResult.inputTracking.correctedInput))
+            .name("queryType").value(orEmpty(types[0]))
+            .name("actionType").value(orEmpty(types[1]))
+            .name("processingTimeMs").value(queryResult.metadata.processingTimeMs)
+            .endObject()
+            .name("dataProviderResponse").value(orEmpty(dataProviderResult))
+            .endObject();
+        return json.finish();
+    }
+
+    /**
+     * Query type and action type, taken from the ContractsModel validation when it is more specific
+     */
+    private String[] getFinalTypes(NLPEntityProcessor.QueryResult queryResult,
+                                   Map<String, Object> contractsValidation) {
         String finalQueryType = queryResult.metadata.queryType;
         String finalActionType = queryResult.metadata.actionType;
 
@@ -520,22 +588,7 @@ public class NLPUserActionHandler {
                 }
             }
         }
-
-        json.append("    \"queryType\": \"")
-            .append(escapeJson(finalQueryType))
-            .append("\",\n");
-        json.append("    \"actionType\": \"")
-            .append(escapeJson(finalActionType))
-            .append("\",\n");
-        json.append("    \"processingTimeMs\": ")
-            .append(queryResult.metadata.processingTimeMs)
-            .append("\n");
-        json.append("  },\n");
-        json.append("  \"dataProviderResponse\": \"")
-            .append(escapeJson(dataProviderResult))
-            .append("\"\n");
-        json.append("}");
-        return json.toString();
+        return new String[] { finalQueryType, finalActionType };
     }
 
     /**
@@ -547,93 +600,52 @@ public class NLPUserActionHandler {
             // FIX: Get actual data from database first with corrected action type
             String dataProviderResult = executeDataProviderAction(queryResult, contractsValidation);
 
-            // Create the JSON structure with actual data
-            StringBuilder json = new StringBuilder();
-            json.append("{\n");
-
-            // Header
-            json.append("  \"header\": {\n");
-            json.append("    \"contractNumber\": \"")
-                .append(escapeJson(extractContractNumber(queryResult)))
-                .append("\",\n");
-            json.append("    \"partNumber\": \"")
-                .append(escapeJson(extractPartNumber(queryResult)))
-                .append("\",\n");
-            json.append("    \"customerNumber\": \"\",\n");
-            json.append("    \"customerName\": \"\",\n");
-            json.append("    \"createdBy\": \"\"\n");
-            json.append("  },\n");
-
             // Query Metadata - FIX: Use ContractsModel result when available
-            String finalQueryType = queryResult.metadata.queryType;
-            String finalActionType = queryResult.metadata.actionType;
-
-            // If ContractsModel validation is available and has a different query type, use it
-            if (contractsValidation != null && contractsValidation.containsKey("queryType")) {
-                String contractsQueryType = (String) contractsValidation.get("queryType");
-                String contractsAction = (String) contractsValidation.get("action");
+            String[] types = getFinalTypes(queryResult, contractsValidation);
 
-                // Use ContractsModel result if it's more specific (not HELP when we have CONTRACTS)
-                if (!"HELP".equals(contractsQueryType) || "HELP".equals(finalQueryType)) {
-                    finalQueryType = contractsQueryType;
-                    if (contractsAction != null && !contractsAction.isEmpty()) {
-                        finalActionType = contractsAction;
-                    }
-                }
-            }
+            // Create the JSON structure with actual data
+            JsonWriter json = JsonWriter.create();
+            json.beginObject();
 
-            json.append("  \"queryMetadata\": {\n");
-            json.append("    \"queryType\": \"")
-                .append(escapeJson(finalQueryType))
-                .append("\",\n");
-            json.append("    \"actionType\": \"")
-                .append(escapeJson(finalActionType))
-                .append("\",\n");
-            json.append("    \"processingTimeMs\": ")
-                .append(queryResult.metadata.processingTimeMs)
-                .append(",\n");
-            json.append("    \"spellCorrection\": {\n");
-            json.append("      \"originalInput\": \"")
-                .append(escapeJson(queryResult.inputTracking.originalInput))
-                .append("\",\n");
-            json.append("      \"correctedInput\": \"")
-                .append(escapeJson(queryResult.inputTracking.correctedInput))
-                .append("\"\n");
-            json.append("    }\n");
-            json.append("  },\n");
-
-            // Entities
-            json.append("  \"entities\": [],\n");
-
-            // Display Entities
-            json.append("  \"displayEntities\": [],\n");
-
-            // Errors
-            json.append("  \"errors\": []");
+            // Header
+            json.name("header").beginObject()
+                .name("contractNumber").value(orEmpty(extractContractNumber(queryResult)))
+                .name("partNumber").value(orEmpty(extractPartNumber(queryResult)))
+                .name("customerNumber").value("")
+                .name("customerName").value("")
+                .name("createdBy").value("")
+                .endObject();
+
+            json.name("queryMetadata").beginObject()
+                .name("queryType").value(orEmpty(types[0]))
+                .name("actionType").value(orEmpty(types[1]))
+                .name("processingTimeMs").value(queryResult.metadata.processingTimeMs)
+                .name("spellCorrection").beginObject()
+                .name("originalInput").value(orEmpty(queryResult.inputTracking.originalInput))
+                .name("correctedInput").value(orEmpty(queryResult.inputTracking.correctedInput))
+                .endObject()
+                .endObject();
+
+            // Entities, display entities, errors
+            json.name("entities").beginArray().endArray();
+            json.name("displayEntities").beginArray().endArray();
+            json.name("errors").beginArray().endArray();
 
             // Add ContractsModel validation if available
             if (contractsValidation != null) {
-                json.append(",\n  \"businessValidation\": {\n");
-                json.append("    \"validated\": true,\n");
-                json.append("    \"queryType\": \"")
-                    .append(escapeJson((String) contractsValidation.get("queryType")))
-                    .append("\",\n");
-                json.append("    \"action\": \"")
-                    .append(escapeJson((String) contractsValidation.get("action")))
-                    .append("\",\n");
-                json.append("    \"confidence\": ")
-                    .append(contractsValidation.get("confidence"))
-                    .append("\n");
-                json.append("  }");
+                json.name("businessValidation").beginObject()
+                    .name("validated").value(true)
+                    .name("queryType").value(orEmpty((String) contractsValidation.get("queryType")))
+                    .name("action").value(orEmpty((String) contractsValidation.get("action")))
+                    .name("confidence").value(contractsValidation.get("confidence"))
+                    .endObject();
             }
 
             // FIX: Add the actual data from database
-            json.append(",\n  \"dataProviderResponse\": \"")
-                .append(escapeJson(dataProviderResult))
-                .append("\"");
+            json.name("dataProviderResponse").value(orEmpty(dataProviderResult));
 
-            json.append("\n}");
-            return json.toString();
+            json.endObject();
+            return json.finish();
 
         } catch (Exception e) {
             // If there's an error getting data, return error response
@@ -646,59 +658,49 @@ public class NLPUserActionHandler {
      * Create error response JSON
      */
     private String createErrorResponseJSON(String userInput, String errorMessage) {
-        StringBuilder json = new StringBuilder();
-        json.append("{\n");
-        json.append("  \"success\": false,\n");
-        json.append("  \"message\": \"")
-            .append(escapeJson(errorMessage))
-            .append("\",\n");
-        json.append("  \"originalInput\": \"")
-            .append(escapeJson(userInput))
-            .append("\"\n");
-        json.append("}");
-        return json.toString();
+        JsonWriter json = JsonWriter.create();
+        json.beginObject()
+            .name("success").value(false)
+            .name("message").value(orEmpty(errorMessage))
+            .name("originalInput").value(orEmpty(userInput))
+            .endObject();
+        return json.finish();
     }
 
     /**
      * Create error structured JSON
      */
     private String createErrorStructuredJSON(String userInput, String errorMessage) {
-        StringBuilder json = new StringBuilder();
-        json.append("{\n");
-        json.append("  \"header\": {\n");
-        json.append("    \"contractNumber\": \"\",\n");
-        json.append("    \"partNumber\": \"\",\n");
-        json.append("    \"customerNumber\": \"\",\n");
-        json.append("    \"customerName\": \"\",\n");
-        json.append("    \"createdBy\": \"\"\n");
-        json.append("  },\n");
-        json.append("  \"queryMetadata\": {\n");
-        json.append("    \"queryType\": \"ERROR\",\n");
-        json.append("    \"actionType\": \"ERROR\",\n");
-        json.append("    \"processingTimeMs\": 0,\n");
-        json.append("    \"spellCorrection\": {\n");
-        json.append("      \"originalInput\": \"")
-            .append(escapeJson(userInput))
-            .append("\",\n");
-        json.append("      \"correctedInput\": \"")
-            .append(escapeJson(userInput))
-            .append("\"\n");
-        json.append("    }\n");
-        json.append("  },\n");
-        json.append("  \"entities\": [],\n");
-        json.append("  \"displayEntities\": [],\n");
-        json.append("  \"errors\": [\"")
-            .append(escapeJson(errorMessage))
-            .append("\"]\n");
-        json.append("}");
-        return json.toString();
+        JsonWriter json = JsonWriter.create();
+        json.beginObject();
+        json.name("header").beginObject()
+            .name("contractNumber").value("")
+            .name("partNumber").value("")
+            .name("customerNumber").value("")
+            .name("customerName").value("")
+            .name("createdBy").value("")
+            .endObject();
+        json.name("queryMetadata").beginObject()
+            .name("queryType").value("ERROR")
+            .name("actionType").value("ERROR")
+            .name("processingTimeMs").value(0)
+            .name("spellCorrection").beginObject()
+            .name("originalInput").value(orEmpty(userInput))
+            .name("correctedInput").value(orEmpty(userInput))
+            .endObject()
+            .endObject();
+        json.name("entities").beginArray().endArray();
+        json.name("displayEntities").beginArray().endArray();
+        json.name("errors").beginArray().value(orEmpty(errorMessage)).endArray();
+        json.endObject();
+        return json.finish();
     }
 
     /**
      * Extract contract number from query result using centralized column mapping
      */
     private String extractContractNumber(NLPEntityProcessor.QueryResult queryResult) {
-        for (NLPEntityProcessor.EntityFilter filter :
+        for (EntityFilter filter :
              queryResult.entities) {
             // Use centralized column mapping for contract number
             String contractNumberColumn =
@@ -747,7 +749,7 @@ public class NLPUserActionHandler {
      * Extract part number from query result using centralized column mapping
      */
     private String extractPartNumber(NLPEntityProcessor.QueryResult queryResult) {
-        for (NLPEntityProcessor.EntityFilter filter :
+        for (EntityFilter filter :
              queryResult.entities) {
             // Use centralized column mapping for part number
             String partNumberColumn =
@@ -771,32 +773,37 @@ public class NLPUserActionHandler {
     }
 
     /**
-     * Handle count queries by returning row count instead of data
+     * Handle count queries with a COUNT pushed down to the database - no rows are fetched.
+     * "distinct/unique customers" counts distinct customers; "by/per status" and "by/per customer"
+     * return one count per group.
      */
-    private String handleCountQuery(String actionType, List<NLPEntityProcessor.EntityFilter> filters,
+    private String handleCountQuery(String actionType, List<EntityFilter> filters,
                                     String userInput) {
         try {
-            // Prepare input parameters for count query
-            Map<String, Object> inputParams = new HashMap<>();
-            inputParams.put("actionType", actionType + "_count");
-            inputParams.put("filters", filters);
-            inputParams.put("displayEntities", Arrays.asList("COUNT"));
-            inputParams.put("screenWidth", DEFAULT_SCREEN_WIDTH);
-
-            // Execute count query
-            String result = pullData(inputParams);
+            String tableType = TableColumnConfig.getTableTypeForAction(actionType);
+            String lowerInput = userInput != null ? userInput.toLowerCase() : "";
+            String distinctColumn = getCountDistinctColumn(lowerInput, tableType);
+            String groupByColumn = getCountGroupColumn(lowerInput, tableType);
+            String[][] filterArrays = toFilterArrays(tableType, filters);
 
-            // Extract count from result and format response
-            if (result.contains("No records found")) {
-                return "<p><i>Count: 0</i></p>";
-            }
+            OperationBinding operationBind = BCCTChatBotUtility.findOperationBinding("executeAggregateNLPQuery");
+            operationBind.getParamsMap().put("actionType", actionType);
+            operationBind.getParamsMap().put("filterAttributes", filterArrays[0]);
+            operationBind.getParamsMap().put("filterOperations", filterArrays[1]);
+            operationBind.getParamsMap().put("filterValues", filterArrays[2]);
+            operationBind.getParamsMap().put("filterTypes", filterArrays[3]);
+            operationBind.getParamsMap().put("aggregate", distinctColumn != null ? "COUNT_DISTINCT" : "COUNT");
+            operationBind.getParamsMap().put("aggregateColumn", distinctColumn);
+            operationBind.getParamsMap().put("groupByColumn", groupByColumn);
+            Map<String, Object> result = executeModelCall(actionType, operationBind);
 
-            // Try to extract count from the result
-            if (result.contains("rows")) {
-                return result; // Already formatted
+            if (!(Boolean) result.get("success")) {
+                if (Boolean.TRUE.equals(result.get("timedOut"))) {
+                    return QUERY_TIMEOUT_MESSAGE;
+                }
+                return "<p><b>Error getting count:</b> " + result.get("error") + "</p>";
             }
-
-            return "<p><b>Count: " + extractCountFromResult(result) + "</b></p>";
+            return formatCountResult(result, distinctColumn, groupByColumn, actionType);
 
         } catch (Exception e) {
             return "<p><b>Error getting count:</b> " + e.getMessage() + "</p>";
@@ -804,17 +811,71 @@ public class NLPUserActionHandler {
     }
 
     /**
-     * Extract count number from result string
+     * Customer column for "distinct/unique/different customers", otherwise null
      */
-    private String extractCountFromResult(String result) {
-        // Simple extraction - look for numbers in the result
-        String[] words = result.split("\\s+");
-        for (String word : words) {
-            if (word.matches("\\d+")) {
-                return word;
-            }
+    private String getCountDistinctColumn(String lowerInput, String tableType) {
+        if (lowerInput.matches(".*\\b(distinct|unique|different)\\s+customers?\\b.*") &&
+            TABLE_CONFIG.isValidColumn(tableType, "CUSTOMER_NAME")) {
+            return "CUSTOMER_NAME";
         }
-        return "0";
+        return null;
+    }
+
+    /**
+     * STATUS or CUSTOMER_NAME for "by/per/each status|customer", otherwise null
+     */
+    private String getCountGroupColumn(String lowerInput, String tableType) {
+        String column = null;
+        if (lowerInput.matches(".*\\b(by|per|each)\\s+status\\b.*")) {
+            column = "STATUS";
+        } else if (lowerInput.matches(".*\\b(by|per|each)\\s+customers?\\b.*")) {
+            column = "CUSTOMER_NAME";
+        }
+        return column != null && TABLE_CONFIG.isValidColumn(tableType, column) ? column : null;
+    }
+
+    private String formatCountResult(Map<String, Object> result, String distinctColumn, String groupByColumn,
+                                     String actionType) {
+        String label = distinctColumn != null ? "Distinct " + getDisplayName(distinctColumn) : "Count";
+        List<Map<String, Object>> groups = (List<Map<String, Object>>) result.get("groups");
+        if (groupByColumn == null || groups == null) {
+            Object value = result.get("value");
+            return "<p><b>" + label + ": " + (value != null ? value : 0) + "</b></p>";
+        }
+        if (groups.isEmpty()) {
+            return "<p><i>" + label + ": 0</i></p>";
+        }
+        List<Map<String, Object>> dataRows = new ArrayList<>(groups.size());
+        for (Map<String, Object> group : groups) {
+            Map<String, Object> row = new HashMap<>();
+            row.put(groupByColumn, group.get("group"));
+            row.put("COUNT", group.get("value"));
+            dataRows.add(row);
+        }
+        StringBuilder response = new StringBuilder(
+            formatQueryResultInView(dataRows, Arrays.asList(groupByColumn, "COUNT"),
+                                    Arrays.asList(groupByColumn, "COUNT"), DEFAULT_SCREEN_WIDTH, actionType));
+        if (result.get("value") != null) {
+            response.append("<p><b>Total: ").append(result.get("value")).append("</b></p>");
+        }
+        return response.toString();
+    }
+
+    /**
+     * Filters as parallel arrays for the typed Model methods:
+     * { attributes, operations, values, column types }
+     */
+    private String[][] toFilterArrays(String tableType, List<EntityFilter> filters) {
+        int filterCount = filters != null ? filters.size() : 0;
+        String[][] arrays = new String[4][filterCount];
+        for (int i = 0; i < filterCount; i++) {
+            EntityFilter filter = filters.get(i);
+            arrays[0][i] = filter.attribute;
+            arrays[1][i] = filter.operation;
+            arrays[2][i] = filter.value;
+            arrays[3][i] = TABLE_CONFIG.getColumnType(tableType, filter.attribute);
+        }
+        return arrays;
     }
 
     /**
@@ -913,7 +974,7 @@ public class NLPUserActionHandler {
     /**
      * Handle contract information queries with expiration date logic
      */
-    private String handleContractInfoQuery(List<NLPEntityProcessor.EntityFilter> filters, List<String> displayEntities,
+    private String handleContractInfoQuery(List<EntityFilter> filters, List<String> displayEntities,
                                            String userInput) {
         try {
             // Extract contract number from user input or filters
@@ -933,7 +994,7 @@ public class NLPUserActionHandler {
             }
 
             // For general contract info queries, create proper filters and use contracts_by_contractnumber
-            List<NLPEntityProcessor.EntityFilter> contractFilters = createContractFilters(contractNumber);
+            List<EntityFilter> contractFilters = createContractFilters(contractNumber);
             List<String> finalDisplayEntities = getDefaultDisplayEntities(displayEntities, "contracts");
 
             // Prepare input parameters for database query
@@ -954,7 +1015,7 @@ public class NLPUserActionHandler {
     /**
      * Extract contract number from user input or filters
      */
-    private String extractContractNumberFromInput(String userInput, List<NLPEntityProcessor.EntityFilter> filters) {
+    private String extractContractNumberFromInput(String userInput, List<EntityFilter> filters) {
         // First try to extract from user input using regex (including with symbols)
         java.util.regex.Pattern pattern = java.util
                                               .regex
@@ -977,7 +1038,7 @@ public class NLPUserActionHandler {
 
         // If not found in input, try filters
         if (filters != null) {
-            for (NLPEntityProcessor.EntityFilter filter :
+            for (EntityFilter filter :
                  filters) {
                 // Check for contract number patterns
                 if (filter.attribute.equals("AWARD_NUMBER") || filter.attribute.equals("CONTRACT_NUMBER") ||
@@ -992,9 +1053,9 @@ public class NLPUserActionHandler {
     /**
      * Create contract filters for contract number
      */
-    private List<NLPEntityProcessor.EntityFilter> createContractFilters(String contractNumber) {
-        List<NLPEntityProcessor.EntityFilter> filters = new ArrayList<>();
-        filters.add(new NLPEntityProcessor.EntityFilter("AWARD_NUMBER", "=", contractNumber, "extracted"));
+    private List<EntityFilter> createContractFilters(String contractNumber) {
+        List<EntityFilter> filters = new ArrayList<>();
+        filters.add(new EntityFilter("AWARD_NUMBER", "=", contractNumber, "extracted"));
         return filters;
     }
 
@@ -1134,7 +1195,7 @@ public class NLPUserActionHandler {
     /**
      * Handle parts queries with contract number validation
      */
-    private String handlePartsQuery(List<NLPEntityProcessor.EntityFilter> filters, List<String> displayEntities,
+    private String handlePartsQuery(List<EntityFilter> filters, List<String> displayEntities,
                                     String userInput) {
         return handlePartsQuery(filters, displayEntities, userInput, null);
     }
@@ -1142,7 +1203,7 @@ public class NLPUserActionHandler {
     /**
      * Handle parts queries with contract number validation and session management
      */
-    private String handlePartsQuery(List<NLPEntityProcessor.EntityFilter> filters, List<String> displayEntities,
+    private String handlePartsQuery(List<EntityFilter> filters, List<String> displayEntities,
                                     String userInput, String sessionId) {
         try {
             // Check if parts query has contract number
@@ -1198,9 +1259,9 @@ public class NLPUserActionHandler {
                                            List<String> displayEntities) {
         try {
             // Create filters for both contract and part number
-            List<NLPEntityProcessor.EntityFilter> filters = new ArrayList<>();
-            filters.add(new NLPEntityProcessor.EntityFilter("AWARD_NUMBER", "=", contractNumber, "extracted"));
-            filters.add(new NLPEntityProcessor.EntityFilter("PART_NUMBER", "=", partNumber, "extracted"));
+            List<EntityFilter> filters = new ArrayList<>();
+            filters.add(new EntityFilter("AWARD_NUMBER", "=", contractNumber, "extracted"));
+            filters.add(new EntityFilter("PART_NUMBER", "=", partNumber, "extracted"));
 
             // Determine specific columns based on user query
             List<String> specificColumns = determineSpecificPartColumns(userInput);
@@ -1226,8 +1287,8 @@ public class NLPUserActionHandler {
     private String handleGeneralPartsQuery(String contractNumber, String userInput, List<String> displayEntities) {
         try {
             // Create filters for contract number
-            List<NLPEntityProcessor.EntityFilter> filters = new ArrayList<>();
-            filters.add(new NLPEntityProcessor.EntityFilter("AWARD_NUMBER", "=", contractNumber, "extracted"));
+            List<EntityFilter> filters = new ArrayList<>();
+            filters.add(new EntityFilter("AWARD_NUMBER", "=", contractNumber, "extracted"));
 
             // Determine if it's invoice parts or general parts
             String actionType = determinePartsActionType(userInput);
@@ -1250,7 +1311,7 @@ public class NLPUserActionHandler {
     /**
      * Extract part number from user input
      */
-    private String extractPartNumberFromInput(String userInput, List<NLPEntityProcessor.EntityFilter> filters) {
+    private String extractPartNumberFromInput(String userInput, List<EntityFilter> filters) {
         if (userInput == null)
             return null;
 
@@ -1271,7 +1332,7 @@ public class NLPUserActionHandler {
 
         // If not found in input, try filters
         if (filters != null) {
-            for (NLPEntityProcessor.EntityFilter filter : filters) {
+            for (EntityFilter filter : filters) {
                 if (filter.attribute.equals("PART_NUMBER") || filter.attribute.equals("INVOICE_PART_NUMBER")) {
                     return filter.value;
                 }
@@ -1368,7 +1429,7 @@ public class NLPUserActionHandler {
         try {
             // Call pullContractDatesByAwardNumber to get expiration date
             // Create proper filters for the contract number
-            List<NLPEntityProcessor.EntityFilter> contractFilters = createContractFilters(contractNumber);
+            List<EntityFilter> contractFilters = createContractFilters(contractNumber);
 
             // Prepare input parameters for pullContractDatesByAwardNumber
             Map<String, Object> inputParams = new HashMap<>();
@@ -1414,7 +1475,7 @@ public class NLPUserActionHandler {
         try {
             // Call pullContractDatesByAwardNumber to get expiration date
             // Create proper filters for the contract number
-            List<NLPEntityProcessor.EntityFilter> contractFilters = createContractFilters(contractNumber);
+            List<EntityFilter> contractFilters = createContractFilters(contractNumber);
 
             // Prepare input parameters for pullContractDatesByAwardNumber
             Map<String, Object> inputParams = new HashMap<>();
@@ -1472,13 +1533,14 @@ public class NLPUserActionHandler {
      * Escape JSON string
      */
     private String escapeJson(String input) {
-        if (input == null)
-            return "";
-        return input.replace("\\", "\\\\")
-                    .replace("\"", "\\\"")
-                    .replace("\n", "\\n")
-                    .replace("\r", "\\r")
-                    .replace("\t", "\\t");
+        return JsonWriter.escape(input);
+    }
+
+    /**
+     * JSON string fields are written as "" rather than null
+     */
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
     }
 
     /**
@@ -1487,11 +1549,8 @@ public class NLPUserActionHandler {
      */
     public UserActionResponse processUserInput(String userInput) {
         try {
-            // Use the original processQuery method to get proper inputTracking
-            String jsonResponse = nlpProcessor.processQuery(userInput);
-
-            // Parse the response to extract metadata
-            NLPEntityProcessor.QueryResult queryResult = nlpProcessor.parseJSONToObject(jsonResponse);
+            // Build the QueryResult directly (same inputTracking as processQuery, without the JSON round-trip)
+            NLPEntityProcessor.QueryResult queryResult = nlpProcessor.processQueryToObject(userInput);
 
             // Create response object
             UserActionResponse response = new UserActionResponse();
@@ -1500,7 +1559,7 @@ public class NLPUserActionHandler {
             response.setQueryType(queryResult.metadata.queryType);
             response.setActionType(queryResult.metadata.actionType);
             response.setNlpProcessingTime(queryResult.metadata.processingTimeMs);
-            response.setFilters(convertToStandardFilters(queryResult.entities));
+            response.setFilters(sharedFilters(queryResult.entities));
             response.setDisplayEntities(queryResult.displayEntities);
             response.setSuccess(true);
             response.setMessage("Request processed successfully");
@@ -1518,7 +1577,7 @@ public class NLPUserActionHandler {
     /**
      * Routes to appropriate action handler based on action type
      */
-    private UserActionResponse routeToActionHandler(String actionType, List<NLPEntityProcessor.EntityFilter> filters,
+    private UserActionResponse routeToActionHandler(String actionType, List<EntityFilter> filters,
                                                     List<String> displayEntities, String userInput) {
 
         switch (actionType) {
@@ -1565,7 +1624,7 @@ public class NLPUserActionHandler {
      * Handles contract queries by contract number
      * SQL: SELECT display_entities FROM contracts WHERE AWARD_NUMBER = ?
      */
-    private UserActionResponse handleContractByContractNumber(List<NLPEntityProcessor.EntityFilter> filters,
+    private UserActionResponse handleContractByContractNumber(List<EntityFilter> filters,
                                                               List<String> displayEntities, String userInput) {
         try {
             // Extract contract number filter using centralized column mapping
@@ -1581,7 +1640,7 @@ public class NLPUserActionHandler {
             response.setActionType("contracts_by_contractnumber");
             response.setParameters(createParameterMap(contractNumberColumn, contractNumber));
             response.setDisplayEntities(displayEntities);
-            response.setFilters(convertToStandardFilters(filters));
+            response.setFilters(sharedFilters(filters));
             response.setSuccess(true);
             response.setMessage("Contract query processed successfully");
 
@@ -1596,7 +1655,7 @@ public class NLPUserActionHandler {
      * Handles contract queries by filter criteria
      * SQL: SELECT display_entities FROM contracts WHERE filter_conditions
      */
-    private UserActionResponse handleContractsByFilter(List<NLPEntityProcessor.EntityFilter> filters,
+    private UserActionResponse handleContractsByFilter(List<EntityFilter> filters,
                                                        List<String> displayEntities, String userInput) {
         try {
             // Create parameter map
@@ -1607,7 +1666,7 @@ public class NLPUserActionHandler {
             response.setActionType("contracts_by_filter");
             response.setParameters(parameters);
             response.setDisplayEntities(displayEntities);
-            response.setFilters(convertToStandardFilters(filters));
+            response.setFilters(sharedFilters(filters));
             response.setSuccess(true);
             response.setMessage("Contract filter query processed successfully");
 
@@ -1626,7 +1685,7 @@ public class NLPUserActionHandler {
      * Handles parts queries by contract number
      * SQL: SELECT display_entities FROM parts WHERE AWARD_NUMBER = ?
      */
-    private UserActionResponse handlePartsByContractNumber(List<NLPEntityProcessor.EntityFilter> filters,
+    private UserActionResponse handlePartsByContractNumber(List<EntityFilter> filters,
                                                            List<String> displayEntities, String userInput) {
         try {
             // Extract contract number filter using centralized column mapping
@@ -1642,7 +1701,7 @@ public class NLPUserActionHandler {
             response.setActionType("parts_by_contract_number");
             response.setParameters(createParameterMap(contractNumberColumn, contractNumber));
             response.setDisplayEntities(displayEntities);
-            response.setFilters(convertToStandardFilters(filters));
+            response.setFilters(sharedFilters(filters));
             response.setSuccess(true);
             response.setMessage("Parts by contract query processed successfully");
 
@@ -1657,7 +1716,7 @@ public class NLPUserActionHandler {
      * Handles parts queries by part number
      * SQL: SELECT display_entities FROM parts WHERE INVOICE_PART_NUMBER = ?
      */
-    private UserActionResponse handlePartsByPartNumber(List<NLPEntityProcessor.EntityFilter> filters,
+    private UserActionResponse handlePartsByPartNumber(List<EntityFilter> filters,
                                                        List<String> displayEntities, String userInput) {
         try {
             // Extract part number filter using centralized column mapping
@@ -1673,7 +1732,7 @@ public class NLPUserActionHandler {
             response.setActionType("parts_by_part_number");
             response.setParameters(createParameterMap(partNumberColumn, partNumber));
             response.setDisplayEntities(displayEntities);
-            response.setFilters(convertToStandardFilters(filters));
+            response.setFilters(sharedFilters(filters));
             response.setSuccess(true);
             response.setMessage("Parts by part number query processed successfully");
 
@@ -1688,7 +1747,7 @@ public class NLPUserActionHandler {
      * Handles parts queries by filter criteria
      * SQL: SELECT display_entities FROM parts WHERE filter_conditions
      */
-    private UserActionResponse handlePartsByFilter(List<NLPEntityProcessor.EntityFilter> filters,
+    private UserActionResponse handlePartsByFilter(List<EntityFilter> filters,
                                                    List<String> displayEntities, String userInput) {
         try {
             // Create parameter map
@@ -1699,7 +1758,7 @@ public class NLPUserActionHandler {
             response.setActionType("parts_by_filter");
             response.setParameters(parameters);
             response.setDisplayEntities(displayEntities);
-            response.setFilters(convertToStandardFilters(filters));
+            response.setFilters(sharedFilters(filters));
             response.setSuccess(true);
             response.setMessage("Parts filter query processed successfully");
 
@@ -1718,7 +1777,7 @@ public class NLPUserActionHandler {
      * Handles failed parts queries by contract number
      * SQL: SELECT display_entities FROM failed_parts WHERE LOADED_CP_NUMBER = ?
      */
-    private UserActionResponse handleFailedPartsByContractNumber(List<NLPEntityProcessor.EntityFilter> filters,
+    private UserActionResponse handleFailedPartsByContractNumber(List<EntityFilter> filters,
                                                                  List<String> displayEntities, String userInput) {
         try {
             // Extract contract number filter (for failed parts, use LOADED_CP_NUMBER)
@@ -1732,7 +1791,7 @@ public class NLPUserActionHandler {
             response.setActionType("parts_failed_by_contract_number");
             response.setParameters(createParameterMap("LOADED_CP_NUMBER", contractNumber));
             response.setDisplayEntities(displayEntities);
-            response.setFilters(convertToStandardFilters(filters));
+            response.setFilters(sharedFilters(filters));
             response.setSuccess(true);
             response.setMessage("Failed parts query processed successfully");
 
@@ -1751,7 +1810,7 @@ public class NLPUserActionHandler {
      * Handles contract update operations
      * SQL: UPDATE contracts SET update_fields WHERE AWARD_NUMBER = ?
      */
-    private UserActionResponse handleUpdateContract(List<NLPEntityProcessor.EntityFilter> filters,
+    private UserActionResponse handleUpdateContract(List<EntityFilter> filters,
                                                     List<String> displayEntities, String userInput) {
         try {
             // Extract contract number filter using centralized column mapping
@@ -1767,7 +1826,7 @@ public class NLPUserActionHandler {
             response.setActionType("update_contract");
             response.setParameters(createParameterMapFromFilters(filters));
             response.setDisplayEntities(displayEntities);
-            response.setFilters(convertToStandardFilters(filters));
+            response.setFilters(sharedFilters(filters));
             response.setSuccess(true);
             response.setMessage("Contract update query processed successfully");
 
@@ -1786,7 +1845,7 @@ public class NLPUserActionHandler {
      * Handles contract creation operations
      * SQL: INSERT INTO contracts (fields) VALUES (values)
      */
-    private UserActionResponse handleCreateContract(List<NLPEntityProcessor.EntityFilter> filters,
+    private UserActionResponse handleCreateContract(List<EntityFilter> filters,
                                                     List<String> displayEntities, String userInput) {
         try {
             // Create response
@@ -1794,7 +1853,7 @@ public class NLPUserActionHandler {
             response.setActionType("create_contract");
             response.setParameters(createParameterMapFromFilters(filters));
             response.setDisplayEntities(displayEntities);
-            response.setFilters(convertToStandardFilters(filters));
+            response.setFilters(sharedFilters(filters));
             response.setSuccess(true);
             response.setMessage("Contract creation query processed successfully");
 
@@ -1813,8 +1872,8 @@ public class NLPUserActionHandler {
     /**
      * Extracts filter value by attribute name
      */
-    private String extractFilterValue(List<NLPEntityProcessor.EntityFilter> filters, String attributeName) {
-        for (NLPEntityProcessor.EntityFilter filter : filters) {
+    private String extractFilterValue(List<EntityFilter> filters, String attributeName) {
+        for (EntityFilter filter : filters) {
             if (filter.attribute.equals(attributeName)) {
                 return filter.value;
             }
@@ -1825,14 +1884,14 @@ public class NLPUserActionHandler {
     /**
      * Builds WHERE clause from filters with column validation
      */
-    private String buildWhereClause(List<NLPEntityProcessor.EntityFilter> filters) {
+    private String buildWhereClause(List<EntityFilter> filters) {
         if (filters == null || filters.isEmpty()) {
             return "1=1"; // Default condition
         }
 
         StringBuilder whereClause = new StringBuilder();
         for (int i = 0; i < filters.size(); i++) {
-            NLPEntityProcessor.EntityFilter filter = filters.get(i);
+            EntityFilter filter = filters.get(i);
             if (i > 0)
                 whereClause.append(" AND ");
             whereClause.append(filter.attribute)
@@ -1846,7 +1905,7 @@ public class NLPUserActionHandler {
     /**
      * Builds WHERE clause from filters with centralized column validation
      */
-    private String buildWhereClauseWithValidation(List<NLPEntityProcessor.EntityFilter> filters, String tableType) {
+    private String buildWhereClauseWithValidation(List<EntityFilter> filters, String tableType) {
         if (filters == null || filters.isEmpty()) {
             return "1=1"; // Default condition
         }
@@ -1854,7 +1913,7 @@ public class NLPUserActionHandler {
         StringBuilder whereClause = new StringBuilder();
         int validFilterCount = 0;
 
-        for (NLPEntityProcessor.EntityFilter filter : filters) {
+        for (EntityFilter filter : filters) {
             // Validate column exists in the specified table
             if (TABLE_CONFIG.isValidColumn(tableType, filter.attribute)) {
                 if (validFilterCount > 0)
@@ -1874,10 +1933,10 @@ public class NLPUserActionHandler {
     /**
      * Creates parameter map from filters
      */
-    private Map<String, Object> createParameterMapFromFilters(List<NLPEntityProcessor.EntityFilter> filters) {
+    private Map<String, Object> createParameterMapFromFilters(List<EntityFilter> filters) {
         Map<String, Object> parameters = new HashMap<>();
         if (filters != null) {
-            for (NLPEntityProcessor.EntityFilter filter : filters) {
+            for (EntityFilter filter : filters) {
                 parameters.put(filter.attribute, filter.value);
             }
         }
@@ -1912,7 +1971,7 @@ public class NLPUserActionHandler {
      * Handles help requests for contract creation (user wants instructions)
      * No SQL needed - returns help text
      */
-    private UserActionResponse handleHelpContractCreateUser(List<NLPEntityProcessor.EntityFilter> filters,
+    private UserActionResponse handleHelpContractCreateUser(List<EntityFilter> filters,
                                                             List<String> displayEntities, String userInput) {
         try {
             // Create response for help request
@@ -1920,7 +1979,7 @@ public class NLPUserActionHandler {
             response.setActionType("HELP_CONTRACT_CREATE_USER");
             response.setParameters(new HashMap<>()); // No parameters needed
             response.setDisplayEntities(displayEntities); // Should be empty for help
-            response.setFilters(convertToStandardFilters(filters)); // Should be empty for help
+            response.setFilters(sharedFilters(filters)); // Should be empty for help
             response.setSuccess(true);
             response.setMessage("Please follow below steps to create a contract");
 
@@ -1935,7 +1994,7 @@ public class NLPUserActionHandler {
      * Handles help requests for contract creation (user wants system to create)
      * No SQL needed - returns help text
      */
-    private UserActionResponse handleHelpContractCreateBot(List<NLPEntityProcessor.EntityFilter> filters,
+    private UserActionResponse handleHelpContractCreateBot(List<EntityFilter> filters,
                                                            List<String> displayEntities, String userInput) {
         try {
             // Create response for help request
@@ -1943,7 +2002,7 @@ public class NLPUserActionHandler {
             response.setActionType("HELP_CONTRACT_CREATE_BOT");
             response.setParameters(new HashMap<>()); // No parameters needed
             response.setDisplayEntities(displayEntities); // Should be empty for help
-            response.setFilters(convertToStandardFilters(filters)); // Should be empty for help
+            response.setFilters(sharedFilters(filters)); // Should be empty for help
             response.setSuccess(true);
             response.setMessage("I can help you create a contract. Please provide the necessary details.");
 
@@ -1972,13 +2031,13 @@ public class NLPUserActionHandler {
     /**
      * Format filters as string
      */
-    private static String formatFilters(java.util.List<NLPEntityProcessor.EntityFilter> filters) {
+    private static String formatFilters(java.util.List<EntityFilter> filters) {
         if (filters == null || filters.isEmpty()) {
             return "[]";
         }
         StringBuilder sb = new StringBuilder("[");
         for (int i = 0; i < filters.size(); i++) {
-            NLPEntityProcessor.EntityFilter filter = filters.get(i);
+            EntityFilter filter = filters.get(i);
             sb.append(filter.attribute)
               .append("=")
               .append(filter.value);
@@ -2004,8 +2063,8 @@ public class NLPUserActionHandler {
         try {
             // Extract parameters
             String actionType = (String) inputParams.get("actionType");
-            List<NLPEntityProcessor.EntityFilter> filters =
-                (List<NLPEntityProcessor.EntityFilter>) inputParams.get("filters");
+            List<EntityFilter> filters =
+                (List<EntityFilter>) inputParams.get("filters");
             List<String> displayEntities = (List<String>) inputParams.get("displayEntities");
             int screenWidth =
                 inputParams.containsKey("screenWidth") ? (Integer) inputParams.get("screenWidth") :
@@ -2039,74 +2098,149 @@ public class NLPUserActionHandler {
                 System.out.println("Display Columns String: " + displayColumns);
             }
 
-            // Convert filters to comma-separated strings
-            String filterAttributesStr = null;
-            String filterValuesStr = null;
-            String filterOperationsStr = null;
+            // One array entry per filter - values are passed as-is (no comma joining) with the
+            // column type, so the Model layer binds NUMBER/DATE/VARCHAR instead of strings
+            String[][] filterArrays = toFilterArrays(TableColumnConfig.getTableTypeForAction(actionType), filters);
 
-            if (filters != null && !filters.isEmpty()) {
-                StringBuilder attrs = new StringBuilder();
-                StringBuilder vals = new StringBuilder();
-                StringBuilder ops = new StringBuilder();
+            // First page only; the rest is fetched on "show more"
+            return fetchResultPage(new ConversationSession.PageContinuation(actionType, filterArrays[0],
+                                                                            filterArrays[1], filterArrays[2],
+                                                                            filterArrays[3], displayColumns,
+                                                                            displayEntities, screenWidth,
+                                                                            DEFAULT_PAGE_SIZE, null, 0));
 
-                for (int i = 0; i < filters.size(); i++) {
-                    if (i > 0) {
-                        attrs.append(",");
-                        vals.append(",");
-                        ops.append(",");
-                    }
-                    NLPEntityProcessor.EntityFilter filter = filters.get(i);
-                    attrs.append(filter.attribute);
-                    vals.append(filter.value);
-                    ops.append(filter.operation);
-                }
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return "<p><b></b></p>";
+        }
+    }
 
-                filterAttributesStr = attrs.toString();
-                filterValuesStr = vals.toString();
-                filterOperationsStr = ops.toString();
-            }
+    /**
+     * Next page of the result described by continuation (from ConversationSession.getPageContinuation).
+     * The continuation after it is stored in the session bound with bindSearchSession().
+     */
+    public String showMoreResults(ConversationSession.PageContinuation continuation) {
+        try {
+            return fetchResultPage(continuation);
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return "<p><b></b></p>";
+        }
+    }
 
-            // Call Model layer to get raw data
-            OperationBinding operationBind = BCCTChatBotUtility.findOperationBinding("executeNLPQuery");
-            operationBind.getParamsMap().put("actionType", actionType);
-            operationBind.getParamsMap().put("filterAttributes", filterAttributesStr);
-            operationBind.getParamsMap().put("filterValues", filterValuesStr);
-            operationBind.getParamsMap().put("filterOperations", filterOperationsStr);
-            operationBind.getParamsMap().put("displayColumns", displayColumns);
+    /**
+     * Execute a Model query binding with the database timeout of actionType; the other binding
+     * parameters must already be set. A query stopped by the timeout gives success=false and
+     * "timedOut"=true.
+     */
+    private static Map<String, Object> executeModelCall(String actionType, OperationBinding operationBind) {
+        operationBind.getParamsMap().put("queryTimeout", getQueryTimeout(actionType));
+        Map<String, Object> result = (Map<String, Object>) operationBind.execute();
+        if (result == null) {
+            result = new HashMap<>();
+            result.put("success", false);
+            result.put("error", "No result");
+        }
+        return result;
+    }
 
-            Map<String, Object> queryResult = (Map<String, Object>) operationBind.execute();
+    /**
+     * Stop the query the Model is running for this session. Returns true when one was stopped.
+     */
+    public boolean cancelRunningQuery() {
+        try {
+            OperationBinding operationBind = BCCTChatBotUtility.findOperationBinding("cancelRunningQuery");
+            Map<String, Object> result = (Map<String, Object>) operationBind.execute();
+            return result != null && Boolean.TRUE.equals(result.get("cancelled"));
+        } catch (Exception e) {
+            System.out.println("cancelRunningQuery failed: " + e.getMessage());
+            return false;
+        }
+    }
 
-            if (!(Boolean) queryResult.get("success")) {
-                return "<p><b></b></p>";
+    /**
+     * Database timeout in seconds for a query of actionType
+     */
+    public static int getQueryTimeout(String actionType) {
+        if (actionType != null) {
+            Integer configured = Integer.getInteger(QUERY_TIMEOUT_PROPERTY_PREFIX + actionType);
+            if (configured != null && configured > 0) {
+                return configured;
             }
+            if (actionType.toLowerCase().contains("parts")) {
+                return PARTS_QUERY_TIMEOUT;
+            }
+        }
+        return DEFAULT_QUERY_TIMEOUT;
+    }
 
-            // Get raw data from Model layer
-            List<Map<String, Object>> dataRows = (List<Map<String, Object>>) queryResult.get("data");
-            List<String> columnNames = (List<String>) queryResult.get("columnNames");
-            int rowCount = (Integer) queryResult.get("rowCount");
+    /**
+     * Fetch and format one page. A "show more" note is added when more rows exist and the
+     * continuation for the next page is stored in the current session; otherwise it is cleared.
+     */
+    private String fetchResultPage(ConversationSession.PageContinuation page) {
+        ConversationSession session = searchSession();
+        session.clearPageContinuation();
 
-            System.out.println("Retrieved " + rowCount + " rows with columns: " + columnNames);
+        // Call Model layer to get raw data
+        OperationBinding operationBind = BCCTChatBotUtility.findOperationBinding("executePagedNLPQuery");
+        operationBind.getParamsMap().put("actionType", page.actionType);
+        operationBind.getParamsMap().put("filterAttributes", page.filterAttributes);
+        operationBind.getParamsMap().put("filterOperations", page.filterOperations);
+        operationBind.getParamsMap().put("filterValues", page.filterValues);
+        operationBind.getParamsMap().put("filterTypes", page.filterTypes);
+        operationBind.getParamsMap().put("displayColumns", page.displayColumns);
+        operationBind.getParamsMap().put("pageSize", page.pageSize);
+        operationBind.getParamsMap().put("pageToken", page.pageToken);
 
-            // Format data in View layer (UI logic)
-            return formatQueryResultInView(dataRows, columnNames, displayEntities, screenWidth, actionType);
+        Map<String, Object> queryResult = executeModelCall(page.actionType, operationBind);
 
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            return "<p><b></b></p>";
+        if (!(Boolean) queryResult.get("success")) {
+            return Boolean.TRUE.equals(queryResult.get("timedOut")) ? QUERY_TIMEOUT_MESSAGE : "<p><b></b></p>";
         }
+
+        // Get raw data from Model layer
+        List<Map<String, Object>> dataRows = (List<Map<String, Object>>) queryResult.get("data");
+        List<String> columnNames = (List<String>) queryResult.get("columnNames");
+        int rowCount = (Integer) queryResult.get("rowCount");
+        boolean hasMore = Boolean.TRUE.equals(queryResult.get("hasMore"));
+
+        System.out.println("Retrieved " + rowCount + " rows with columns: " + columnNames + ", more: " + hasMore);
+
+        // Format data in View layer (UI logic)
+        String html =
+            formatQueryResultInView(dataRows, columnNames, page.displayEntities, page.screenWidth, page.actionType);
+        if (rowCount == 0 || (!hasMore && page.rowsShown == 0)) {
+            return html;
+        }
+        StringBuilder response = new StringBuilder(html);
+        response.append("<p><i>Showing results ")
+                .append(page.rowsShown + 1)
+                .append("-")
+                .append(page.rowsShown + rowCount);
+        if (hasMore) {
+            session.storePageContinuation(page.next((String) queryResult.get("nextPageToken"), rowCount));
+            response.append(". Type 'show more' to see the next ")
+                    .append(page.pageSize)
+                    .append(".");
+        } else {
+            response.append(" (end of results).");
+        }
+        response.append("</i></p>");
+        return response.toString();
     }
 
     /**
      * Execute custom SQL query directly
      */
-    private String executeCustomSqlQuery(String sqlQuery, List<NLPEntityProcessor.EntityFilter> filters,
+    private String executeCustomSqlQuery(String sqlQuery, List<EntityFilter> filters,
                                          List<String> displayEntities, int screenWidth, String actionType) {
         try {
             System.out.println("DEBUG: Executing custom SQL: " + sqlQuery);
 
             // Extract parameter values from filters
             List<String> paramValues = new ArrayList<>();
-            for (NLPEntityProcessor.EntityFilter filter : filters) {
+            for (EntityFilter filter : filters) {
                 paramValues.add(filter.value);
             }
 
@@ -2136,135 +2270,46 @@ public class NLPUserActionHandler {
                                            List<String> displayEntities, int screenWidth, String actionType) {
         StringBuilder response = new StringBuilder();
         try {
+            String header = getFormattedHeader(actionType);
+            String note = addProfessionalNote();
             // Use only the requested displayEntities if not empty
             List<String> columnsToShow =
                 (displayEntities != null && !displayEntities.isEmpty()) ? displayEntities : columnNames;
             boolean useTabular = shouldUseTabularFormat(columnsToShow, screenWidth);
-            response.append(getFormattedHeader(actionType));
             if (dataRows.isEmpty()) {
-                response.append("<p><i></i></p>");
-            } else if (useTabular) {
-                response.append(formatTabularResultFromData(dataRows, columnsToShow));
+                response.append(header).append("<p><i></i></p>");
+            } else if (columnsToShow == null || columnsToShow.isEmpty()) {
+                response.append(header).append("<p><i>No data available</i></p>");
             } else {
-                response.append(formatLineByLineLayout(dataRows, columnsToShow));
-            }
-            response.append(addProfessionalNote());
+                ResultHtmlRenderer renderer =
+                    compileRenderer(useTabular ? ResultHtmlRenderer.Style.TABULAR :
+                                    ResultHtmlRenderer.Style.LINE_BY_LINE, columnsToShow);
+                response.ensureCapacity(header.length() + note.length() + renderer.estimateSize(dataRows.size()));
+                response.append(header);
+                renderer.render(dataRows, response);
+            }
+            response.append(note);
         } catch (Exception e) {
             response.append("<p><b></b></p>");
         }
         return response.toString();
     }
 
-    private String formatLineByLineLayout(List<Map<String, Object>> dataRows, List<String> displayEntities) {
-        if (dataRows == null || dataRows.isEmpty() || displayEntities == null || displayEntities.isEmpty()) {
-            return "<p><i>No data available</i></p>";
-        }
-        StringBuilder response = new StringBuilder();
-        for (int rowIndex = 0; rowIndex < dataRows.size(); rowIndex++) {
-            Map<String, Object> row = dataRows.get(rowIndex);
-            if (row == null)
-                continue;
-            if (rowIndex > 0) {
-                response.append("<br><hr><br>");
-            }
-            if (dataRows.size() > 1) {
-                response.append("<h5><b>Record ")
-                        .append(rowIndex + 1)
-                        .append("</b></h5>");
-            }
-            for (String entity : displayEntities) {
-                String displayName = getDisplayName(entity);
-                Object valueObj = row.get(entity);
-                String value = valueObj != null ? valueObj.toString() : "N/A";
-                response.append("<p>")
-                        .append("<b>")
-                        .append(displayName)
-                        .append(":</b> ")
-                        .append(escapeHtml(value))
-                        .append("</p>");
-            }
-        }
-        return response.toString();
-    }
-
-    private String formatTabularLayout(List<Map<String, Object>> dataRows, List<String> displayEntities) {
-        if (dataRows == null || dataRows.isEmpty() || displayEntities == null || displayEntities.isEmpty()) {
-            return "<p><i>No data available</i></p>";
-        }
-        StringBuilder response = new StringBuilder();
-        response.append("<pre><small>");
-        response.append("<b>");
-        for (String entity : displayEntities) {
-            String displayName = getDisplayName(entity);
-            response.append(String.format("%-20s ", truncateString(displayName, 18)));
-        }
-        response.append("</b><br>");
-        int totalWidth = displayEntities.size() * 21;
-        response.append(repeatString("=", totalWidth)).append("<br>");
-        for (Map<String, Object> row : dataRows) {
-            if (row != null) {
-                for (String entity : displayEntities) {
-                    Object valueObj = row.get(entity);
-                    String value = valueObj != null ? valueObj.toString() : "N/A";
-                    value = truncateString(value, 18);
-                    response.append(String.format("%-20s ", value));
-                }
-                response.append("<br>");
-            }
-        }
-        return response.toString();
-    }
-
     /**
-     * Format result in label-value format from data rows
+     * Renderer for columns with the display names resolved once
      */
-
-    private String formatLabelValueResultFromData(List<Map<String, Object>> dataRows, List<String> displayEntities) {
-        System.out.println("formatLabelValueResultFromData====================>");
-        StringBuilder response = new StringBuilder();
-
-        int recordCount = 0;
-        for (Map<String, Object> row : dataRows) {
-            recordCount++;
-            response.append("<h4>Record ")
-                    .append(recordCount)
-                    .append("</h4>");
-            response.append("<p>");
-
-            if (displayEntities != null && !displayEntities.isEmpty()) {
-                for (String entity : displayEntities) {
-                    String value = (String) row.get(entity);
-                    value = value != null ? value : "N/A";
-
-                    // Format dates if the field contains date-related keywords
-                    if (entity.contains("DATE") || entity.contains("EFFECTIVE") || entity.contains("EXPIRATION")) {
-                        value = formatDate(value);
-                    }
-
-                    response.append("<b>")
-                            .append(getDisplayName(entity))
-                            .append(":</b> ");
-                    response.append("<span>")
-                            .append(value)
-                            .append("</span>");
-                    response.append("<br>");
-                }
-            }
-            response.append("</p>");
-            response.append("<hr>");
-        }
-
-        return response.toString();
+    private ResultHtmlRenderer compileRenderer(ResultHtmlRenderer.Style style, List<String> columns) {
+        return ResultHtmlRenderer.compile(style, columns, this::getDisplayName);
     }
 
     /**
      * Set parameters from filters to prepared statement
      */
     private void setParametersFromFilters(PreparedStatement stmt,
-                                          List<NLPEntityProcessor.EntityFilter> filters) throws SQLException {
+                                          List<EntityFilter> filters) throws SQLException {
         if (filters != null) {
             for (int i = 0; i < filters.size(); i++) {
-                NLPEntityProcessor.EntityFilter filter = filters.get(i);
+                EntityFilter filter = filters.get(i);
                 stmt.setString(i + 1, filter.value);
             }
         }
@@ -2284,9 +2329,9 @@ public class NLPUserActionHandler {
         response.append(getFormattedHeader(actionType));
 
         if (useTabular) {
-            response.append(formatTabularResult(resultset, displayEntities));
+            formatTabularResult(resultset, displayEntities, response);
         } else {
-            response.append(formatLabelValueResult(resultset, displayEntities));
+            formatLabelValueResult(resultset, displayEntities, response);
         }
 
         response.append(addProfessionalNote());
@@ -2308,89 +2353,32 @@ public class NLPUserActionHandler {
     }
 
     /**
-     * Format result in tabular format
+     * Format result in tabular format, one row of the cursor at a time
      */
-    private String formatTabularResult(ResultSet resultset, List<String> displayEntities) throws SQLException {
+    private void formatTabularResult(ResultSet resultset, List<String> displayEntities,
+                                     StringBuilder response) throws SQLException {
         System.out.println("formatTabularResult====================>");
-        StringBuilder response = new StringBuilder();
-
-        response.append("<pre>");
-        response.append("<small>");
-        response.append("<b>");
-
-        // Header row
-        if (displayEntities != null && !displayEntities.isEmpty()) {
-            for (String entity : displayEntities) {
-                response.append(String.format("%-20s ", getDisplayName(entity)));
-            }
-        }
-        response.append("</b>");
-        response.append("<br>");
-
-        // Separator
-
-
-        response.append(repeatString("=", (displayEntities.size() * 21)));
-        response.append("<br>");
-
-        // Data rows
-        while (resultset.next()) {
-            for (String entity : displayEntities) {
-                String value = resultset.getString(entity);
-                value = value != null ? value : "N/A";
-                value = truncateString(value, 18);
-                response.append(String.format("%-20s ", value));
-            }
-            response.append("<br>");
-        }
-        response.append(repeatString("=", (displayEntities.size() * 21)));
-        response.append("</small>");
-        response.append("</pre>");
-
-        return response.toString();
+        streamRows(resultset, compileRenderer(ResultHtmlRenderer.Style.TABULAR, displayEntities), response);
     }
 
     /**
-     * Format result in label-value format
+     * Format result in label-value format, one row of the cursor at a time
      */
-    private String formatLabelValueResult(ResultSet resultset, List<String> displayEntities) throws SQLException {
+    private void formatLabelValueResult(ResultSet resultset, List<String> displayEntities,
+                                        StringBuilder response) throws SQLException {
         System.out.println("formatLabelValueResult===============>");
-        StringBuilder response = new StringBuilder();
+        streamRows(resultset, compileRenderer(ResultHtmlRenderer.Style.LABEL_VALUE, displayEntities), response);
+    }
 
-        int recordCount = 0;
+    private void streamRows(ResultSet resultset, ResultHtmlRenderer renderer,
+                            StringBuilder response) throws SQLException {
+        ResultHtmlRenderer.RowWriter writer = renderer.open(response, true);
         while (resultset.next()) {
-            recordCount++;
-            response.append("<h4>Record ")
-                    .append(recordCount)
-                    .append("</h4>");
-            response.append("<p>");
-
-            if (displayEntities != null && !displayEntities.isEmpty()) {
-                for (String entity : displayEntities) {
-                    String value = resultset.getString(entity);
-                    value = value != null ? value : "N/A";
-
-                    response.append("<b>")
-                            .append(getDisplayName(entity))
-                            .append(":</b> ");
-                    response.append("<span>")
-                            .append(value)
-                            .append("</span>");
-                    response.append("<br>");
-                }
-            }
-            response.append("</p>");
-            response.append("<hr>");
-        }
-
-        if (recordCount == 0) {
-            response.append("<p><i>No records found.</i></p>");
+            writer.row(resultset);
         }
-
-        return response.toString();
+        writer.close();
     }
 
-
     /**
      * Get formatted header based on action type
      */
@@ -2479,38 +2467,6 @@ public class NLPUserActionHandler {
     }
 
 
-    /**
-     * Format date string
-     */
-    private String formatDate(String dateStr) {
-        if (dateStr == null || dateStr.equals("N/A"))
-            return "N/A";
-
-        try {
-            // Handle Oracle date format: "2024-01-01 00:00:00.0"
-            if (dateStr.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d+")) {
-                // Extract just the date part and format as MM-DD-YYYY
-                String datePart = dateStr.substring(0, 10); // "2024-01-01"
-                String[] parts = datePart.split("-");
-                if (parts.length == 3) {
-                    return parts[1] + "-" + parts[2] + "-" + parts[0]; // "01-01-2024"
-                }
-            }
-
-            // Handle other date formats if needed
-            if (dateStr.matches("\\d{4}-\\d{2}-\\d{2}")) {
-                String[] parts = dateStr.split("-");
-                if (parts.length == 3) {
-                    return parts[1] + "-" + parts[2] + "-" + parts[0];
-                }
-            }
-
-            return dateStr; // Return original if no pattern matches
-        } catch (Exception e) {
-            return dateStr; // Return original on any error
-        }
-    }
-
     /**
      * Add professional note at the end
      */
@@ -2520,23 +2476,16 @@ public class NLPUserActionHandler {
     }
 
     /**
-     * Convert NLPEntityProcessor.EntityFilter to StandardJSONProcessor.EntityFilter
+     * Filters for the response, shared read-only instead of copied
      */
-    private List<StandardJSONProcessor.EntityFilter> convertToStandardFilters(List<NLPEntityProcessor.EntityFilter> filters) {
-        List<StandardJSONProcessor.EntityFilter> convertedFilters = new ArrayList<>();
-        if (filters != null) {
-            for (NLPEntityProcessor.EntityFilter filter : filters) {
-                convertedFilters.add(new StandardJSONProcessor.EntityFilter(filter.attribute, filter.operation,
-                                                                            filter.value, filter.source));
-            }
-        }
-        return convertedFilters;
+    private static List<EntityFilter> sharedFilters(List<EntityFilter> filters) {
+        return filters != null ? Collections.unmodifiableList(filters) : Collections.<EntityFilter>emptyList();
     }
 
     /**
      * Enhanced parts handler with database integration
      */
-    private String handlePartsByContractNumberWithDataProvider(List<NLPEntityProcessor.EntityFilter> filters,
+    private String handlePartsByContractNumberWithDataProvider(List<EntityFilter> filters,
                                                                List<String> displayEntities, String userInput) {
         try {
             // Use default columns if none specified
@@ -2560,7 +2509,7 @@ public class NLPUserActionHandler {
     /**
      * Enhanced failed parts handler with database integration
      */
-    private String handleFailedPartsByContractNumberWithDataProvider(List<NLPEntityProcessor.EntityFilter> filters,
+    private String handleFailedPartsByContractNumberWithDataProvider(List<EntityFilter> filters,
                                                                      List<String> displayEntities, String userInput) {
         try {
             // Prepare input parameters for database query
@@ -2581,7 +2530,7 @@ public class NLPUserActionHandler {
     /**
      * Enhanced parts by part number handler with database integration
      */
-    private String handlePartsByPartNumberWithDataProvider(List<NLPEntityProcessor.EntityFilter> filters,
+    private String handlePartsByPartNumberWithDataProvider(List<EntityFilter> filters,
                                                            List<String> displayEntities, String userInput) {
         try {
             // Prepare input parameters for database query
@@ -2599,7 +2548,7 @@ public class NLPUserActionHandler {
         }
     }
 
-    private String handleContractsByFilterWithDataProvider(List<NLPEntityProcessor.EntityFilter> filters,
+    private String handleContractsByFilterWithDataProvider(List<EntityFilter> filters,
                                                            List<String> displayEntities, String userInput) {
         try {
             // Use default columns if none specified
@@ -2623,7 +2572,7 @@ public class NLPUserActionHandler {
     /**
      * Enhanced parts by filter handler with database integration
      */
-    private String handlePartsByFilterWithDataProvider(List<NLPEntityProcessor.EntityFilter> filters,
+    private String handlePartsByFilterWithDataProvider(List<EntityFilter> filters,
                                                        List<String> displayEntities, String userInput) {
         try {
             // Use default columns if none specified
@@ -2647,7 +2596,7 @@ public class NLPUserActionHandler {
     /**
      * Enhanced update contract handler with database integration
      */
-    private String handleUpdateContractWithDataProvider(List<NLPEntityProcessor.EntityFilter> filters,
+    private String handleUpdateContractWithDataProvider(List<EntityFilter> filters,
                                                         List<String> displayEntities, String userInput) {
         try {
             // For update operations, we might want to show the updated record
@@ -2668,7 +2617,7 @@ public class NLPUserActionHandler {
     /**
      * Enhanced create contract handler with database integration
      */
-    private String handleCreateContractWithDataProvider(List<NLPEntityProcessor.EntityFilter> filters,
+    private String handleCreateContractWithDataProvider(List<EntityFilter> filters,
                                                         List<String> displayEntities, String userInput) {
         try {
             // For create operations, return creation form or confirmation
@@ -2686,7 +2635,7 @@ public class NLPUserActionHandler {
     /**
      * Enhanced help contract create user handler
      */
-    private String handleHelpContractCreateUserWithDataProvider(List<NLPEntityProcessor.EntityFilter> filters,
+    private String handleHelpContractCreateUserWithDataProvider(List<EntityFilter> filters,
                                                                 List<String> displayEntities, String userInput) {
         try {
             return "<h4>Contract Creation Steps</h4>" + "<ol>" + "<li><b>Gather Required Information:</b>" +
@@ -2705,7 +2654,7 @@ public class NLPUserActionHandler {
     /**
      * Enhanced help contract create bot handler
      */
-    private String handleHelpContractCreateBotWithDataProvider(List<NLPEntityProcessor.EntityFilter> filters,
+    private String handleHelpContractCreateBotWithDataProvider(List<EntityFilter> filters,
                                                                List<String> displayEntities, String userInput) {
         try {
             return "<h4>Automated Contract Creation</h4>" +
@@ -2785,8 +2734,17 @@ public class NLPUserActionHandler {
         try {
             // Check if this is a "created by" or "created in" query first
             if (isCreatedByQuery(queryResult.entities) || isCreatedInQuery(queryResult.entities)) {
-                // Use the enhanced method that accepts the complete QueryResult object
-                return handleCreatedByQueryWithQueryResult(queryResult, screenWidth);
+                // Search results go to the caller's bound session, else to one kept for sessionId
+                ConversationSession previous = SEARCH_SESSION.get();
+                if (previous == null && sessionId != null) {
+                    SEARCH_SESSION.set(detachedSession(sessionId));
+                }
+                try {
+                    // Use the enhanced method that accepts the complete QueryResult object
+                    return handleCreatedByQueryWithQueryResult(queryResult, screenWidth);
+                } finally {
+                    restoreSearchSession(previous);
+                }
             }
 
             // Check if this is a date-related query
@@ -2809,7 +2767,7 @@ public class NLPUserActionHandler {
      * Route to appropriate action handler with database integration
      */
     public String routeToActionHandlerWithDataProviderDB(String actionType,
-                                                          List<NLPEntityProcessor.EntityFilter> filters,
+                                                          List<EntityFilter> filters,
                                                           List<String> displayEntities, String userInput,
                                                           int screenWidth) {
 
@@ -2898,7 +2856,7 @@ public class NLPUserActionHandler {
             response.setQueryType(queryResult.metadata.queryType);
             response.setActionType(queryResult.metadata.actionType);
             response.setDisplayEntities(queryResult.displayEntities);
-            response.setFilters(convertToStandardFilters(queryResult.entities));
+            response.setFilters(sharedFilters(queryResult.entities));
             response.setSuccess(true);
             response.setMessage("Request processed successfully");
             response.setNlpProcessingTime(queryResult.metadata.processingTimeMs);
@@ -2972,12 +2930,12 @@ public class NLPUserActionHandler {
             operationBind.getParamsMap().put("sqlQuery", sqlQuery);
             operationBind.getParamsMap().put("paramValues", paramValues);
             operationBind.getParamsMap().put("paramTypes", paramTypes);
-            queryResult = (Map<String, Object>) operationBind.execute();
+            queryResult = executeModelCall(actionType, operationBind);
 
             //vinod.executeDynamicQuery(sqlQuery, filterValues, paramTypes);
 
             if (!(Boolean) queryResult.get("success")) {
-                return "<p><b></b></p>";
+                return Boolean.TRUE.equals(queryResult.get("timedOut")) ? QUERY_TIMEOUT_MESSAGE : "<p><b></b></p>";
             }
 
             // Format results
@@ -3005,90 +2963,6 @@ public class NLPUserActionHandler {
         return sb.toString();
     }
 
-    private String formatTabularResultInModel(List<Map<String, Object>> rows, String[] displayColumns) {
-        System.out.println("formatTabularResultInModel===============>");
-        StringBuilder response = new StringBuilder();
-
-        response.append("<pre>");
-        response.append("<small>");
-        response.append("<b>");
-
-        // Header row
-        if (displayColumns != null && displayColumns.length > 0) {
-            for (String column : displayColumns) {
-                response.append(String.format("%-20s ", getDisplayName(column.trim())));
-            }
-        }
-        response.append("</b>");
-        response.append("<br>");
-
-        // Separator
-        int separatorLength = displayColumns != null ? displayColumns.length * 21 : 21;
-        response.append(repeatString("=", separatorLength));
-        response.append("<br>");
-
-        // Data rows
-        for (Map<String, Object> row : rows) {
-            if (displayColumns != null) {
-                for (String column : displayColumns) {
-                    Object value = row.get(column.trim());
-                    String valueStr = value != null ? value.toString() : "N/A";
-                    valueStr = truncateString(valueStr, 18);
-                    response.append(String.format("%-20s ", valueStr));
-                }
-            }
-            response.append("<br>");
-        }
-
-        // Bottom separator
-        response.append(repeatString("=", separatorLength));
-        response.append("</small>");
-        response.append("</pre>");
-
-        return response.toString();
-    }
-
-    /**
-     * Format label-value result in model (missing method)
-     */
-    private String formatLabelValueResultInModel(List<Map<String, Object>> rows, String[] displayColumns) {
-        System.out.println("formatLabelValueResultInModel====================>");
-        StringBuilder response = new StringBuilder();
-
-        int recordCount = 0;
-        for (Map<String, Object> row : rows) {
-            recordCount++;
-            response.append("<h4>Record ")
-                    .append(recordCount)
-                    .append("</h4>");
-            response.append("<p>");
-
-            if (displayColumns != null && displayColumns.length > 0) {
-                for (String column : displayColumns) {
-                    Object value = row.get(column.trim());
-                    String valueStr = value != null ? value.toString() : "N/A";
-
-                    response.append("<b>")
-                            .append(getDisplayName(column.trim()))
-                            .append(":</b> ");
-                    response.append("<span>")
-                            .append(valueStr)
-                            .append("</span>");
-                    response.append("<br>");
-                }
-            }
-            response.append("</p>");
-            response.append("<hr>");
-        }
-
-        if (recordCount == 0) {
-            response.append("<p><i>No records found.</i></p>");
-        }
-
-        return response.toString();
-    }
-
-
     /**
      * Add professional note in model (missing method)
      */
@@ -3141,21 +3015,20 @@ public class NLPUserActionHandler {
     // Fix 4: Update the formatQueryResultsForUI method to remove duplicates
     private String formatQueryResultsForUI(List<Map<String, Object>> rows, String[] displayColumns, int screenWidth,
                                            String actionType) {
-        StringBuilder response = new StringBuilder();
-
-        // Add header
-        response.append(getFormattedHeaderForAction(actionType));
-
         // Determine format type
         boolean useTabular = shouldUseTabularFormatInModel(displayColumns, screenWidth);
+        ResultHtmlRenderer renderer =
+            ResultHtmlRenderer.compile(useTabular ? ResultHtmlRenderer.Style.TABULAR :
+                                       ResultHtmlRenderer.Style.LABEL_VALUE, displayColumns, this::getDisplayName);
+        String header = getFormattedHeaderForAction(actionType);
+        String note = addProfessionalNoteInModel();
+        StringBuilder response =
+            new StringBuilder(header.length() + note.length() + renderer.estimateSize(rows.size()));
 
-        if (useTabular) {
-            response.append(formatTabularResultInModel(rows, displayColumns));
-        } else {
-            response.append(formatLabelValueResultInModel(rows, displayColumns));
-        }
-
-        response.append(addProfessionalNoteInModel());
+        // Add header
+        response.append(header);
+        renderer.render(rows, response);
+        response.append(note);
         return response.toString();
     }
 
@@ -3163,11 +3036,11 @@ public class NLPUserActionHandler {
         return actionType != null && actionType.startsWith("HELP_");
     }
 
-    private boolean isCreatedByQuery(List<NLPEntityProcessor.EntityFilter> filters) {
+    private boolean isCreatedByQuery(List<EntityFilter> filters) {
         if (filters == null)
             return false;
 
-        for (NLPEntityProcessor.EntityFilter filter : filters) {
+        for (EntityFilter filter : filters) {
             String createdByColumn =
                 TABLE_CONFIG.getColumnForBusinessTerm(TableColumnConfig.TABLE_CONTRACT_CONTACTS, "created_by");
             if (createdByColumn != null && filter.attribute.equals(createdByColumn)) {
@@ -3184,11 +3057,11 @@ public class NLPUserActionHandler {
     /**
      * Check if the query is a "created in" query (by date/year)
      */
-    private boolean isCreatedInQuery(List<NLPEntityProcessor.EntityFilter> filters) {
+    private boolean isCreatedInQuery(List<EntityFilter> filters) {
         if (filters == null)
             return false;
 
-        for (NLPEntityProcessor.EntityFilter filter : filters) {
+        for (EntityFilter filter : filters) {
             // Check for CREATE_DATE or creation date related filters
             if ("CREATE_DATE".equals(filter.attribute) || filter.attribute
                                                                 .toLowerCase()
@@ -3206,23 +3079,24 @@ public class NLPUserActionHandler {
         return false;
     }
 
-    // Add instance variables for user search caching
-    private Map<String, List<Map<String, String>>> userSearchCache = new HashMap<>();
-    private List<String> userDisplayOrder = new ArrayList<>(); // Store the display order
-    private long cacheExpiryTime = 300000; // 5 minutes cache
-    private long lastCacheTime = 0;
-    
-    // Add instance variables for contract search caching
-    private Map<String, List<Map<String, Object>>> contractSearchCache = new HashMap<>();
-    private List<String> contractDisplayOrder = new ArrayList<>();
-    private long contractCacheExpiryTime = 300000; // 5 minutes cache
-    private long lastContractCacheTime = 0;
+    // User and contract search results live in the ConversationSession bound with bindSearchSession().
+    // Callers that do not bind one get a session kept here by session id (least recently used dropped);
+    // callers without a session id share ANONYMOUS_SESSION_ID.
+    private static final int MAX_DETACHED_SESSIONS = 500;
+    private static final String ANONYMOUS_SESSION_ID = "anonymous";
+    private final Map<String, ConversationSession> detachedSessions =
+        new LinkedHashMap<String, ConversationSession>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ConversationSession> eldest) {
+                return size() > MAX_DETACHED_SESSIONS;
+            }
+        };
 
     /**
      * Enhanced "created by" query handler with user search and date filters
      * This method is called from executeDataProviderActionWithDB with NLPEntityProcessor.QueryResult
      */
-    private String handleCreatedByQuery(String actionType, List<NLPEntityProcessor.EntityFilter> filters,
+    private String handleCreatedByQuery(String actionType, List<EntityFilter> filters,
                                         List<String> displayEntities, int screenWidth) {
         try {
             // Extract username and date filters
@@ -3385,7 +3259,7 @@ public class NLPUserActionHandler {
      */
     private String extractYearFromQuery(NLPEntityProcessor.QueryResult queryResult) {
         // Check filters for year values
-        for (NLPEntityProcessor.EntityFilter filter : queryResult.entities) {
+        for (EntityFilter filter : queryResult.entities) {
             if (filter.value != null) {
                 String value = filter.value.toString();
                 // Look for 4-digit year pattern
@@ -3464,54 +3338,45 @@ public class NLPUserActionHandler {
         }
 
         // Check if it's a full name (contains space or is in cache)
-        return input.contains(" ") || userSearchCache.containsKey(input);
+        return input.contains(" ") || searchSession().getUserByName(input) != null;
     }
 
     /**
      * Handle user selection from the list (1, 2, 3 or full name)
      * Enhanced to handle both user selections and contract selections
      */
-    private String handleUserSelection(String userInput, List<NLPEntityProcessor.EntityFilter> filters) {
+    private String handleUserSelection(String userInput, List<EntityFilter> filters) {
+        ConversationSession session = searchSession();
+
         // First check if this is a contract selection (contract cache has data)
-        if (!contractSearchCache.isEmpty() && System.currentTimeMillis() - lastContractCacheTime <= contractCacheExpiryTime) {
+        if (session.isContractSearchValid()) {
             return handleContractSelection(userInput);
         }
 
         // Check if user cache is expired
-        if (System.currentTimeMillis() - lastCacheTime > cacheExpiryTime) {
-            userSearchCache.clear();
+        if (!session.isUserSearchValid()) {
+            session.clearUserSearchResults();
             return "<p><b>User selection expired. Please search again.</b></p>";
         }
 
-        String selectedUser = null;
+        String selectedUser;
 
-        // If input is a number, get the corresponding user from cache
+        // If input is a number, get the user shown at that position
         if (userInput.matches("^\\d+$")) {
-            int userIndex = Integer.parseInt(userInput) - 1;
-            int currentIndex = 0;
-
-            for (String cachedUser : userSearchCache.keySet()) {
-                if (currentIndex == userIndex) {
-                    selectedUser = cachedUser;
-                    break;
-                }
-                currentIndex++;
-            }
+            selectedUser = session.getUserByIndex(Integer.parseInt(userInput));
         } else {
             // Input is a full name, check if it exists in cache
-            selectedUser = userInput;
+            selectedUser = session.getUserByName(userInput);
         }
 
-        if (selectedUser == null || !userSearchCache.containsKey(selectedUser)) {
+        // Get contracts for selected user
+        List<Map<String, String>> userContracts = selectedUser != null ? session.getContractsForUser(selectedUser) : null;
+        if (userContracts == null) {
             return "<p><b>Invalid selection. Please try again.</b></p>";
         }
 
-        // Get contracts for selected user
-        List<Map<String, String>> userContracts = userSearchCache.get(selectedUser);
-
         // Clear cache after use
-        userSearchCache.clear();
-        lastCacheTime = 0;
+        session.clearUserSearchResults();
 
         // Format and return the contracts
         return formatUserContracts(selectedUser, userContracts);
@@ -3521,20 +3386,20 @@ public class NLPUserActionHandler {
      * Handle contract selection from the list (1, 2, 3...)
      */
     private String handleContractSelection(String userInput) {
+        ConversationSession session = searchSession();
+
         // Check if contract cache is expired
-        if (System.currentTimeMillis() - lastContractCacheTime > contractCacheExpiryTime) {
-            contractSearchCache.clear();
+        if (!session.isContractSearchValid()) {
+            session.clearContractSearchResults();
             return "<p><b>Contract selection expired. Please search again.</b></p>";
         }
 
         // If input is a number, get the corresponding contract from cache
         if (userInput.matches("^\\d+$")) {
-            if (contractSearchCache.containsKey(userInput)) {
-                List<Map<String, Object>> selectedContract = contractSearchCache.get(userInput);
-                
+            List<Map<String, Object>> selectedContract = session.getContractByIndex(Integer.parseInt(userInput));
+            if (selectedContract != null && !selectedContract.isEmpty()) {
                 // Clear cache after use
-                contractSearchCache.clear();
-                lastContractCacheTime = 0;
+                session.clearContractSearchResults();
                 
                 // Format and return the selected contract
                 return formatSelectedContract(selectedContract.get(0));
@@ -3563,6 +3428,43 @@ public class NLPUserActionHandler {
                                       DEFAULT_SCREEN_WIDTH, "contracts_by_user");
     }
 
+    /**
+     * (award number, award rep, updated date) rows of the contacts table, all of them or those
+     * updated on or after since
+     */
+    private static List<AwardRepIndex.Entry> loadAwardReps(java.util.Date since) {
+        String sqlQuery = AWARD_REP_QUERY;
+        String[] paramValues = new String[0];
+        String[] paramTypes = new String[0];
+        if (since != null) {
+            // DATE parameters are bound by day, so the newest day is read again - entries are idempotent
+            sqlQuery += " AND UPDATED_DATE >= ?";
+            paramValues = new String[] { new java.sql.Date(since.getTime()).toString() };
+            paramTypes = new String[] { "DATE" };
+        }
+        OperationBinding operationBind = BCCTChatBotUtility.findOperationBinding("executeDynamicQuery");
+        operationBind.getParamsMap().put("sqlQuery", sqlQuery);
+        operationBind.getParamsMap().put("paramValues", paramValues);
+        operationBind.getParamsMap().put("paramTypes", paramTypes);
+        Map<String, Object> result = (Map<String, Object>) operationBind.execute();
+        if (result == null || !Boolean.TRUE.equals(result.get("success"))) {
+            throw new IllegalStateException("Award rep query failed: " + (result != null ? result.get("error") : null));
+        }
+
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) result.get("rows");
+        List<AwardRepIndex.Entry> entries = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Object awardNumber = row.get("AWARD_NUMBER");
+            Object awardRep = row.get("AWARD_REP");
+            Object updatedDate = row.get("UPDATED_DATE");
+            entries.add(new AwardRepIndex.Entry(awardNumber != null ? awardNumber.toString() : null,
+                                                awardRep != null ? awardRep.toString() : null,
+                                                updatedDate instanceof java.util.Date ? (java.util.Date) updatedDate :
+                                                null));
+        }
+        return entries;
+    }
+
     /**
      * Search for users in CONTRACT_CONTACTS table with date filters
      */
@@ -3570,22 +3472,24 @@ public class NLPUserActionHandler {
         Map<String, Object> result = new HashMap<>();
 
         try {
-            // Build SQL query with LIKE for partial name matching
-            String sqlQuery = buildCreatedByQueryWithDateFilters(username, dateFilters);
-            System.out.println("searchUsersInContractContacts==============>" + sqlQuery);
-            // Call pullAwardRepsContractsByUser method
-            OperationBinding operationBind = BCCTChatBotUtility.findOperationBinding("pullContractsByFilters");
-            operationBind.getParamsMap().put("userName", username);
-            operationBind.getParamsMap().put("query", sqlQuery);
+            // Matching reps and their award numbers from the in-memory index
+            Map<String, Set<String>> candidates =
+                AwardRepIndex.getInstance().findAwardsByRep(username, AWARD_REP_LOADER);
+            Map<String, List<Map<String, String>>> queryResult;
+            if (candidates != null && candidates.isEmpty()) {
+                queryResult = null;
+            } else {
+                // The matching award numbers, or LIKE when the index is not loaded or matched too many
+                List<String> params = new ArrayList<>();
+                String sqlQuery = buildCreatedByQuery(username, candidates, dateFilters, params);
+                System.out.println("searchUsersInContractContacts==============>" + sqlQuery);
+                OperationBinding operationBind = BCCTChatBotUtility.findOperationBinding("pullContractsByAwardNumbers");
+                operationBind.getParamsMap().put("query", sqlQuery);
+                operationBind.getParamsMap().put("paramValues", params.toArray(new String[params.size()]));
 
-            // Add date filters if present
-            if (dateFilters != null && !dateFilters.isEmpty()) {
-                operationBind.getParamsMap().put("dateFilters", dateFilters);
+                queryResult = (Map<String, List<Map<String, String>>>) operationBind.execute();
             }
 
-            Map<String, List<Map<String, String>>> queryResult =
-                (Map<String, List<Map<String, String>>>) operationBind.execute();
-
             if (queryResult != null && !queryResult.isEmpty()) {
                 // Extract user count (first map key)
                 Integer userCount = queryResult.size();
@@ -3627,11 +3531,78 @@ public class NLPUserActionHandler {
     }
 
     /**
-     * Build SQL query for created by search with date filters
+     * Build SQL query for created by search. Index matches (awardsByRep) are fetched by award number;
+     * without matches, before the index is loaded (null) or above MAX_AWARD_CANDIDATES awards the
+     * query uses AWARD_REP LIKE. Bind values are added to params in order.
      */
-    private String buildCreatedByQueryWithDateFilters(String username, Map<String, Object> dateFilters) {
+    private String buildCreatedByQuery(String username, Map<String, Set<String>> awardsByRep,
+                                       Map<String, Object> dateFilters, List<String> params) {
+        if (awardsByRep != null && !awardsByRep.isEmpty()) {
+            List<String> awardNumbers = new ArrayList<>();
+            for (Set<String> awards : awardsByRep.values()) {
+                awardNumbers.addAll(awards);
+            }
+            if (awardNumbers.size() <= MAX_AWARD_CANDIDATES) {
+                return buildCreatedByQueryForAwards(new ArrayList<>(awardsByRep.keySet()), awardNumbers, dateFilters,
+                                                    params);
+            }
+        }
+        return buildCreatedByQueryWithDateFilters(username, dateFilters, params);
+    }
+
+    /**
+     * Build SQL query for created by search with date filters; the name is a bind parameter
+     */
+    private String buildCreatedByQueryWithDateFilters(String username, Map<String, Object> dateFilters,
+                                                      List<String> params) {
+        StringBuilder sql = new StringBuilder();
+        appendCreatedByBaseQuery(sql);
+        sql.append(" AND contracts_Contacts.AWARD_REP LIKE ?");
+        params.add("%" + username + "%");
+        appendCreatedDateFilters(sql, dateFilters);
+        return sql.toString();
+    }
+
+    /**
+     * Build SQL query for created by search from award rep index matches. The rep condition drops
+     * pairs that changed since the index was refreshed.
+     */
+    private String buildCreatedByQueryForAwards(List<String> reps, List<String> awardNumbers,
+                                                Map<String, Object> dateFilters, List<String> params) {
         StringBuilder sql = new StringBuilder();
+        appendCreatedByBaseQuery(sql);
+        sql.append(" AND ");
+        appendInList(sql, "contracts_Contacts.AWARD_REP", reps, params);
+        sql.append(" AND ");
+        appendInList(sql, "contracts_Contacts.AWARD_NUMBER", awardNumbers, params);
+        appendCreatedDateFilters(sql, dateFilters);
+        return sql.toString();
+    }
 
+    /**
+     * column IN (?, ...) for 1 to MAX_AWARD_CANDIDATES values, padded with the last value up to the
+     * next IN_LIST_SIZES size
+     */
+    private static void appendInList(StringBuilder sql, String column, List<String> values, List<String> params) {
+        int size = IN_LIST_SIZES[IN_LIST_SIZES.length - 1];
+        for (int bucket : IN_LIST_SIZES) {
+            if (values.size() <= bucket) {
+                size = bucket;
+                break;
+            }
+        }
+        sql.append(column).append(" IN (");
+        for (int i = 0; i < size; i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+            params.add(values.get(Math.min(i, values.size() - 1)));
+        }
+        sql.append(")");
+    }
+
+    /**
+     * SELECT ... FROM contacts, contracts WHERE join condition - user and date conditions follow
+     */
+    private void appendCreatedByBaseQuery(StringBuilder sql) {
         // Base SELECT clause with all required columns
         sql.append("SELECT contracts.AWARD_NUMBER, contracts_Contacts.AWARD_REP, ");
         sql.append("contracts.CONTRACT_NAME, contracts.CUSTOMER_NAME, ");
@@ -3644,12 +3615,14 @@ public class NLPUserActionHandler {
            .append(" contracts_Contacts, ");
         sql.append(TableColumnConfig.TABLE_CONTRACTS).append(" contracts ");
 
-        // WHERE clause with join condition and user filter
+        // WHERE clause with join condition
         sql.append("WHERE contracts_Contacts.AWARD_NUMBER = contracts.AWARD_NUMBER");
-        sql.append(" AND contracts_Contacts.AWARD_REP LIKE '%")
-           .append(username)
-           .append("%'");
+    }
 
+    /**
+     * Date conditions on the contract CREATE_DATE
+     */
+    private void appendCreatedDateFilters(StringBuilder sql, Map<String, Object> dateFilters) {
         // Add date filters if present
         if (dateFilters != null && !dateFilters.isEmpty()) {
             if (dateFilters.containsKey("year")) {
@@ -3702,8 +3675,6 @@ public class NLPUserActionHandler {
 
         // ORDER BY clause
        // sql.append(" ORDER BY ").append(TABLE_CONFIG.getTableName(TableColumnConfig.TABLE_CONTRACTS)).append(".CREATE_DATE DESC");
-
-        return sql.toString();
     }
 
     /**
@@ -3715,13 +3686,18 @@ public class NLPUserActionHandler {
         System.out.println("getContractsForSelectedUser===================>");
         try {
             // Build SQL query with date filters - now returns full contract data
-            String sqlQuery = buildCreatedByQueryWithDateFilters(selectedUser, dateFilters);
+            Map<String, Set<String>> candidates =
+                AwardRepIndex.getInstance().findAwardsByRep(selectedUser, AWARD_REP_LOADER);
+            List<String> params = new ArrayList<>();
+            String sqlQuery = buildCreatedByQuery(selectedUser, candidates, dateFilters, params);
+            String[] paramTypes = new String[params.size()];
+            Arrays.fill(paramTypes, "String");
 
             // Execute query
             OperationBinding operationBind = BCCTChatBotUtility.findOperationBinding("executeDynamicQuery");
             operationBind.getParamsMap().put("sqlQuery", sqlQuery);
-            operationBind.getParamsMap().put("paramValues", new String[0]);
-            operationBind.getParamsMap().put("paramTypes", new String[0]);
+            operationBind.getParamsMap().put("paramValues", params.toArray(new String[params.size()]));
+            operationBind.getParamsMap().put("paramTypes", paramTypes);
 
             Map<String, Object> result = (Map<String, Object>) operationBind.execute();
 
@@ -3767,13 +3743,7 @@ public class NLPUserActionHandler {
      * Cache user search results for selection with display order
      */
     private void cacheUserSearchResults(Map<String, List<Map<String, String>>> queryResult, List<String> displayOrder) {
-        userSearchCache.clear();
-        userSearchCache.putAll(queryResult);
-        userDisplayOrder.clear();
-        if (displayOrder != null) {
-            userDisplayOrder.addAll(displayOrder);
-        }
-        lastCacheTime = System.currentTimeMillis();
+        searchSession().storeUserSearchResults(queryResult, displayOrder);
     }
 
     /**
@@ -3787,50 +3757,78 @@ public class NLPUserActionHandler {
      * Cache contract search results for selection
      */
     private void cacheContractSearchResults(Map<String, List<Map<String, Object>>> contractResults, List<String> displayOrder) {
-        contractSearchCache.clear();
-        contractSearchCache.putAll(contractResults);
-        contractDisplayOrder.clear();
-        if (displayOrder != null) {
-            contractDisplayOrder.addAll(displayOrder);
+        searchSession().storeContractSearchResults(contractResults, displayOrder);
+    }
+    
+    /**
+     * Use session's user/contract search results and page continuation on this thread; returns the session bound before
+     * (usually null), to be passed to restoreSearchSession() when the request is done
+     */
+    public ConversationSession bindSearchSession(ConversationSession session) {
+        ConversationSession previous = SEARCH_SESSION.get();
+        SEARCH_SESSION.set(session);
+        return previous;
+    }
+    
+    /**
+     * Undo bindSearchSession(); previous is the session it returned
+     */
+    public void restoreSearchSession(ConversationSession previous) {
+        if (previous != null) {
+            SEARCH_SESSION.set(previous);
+        } else {
+            SEARCH_SESSION.remove();
         }
-        lastContractCacheTime = System.currentTimeMillis();
     }
     
     /**
-     * Get user search cache - Added for compatibility with July 19th 2 AM code
+     * Session holding this request's search results: the bound one, else the shared anonymous one
      */
-    public Map<String, List<Map<String, String>>> getUserSearchCache() {
-        // Check if cache has expired
-        if (System.currentTimeMillis() - lastCacheTime > cacheExpiryTime) {
-            userSearchCache.clear();
+    private ConversationSession searchSession() {
+        ConversationSession session = SEARCH_SESSION.get();
+        return session != null ? session : detachedSession(ANONYMOUS_SESSION_ID);
+    }
+    
+    private ConversationSession detachedSession(String sessionId) {
+        synchronized (detachedSessions) {
+            ConversationSession session = detachedSessions.get(sessionId);
+            if (session == null) {
+                session = new ConversationSession(sessionId, null);
+                detachedSessions.put(sessionId, session);
+            }
+            return session;
         }
-        return userSearchCache;
     }
     
     /**
-     * Get contract search cache
+     * User search results of the current session (empty once expired) - Added for compatibility with July 19th 2 AM code
+     */
+    public Map<String, List<Map<String, String>>> getUserSearchCache() {
+        ConversationSession session = searchSession();
+        return session.isUserSearchValid() ? session.getUserSearchResults() : new HashMap<>();
+    }
+    
+    /**
+     * Contract search results of the current session (empty once expired)
      */
     public Map<String, List<Map<String, Object>>> getContractSearchCache() {
-        // Check if cache has expired
-        if (System.currentTimeMillis() - lastContractCacheTime > contractCacheExpiryTime) {
-            contractSearchCache.clear();
-        }
-        return contractSearchCache;
+        ConversationSession session = searchSession();
+        return session.isContractSearchValid() ? session.getContractSearchResults() : new HashMap<>();
     }
     
     /**
      * Get user display order - Added for compatibility with July 19th 2 AM code
      */
     public List<String> getUserDisplayOrder() {
-        // Return the display order that was used to create the user selection response
-        return new ArrayList<>(userDisplayOrder);
+        // The display order that was used to create the user selection response
+        return searchSession().getAvailableUsers();
     }
     
     /**
      * Get contract display order
      */
     public List<String> getContractDisplayOrder() {
-        return new ArrayList<>(contractDisplayOrder);
+        return searchSession().getContractDisplayOrder();
     }
 
     /**
@@ -3958,11 +3956,11 @@ public class NLPUserActionHandler {
     /**
      * Extract username from filters
      */
-    private String extractUsernameFromFilters(List<NLPEntityProcessor.EntityFilter> filters) {
+    private String extractUsernameFromFilters(List<EntityFilter> filters) {
         if (filters == null)
             return null;
 
-        for (NLPEntityProcessor.EntityFilter filter : filters) {
+        for (EntityFilter filter : filters) {
             if (isCreatedByFilter(filter)) {
                 return filter.value;
             }
@@ -3973,13 +3971,13 @@ public class NLPUserActionHandler {
     /**
      * Extract date filters from query
      */
-    private Map<String, Object> extractDateFilters(List<NLPEntityProcessor.EntityFilter> filters) {
+    private Map<String, Object> extractDateFilters(List<EntityFilter> filters) {
         Map<String, Object> dateFilters = new HashMap<>();
 
         if (filters == null)
             return dateFilters;
 
-        for (NLPEntityProcessor.EntityFilter filter : filters) {
+        for (EntityFilter filter : filters) {
             if (filter.attribute.equals("CREATE_DATE")) {
                 switch (filter.operation.toUpperCase()) {
                 case "IN_YEAR":
@@ -4036,7 +4034,7 @@ public class NLPUserActionHandler {
             operationBind.getParamsMap().put("filterOperations", "IN");
             operationBind.getParamsMap().put("displayColumns", displayColumns);
 
-            Map<String, Object> queryResult = (Map<String, Object>) operationBind.execute();
+            Map<String, Object> queryResult = executeModelCall(actionType, operationBind);
 
             if (!(Boolean) queryResult.get("success")) {
                 return "<p><b></b></p>";
@@ -4054,7 +4052,7 @@ public class NLPUserActionHandler {
         }
     }
 
-    private boolean isCreatedByFilter(NLPEntityProcessor.EntityFilter filter) {
+    private boolean isCreatedByFilter(EntityFilter filter) {
         if (filter == null)
             return false;
 
@@ -4097,7 +4095,7 @@ public class NLPUserActionHandler {
         try {
             // Extract contract number from filters
             String contractNumber = null;
-            for (NLPEntityProcessor.EntityFilter filter : queryResult.entities) {
+            for (EntityFilter filter : queryResult.entities) {
                 if (filter.attribute.equals("AWARD_NUMBER") || filter.attribute.equals("CONTRACT_NUMBER")) {
                     contractNumber = filter.value;
                     break;
@@ -4201,7 +4199,7 @@ public class NLPUserActionHandler {
      * For CONTRACTS table: AWARD_NUMBER is the contract number column
      * For FAILED_PARTS table: CONTRACT_NO is the contract number column
      */
-    private boolean hasContractNumberInFilters(List<NLPEntityProcessor.EntityFilter> filters) {
+    private boolean hasContractNumberInFilters(List<EntityFilter> filters) {
         return hasContractNumberInFilters(filters, "PARTS");
     }
 
@@ -4260,7 +4258,7 @@ public class NLPUserActionHandler {
      * @param tableType The table type ("PARTS", "CONTRACTS", "FAILED_PARTS")
      * @return true if contract number is found, false otherwise
      */
-    private boolean hasContractNumberInFilters(List<NLPEntityProcessor.EntityFilter> filters, String tableType) {
+    private boolean hasContractNumberInFilters(List<EntityFilter> filters, String tableType) {
         if (filters == null || filters.isEmpty()) {
             return false;
         }
@@ -4283,7 +4281,7 @@ public class NLPUserActionHandler {
             contractNumberColumn = "LOADED_CP_NUMBER";
         }
 
-        for (NLPEntityProcessor.EntityFilter filter : filters) {
+        for (EntityFilter filter : filters) {
             // Check if the filter attribute matches the contract number column for the specific table
             if (filter.attribute.equals(contractNumberColumn)) {
                 return true;
@@ -4437,7 +4435,7 @@ public class NLPUserActionHandler {
     /**
      * Handle customer queries
      */
-    private String handleCustomerQuery(List<NLPEntityProcessor.EntityFilter> filters, List<String> displayEntities,
+    private String handleCustomerQuery(List<EntityFilter> filters, List<String> displayEntities,
                                        String userInput) {
         try {
             // Extract customer number from user input
@@ -4447,9 +4445,9 @@ public class NLPUserActionHandler {
             List<String> specificColumns = determineSpecificCustomerColumns(userInput);
 
             // Create filters for customer number if available
-            List<NLPEntityProcessor.EntityFilter> customerFilters = new ArrayList<>();
+            List<EntityFilter> customerFilters = new ArrayList<>();
             if (customerNumber != null && !customerNumber.isEmpty()) {
-                customerFilters.add(new NLPEntityProcessor.EntityFilter("CUSTOMER_NO", "=", customerNumber,
+                customerFilters.add(new EntityFilter("CUSTOMER_NO", "=", customerNumber,
                                                                         "extracted"));
             }
 
@@ -4471,7 +4469,7 @@ public class NLPUserActionHandler {
     /**
      * Extract customer number from user input or filters
      */
-    private String extractCustomerNumberFromInput(String userInput, List<NLPEntityProcessor.EntityFilter> filters) {
+    private String extractCustomerNumberFromInput(String userInput, List<EntityFilter> filters) {
         // First try to extract from user input using regex
         java.util.regex.Pattern pattern = java.util
                                               .regex
@@ -4484,7 +4482,7 @@ public class NLPUserActionHandler {
 
         // If not found in input, try filters
         if (filters != null) {
-            for (NLPEntityProcessor.EntityFilter filter : filters) {
+            for (EntityFilter filter : filters) {
                 if (filter.attribute.equals("CUSTOMER_NO") || filter.attribute.equals("CUST_ID") ||
                     filter.attribute.matches("\\d{4,8}")) {
                     return filter.value;
@@ -4620,7 +4618,7 @@ public class NLPUserActionHandler {
     /**
      * Handle contract creation flow with enhanced intent classification
      */
-    private String handleContractCreationQuery(List<NLPEntityProcessor.EntityFilter> filters,
+    private String handleContractCreationQuery(List<EntityFilter> filters,
                                                List<String> displayEntities, String userInput) {
         try {
             // Classify the intent
@@ -4643,7 +4641,7 @@ public class NLPUserActionHandler {
     /**
      * Enhanced automated contract creation with conversational flow
      */
-    private String handleAutomatedContractCreation(List<NLPEntityProcessor.EntityFilter> filters,
+    private String handleAutomatedContractCreation(List<EntityFilter> filters,
                                                    List<String> displayEntities, String userInput) {
         try {
             // Extract account number from input
@@ -4927,21 +4925,7 @@ public class NLPUserActionHandler {
      * Validate customer account number
      */
     public boolean validateCustomer(String accountNumber) {
-        
-        try {
-            // Call BCCTChatBotAppModuleImpl to validate customer
-            // This should be implemented in the Model layer
-            Map<String, Object> inputParams = new HashMap<>();
-            inputParams.put("actionType", "validate_customer");
-            inputParams.put("customerNumber", accountNumber);
-
-            // For now, return true (implement actual validation)
-            return false;
-
-        } catch (Exception e) {
-            return false;
-        }
-        //return false;
+        return isCustomerNumberValid(accountNumber);
     }
 
     /**
@@ -5359,8 +5343,8 @@ public class NLPUserActionHandler {
     private String handleSuccessfulContractCreation(String contractNumber) {
         try {
             // Create filters for the new contract
-            List<NLPEntityProcessor.EntityFilter> filters = new ArrayList<>();
-            filters.add(new NLPEntityProcessor.EntityFilter("AWARD_NUMBER", "=", contractNumber, "extracted"));
+            List<EntityFilter> filters = new ArrayList<>();
+            filters.add(new EntityFilter("AWARD_NUMBER", "=", contractNumber, "extracted"));
 
             // Prepare input parameters to get contract details
             Map<String, Object> inputParams = new HashMap<>();
@@ -5454,9 +5438,9 @@ public class NLPUserActionHandler {
             System.out.println("DEBUG: Generated SQL: " + sqlQuery);
 
             // Create filters for the query
-            List<NLPEntityProcessor.EntityFilter> filters = new ArrayList<>();
-            filters.add(new NLPEntityProcessor.EntityFilter("INVOICE_PART_NUMBER", "=", partNumber, "extracted"));
-            filters.add(new NLPEntityProcessor.EntityFilter("LOADED_CP_NUMBER", "=", contractNumber, "extracted"));
+            List<EntityFilter> filters = new ArrayList<>();
+            filters.add(new EntityFilter("INVOICE_PART_NUMBER", "=", partNumber, "extracted"));
+            filters.add(new EntityFilter("LOADED_CP_NUMBER", "=", contractNumber, "extracted"));
 
             // Create display entities for lead time
             List<String> displayEntities = new ArrayList<>();
@@ -5714,18 +5698,48 @@ public class NLPUserActionHandler {
                 return false;
             }
 
-            OperationBinding binding = BCCTChatBotUtility.findOperationBinding("pullCustomerDetails");
-            binding.getParamsMap().put("customerNumber", accountNo);
-            Map result = (Map) binding.execute();
-            System.out.println("result for pullCustomerDetails==============>"+result);
-            return (Boolean)result.get("exists");
-
+            // Known and unknown numbers are answered from the customer cache
+            return CustomerCache.getInstance().isValid(accountNo, CUSTOMER_SOURCE);
 
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * Details of an active customer (CUSTOMER_NAME, SALES_OWNER, ...), or null if unknown or inactive
+     */
+    public Map<String, Object> getCustomerDetails(String accountNo) {
+        try {
+            return CustomerCache.getInstance().getCustomer(accountNo, CUSTOMER_SOURCE);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Validate several account numbers at once - one database query for the numbers not cached
+     * @return account number -> valid, in input order
+     */
+    public Map<String, Boolean> validateCustomerNumbers(List<String> accountNumbers) {
+        List<String> wellFormed = new ArrayList<>();
+        Map<String, Boolean> validity = new java.util.LinkedHashMap<>();
+        for (String accountNo : accountNumbers) {
+            if (accountNo != null && accountNo.trim().matches("\\d{7,}")) {
+                wellFormed.add(accountNo.trim());
+            }
+            if (accountNo != null) {
+                validity.put(accountNo.trim(), false);
+            }
+        }
+        try {
+            validity.putAll(CustomerCache.getInstance().validateAll(wellFormed, CUSTOMER_SOURCE));
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return validity;
+    }
+
 
     /**
      * CRITICAL BUSINESS RULE: Validate contract number for parts queries
@@ -5735,7 +5749,7 @@ public class NLPUserActionHandler {
     private String validatePartsQueryContractNumber(NLPEntityProcessor.QueryResult queryResult) {
         String queryType = queryResult.getQueryType();
         String actionType = queryResult.getActionType();
-        List<NLPEntityProcessor.EntityFilter> filters = queryResult.entities;
+        List<EntityFilter> filters = queryResult.entities;
 
         // Check if this is a parts-related query
         boolean isPartsQuery =
@@ -5749,7 +5763,7 @@ public class NLPUserActionHandler {
         boolean hasContractNumber = false;
         String contractNumber = null;
 
-        for (NLPEntityProcessor.EntityFilter filter : filters) {
+        for (EntityFilter filter : filters) {
             if ("CONTRACT_NO".equals(filter.attribute) || "LOADED_CP_NUMBER".equals(filter.attribute) ||
                 "AWARD_NUMBER".equals(filter.attribute)) {
                 hasContractNumber = true;
@@ -5790,60 +5804,7 @@ public class NLPUserActionHandler {
         if (dataRows == null || dataRows.isEmpty() || displayEntities == null || displayEntities.isEmpty()) {
             return "<p>No data to display</p>";
         }
-        StringBuilder response = new StringBuilder();
-        response.append("<pre><small>");
-        // Header row
-        response.append("<b>");
-        for (String entity : displayEntities) {
-            String displayName = getDisplayName(entity);
-            response.append(String.format("%-20s ", truncateString(displayName, 18)));
-        }
-        response.append("</b><br>");
-        // Separator line
-        int totalWidth = displayEntities.size() * 21;
-        response.append(repeatString("=", totalWidth)).append("<br>");
-        // Data rows
-        for (Map<String, Object> row : dataRows) {
-            if (row != null) {
-                for (String entity : displayEntities) {
-                    Object valueObj = row.get(entity);
-                    String value = valueObj != null ? valueObj.toString() : "N/A";
-                    value = truncateString(value, 18);
-                    response.append(String.format("%-20s ", value));
-                }
-                response.append("<br>");
-            }
-        }
-        // Bottom separator
-        response.append(repeatString("=", totalWidth));
-        response.append("</small></pre>");
-        return response.toString();
-    }
-
-    private String escapeHtml(String input) {
-        if (input == null)
-            return "N/A";
-        return input.replace("&", "&amp;")
-                    .replace("<", "&lt;")
-                    .replace(">", "&gt;")
-                    .replace("\"", "&quot;")
-                    .replace("'", "&#39;");
-    }
-
-    private String truncateString(String str, int maxLength) {
-        if (str == null)
-            return "N/A";
-        if (str.length() <= maxLength)
-            return str;
-        return str.substring(0, maxLength - 3) + "...";
-    }
-
-    private String repeatString(String str, int count) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < count; i++) {
-            sb.append(str);
-        }
-        return sb.toString();
+        return compileRenderer(ResultHtmlRenderer.Style.TABULAR, displayEntities).render(dataRows);
     }
 
     /**
@@ -5936,32 +5897,25 @@ public class NLPUserActionHandler {
         System.out.println("handlePartsCountAction================>");
         
         try {
-            // Build SQL query for total parts count
-            String sqlQuery = "SELECT COUNT(*) as TOTAL_PARTS " +
-                            "FROM " + TABLE_CONFIG.getTableName(TableColumnConfig.TABLE_PARTS);
-            
-            // Execute query using existing utility
-            OperationBinding operationBind = BCCTChatBotUtility.findOperationBinding("executeDynamicQuery");
-            operationBind.getParamsMap().put("sqlQuery", sqlQuery);
-            operationBind.getParamsMap().put("paramValues", new String[0]);
-            operationBind.getParamsMap().put("paramTypes", new String[0]);
+            // Total parts count - COUNT(*) in the database, only the number comes back
+            OperationBinding operationBind = BCCTChatBotUtility.findOperationBinding("executeAggregateNLPQuery");
+            operationBind.getParamsMap().put("actionType", "parts_by_filter");
+            operationBind.getParamsMap().put("filterAttributes", new String[0]);
+            operationBind.getParamsMap().put("filterOperations", new String[0]);
+            operationBind.getParamsMap().put("filterValues", new String[0]);
+            operationBind.getParamsMap().put("filterTypes", new String[0]);
+            operationBind.getParamsMap().put("aggregate", "COUNT");
+            operationBind.getParamsMap().put("aggregateColumn", null);
+            operationBind.getParamsMap().put("groupByColumn", null);
             
             Map<String, Object> result = (Map<String, Object>) operationBind.execute();
             System.out.println("Parts Count Result: " + result);
             
             if (!(Boolean) result.get("success")) {
-                return "<p><b>Error:</b> " + result.get("message") + "</p>";
-            }
-            
-            List<Map<String, Object>> dataRows = (List<Map<String, Object>>) result.get("rows");
-            
-            if (dataRows == null || dataRows.isEmpty()) {
-                return "<p><i>No parts data available.</i></p>";
+                return "<p><b>Error:</b> " + result.get("error") + "</p>";
             }
             
-            // Extract count from first row
-            Map<String, Object> firstRow = dataRows.get(0);
-            Object totalParts = firstRow.get("TOTAL_PARTS");
+            Object totalParts = result.get("value");
             
             return "<div style='text-align: center; padding: 20px;'>" +
                    "<h3>Total Parts Loaded</h3>" +
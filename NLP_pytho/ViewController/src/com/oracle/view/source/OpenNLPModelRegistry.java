@@ -0,0 +1,232 @@
+package com.oracle.view.source;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import opennlp.tools.namefind.NameFinderME;
+import opennlp.tools.namefind.TokenNameFinderModel;
+import opennlp.tools.postag.POSModel;
+import opennlp.tools.postag.POSTaggerME;
+import opennlp.tools.tokenize.TokenizerME;
+import opennlp.tools.tokenize.TokenizerModel;
+
+/**
+ * Process-wide OpenNLP model registry
+ *
+ * OpenNLP models (TokenizerModel, POSModel, TokenNameFinderModel) are immutable and thread-safe,
+ * but the ME runtimes built on them (TokenizerME, POSTaggerME, NameFinderME) are not.
+ * This registry deserializes each model file once per JVM and hands out thread-confined ME
+ * instances, so request threads can tokenize/tag/find names concurrently without locking.
+ *
+ * MODEL LOOKUP (first match wins):
+ * 1. Directory from the -Dnlp.model.path system property
+ * 2. Directory from the NLP_MODEL_PATH environment variable
+ * 3. Classpath resource /models/<file>
+ * 4. DEFAULT_MODEL_PATH
+ *
+ * A model that cannot be found or fails to load is remembered as missing and the getters return
+ * null for it, so callers keep their existing fallback tokenization.
+ */
+public class OpenNLPModelRegistry {
+
+    // English models
+    public static final String EN_TOKEN = "en-token.bin";
+    public static final String EN_POS = "en-pos-maxent.bin";
+    public static final String EN_NER_PERSON = "en-ner-person.bin";
+    public static final String EN_NER_ORGANIZATION = "en-ner-organization.bin";
+    public static final String EN_NER_CONTRACT_NUMBER = "en-ner-contractnumber.bin";
+    public static final String EN_NER_CUSTOMER_NAME = "en-ner-customername.bin";
+
+    // Spanish models
+    public static final String ES_TOKEN = "es-token.bin";
+    public static final String ES_POS = "es-pos-perceptron.bin";
+    public static final String ES_NER_PERSON = "es-ner-person.bin";
+    public static final String ES_NER_ORGANIZATION = "es-ner-organization.bin";
+
+    public static final String MODEL_PATH_PROPERTY = "nlp.model.path";
+    public static final String MODEL_PATH_ENV = "NLP_MODEL_PATH";
+    public static final String DEFAULT_MODEL_PATH = "F:\\GitHub_VinodLearning\\NLPTEST\\NLP\\NLPMachineDesignApp\\models\\";
+    private static final String CLASSPATH_MODEL_DIR = "/models/";
+
+    // Marker for a model that was looked up and is not available
+    private static final Object MISSING = new Object();
+
+    private static volatile OpenNLPModelRegistry instance;
+
+    private final String modelPath;
+    // File name -> loaded model (or MISSING); each file is deserialized at most once
+    private final Map<String, Object> models = new ConcurrentHashMap<>();
+    // Per thread, file name -> ME instance built on the shared model
+    private final ThreadLocal<Map<String, Object>> threadInstances = new ThreadLocal<Map<String, Object>>() {
+        @Override
+        protected Map<String, Object> initialValue() {
+            return new HashMap<>();
+        }
+    };
+
+    private OpenNLPModelRegistry(String modelPath) {
+        this.modelPath = modelPath;
+    }
+
+    /**
+     * Get singleton instance
+     */
+    public static OpenNLPModelRegistry getInstance() {
+        if (instance == null) {
+            synchronized (OpenNLPModelRegistry.class) {
+                if (instance == null) {
+                    instance = new OpenNLPModelRegistry(resolveModelPath());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static String resolveModelPath() {
+        String path = System.getProperty(MODEL_PATH_PROPERTY);
+        if (path == null || path.trim().isEmpty()) {
+            path = System.getenv(MODEL_PATH_ENV);
+        }
+        if (path == null || path.trim().isEmpty()) {
+            return null;
+        }
+        path = path.trim();
+        return path.endsWith(File.separator) || path.endsWith("/") ? path : path + File.separator;
+    }
+
+    /**
+     * Configured model directory, or null when models come from the classpath/default location
+     */
+    public String getModelPath() {
+        return modelPath;
+    }
+
+    /**
+     * Thread-confined tokenizer for the given model file, or null if the model is unavailable
+     */
+    public TokenizerME getTokenizer(String modelFile) {
+        TokenizerModel model = getModel(modelFile, TokenizerModel.class);
+        if (model == null) {
+            return null;
+        }
+        Map<String, Object> local = threadInstances.get();
+        TokenizerME tokenizer = (TokenizerME) local.get(modelFile);
+        if (tokenizer == null) {
+            tokenizer = new TokenizerME(model);
+            local.put(modelFile, tokenizer);
+        }
+        return tokenizer;
+    }
+
+    /**
+     * Thread-confined POS tagger for the given model file, or null if the model is unavailable
+     */
+    public POSTaggerME getPosTagger(String modelFile) {
+        POSModel model = getModel(modelFile, POSModel.class);
+        if (model == null) {
+            return null;
+        }
+        Map<String, Object> local = threadInstances.get();
+        POSTaggerME tagger = (POSTaggerME) local.get(modelFile);
+        if (tagger == null) {
+            tagger = new POSTaggerME(model);
+            local.put(modelFile, tagger);
+        }
+        return tagger;
+    }
+
+    /**
+     * Thread-confined name finder for the given model file, or null if the model is unavailable.
+     * Callers that treat each input as a separate document should call clearAdaptiveData() after use.
+     */
+    public NameFinderME getNameFinder(String modelFile) {
+        TokenNameFinderModel model = getModel(modelFile, TokenNameFinderModel.class);
+        if (model == null) {
+            return null;
+        }
+        Map<String, Object> local = threadInstances.get();
+        NameFinderME finder = (NameFinderME) local.get(modelFile);
+        if (finder == null) {
+            finder = new NameFinderME(model);
+            local.put(modelFile, finder);
+        }
+        return finder;
+    }
+
+    private <M> M getModel(String modelFile, Class<M> modelType) {
+        Object model = models.get(modelFile);
+        if (model == null) {
+            // computeIfAbsent blocks concurrent callers for the same file, so a model is deserialized once
+            model = models.computeIfAbsent(modelFile, name -> readModel(name, modelType));
+        }
+        if (model == MISSING) {
+            return null;
+        }
+        if (!modelType.isInstance(model)) {
+            System.err.println("[OpenNLP] Model " + modelFile + " is not a " + modelType.getSimpleName());
+            return null;
+        }
+        return modelType.cast(model);
+    }
+
+    private Object readModel(String modelFile, Class<?> modelType) {
+        InputStream in = openModel(modelFile);
+        if (in == null) {
+            System.err.println("[OpenNLP] Model file not found: " + modelFile);
+            return MISSING;
+        }
+        try {
+            Object model;
+            if (modelType == TokenizerModel.class) {
+                model = new TokenizerModel(in);
+            } else if (modelType == POSModel.class) {
+                model = new POSModel(in);
+            } else {
+                model = new TokenNameFinderModel(in);
+            }
+            System.out.println("[OpenNLP] Loaded model " + modelFile);
+            return model;
+        } catch (IOException e) {
+            System.err.println("[OpenNLP] Failed to load model " + modelFile + ": " + e.getMessage());
+            return MISSING;
+        } finally {
+            try {
+                in.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    private InputStream openModel(String modelFile) {
+        if (modelPath != null) {
+            InputStream in = openFile(modelPath + modelFile);
+            if (in != null) {
+                return in;
+            }
+        }
+        InputStream in = OpenNLPModelRegistry.class.getResourceAsStream(CLASSPATH_MODEL_DIR + modelFile);
+        if (in != null) {
+            return in;
+        }
+        return openFile(DEFAULT_MODEL_PATH + modelFile);
+    }
+
+    private static InputStream openFile(String fullPath) {
+        File file = new File(fullPath);
+        if (!file.isFile() || !file.canRead() || file.length() == 0) {
+            return null;
+        }
+        try {
+            return new FileInputStream(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -70,13 +70,13 @@ public class OpportunitiesProcessor {
     /**
      * Extract filter entities
      */
-    private List<NLPQueryClassifier.EntityFilter> extractEntities(String originalInput, String correctedInput, HeaderInfo headerInfo) {
-        List<NLPQueryClassifier.EntityFilter> entities = new ArrayList<>();
+    private List<EntityFilter> extractEntities(String originalInput, String correctedInput, HeaderInfo headerInfo) {
+        List<EntityFilter> entities = new ArrayList<>();
         if (headerInfo.header.opportunityNumber != null) {
-            entities.add(new NLPQueryClassifier.EntityFilter("OPPORTUNITY_NUMBER", "=", headerInfo.header.opportunityNumber, "extracted"));
+            entities.add(new EntityFilter("OPPORTUNITY_NUMBER", "=", headerInfo.header.opportunityNumber, "extracted"));
         }
         if (headerInfo.header.opportunityName != null) {
-            entities.add(new NLPQueryClassifier.EntityFilter("OPPORTUNITY_NAME", "=", headerInfo.header.opportunityName, "extracted"));
+            entities.add(new EntityFilter("OPPORTUNITY_NAME", "=", headerInfo.header.opportunityName, "extracted"));
         }
         return entities;
     }
@@ -104,10 +104,10 @@ public class OpportunitiesProcessor {
     /**
      * Validate input
      */
-    private List<NLPQueryClassifier.ValidationError> validateInput(HeaderInfo headerInfo, List<NLPQueryClassifier.EntityFilter> entities) {
-        List<NLPQueryClassifier.ValidationError> errors = new ArrayList<>();
+    private List<ValidationError> validateInput(HeaderInfo headerInfo, List<EntityFilter> entities) {
+        List<ValidationError> errors = new ArrayList<>();
         if (headerInfo.header.opportunityNumber == null && headerInfo.header.opportunityName == null) {
-            errors.add(new NLPQueryClassifier.ValidationError("MISSING_IDENTIFIER", "Please provide an opportunity number or opportunity name", "WARNING"));
+            errors.add(new ValidationError("MISSING_IDENTIFIER", "Please provide an opportunity number or opportunity name", "WARNING"));
         }
         return errors;
     }
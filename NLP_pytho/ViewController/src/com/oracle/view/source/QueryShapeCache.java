@@ -0,0 +1,425 @@
+package com.oracle.view.source;
+
+import java.time.LocalDate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Template ("shape") cache for query classification
+ *
+ * Most queries are the same sentence with different identifiers ("parts for contract 123456",
+ * "parts for contract 654321"). The identifiers are masked into typed slots before lookup:
+ *   <CONTRACT6>        6-digit contract number
+ *   <CUSTOMER7+:n>     customer/account number of n digits
+ *   <YEAR:cc>          year in century cc (19xx / 20xx)
+ *   <PART:signature>   part number, signature = letter case/digit layout (AE12345 -> AA99999)
+ * Slot types keep the properties the classifiers actually branch on (length, layout, century),
+ * so inputs with the same shape are classified the same way.
+ *
+ * On a hit the cached result is reused and only the identifier values are substituted into the
+ * filters, header and input tracking. A new template is first checked against full classification
+ * on REQUIRED_VERIFICATIONS inputs with other values; a template whose substituted result ever
+ * differs from the real one is never served from the cache. Entries also expire at the end of the
+ * day, since some filters ("expiring next month") depend on the current date.
+ *
+ * USAGE:
+ * - new QueryShapeCache<>(maximumSize, expireAfterWriteMillis, binder) with a Binder that knows how
+ *   to copy the result type with substituted values and compare two results; a FieldBinder only
+ *   needs the copy, written against Values, and gets the comparison for free
+ * - resolve(input, compute) returns the cached shape result or compute.apply(input)
+ *
+ * All methods are thread-safe.
+ */
+public class QueryShapeCache<R> {
+
+    public static final int REQUIRED_VERIFICATIONS = 2;
+
+    // Part numbers (AE12345, A12345678, AE1337-ERT, ABC-123456) or a bare run of digits
+    private static final Pattern SLOT_PATTERN =
+        Pattern.compile("\\b(?:([A-Za-z]{1,4}\\d{3,8}(?:-[A-Za-z0-9]{2,4})?|[A-Za-z]{3,4}-\\d{3,6})|(\\d+))\\b");
+    private static final Pattern YEAR_PATTERN = Pattern.compile("(19|20)\\d{2}");
+
+    private final BoundedCache<String, Template<R>> templates;
+    private final Binder<R> binder;
+
+    private final AtomicLong shapeHits = new AtomicLong();
+    private final AtomicLong newTemplates = new AtomicLong();
+    private final AtomicLong verifications = new AtomicLong();
+    private final AtomicLong rejectedTemplates = new AtomicLong();
+    private final AtomicLong uncacheable = new AtomicLong();
+
+    public QueryShapeCache(int maximumSize, long expireAfterWriteMillis, Binder<R> binder) {
+        this.templates = new BoundedCache<>(maximumSize, expireAfterWriteMillis);
+        this.binder = binder;
+    }
+
+    /**
+     * Result for input, reusing the cached result of an input with the same shape when possible
+     */
+    public R resolve(String input, Function<String, R> compute) {
+        long startTime = System.nanoTime();
+        Shape shape = input == null ? null : shapeOf(input);
+        if (shape == null || !shape.cacheable) {
+            uncacheable.incrementAndGet();
+            return compute.apply(input);
+        }
+
+        long today = LocalDate.now().toEpochDay();
+        Template<R> template = templates.get(shape.template);
+        if (template != null && template.epochDay != today) {
+            templates.invalidate(shape.template);
+            template = null;
+        }
+        if (template == null) {
+            R result = compute.apply(input);
+            if (result != null && binder.isCacheable(result)) {
+                // Keep a private copy so callers cannot modify the cached result
+                templates.put(shape.template,
+                              new Template<>(binder.rebind(result, Collections.<String, String>emptyMap()), shape.values, today));
+                newTemplates.incrementAndGet();
+            }
+            return result;
+        }
+        if (template.rejected) {
+            return compute.apply(input);
+        }
+
+        Map<String, String> replacements = replacements(template.values, shape.values);
+        if (template.verifications.get() >= REQUIRED_VERIFICATIONS) {
+            shapeHits.incrementAndGet();
+            R result = binder.rebind(template.result, replacements);
+            binder.recordTime(result, System.nanoTime() - startTime);
+            return result;
+        }
+
+        // Not yet trusted: classify for real and check that substitution gives the same answer
+        R actual = compute.apply(input);
+        if (!replacements.isEmpty() && actual != null) {
+            if (binder.sameResult(binder.rebind(template.result, replacements), actual)) {
+                template.verifications.incrementAndGet();
+                verifications.incrementAndGet();
+            } else {
+                template.rejected = true;
+                rejectedTemplates.incrementAndGet();
+            }
+        }
+        return actual;
+    }
+
+    public void clear() {
+        templates.invalidateAll();
+    }
+
+    /**
+     * Shape hits, templates learned/rejected and the underlying cache counters
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>(templates.getStatistics());
+        stats.put("shapeHits", shapeHits.get());
+        stats.put("newTemplates", newTemplates.get());
+        stats.put("verifications", verifications.get());
+        stats.put("rejectedTemplates", rejectedTemplates.get());
+        stats.put("uncacheable", uncacheable.get());
+        return stats;
+    }
+
+    /**
+     * Mask the identifiers in input into typed slots
+     */
+    public static Shape shapeOf(String input) {
+        StringBuilder template = new StringBuilder(input.length());
+        List<String> values = new ArrayList<>();
+        Matcher matcher = SLOT_PATTERN.matcher(input);
+        int last = 0;
+        while (matcher.find()) {
+            String slot = slotType(matcher.group(1), matcher.group(2));
+            if (slot == null) {
+                continue;
+            }
+            appendLiteral(template, input, last, matcher.start());
+            template.append(slot);
+            values.add(matcher.group());
+            last = matcher.end();
+        }
+        appendLiteral(template, input, last, input.length());
+        return new Shape(template.toString(), values.toArray(new String[values.size()]),
+                         isUnambiguous(input, values));
+    }
+
+    /**
+     * Replace every occurrence of a key in one left-to-right pass, longest key first, so a
+     * replacement is never substituted again
+     */
+    public static String substitute(String text, Map<String, String> replacements) {
+        if (text == null || replacements.isEmpty()) {
+            return text;
+        }
+        StringBuilder out = null;
+        int i = 0;
+        int copied = 0;
+        while (i < text.length()) {
+            Map.Entry<String, String> match = null;
+            for (Map.Entry<String, String> replacement : replacements.entrySet()) {
+                String key = replacement.getKey();
+                if (text.startsWith(key, i) && (match == null || key.length() > match.getKey().length())) {
+                    match = replacement;
+                }
+            }
+            if (match == null) {
+                i++;
+                continue;
+            }
+            if (out == null) {
+                out = new StringBuilder(text.length() + 16);
+            }
+            out.append(text, copied, i).append(match.getValue());
+            i += match.getKey().length();
+            copied = i;
+        }
+        if (out == null) {
+            return text;
+        }
+        return out.append(text, copied, text.length()).toString();
+    }
+
+    private static String slotType(String part, String digits) {
+        if (part != null) {
+            // CRF numbers are opportunities, not parts
+            if (part.regionMatches(true, 0, "CRF", 0, 3)) {
+                return null;
+            }
+            StringBuilder signature = new StringBuilder("<PART:");
+            for (int i = 0; i < part.length(); i++) {
+                char c = part.charAt(i);
+                signature.append(Character.isDigit(c) ? '9' : Character.isUpperCase(c) ? 'A' : Character.isLowerCase(c) ? 'a' : c);
+            }
+            return signature.append('>').toString();
+        }
+        if (digits.length() == 6) {
+            return "<CONTRACT6>";
+        }
+        if (digits.length() >= 7) {
+            return "<CUSTOMER7+:" + digits.length() + ">";
+        }
+        if (YEAR_PATTERN.matcher(digits).matches()) {
+            return "<YEAR:" + digits.substring(0, 2) + ">";
+        }
+        return null;
+    }
+
+    private static void appendLiteral(StringBuilder template, String input, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            // Escape '<' so literal text can never look like a slot
+            template.append(c);
+            if (c == '<') {
+                template.append('<');
+            }
+        }
+    }
+
+    /**
+     * Substitution is only safe when each value can be found unambiguously: no repeated values,
+     * no value inside another one and no value inside the surrounding text
+     */
+    private static boolean isUnambiguous(String input, List<String> values) {
+        if (values.isEmpty()) {
+            return true;
+        }
+        String lowerInput = input.toLowerCase();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).toLowerCase();
+            for (int j = 0; j < values.size(); j++) {
+                if (i != j && values.get(j).toLowerCase().contains(value)) {
+                    return false;
+                }
+            }
+            int first = lowerInput.indexOf(value);
+            if (first >= 0 && lowerInput.indexOf(value, first + 1) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, String> replacements(String[] oldValues, String[] newValues) {
+        List<String[]> pairs = new ArrayList<>();
+        for (int i = 0; i < oldValues.length; i++) {
+            String oldValue = oldValues[i];
+            String newValue = newValues[i];
+            if (oldValue.equals(newValue)) {
+                continue;
+            }
+            pairs.add(new String[] { oldValue, newValue });
+            // Classifiers upper- or lower-case part numbers; slots with the same signature map case for case
+            if (!oldValue.toUpperCase().equals(oldValue)) {
+                pairs.add(new String[] { oldValue.toUpperCase(), newValue.toUpperCase() });
+            }
+            if (!oldValue.toLowerCase().equals(oldValue)) {
+                pairs.add(new String[] { oldValue.toLowerCase(), newValue.toLowerCase() });
+            }
+        }
+        if (pairs.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Collections.sort(pairs, new Comparator<String[]>() {
+            @Override
+            public int compare(String[] a, String[] b) {
+                return Integer.compare(b[0].length(), a[0].length());
+            }
+        });
+        Map<String, String> replacements = new LinkedHashMap<>();
+        for (String[] pair : pairs) {
+            if (!replacements.containsKey(pair[0])) {
+                replacements.put(pair[0], pair[1]);
+            }
+        }
+        return replacements;
+    }
+
+    /**
+     * Copies and compares results of one classifier family
+     */
+    public interface Binder<R> {
+        /**
+         * Independent copy of result with every replacement key substituted in its values
+         */
+        R rebind(R result, Map<String, String> replacements);
+
+        /**
+         * True when both results describe the same classification (timings are ignored)
+         */
+        boolean sameResult(R a, R b);
+
+        /**
+         * False for results that must not become a template (e.g. error results)
+         */
+        default boolean isCacheable(R result) {
+            return true;
+        }
+
+        /**
+         * Called on a shape hit with the time spent resolving it; the rebound result still carries
+         * the template's timing
+         */
+        default void recordTime(R result, long elapsedNanos) {
+        }
+    }
+
+    /**
+     * Binder built from a single field-by-field copy of the result type
+     *
+     * copy() reads every field through Values: id() for fields that may hold an identifier, keep()
+     * for the rest and present() before optional parts and collections. rebind() runs the copy
+     * with substitution; sameResult() runs it on both results with recording Values and compares
+     * what was read. Fields read directly (timings) take no part in the comparison.
+     */
+    public abstract static class FieldBinder<R> implements Binder<R> {
+
+        protected abstract R copy(R result, Values values);
+
+        @Override
+        public R rebind(R result, Map<String, String> replacements) {
+            return copy(result, new Values(replacements, null));
+        }
+
+        @Override
+        public boolean sameResult(R a, R b) {
+            List<Object> fieldsA = new ArrayList<>();
+            List<Object> fieldsB = new ArrayList<>();
+            copy(a, new Values(Collections.<String, String>emptyMap(), fieldsA));
+            copy(b, new Values(Collections.<String, String>emptyMap(), fieldsB));
+            return fieldsA.equals(fieldsB);
+        }
+    }
+
+    /**
+     * Field access for FieldBinder.copy - substitutes identifier values and/or records what was read
+     */
+    public static final class Values {
+        private final Map<String, String> replacements;
+        private final List<Object> recorded;
+
+        Values(Map<String, String> replacements, List<Object> recorded) {
+            this.replacements = replacements;
+            this.recorded = recorded;
+        }
+
+        /**
+         * Field that may contain an identifier value
+         */
+        public String id(String value) {
+            return keep(substitute(value));
+        }
+
+        /**
+         * Identifier value that is compared as part of an enclosing keep()
+         */
+        public String substitute(String value) {
+            return QueryShapeCache.substitute(value, replacements);
+        }
+
+        /**
+         * Field copied as is
+         */
+        public <T> T keep(T value) {
+            if (recorded != null) {
+                recorded.add(value);
+            }
+            return value;
+        }
+
+        /**
+         * True when an optional part is set; collections also record their size
+         */
+        public boolean present(Object part) {
+            if (recorded != null) {
+                recorded.add(part == null ? null :
+                             part instanceof Collection ? ((Collection<?>) part).size() :
+                             part instanceof Map ? ((Map<?, ?>) part).size() : Boolean.TRUE);
+            }
+            return part != null;
+        }
+    }
+
+    /**
+     * Input with identifiers masked - the template text and the masked values in order
+     */
+    public static class Shape {
+        public final String template;
+        public final String[] values;
+        public final boolean cacheable;
+
+        Shape(String template, String[] values, boolean cacheable) {
+            this.template = template;
+            this.values = values;
+            this.cacheable = cacheable;
+        }
+    }
+
+    private static class Template<R> {
+        final R result;
+        final String[] values;
+        final long epochDay;
+        final AtomicInteger verifications = new AtomicInteger();
+        volatile boolean rejected;
+
+        Template(R result, String[] values, long epochDay) {
+            this.result = result;
+            this.values = values;
+            this.epochDay = epochDay;
+        }
+    }
+}
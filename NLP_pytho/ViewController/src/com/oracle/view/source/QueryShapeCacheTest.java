@@ -0,0 +1,118 @@
+package com.oracle.view.source;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test class to verify QueryShapeCache template verification and trust
+ */
+public class QueryShapeCacheTest {
+
+    private static int passed;
+    private static int failed;
+
+    public static void main(String[] args) {
+        System.out.println("=== QueryShapeCache Test ===\n");
+
+        testTrustAfterVerifications();
+        testRejectedTemplate();
+        testUncacheableResult();
+
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Passed: " + passed + ", Failed: " + failed);
+    }
+
+    private static void testTrustAfterVerifications() {
+        System.out.println("--- Test 1: Template Trusted After " + QueryShapeCache.REQUIRED_VERIFICATIONS + " Verifications ---");
+        QueryShapeCache<String> cache = new QueryShapeCache<>(100, 0, new StringBinder());
+        AtomicInteger computed = new AtomicInteger();
+        Function<String, String> classify = input -> {
+            computed.incrementAndGet();
+            return "PARTS:" + input;
+        };
+
+        cache.resolve("parts for contract 123456", classify);
+        check("first input of a shape is classified", computed.get() == 1);
+
+        cache.resolve("parts for contract 234567", classify);
+        cache.resolve("parts for contract 345678", classify);
+        check("unverified template is checked against full classification",
+              computed.get() == 1 + QueryShapeCache.REQUIRED_VERIFICATIONS);
+
+        String result = cache.resolve("parts for contract 456789", classify);
+        check("verified template answers without classifying",
+              computed.get() == 1 + QueryShapeCache.REQUIRED_VERIFICATIONS);
+        check("identifier is substituted into the cached result", "PARTS:parts for contract 456789".equals(result));
+        check("shape hit is counted", Long.valueOf(1).equals(cache.getStatistics().get("shapeHits")));
+    }
+
+    private static void testRejectedTemplate() {
+        System.out.println("\n--- Test 2: Template Rejected When Substitution Differs ---");
+        QueryShapeCache<String> cache = new QueryShapeCache<>(100, 0, new StringBinder());
+        AtomicInteger computed = new AtomicInteger();
+        // The classification depends on the value, so substitution cannot reproduce it
+        Function<String, String> classify = input -> {
+            computed.incrementAndGet();
+            return input.endsWith("123456") ? "CONTRACTS" : "PARTS";
+        };
+
+        cache.resolve("show contract 123456", classify);
+        cache.resolve("show contract 234567", classify);
+        for (int i = 0; i < 5; i++) {
+            cache.resolve("show contract 34567" + i, classify);
+        }
+        check("rejected template is never served", computed.get() == 7);
+        check("rejection is counted", Long.valueOf(1).equals(cache.getStatistics().get("rejectedTemplates")));
+    }
+
+    private static void testUncacheableResult() {
+        System.out.println("\n--- Test 3: Uncacheable Results Do Not Become Templates ---");
+        QueryShapeCache<String> cache = new QueryShapeCache<>(100, 0, new StringBinder());
+        AtomicInteger computed = new AtomicInteger();
+        Function<String, String> classify = input -> {
+            computed.incrementAndGet();
+            return "ERROR";
+        };
+
+        for (int i = 0; i < 5; i++) {
+            cache.resolve("contract 12345" + i, classify);
+        }
+        check("error result is classified every time", computed.get() == 5);
+        check("no template is learned", Long.valueOf(0).equals(cache.getStatistics().get("newTemplates")));
+    }
+
+    private static void check(String description, boolean condition) {
+        if (condition) {
+            passed++;
+            System.out.println("PASS: " + description);
+        } else {
+            failed++;
+            System.out.println("FAIL: " + description);
+        }
+    }
+
+    /**
+     * Binder for plain string results: substitution is a text replacement
+     */
+    private static class StringBinder implements QueryShapeCache.Binder<String> {
+        @Override
+        public String rebind(String result, Map<String, String> replacements) {
+            String rebound = result;
+            for (Map.Entry<String, String> replacement : replacements.entrySet()) {
+                rebound = rebound.replace(replacement.getKey(), replacement.getValue());
+            }
+            return rebound;
+        }
+
+        @Override
+        public boolean sameResult(String a, String b) {
+            return a.equals(b);
+        }
+
+        @Override
+        public boolean isCacheable(String result) {
+            return !"ERROR".equals(result);
+        }
+    }
+}
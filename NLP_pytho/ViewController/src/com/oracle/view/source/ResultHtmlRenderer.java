@@ -0,0 +1,310 @@
+package com.oracle.view.source;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * HTML renderer for query results with the layout compiled once per query
+ *
+ * Column display names, header, separators and the fixed markup around every value are built when
+ * the renderer is created; rendering a row only appends the values. Tabular cells are truncated and
+ * padded in place (no String.format), and output goes straight into the caller's Appendable.
+ *
+ * STYLES:
+ * - TABULAR       <pre> table, cells of CELL_WIDTH characters, values cut to CELL_TEXT ("..." suffix)
+ * - LINE_BY_LINE  one <p><b>Label:</b> value</p> per column, values HTML-escaped, records separated by <hr>
+ * - LABEL_VALUE   <h4>Record n</h4> with one "Label: value" line per column
+ *
+ * USAGE:
+ * - render(rows) for a list of rows, into a StringBuilder sized from the row count
+ * - open(out, numberRecords) then row(...) for each row and close() to stream rows from a cursor
+ *
+ * A renderer is immutable and may be shared; a RowWriter belongs to one response.
+ */
+public class ResultHtmlRenderer {
+
+    public static final int CELL_WIDTH = 20; // characters per tabular cell, followed by one space
+    public static final int CELL_TEXT = 18; // longer values are cut to CELL_TEXT - 3 characters + "..."
+
+    public enum Style {
+        TABULAR,
+        LINE_BY_LINE,
+        LABEL_VALUE
+    }
+
+    private static final String PADDING = repeat(' ', CELL_WIDTH + 1);
+
+    private final Style style;
+    private final String[] columns;
+    // Markup written before / after each value of a column
+    private final String[] prefixes;
+    private final String[] suffixes;
+    private final String header;
+    private final String footer;
+
+    private ResultHtmlRenderer(Style style, List<String> columns, Function<String, String> displayNames) {
+        this.style = style;
+        int count = columns != null ? columns.size() : 0;
+        this.columns = new String[count];
+        this.prefixes = new String[count];
+        this.suffixes = new String[count];
+        StringBuilder head = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String column = columns.get(i).trim();
+            String label = displayNames.apply(column);
+            this.columns[i] = column;
+            switch (style) {
+            case TABULAR:
+                appendCell(head, label);
+                break;
+            case LINE_BY_LINE:
+                prefixes[i] = "<p><b>" + label + ":</b> ";
+                suffixes[i] = "</p>";
+                break;
+            default:
+                prefixes[i] = "<b>" + label + ":</b> <span>";
+                suffixes[i] = "</span><br>";
+            }
+        }
+        if (style == Style.TABULAR) {
+            String separator = repeat('=', count * (CELL_WIDTH + 1));
+            this.header = "<pre><small><b>" + head + "</b><br>" + separator + "<br>";
+            this.footer = separator + "</small></pre>";
+        } else {
+            this.header = "";
+            this.footer = "";
+        }
+    }
+
+    /**
+     * Compile the layout for columns; displayNames maps a column to its label and is called once per column
+     */
+    public static ResultHtmlRenderer compile(Style style, List<String> columns,
+                                             Function<String, String> displayNames) {
+        return new ResultHtmlRenderer(style, columns, displayNames);
+    }
+
+    public static ResultHtmlRenderer compile(Style style, String[] columns, Function<String, String> displayNames) {
+        List<String> list = new ArrayList<>();
+        if (columns != null) {
+            for (String column : columns) {
+                list.add(column);
+            }
+        }
+        return new ResultHtmlRenderer(style, list, displayNames);
+    }
+
+    public List<String> getColumns() {
+        List<String> list = new ArrayList<>(columns.length);
+        for (String column : columns) {
+            list.add(column);
+        }
+        return list;
+    }
+
+    /**
+     * All rows as one string; records are numbered when there is more than one row
+     */
+    public String render(List<Map<String, Object>> rows) {
+        StringBuilder out = new StringBuilder(estimateSize(rows != null ? rows.size() : 0));
+        render(rows, out);
+        return out.toString();
+    }
+
+    public void render(List<Map<String, Object>> rows, Appendable out) {
+        RowWriter writer = open(out, rows != null && rows.size() > 1);
+        if (rows != null) {
+            for (Map<String, Object> row : rows) {
+                writer.row(row);
+            }
+        }
+        writer.close();
+    }
+
+    /**
+     * Start a response; numberRecords adds "Record n" headings in the LINE_BY_LINE style
+     * (LABEL_VALUE always numbers its records)
+     */
+    public RowWriter open(Appendable out, boolean numberRecords) {
+        return new RowWriter(out, numberRecords);
+    }
+
+    /**
+     * Expected output length for rowCount rows, for sizing the buffer
+     */
+    public int estimateSize(int rowCount) {
+        int perRow;
+        if (style == Style.TABULAR) {
+            perRow = columns.length * (CELL_WIDTH + 1) + 4;
+        } else {
+            perRow = 32;
+            for (int i = 0; i < columns.length; i++) {
+                perRow += prefixes[i].length() + suffixes[i].length() + 16;
+            }
+        }
+        return header.length() + footer.length() + rowCount * perRow + 64;
+    }
+
+    /**
+     * Writes the rows of one response
+     */
+    public class RowWriter {
+        private final Appendable out;
+        private final boolean numberRecords;
+        private int rowCount;
+
+        RowWriter(Appendable out, boolean numberRecords) {
+            this.out = out;
+            this.numberRecords = numberRecords;
+            write(header);
+        }
+
+        public void row(Map<String, Object> row) {
+            if (row == null) {
+                return;
+            }
+            beginRow();
+            for (int i = 0; i < columns.length; i++) {
+                cell(i, row.get(columns[i]));
+            }
+            endRow();
+        }
+
+        /**
+         * Current row of a result set (read by column name)
+         */
+        public void row(ResultSet resultset) throws SQLException {
+            beginRow();
+            for (int i = 0; i < columns.length; i++) {
+                cell(i, resultset.getString(columns[i]));
+            }
+            endRow();
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public void close() {
+            write(footer);
+            if (style == Style.LABEL_VALUE && rowCount == 0) {
+                write("<p><i>No records found.</i></p>");
+            }
+        }
+
+        private void beginRow() {
+            rowCount++;
+            try {
+                if (style == Style.LABEL_VALUE) {
+                    out.append("<h4>Record ").append(Integer.toString(rowCount)).append("</h4><p>");
+                } else if (style == Style.LINE_BY_LINE) {
+                    if (rowCount > 1) {
+                        out.append("<br><hr><br>");
+                    }
+                    if (numberRecords) {
+                        out.append("<h5><b>Record ").append(Integer.toString(rowCount)).append("</b></h5>");
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void cell(int column, Object value) {
+            String text = value != null ? value.toString() : "N/A";
+            try {
+                if (style == Style.TABULAR) {
+                    appendCell(out, text);
+                } else {
+                    out.append(prefixes[column]);
+                    if (style == Style.LINE_BY_LINE) {
+                        appendEscaped(out, text);
+                    } else {
+                        out.append(text);
+                    }
+                    out.append(suffixes[column]);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void endRow() {
+            if (style == Style.TABULAR) {
+                write("<br>");
+            } else if (style == Style.LABEL_VALUE) {
+                write("</p><hr>");
+            }
+        }
+
+        private void write(String text) {
+            try {
+                out.append(text);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * text cut to CELL_TEXT, left-aligned in CELL_WIDTH characters, then one space
+     */
+    private static void appendCell(Appendable out, String text) {
+        try {
+            int length;
+            if (text.length() <= CELL_TEXT) {
+                out.append(text);
+                length = text.length();
+            } else {
+                out.append(text, 0, CELL_TEXT - 3).append("...");
+                length = CELL_TEXT;
+            }
+            out.append(PADDING, 0, Math.max(0, CELL_WIDTH - length) + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void appendEscaped(Appendable out, String text) throws IOException {
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            String entity;
+            switch (text.charAt(i)) {
+            case '&':
+                entity = "&amp;";
+                break;
+            case '<':
+                entity = "&lt;";
+                break;
+            case '>':
+                entity = "&gt;";
+                break;
+            case '"':
+                entity = "&quot;";
+                break;
+            case '\'':
+                entity = "&#39;";
+                break;
+            default:
+                continue;
+            }
+            out.append(text, start, i).append(entity);
+            start = i + 1;
+        }
+        out.append(text, start, text.length());
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        java.util.Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
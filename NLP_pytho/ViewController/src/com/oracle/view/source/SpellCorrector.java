@@ -4,13 +4,181 @@ import java.util.*;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Arrays;
+import java.util.regex.Pattern;
 
 public class SpellCorrector {
     
-    private final Map<String, String> corrections;
+    // Words shorter than this are only corrected through the explicit table
+    private static final int MIN_FUZZY_LENGTH = 6;
+    // Words of this length or longer may be corrected by two edits, shorter ones by one
+    private static final int TWO_EDIT_LENGTH = 9;
+    private static final Pattern INDEXABLE_WORD = Pattern.compile("[a-z_]+");
+    
+    // Explicit corrections, checked before the spelling index (first mapping wins)
+    private static final Map<String, String> EXPLICIT_CORRECTIONS = new HashMap<>();
+    // Edit distance of each explicit correction, computed once
+    private static final Map<String, Integer> EXPLICIT_DISTANCES = new HashMap<>();
+    static {
+        // Contract corrections
+        addExplicitCorrection("contract", "contrct", "contarct", "contart");
+        addExplicitCorrection("details", "detials", "detalis");
+        addExplicitCorrection("expiration", "experation", "expiration");
+        addExplicitCorrection("effective", "efective", "efectiv");
+        addExplicitCorrection("customer", "custmer", "custommer");
+        addExplicitCorrection("payment", "paymet", "payement");
+        addExplicitCorrection("incoterms", "incotems", "incoterm");
+        addExplicitCorrection("status", "staus", "status");
+        addExplicitCorrection("length", "lenght", "length");
+        addExplicitCorrection("create", "creat", "create");
+        addExplicitCorrection("make", "mak", "make");
+        addExplicitCorrection("generate", "generat", "generate");
+        addExplicitCorrection("build", "build", "built");
+        addExplicitCorrection("set up", "set", "setup");
+
+        // Parts corrections
+        addExplicitCorrection("lead", "leed", "lead");
+        addExplicitCorrection("time", "tim", "time");
+        addExplicitCorrection("price", "pric", "prise");
+        addExplicitCorrection("cost", "cost", "costs");
+        addExplicitCorrection("moq", "moq", "minimum");
+        addExplicitCorrection("uom", "uom", "unit");
+        addExplicitCorrection("classification", "classificaton", "classification");
+
+        // Failed parts corrections
+        addExplicitCorrection("failed", "faild", "failed");
+        addExplicitCorrection("error", "error", "errors");
+        addExplicitCorrection("reason", "reasn", "reason");
+        addExplicitCorrection("cause", "caus", "cause");
+        addExplicitCorrection("problem", "problem", "problems");
+        addExplicitCorrection("issue", "issu", "issue");
+
+        // Help corrections
+        addExplicitCorrection("how", "how", "howto");
+        addExplicitCorrection("steps", "step", "steps");
+        addExplicitCorrection("process", "proces", "process");
+        addExplicitCorrection("guide", "guid", "guide");
+        addExplicitCorrection("instruction", "instructon", "instruction");
+        addExplicitCorrection("assist", "assist", "assistance");
+        addExplicitCorrection("explain", "explain", "explanation");
+        addExplicitCorrection("tell", "tell", "told");
+        addExplicitCorrection("show", "show", "showed");
+        addExplicitCorrection("need", "need", "needed");
+        addExplicitCorrection("want", "want", "wanted");
+        addExplicitCorrection("would", "would", "could");
+        addExplicitCorrection("can", "can", "could");
+        addExplicitCorrection("please", "please", "pls", "plz");
+        addExplicitCorrection("help", "help", "helped");
+
+        // Date corrections
+        addExplicitCorrection("date", "date", "dates");
+        addExplicitCorrection("year", "year", "years");
+        addExplicitCorrection("month", "month", "months");
+        addExplicitCorrection("day", "day", "days");
+        addExplicitCorrection("week", "week", "weeks");
+
+        // Business and chat misspellings
+        addExplicitCorrection("contract", "kontrakt", "kontract", "ctrct", "contrat", "conract", "cntrct");
+        addExplicitCorrection("contracts", "contarcts", "contracs", "contrcts");
+        addExplicitCorrection("created", "creatd");
+        addExplicitCorrection("make", "maek");
+        addExplicitCorrection("making", "makeing");
+        addExplicitCorrection("generate", "genrate", "genert");
+        addExplicitCorrection("show", "shwo", "shw");
+        addExplicitCorrection("info", "infro");
+        addExplicitCorrection("summary", "summry");
+        addExplicitCorrection("information", "informaton");
+        addExplicitCorrection("customer", "custmor", "cstomer", "costumer", "cstmr");
+        addExplicitCorrection("number", "numer", "numbr");
+        addExplicitCorrection("status", "statuz", "statuss");
+        addExplicitCorrection("after", "aftr");
+        addExplicitCorrection("between", "btwn");
+        addExplicitCorrection("month", "mnth");
+        addExplicitCorrection("parts", "prts", "parst", "partz");
+        addExplicitCorrection("product", "prduct");
+        addExplicitCorrection("account", "accunt", "acount");
+        addExplicitCorrection("provide", "provid");
+        addExplicitCorrection("available", "avalable");
+        addExplicitCorrection("active", "actve", "activ");
+        addExplicitCorrection("discontinued", "discontnud", "discntinued");
+        addExplicitCorrection("expired", "exipred");
+        addExplicitCorrection("pricing", "pricng");
+        addExplicitCorrection("lead", "lede");
+        addExplicitCorrection("invoice", "invoce", "invoic");
+        addExplicitCorrection("expire", "expir");
+        addExplicitCorrection("failed", "filde", "faield");
+        addExplicitCorrection("thanks", "thx", "tnx");
+        addExplicitCorrection("what", "wat");
+        addExplicitCorrection("check", "chek");
+        addExplicitCorrection("warranty", "warrenty");
+        addExplicitCorrection("period", "priod");
+        addExplicitCorrection("issues", "isses");
+        addExplicitCorrection("manufacturer", "manufacterer");
+        addExplicitCorrection("specifications", "specificatons");
+        addExplicitCorrection("compatible", "compatble");
+        addExplicitCorrection("stock", "stok");
+        addExplicitCorrection("validation", "validdation");
+        addExplicitCorrection("loaded", "loadded");
+        addExplicitCorrection("missing", "misssing");
+        addExplicitCorrection("added", "addedd");
+        addExplicitCorrection("master", "mastr");
+        addExplicitCorrection("successful", "successfull");
+        addExplicitCorrection("passed", "passd", "pasd");
+        addExplicitCorrection("because", "becasue", "becuase");
+        addExplicitCorrection("loading", "loadding");
+        addExplicitCorrection("opportunity", "oppurtunity", "opportnity", "opportuntiy", "opportinity", "opportuity");
+        addExplicitCorrection("fields", "flieds");
+        addExplicitCorrection("boeing", "boieng");
+        addExplicitCorrection("corporate", "corprate");
+        addExplicitCorrection("tomorrow", "tomorr", "tmrw");
+        addExplicitCorrection("today", "todai");
+        addExplicitCorrection("yesterday", "ystrday");
+        addExplicitCorrection("receive", "recieve");
+        addExplicitCorrection("address", "adress");
+        addExplicitCorrection("definitely", "definately");
+        addExplicitCorrection("separately", "seperately");
+        addExplicitCorrection("occurred", "occured");
+        addExplicitCorrection("the", "teh");
+        addExplicitCorrection("their", "thier");
+        addExplicitCorrection("environment", "enviroment");
+    }
+    
+    // Everyday English and Spanish words close to a domain term ("construct" is one edit from
+    // "contract", "contratos" from "contrato"). They are valid as typed and never corrected.
+    private static final Set<String> KNOWN_WORDS = new HashSet<>(Arrays.asList(
+        "construct", "constructed", "construction", "contact", "contacted", "contractor", "contrast",
+        "content", "context", "contest", "contain", "contained", "control", "convert", "continue",
+        "contrato", "contrata", "contratar", "cliente", "creado", "creada", "crear", "fecha", "numero",
+        "estado", "precio", "partes", "pieza", "expira", "expiran", "expirado", "activa", "activo",
+        "problema", "proceso", "informacion", "detalles", "mostrar", "cuenta", "proveedor",
+        "shipped", "shipping", "skipped", "stopped", "stepped", "stated", "statue", "statute",
+        "custom", "costume", "consumer", "creator", "creature", "curated", "effect", "elective",
+        "expert", "export", "expect", "expected", "explanation", "expansion", "detail", "detained",
+        "partner", "partial", "parted", "parsed", "paused", "passes", "failure", "filled", "leader",
+        "leading", "lending", "landed", "paying", "playing", "amount", "accept", "accent", "generator",
+        "general", "generic", "maker", "marking", "masking", "market", "reason", "invoiced", "involve",
+        "classify", "classified", "lengthy", "lengthen", "perish", "opportune", "award", "awarded",
+        "rewarded", "progress", "possess", "access", "success", "produce", "produced", "provider",
+        "provided", "manufacture", "manufactured", "composition", "descriptive", "importance",
+        "separated", "separate", "validate", "validated", "valuation", "description", "important"
+    ));
+    
+    /**
+     * Shared spelling index - built once, on first use, from every correction dictionary
+     */
+    private static class SpellingIndexHolder {
+        static final SpellingIndex INDEX = buildSpellingIndex();
+    }
+    
+    private static void addExplicitCorrection(String correction, String... misspellings) {
+        for (String misspelling : misspellings) {
+            if (!EXPLICIT_CORRECTIONS.containsKey(misspelling)) {
+                EXPLICIT_CORRECTIONS.put(misspelling, correction);
+                EXPLICIT_DISTANCES.put(misspelling, levenshteinDistance(misspelling, correction));
+            }
+        }
+    }
     
     public SpellCorrector() {
-        this.corrections = initializeCorrections();
     }
     
     /**
@@ -20,194 +188,102 @@ public class SpellCorrector {
         if (input == null || input.trim().isEmpty()) {
             return input;
         }
+        return correctWithConfidence(input).corrected;
+    }
+    
+    /**
+     * Spell correction plus its confidence, computed from the edit distances of the corrected words
+     * (same scale as getCorrectionConfidence, without a second distance pass over the input)
+     */
+    public CorrectionResult correctWithConfidence(String input) {
+        if (input == null) {
+            return new CorrectionResult(null, 0.0, 0);
+        }
+        if (input.trim().isEmpty()) {
+            return new CorrectionResult(input, 1.0, 0);
+        }
         
-        String corrected = input;
         String[] words = input.split("\\s+");
         StringBuilder result = new StringBuilder();
+        int distance = 0;
+        int correctedWords = 0;
         
         for (int i = 0; i < words.length; i++) {
             String word = words[i];
-            String correctedWord = correctWord(word);
-            result.append(correctedWord);
+            SpellingIndex.Suggestion suggestion = lookupWord(word);
+            if (suggestion != null && !suggestion.term.equals(word)) {
+                result.append(suggestion.term);
+                distance += suggestion.distance;
+                correctedWords++;
+            } else {
+                result.append(word);
+            }
             
             if (i < words.length - 1) {
                 result.append(" ");
             }
         }
         
-        return result.toString();
+        String corrected = result.toString();
+        if (input.equals(corrected)) {
+            return new CorrectionResult(corrected, 1.0, 0);
+        }
+        int maxLength = Math.max(input.length(), corrected.length());
+        double confidence = 1.0 - ((double) distance / maxLength);
+        return new CorrectionResult(corrected, Math.max(0.0, Math.min(1.0, confidence)), correctedWords);
     }
     
     /**
-     * Correct individual word
+     * Correct individual word: explicit table first, then the spelling index for unknown words
      */
-    private String correctWord(String word) {
+    private static SpellingIndex.Suggestion lookupWord(String word) {
         if (word == null || word.trim().isEmpty()) {
-            return word;
-        }
-        
-        // Common contract-related corrections
-        String corrected = word.toLowerCase();
-        
-        // Contract corrections
-        if (corrected.equals("contrct") || corrected.equals("contarct") || corrected.equals("contart")) {
-            return "contract";
-        }
-        if (corrected.equals("detials") || corrected.equals("detalis")) {
-            return "details";
-        }
-        if (corrected.equals("experation") || corrected.equals("expiration")) {
-            return "expiration";
-        }
-        if (corrected.equals("efective") || corrected.equals("efectiv")) {
-            return "effective";
-        }
-        if (corrected.equals("custmer") || corrected.equals("custommer")) {
-            return "customer";
-        }
-        if (corrected.equals("paymet") || corrected.equals("payement")) {
-            return "payment";
-        }
-        if (corrected.equals("incotems") || corrected.equals("incoterm")) {
-            return "incoterms";
-        }
-        if (corrected.equals("staus") || corrected.equals("status")) {
-            return "status";
-        }
-        if (corrected.equals("lenght") || corrected.equals("length")) {
-            return "length";
-        }
-        if (corrected.equals("creat") || corrected.equals("create")) {
-            return "create";
-        }
-        if (corrected.equals("mak") || corrected.equals("make")) {
-            return "make";
-        }
-        if (corrected.equals("generat") || corrected.equals("generate")) {
-            return "generate";
-        }
-        if (corrected.equals("build") || corrected.equals("built")) {
-            return "build";
-        }
-        if (corrected.equals("set") || corrected.equals("setup")) {
-            return "set up";
-        }
-        
-        // Parts corrections
-        if (corrected.equals("leed") || corrected.equals("lead")) {
-            return "lead";
-        }
-        if (corrected.equals("tim") || corrected.equals("time")) {
-            return "time";
-        }
-        if (corrected.equals("pric") || corrected.equals("prise")) {
-            return "price";
-        }
-        if (corrected.equals("cost") || corrected.equals("costs")) {
-            return "cost";
-        }
-        if (corrected.equals("moq") || corrected.equals("minimum")) {
-            return "moq";
-        }
-        if (corrected.equals("uom") || corrected.equals("unit")) {
-            return "uom";
-        }
-        if (corrected.equals("classificaton") || corrected.equals("classification")) {
-            return "classification";
-        }
-        
-        // Failed parts corrections
-        if (corrected.equals("faild") || corrected.equals("failed")) {
-            return "failed";
-        }
-        if (corrected.equals("error") || corrected.equals("errors")) {
-            return "error";
-        }
-        if (corrected.equals("reasn") || corrected.equals("reason")) {
-            return "reason";
-        }
-        if (corrected.equals("caus") || corrected.equals("cause")) {
-            return "cause";
-        }
-        if (corrected.equals("problem") || corrected.equals("problems")) {
-            return "problem";
-        }
-        if (corrected.equals("issu") || corrected.equals("issue")) {
-            return "issue";
+            return null;
         }
         
-        // Help corrections
-        if (corrected.equals("how") || corrected.equals("howto")) {
-            return "how";
-        }
-        if (corrected.equals("step") || corrected.equals("steps")) {
-            return "steps";
-        }
-        if (corrected.equals("proces") || corrected.equals("process")) {
-            return "process";
-        }
-        if (corrected.equals("guid") || corrected.equals("guide")) {
-            return "guide";
-        }
-        if (corrected.equals("instructon") || corrected.equals("instruction")) {
-            return "instruction";
-        }
-        if (corrected.equals("assist") || corrected.equals("assistance")) {
-            return "assist";
-        }
-        if (corrected.equals("explain") || corrected.equals("explanation")) {
-            return "explain";
-        }
-        if (corrected.equals("tell") || corrected.equals("told")) {
-            return "tell";
-        }
-        if (corrected.equals("show") || corrected.equals("showed")) {
-            return "show";
-        }
-        if (corrected.equals("need") || corrected.equals("needed")) {
-            return "need";
-        }
-        if (corrected.equals("want") || corrected.equals("wanted")) {
-            return "want";
-        }
-        if (corrected.equals("would") || corrected.equals("could")) {
-            return "would";
-        }
-        if (corrected.equals("can") || corrected.equals("could")) {
-            return "can";
-        }
-        if (corrected.equals("please") || corrected.equals("pls") || corrected.equals("plz")) {
-            return "please";
-        }
-        if (corrected.equals("help") || corrected.equals("helped")) {
-            return "help";
+        String lower = word.toLowerCase();
+        String explicit = EXPLICIT_CORRECTIONS.get(lower);
+        if (explicit != null) {
+            return new SpellingIndex.Suggestion(explicit, EXPLICIT_DISTANCES.get(lower));
         }
         
-        // Date corrections
-        if (corrected.equals("date") || corrected.equals("dates")) {
-            return "date";
-        }
-        if (corrected.equals("year") || corrected.equals("years")) {
-            return "year";
+        // Only plain words of MIN_FUZZY_LENGTH+ letters that are not already valid are looked up
+        SpellingIndex index = SpellingIndexHolder.INDEX;
+        if (lower.length() < MIN_FUZZY_LENGTH || !INDEXABLE_WORD.matcher(lower).matches()
+                || isKnownWord(index, lower)) {
+            return null;
         }
-        if (corrected.equals("month") || corrected.equals("months")) {
-            return "month";
+        SpellingIndex.Suggestion suggestion = index.lookup(lower, lower.length() >= TWO_EDIT_LENGTH ? 2 : 1);
+        // Typos rarely hit the first letter; a different one means a different word
+        if (suggestion == null || suggestion.term.charAt(0) != lower.charAt(0)) {
+            return null;
         }
-        if (corrected.equals("day") || corrected.equals("days")) {
-            return "day";
-        }
-        if (corrected.equals("week") || corrected.equals("weeks")) {
-            return "week";
+        return suggestion;
+    }
+    
+    /**
+     * A word is valid as typed when it, or its stem without a plural/verb ending, is a known word
+     * ("contratos" -> "contrato", "validating" -> "validate")
+     */
+    private static boolean isKnownWord(SpellingIndex index, String word) {
+        if (index.isKnownWord(word)) {
+            return true;
+        }
+        for (String suffix : new String[] { "s", "es", "ed", "ing", "os", "as", "ly" }) {
+            if (word.length() - suffix.length() >= MIN_FUZZY_LENGTH - 1 && word.endsWith(suffix)) {
+                String stem = word.substring(0, word.length() - suffix.length());
+                if (index.isKnownWord(stem) || index.isKnownWord(stem + "e")) {
+                    return true;
+                }
+            }
         }
-        
-        // Return original word if no correction found
-        return word;
+        return false;
     }
     
     /**
      * Calculate Levenshtein distance between two strings
      */
-    private int levenshteinDistance(String s1, String s2) {
+    private static int levenshteinDistance(String s1, String s2) {
         int[][] dp = new int[s1.length() + 1][s2.length() + 1];
         
         for (int i = 0; i <= s1.length(); i++) {
@@ -233,6 +309,7 @@ public class SpellCorrector {
     
     /**
      * Get correction confidence between original and corrected input
+     * Prefer correctWithConfidence() when the correction is made here - it avoids this distance pass
      */
     public double getCorrectionConfidence(String original, String corrected) {
         if (original == null || corrected == null) {
@@ -255,262 +332,84 @@ public class SpellCorrector {
         return Math.max(0.0, Math.min(1.0, similarity));
     }
     
-    private Map<String, String> initializeCorrections() {
-        Map<String, String> corrections = new HashMap<>();
-        
-        // Contract misspellings
-        corrections.put("contrct", "contract");
-        corrections.put("contarct", "contract");
-        corrections.put("contarcts", "contracts");
-        corrections.put("contracs", "contracts");
-        corrections.put("contrcts", "contracts");
-        corrections.put("kontrakt", "contract");
-        corrections.put("kontract", "contract");
-        corrections.put("ctrct", "contract");
-        corrections.put("contrat", "contract");
-        corrections.put("conract", "contract");
-        corrections.put("cntrct", "contract");
-        corrections.put("contrato", "contract");
-        
-        // Create misspellings (CRITICAL for contract creation)
-        corrections.put("creat", "create");
-        corrections.put("creates", "create");
-        corrections.put("creating", "create");
-        // REMOVED: corrections.put("created", "create"); - This was incorrectly converting past tense to present tense
-        corrections.put("creatd", "created");
-        
-        // Make misspellings
-        corrections.put("mak", "make");
-        corrections.put("maek", "make");
-        corrections.put("makes", "make");
-        corrections.put("making", "make");
-        corrections.put("made", "make");
-        corrections.put("makeing", "making");
-        
-        // Generate misspellings
-        corrections.put("genrate", "generate");
-        corrections.put("genert", "generate");
-        corrections.put("generates", "generate");
-        corrections.put("generating", "generate");
-        corrections.put("generated", "generate");
-        
-        // Show misspellings
-        corrections.put("shwo", "show");
-        corrections.put("shw", "show");
-        
-        // Info/Information misspellings
-        corrections.put("infro", "info");
-        corrections.put("detials", "details");
-        corrections.put("detalis", "details");
-        corrections.put("summry", "summary");
-        corrections.put("informaton", "information");
-        
-        // Customer misspellings
-        corrections.put("custmor", "customer");
-        corrections.put("cstomer", "customer");
-        corrections.put("custmer", "customer");
-        corrections.put("custommer", "customer");
-        
-        // Number misspellings
-        corrections.put("numer", "number");
-        corrections.put("numbr", "number");
-        corrections.put("no", "number");
-        
-        // Status misspellings
-        corrections.put("statuz", "status");
-        corrections.put("statuss", "status");
-        corrections.put("staus", "status");
-        
-        // Date/Time misspellings
-        corrections.put("aftr", "after");
-        corrections.put("btwn", "between");
-        corrections.put("mnth", "month");
-        corrections.put("lst", "last");
-        corrections.put("efective", "effective");
-        corrections.put("tim", "time");
-        
-        // Parts misspellings
-        corrections.put("prts", "parts");
-        corrections.put("parst", "parts");
-        corrections.put("partz", "parts");
-        corrections.put("prduct", "product");
-        
-        // Account misspellings
-        corrections.put("accunt", "account");
-        corrections.put("acount", "account");
-        corrections.put("acc", "account");
-        
-        // Action misspellings
-        corrections.put("provid", "provide");
-        corrections.put("avalable", "available");
-        corrections.put("actve", "active");
-        corrections.put("discontnud", "discontinued");
-        corrections.put("discntinued", "discontinued");
-        corrections.put("exipred", "expired");
-        corrections.put("activ", "active");
-        
-        // Price misspellings
-        corrections.put("pric", "price");
-        corrections.put("prise", "price");
-        corrections.put("pricng", "pricing");
-        
-        // Lead misspellings
-        corrections.put("leed", "lead");
-        corrections.put("lede", "lead");
-        
-        // Invoice misspellings
-        corrections.put("invoce", "invoice");
-        corrections.put("invoic", "invoice");
-        
-        // Expiration misspellings
-        corrections.put("expir", "expire");
-        corrections.put("expiry", "expiration");
-        corrections.put("experation", "expiration");
-        
-        // Payment misspellings
-        corrections.put("paymet", "payment");
-        
-        // Length misspellings
-        corrections.put("lenght", "length");
-        
-        // Type misspellings
-        corrections.put("typ", "type");
-        
-        // Failed misspellings
-        corrections.put("faild", "failed");
-        corrections.put("filde", "failed");
-        corrections.put("faield", "failed");
-        
-        // Common abbreviations and chat-style corrections
-        corrections.put("pls", "please");
-        corrections.put("plz", "please");
-        corrections.put("thx", "thanks");
-        corrections.put("ty", "thank you");
-        corrections.put("tnx", "thanks");
-        corrections.put("u", "you");
-        corrections.put("ur", "your");
-        corrections.put("yr", "your");
-        corrections.put("hw", "how");
-        corrections.put("wat", "what");
-        corrections.put("mee", "me");
-        corrections.put("yu", "you");
-        corrections.put("chek", "check");
-        corrections.put("warrenty", "warranty");
-        corrections.put("priod", "period");
-        corrections.put("isses", "issues");
-        corrections.put("defect", "defects");
-        corrections.put("manufacterer", "manufacturer");
-        corrections.put("specificatons", "specifications");
-        corrections.put("compatble", "compatible");
-        corrections.put("stok", "stock");
-        corrections.put("validdation", "validation");
-        corrections.put("loadded", "loaded");
-        corrections.put("misssing", "missing");
-        corrections.put("addedd", "added");
-        corrections.put("mastr", "master");
-        corrections.put("successfull", "successful");
-        corrections.put("passd", "passed");
-        corrections.put("becasue", "because");
-        corrections.put("skipped", "skipped");
-        corrections.put("arnt", "aren't");
-        corrections.put("pasd", "passed");
-        corrections.put("loadding", "loading");
-        corrections.put("happen", "happened");
-        corrections.put("oppurtunity", "opportunity");
-        corrections.put("flieds", "fields");
-        corrections.put("boieng", "boeing");
-        corrections.put("corprate", "corporate");
-        corrections.put("tomorr", "tomorrow");
-        corrections.put("tmrw", "tomorrow");
-        corrections.put("todai", "today");
-        corrections.put("ystrday", "yesterday");
-        corrections.put("recieve", "receive");
-        corrections.put("adress", "address");
-        corrections.put("definately", "definitely");
-        corrections.put("seperately", "separately");
-        corrections.put("occured", "occurred");
-        corrections.put("becuase", "because");
-        corrections.put("teh", "the");
-        corrections.put("thier", "their");
-        corrections.put("enviroment", "environment");
-        
-        // Number substitutions for common abbreviations
-        corrections.put("4", "for");
-        corrections.put("2", "to");
-        corrections.put("8", "ate");
+    /**
+     * Corrected input with its confidence
+     */
+    public static class CorrectionResult {
+        public final String corrected;
+        public final double confidence;
+        public final int correctedWords;
         
-        // --- AUTO-GENERATE BUSINESS TERM TYPOS ---
+        public CorrectionResult(String corrected, double confidence, int correctedWords) {
+            this.corrected = corrected;
+            this.confidence = confidence;
+            this.correctedWords = correctedWords;
+        }
+    }
+    
+    /**
+     * Build the spelling index from the correction dictionaries (this class, WordDatabase and
+     * EntityExtractor) plus the TableColumnConfig column vocabulary
+     */
+    private static SpellingIndex buildSpellingIndex() {
+        SpellingIndex index = new SpellingIndex();
+        Map<String, String> wordDatabaseCorrections = WordDatabase.getSpellCorrections();
+        Map<String, String> entityCorrections = EntityExtractor.getSpellCorrections();
+        
+        // Correct spellings: the business dictionary targets plus the column names.
+        // EntityExtractor's chat abbreviations expand to everyday words ("wht" -> "what"), which are
+        // valid as typed but too generic to snap other words to.
+        Set<String> terms = new HashSet<>();
+        for (Map<String, String> dictionary : Arrays.asList(wordDatabaseCorrections, EXPLICIT_CORRECTIONS)) {
+            for (String target : dictionary.values()) {
+                terms.add(target.toLowerCase());
+            }
+        }
+        for (String target : entityCorrections.values()) {
+            index.addKnownWord(target.toLowerCase());
+        }
         TableColumnConfig config = TableColumnConfig.getInstance();
-        List<String> allColumns = new ArrayList<>();
         for (String table : Arrays.asList(
                 TableColumnConfig.TABLE_CONTRACTS,
                 TableColumnConfig.TABLE_PARTS,
                 TableColumnConfig.TABLE_FAILED_PARTS)) {
             Set<String> cols = config.getColumns(table);
-            if (cols != null) allColumns.addAll(cols);
-        }
-        for (String col : allColumns) {
-            String colLower = col.toLowerCase();
-            String colNoUnderscore = colLower.replace("_", "");
-            String colWithSpace = colLower.replace("_", " ");
-            String colNoVowels = colLower.replaceAll("[aeiou]", "");
-            // Add lowercase, no-underscore, and with-space variants
-            corrections.put(colLower, col);
-            corrections.put(colNoUnderscore, col);
-            corrections.put(colWithSpace, col);
-            corrections.put(colNoVowels, col);
-            // Add swapped adjacent letters (simple human typo)
-            for (int i = 0; i < colLower.length() - 1; i++) {
-                char[] chars = colLower.toCharArray();
-                char tmp = chars[i];
-                chars[i] = chars[i+1];
-                chars[i+1] = tmp;
-                corrections.put(new String(chars), col);
+            if (cols != null) {
+                for (String col : cols) {
+                    terms.add(col.toLowerCase());
+                    // "leadtime" is matched as typed by the keyword checks, keep it
+                    index.addKnownWord(col.toLowerCase().replace("_", ""));
+                }
             }
-            // Add missing one letter variants
-            for (int i = 0; i < colLower.length(); i++) {
-                String missing = colLower.substring(0, i) + colLower.substring(i+1);
-                corrections.put(missing, col);
+        }
+        for (String term : terms) {
+            if (term.length() >= MIN_FUZZY_LENGTH - 1 && INDEXABLE_WORD.matcher(term).matches()) {
+                index.addTerm(term);
+                // Inflections are valid words, not typos ("created" must not become "create")
+                String base = term.endsWith("s") ? term.substring(0, term.length() - 1) : term;
+                String stem = base.endsWith("e") ? base.substring(0, base.length() - 1) : base;
+                for (String inflection : Arrays.asList(base, base + "s", base + "es", base + "d", base + "ed",
+                                                       stem + "ing", stem + "ed", stem + "ion", stem + "ions")) {
+                    index.addKnownWord(inflection);
+                }
             }
         }
         
-        // Opportunity misspellings
-        corrections.put("opportunity", "opportunity");
-        corrections.put("opportnity", "opportunity");
-        corrections.put("opportuntiy", "opportunity");
-        corrections.put("oppty", "opportunity");
-        corrections.put("opp", "opportunity");
-        corrections.put("opportinity", "opportunity");
-        corrections.put("opportuity", "opportunity");
-        corrections.put("opportnity_name", "opportunity_name");
-        corrections.put("oppty_name", "opportunity_name");
-        corrections.put("opp_name", "opportunity_name");
-        corrections.put("opportunitynumber", "opportunity_number");
-        corrections.put("oppty_number", "opportunity_number");
-        corrections.put("opp_number", "opportunity_number");
-        corrections.put("opportunityid", "opportunity_id");
-        corrections.put("oppty_id", "opportunity_id");
-        corrections.put("opp_id", "opportunity_id");
-        // Customer misspellings
-        corrections.put("customer", "customer");
-        corrections.put("custmer", "customer");
-        corrections.put("custommer", "customer");
-        corrections.put("costumer", "customer");
-        corrections.put("cust", "customer");
-        corrections.put("cstmr", "customer");
-        corrections.put("cstm", "customer");
-        corrections.put("customername", "customer_name");
-        corrections.put("custname", "customer_name");
-        corrections.put("clientname", "customer_name");
-        corrections.put("buyername", "customer_name");
-        corrections.put("customer_no", "customer_number");
-        corrections.put("cust_no", "customer_number");
-        corrections.put("accountnumber", "account_number");
-        corrections.put("account_no", "account_number");
-        corrections.put("accountid", "account_id");
-        corrections.put("account_id", "account_id");
-        
-        return corrections;
+        // Words other components handle as typed, plus the everyday-word lexicon
+        for (Collection<String> words : Arrays.asList(
+                wordDatabaseCorrections.keySet(), entityCorrections.keySet(), EXPLICIT_CORRECTIONS.keySet(),
+                KNOWN_WORDS, WordDatabase.getCommandWords(), WordDatabase.getCustomerContextWords(),
+                WordDatabase.getCreatorContextWords(), WordDatabase.getDateContextWords(),
+                WordDatabase.getPriceContextWords(), WordDatabase.getStatusContextWords(),
+                WordDatabase.getStopWords(), YES_WORDS, NO_WORDS,
+                EFFECTIVE_DATE_KEYWORDS, EXPIRATION_DATE_KEYWORDS, CONTRACT_NUMBER_KEYWORDS, TITLE_KEYWORDS,
+                CONTRACT_NAME_KEYWORDS, CUSTOMER_KEYWORDS, AWARD_REP_KEYWORDS, SYSTEM_DATE_KEYWORDS,
+                FLOW_DOWN_DATE_KEYWORDS, PRICE_EXPIRATION_DATE_KEYWORDS, COMMENTS_KEYWORDS)) {
+            for (String word : words) {
+                index.addKnownWord(word.toLowerCase());
+            }
+        }
+        return index;
     }
 
     // --- YES/NO Normalization Utility ---
@@ -0,0 +1,204 @@
+package com.oracle.view.source;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Symmetric-delete spelling index (SymSpell)
+ *
+ * Every dictionary term is stored under all strings obtained by deleting up to MAX_EDIT_DISTANCE
+ * characters from it. A lookup generates the same deletes for the input word and only compares
+ * against the terms sharing one of them, so the cost depends on the word length rather than the
+ * dictionary size.
+ *
+ * USAGE:
+ * - Register correct spellings with addTerm() and words that must never be changed with addKnownWord()
+ * - lookup(word, maxDistance) returns the closest term with its edit distance, or null
+ *
+ * Distances are Damerau-Levenshtein (optimal string alignment), so a swap of two adjacent letters
+ * ("contarct") counts as one edit. A lookup with two different terms at the best distance is
+ * treated as ambiguous and returns null.
+ */
+public class SpellingIndex {
+
+    public static final int MAX_EDIT_DISTANCE = 2;
+
+    // Correct spellings
+    private final Set<String> terms = new HashSet<>();
+    // Words that are valid as typed (terms, inflections, domain abbreviations)
+    private final Set<String> knownWords = new HashSet<>();
+    // Delete variant -> terms producing it
+    private final Map<String, List<String>> deletes = new HashMap<>();
+
+    /**
+     * Add a correct spelling. The term also becomes a known word.
+     */
+    public SpellingIndex addTerm(String term) {
+        if (term == null || term.isEmpty() || !terms.add(term)) {
+            return this;
+        }
+        knownWords.add(term);
+        Set<String> variants = new HashSet<>();
+        variants.add(term);
+        collectDeletes(term, MAX_EDIT_DISTANCE, variants);
+        for (String variant : variants) {
+            List<String> bucket = deletes.get(variant);
+            if (bucket == null) {
+                bucket = new ArrayList<>(1);
+                deletes.put(variant, bucket);
+            }
+            bucket.add(term);
+        }
+        return this;
+    }
+
+    /**
+     * Add a word that is valid as typed and must not be corrected
+     */
+    public SpellingIndex addKnownWord(String word) {
+        if (word != null && !word.isEmpty()) {
+            knownWords.add(word);
+        }
+        return this;
+    }
+
+    public boolean isTerm(String word) {
+        return terms.contains(word);
+    }
+
+    public boolean isKnownWord(String word) {
+        return knownWords.contains(word);
+    }
+
+    public int size() {
+        return terms.size();
+    }
+
+    /**
+     * Closest term within maxDistance edits, or null when there is none or the best match is ambiguous.
+     * A term matching exactly is returned with distance 0.
+     */
+    public Suggestion lookup(String word, int maxDistance) {
+        if (word == null || word.isEmpty()) {
+            return null;
+        }
+        if (terms.contains(word)) {
+            return new Suggestion(word, 0);
+        }
+        maxDistance = Math.min(maxDistance, MAX_EDIT_DISTANCE);
+        if (maxDistance <= 0) {
+            return null;
+        }
+
+        String best = null;
+        int bestDistance = maxDistance + 1;
+        boolean ambiguous = false;
+        Set<String> compared = new HashSet<>();
+
+        // Breadth-first over the deletes of the input: level k holds words with k characters removed
+        List<String> level = new ArrayList<>();
+        level.add(word);
+        Set<String> generated = new HashSet<>(level);
+        for (int removed = 0; removed <= maxDistance && removed <= bestDistance && !level.isEmpty(); removed++) {
+            List<String> next = new ArrayList<>();
+            for (String candidate : level) {
+                List<String> bucket = deletes.get(candidate);
+                if (bucket != null) {
+                    for (String term : bucket) {
+                        if (!compared.add(term) || Math.abs(term.length() - word.length()) > maxDistance) {
+                            continue;
+                        }
+                        int distance = distance(word, term, Math.min(bestDistance, maxDistance));
+                        if (distance < 0) {
+                            continue;
+                        }
+                        if (distance < bestDistance) {
+                            best = term;
+                            bestDistance = distance;
+                            ambiguous = false;
+                        } else if (distance == bestDistance) {
+                            ambiguous = true;
+                        }
+                    }
+                }
+                if (removed < maxDistance && candidate.length() > 1) {
+                    for (int i = 0; i < candidate.length(); i++) {
+                        String delete = candidate.substring(0, i) + candidate.substring(i + 1);
+                        if (generated.add(delete)) {
+                            next.add(delete);
+                        }
+                    }
+                }
+            }
+            level = next;
+        }
+        return best == null || ambiguous ? null : new Suggestion(best, bestDistance);
+    }
+
+    private static void collectDeletes(String word, int depth, Set<String> variants) {
+        if (depth == 0 || word.length() <= 1) {
+            return;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            String delete = word.substring(0, i) + word.substring(i + 1);
+            if (variants.add(delete)) {
+                collectDeletes(delete, depth - 1, variants);
+            }
+        }
+    }
+
+    /**
+     * Optimal string alignment distance, or -1 when it exceeds limit
+     */
+    static int distance(String a, String b, int limit) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > limit) {
+            return -1;
+        }
+        int[] before = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, before[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > limit) {
+                return -1;
+            }
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[m] <= limit ? previous[m] : -1;
+    }
+
+    /**
+     * Lookup result - the corrected term and how many edits it took
+     */
+    public static class Suggestion {
+        public final String term;
+        public final int distance;
+
+        public Suggestion(String term, int distance) {
+            this.term = term;
+            this.distance = distance;
+        }
+    }
+}
@@ -52,6 +52,13 @@ public class StandardJSONProcessor {
     private static final Map<String, String> SPELL_CORRECTIONS = WordDatabase.getSpellCorrections();
     private static final SpellCorrector SPELL_CORRECTOR = new SpellCorrector();
 
+    // Pipeline results by query shape - identifiers are masked so "parts for 123456" and
+    // "parts for 654321" share one entry (see QueryShapeCache)
+    private static final int SHAPE_CACHE_SIZE = 2000;
+    private static final long SHAPE_CACHE_TTL_MS = 10 * 60 * 1000L;
+    private static final QueryShapeCache<QueryResult> SHAPE_CACHE =
+        new QueryShapeCache<>(SHAPE_CACHE_SIZE, SHAPE_CACHE_TTL_MS, new ShapeBinder());
+
     // Business term mappings - NOW USING CENTRALIZED CONFIG
     // BUSINESS_FILTER_TERMS and ENHANCED_BUSINESS_TERMS are now managed by TableColumnConfig
 
@@ -84,11 +91,32 @@ public class StandardJSONProcessor {
 
     /**
      * Process query and return Java object for easy access
-     * Converts JSON string to QueryResult object
+     * Builds the QueryResult directly - no JSON is generated or parsed on this path
      */
     public QueryResult processQueryToObject(String originalInput) {
-        String jsonString = processQuery(originalInput);
-        return parseJSONToObject(jsonString);
+        return SHAPE_CACHE.resolve(originalInput, this::buildQueryResult).seal();
+    }
+
+    /**
+     * Shape cache counters (hits, learned and rejected templates)
+     */
+    public static Map<String, Object> getShapeCacheStatistics() {
+        return SHAPE_CACHE.getStatistics();
+    }
+
+    /**
+     * Drop all cached shapes, e.g. after changing TableColumnConfig
+     */
+    public static void clearShapeCache() {
+        SHAPE_CACHE.clear();
+    }
+
+    /**
+     * Serialize a QueryResult to the JSON_DESIGN.md format
+     * Only needed by callers that want the string form
+     */
+    public String toJSON(QueryResult result) {
+        return generateStandardJSON(result);
     }
 
     /**
@@ -1801,133 +1829,88 @@ public class StandardJSONProcessor {
     /**
      * Generate standard JSON following JSON_DESIGN.md exactly
      */
-    private String generateStandardJSON(String originalInput, InputTrackingResult inputTracking,
-                                        HeaderResult headerResult, QueryMetadata metadata, List<EntityFilter> entities,
-                                        List<String> displayEntities, List<ValidationError> errors) {
-        StringBuilder json = new StringBuilder();
+    private String generateStandardJSON(QueryResult result) {
+        Header header = result.header != null ? result.header : new Header();
+        InputTrackingResult inputTracking = result.inputTracking;
+        QueryMetadata metadata = result.metadata;
+        JsonWriter json = JsonWriter.create();
 
-        json.append("{\n");
+        json.beginObject();
 
         // Header section with inputTracking
-        json.append("  \"header\": {\n");
-        json.append("    \"contractNumber\": ")
-            .append(quote(headerResult.header.contractNumber))
-            .append(",\n");
-        json.append("    \"partNumber\": ")
-            .append(quote(headerResult.header.partNumber))
-            .append(",\n");
-        json.append("    \"customerNumber\": ")
-            .append(quote(headerResult.header.customerNumber))
-            .append(",\n");
-        json.append("    \"customerName\": ")
-            .append(quote(headerResult.header.customerName))
-            .append(",\n");
-        json.append("    \"createdBy\": ")
-            .append(quote(headerResult.header.createdBy))
-            .append(",\n");
+        json.name("header").beginObject()
+            .name("contractNumber").value(header.contractNumber)
+            .name("partNumber").value(header.partNumber)
+            .name("customerNumber").value(header.customerNumber)
+            .name("customerName").value(header.customerName)
+            .name("createdBy").value(header.createdBy);
 
         // InputTracking section (NEW as per JSON_DESIGN.md)
-        json.append("    \"inputTracking\": {\n");
-        json.append("      \"originalInput\": ")
-            .append(quote(inputTracking.originalInput))
-            .append(",\n");
-        json.append("      \"correctedInput\": ")
-            .append(quote(inputTracking.correctedInput))
-            .append(",\n");
-        json.append("      \"correctionConfidence\": ")
-            .append(inputTracking.correctionConfidence)
-            .append("\n");
-        json.append("    }\n");
-        json.append("  },\n");
+        json.name("inputTracking").beginObject()
+            .name("originalInput").value(inputTracking.originalInput)
+            .name("correctedInput").value(inputTracking.correctedInput)
+            .name("correctionConfidence").value(inputTracking.correctionConfidence)
+            .endObject();
+        json.endObject();
 
         // QueryMetadata section
-        json.append("  \"queryMetadata\": {\n");
-        json.append("    \"queryType\": ")
-            .append(quote(metadata.queryType))
-            .append(",\n");
-        json.append("    \"actionType\": ")
-            .append(quote(metadata.actionType))
-            .append(",\n");
-        json.append("    \"processingTimeMs\": ")
-            .append(String.format("%.3f", metadata.processingTimeMs))
-            .append("\n");
-        json.append("  },\n");
+        json.name("queryMetadata").beginObject()
+            .name("queryType").value(metadata.queryType)
+            .name("actionType").value(metadata.actionType)
+            .name("processingTimeMs").rawValue(String.format(Locale.ROOT, "%.3f", metadata.processingTimeMs))
+            .endObject();
 
         // Entities section
-        json.append("  \"entities\": [\n");
-        for (int i = 0; i < entities.size(); i++) {
-            EntityFilter entity = entities.get(i);
-            json.append("    {\n");
-            json.append("      \"attribute\": ")
-                .append(quote(entity.attribute))
-                .append(",\n");
-            json.append("      \"operation\": ")
-                .append(quote(entity.operation))
-                .append(",\n");
-            json.append("      \"value\": ")
-                .append(quote(entity.value))
-                .append(",\n");
-            json.append("      \"source\": ")
-                .append(quote(entity.source))
-                .append("\n");
-            json.append("    }")
-                .append(i < entities.size() - 1 ? "," : "")
-                .append("\n");
-        }
-        json.append("  ],\n");
+        json.name("entities").beginArray();
+        for (EntityFilter entity : result.entities) {
+            json.beginObject()
+                .name("attribute").value(entity.attribute)
+                .name("operation").value(entity.operation)
+                .name("value").value(entity.value)
+                .name("source").value(entity.source)
+                .endObject();
+        }
+        json.endArray();
 
         // DisplayEntities section
-        json.append("  \"displayEntities\": [\n");
-        for (int i = 0; i < displayEntities.size(); i++) {
-            json.append("    ").append(quote(displayEntities.get(i)));
-            json.append(i < displayEntities.size() - 1 ? "," : "").append("\n");
+        json.name("displayEntities").beginArray();
+        for (String displayEntity : result.displayEntities) {
+            json.value(displayEntity);
         }
-        json.append("  ],\n");
+        json.endArray();
 
         // Errors section
-        json.append("  \"errors\": [\n");
-        for (int i = 0; i < errors.size(); i++) {
-            ValidationError error = errors.get(i);
-            json.append("    {\n");
-            json.append("      \"code\": ")
-                .append(quote(error.code))
-                .append(",\n");
-            json.append("      \"message\": ")
-                .append(quote(error.message))
-                .append(",\n");
-            json.append("      \"severity\": ")
-                .append(quote(error.severity))
-                .append("\n");
-            json.append("    }")
-                .append(i < errors.size() - 1 ? "," : "")
-                .append("\n");
-        }
-        json.append("  ]\n");
-
-        json.append("}");
-
-        return json.toString();
+        json.name("errors").beginArray();
+        for (ValidationError error : result.errors) {
+            json.beginObject()
+                .name("code").value(error.code)
+                .name("message").value(error.message)
+                .name("severity").value(error.severity)
+                .endObject();
+        }
+        json.endArray();
+
+        json.endObject();
+        return json.finish();
     }
 
     /**
      * Generate error JSON
      */
     private String generateErrorJSON(String originalInput, String errorMessage, double processingTime) {
-        return String.format("{\n" + "  \"header\": {\n" + "    \"contractNumber\": null,\n" +
-                             "    \"partNumber\": null,\n" + "    \"customerNumber\": null,\n" +
-                             "    \"customerName\": null,\n" + "    \"createdBy\": null,\n" +
-                             "    \"inputTracking\": {\n" + "      \"originalInput\": %s,\n" +
-                             "      \"correctedInput\": null,\n" + "      \"correctionConfidence\": 0\n" + "    }\n" +
-                             "  },\n" + "  \"queryMetadata\": {\n" + "    \"queryType\": \"CONTRACTS\",\n" +
-                             "    \"actionType\": \"error\",\n" + "    \"processingTimeMs\": %.3f\n" + "  },\n" +
-                             "  \"entities\": [],\n" + "  \"displayEntities\": [],\n" + "  \"errors\": [\n" +
-                             "    {\n" + "      \"code\": \"PROCESSING_ERROR\",\n" + "      \"message\": %s,\n" +
-                             "      \"severity\": \"BLOCKER\"\n" + "    }\n" + "  ]\n" + "}", quote(originalInput),
-                             processingTime, quote(errorMessage));
+        return toJSON(createErrorResult(originalInput, errorMessage, processingTime));
     }
 
-    private String quote(String value) {
-        return value == null ? "null" : "\"" + value.replace("\"", "\\\"") + "\"";
+    /**
+     * Build error QueryResult
+     */
+    private QueryResult createErrorResult(String originalInput, String errorMessage, double processingTime) {
+        QueryResult result = new QueryResult();
+        result.inputTracking = new InputTrackingResult(originalInput, null, 0.0);
+        result.header = new Header();
+        result.metadata = new QueryMetadata("CONTRACTS", "error", processingTime);
+        result.errors.add(new ValidationError("PROCESSING_ERROR", errorMessage, "BLOCKER"));
+        return result;
     }
 
     // Data classes
@@ -1974,31 +1957,7 @@ public class StandardJSONProcessor {
         }
     }
 
-    public static class EntityFilter {
-        public final String attribute;
-        public final String operation;
-        public final String value;
-        public final String source;
 
-        public EntityFilter(String attribute, String operation, String value, String source) {
-            this.attribute = attribute;
-            this.operation = operation;
-            this.value = value;
-            this.source = source;
-        }
-    }
-
-    public static class ValidationError {
-        public final String code;
-        public final String message;
-        public final String severity;
-
-        public ValidationError(String code, String message, String severity) {
-            this.code = code;
-            this.message = message;
-            this.severity = severity;
-        }
-    }
 
     /**
      * QueryResult class for easy Java object access
@@ -2018,6 +1977,17 @@ public class StandardJSONProcessor {
             this.errors = new ArrayList<>();
         }
 
+        /**
+         * Read-only filter, display-entity and error lists for a finished result, so the handlers
+         * it is passed to cannot change what the shape cache or another stage also holds
+         */
+        QueryResult seal() {
+            entities = entities != null ? Collections.unmodifiableList(entities) : null;
+            displayEntities = displayEntities != null ? Collections.unmodifiableList(displayEntities) : null;
+            errors = errors != null ? Collections.unmodifiableList(errors) : null;
+            return this;
+        }
+
         // Convenience methods for easy access
         public String getContractNumber() {
             return header != null ? header.contractNumber : null;
@@ -2115,6 +2085,67 @@ public class StandardJSONProcessor {
     }
 
 
+    /**
+     * Copies QueryResults with substituted identifier values for the shape cache
+     */
+    private static class ShapeBinder extends QueryShapeCache.FieldBinder<QueryResult> {
+        @Override
+        public boolean isCacheable(QueryResult result) {
+            // INVALID_HEADER blockers depend on the identifier values, not on the query shape
+            return !result.hasBlockingErrors();
+        }
+
+        @Override
+        public void recordTime(QueryResult result, long elapsedNanos) {
+            if (result.metadata != null) {
+                result.metadata.processingTimeMs = elapsedNanos / 1_000_000.0;
+            }
+        }
+
+        @Override
+        protected QueryResult copy(QueryResult result, QueryShapeCache.Values values) {
+            QueryResult copy = new QueryResult();
+            if (values.present(result.inputTracking)) {
+                copy.inputTracking =
+                    new InputTrackingResult(values.id(result.inputTracking.originalInput),
+                                            values.id(result.inputTracking.correctedInput),
+                                            values.keep(result.inputTracking.correctionConfidence));
+            }
+            if (values.present(result.header)) {
+                copy.header = new Header();
+                copy.header.contractNumber = values.id(result.header.contractNumber);
+                copy.header.partNumber = values.id(result.header.partNumber);
+                copy.header.customerNumber = values.id(result.header.customerNumber);
+                copy.header.customerName = values.id(result.header.customerName);
+                copy.header.createdBy = values.id(result.header.createdBy);
+            }
+            if (values.present(result.metadata)) {
+                copy.metadata = new QueryMetadata(values.keep(result.metadata.queryType),
+                                                  values.keep(result.metadata.actionType),
+                                                  result.metadata.processingTimeMs);
+            }
+            copy.entities = null;
+            if (values.present(result.entities)) {
+                copy.entities = new ArrayList<>(result.entities.size());
+                for (EntityFilter filter : result.entities) {
+                    copy.entities.add(new EntityFilter(values.keep(filter.attribute), values.keep(filter.operation),
+                                                       values.id(filter.value), values.keep(filter.source)));
+                }
+            }
+            copy.displayEntities = result.displayEntities != null ? new ArrayList<>(result.displayEntities) : null;
+            values.keep(copy.displayEntities);
+            copy.errors = null;
+            if (values.present(result.errors)) {
+                copy.errors = new ArrayList<>(result.errors.size());
+                for (ValidationError error : result.errors) {
+                    copy.errors.add(new ValidationError(values.keep(error.code), values.id(error.message),
+                                                        values.keep(error.severity)));
+                }
+            }
+            return copy;
+        }
+    }
+
     // Minimal QueryFilter class for filters
 
     public static class QueryFilter {
@@ -2396,6 +2427,13 @@ public class StandardJSONProcessor {
      * Enhanced with SpellCorrector add-on for comprehensive spell correction
      */
     public String processQuery(String originalInput) {
+        return toJSON(processQueryToObject(originalInput));
+    }
+
+    /**
+     * Run the NLP pipeline and fill QueryResult directly
+     */
+    private QueryResult buildQueryResult(String originalInput) {
         long startTime = System.nanoTime();
 
         try {
@@ -2475,16 +2513,22 @@ public class StandardJSONProcessor {
             double processingTime = (endTime - startTime) / 1_000_000.0;
             metadata.processingTimeMs = processingTime;
 
-            // Step 7: Generate JSON according to JSON_DESIGN.md
-            return generateStandardJSON(originalInput, inputTracking, headerResult, metadata, entities, displayEntities,
-                                        errors);
+            // Step 7: Build the result object (JSON is generated only on request)
+            QueryResult result = new QueryResult();
+            result.inputTracking = inputTracking;
+            result.header = headerResult.header;
+            result.metadata = metadata;
+            result.entities = entities;
+            result.displayEntities = displayEntities;
+            result.errors = errors;
+            return result;
 
         } catch (Exception e) {
             // Error fallback
             long endTime = System.nanoTime();
             double processingTime = (endTime - startTime) / 1_000_000.0;
 
-            return generateErrorJSON(originalInput, e.getMessage(), processingTime);
+            return createErrorResult(originalInput, e.getMessage(), processingTime);
         }
     }
 
@@ -2604,8 +2648,7 @@ public class StandardJSONProcessor {
     public String processUserRequest(String userInput) {
         try {
             // Step 1: Process user input through NLP
-            String jsonResponse = processQuery(userInput);
-            QueryResult queryResult = parseJSONToObject(jsonResponse);
+            QueryResult queryResult = processQueryToObject(userInput);
             
             // Step 2: Extract action type and route to appropriate handler
             String actionType = queryResult.metadata.actionType;
@@ -2870,51 +2913,27 @@ public class StandardJSONProcessor {
     private String generateSuccessJSON(String userInput, QueryResult queryResult, List<Map<String, Object>> results,
                                        String message) {
         // Generate success response JSON
-        StringBuilder json = new StringBuilder();
-        json.append("{\n");
-        json.append("  \"success\": true,\n");
-        json.append("  \"message\": \"")
-            .append(message)
-            .append("\",\n");
-        json.append("  \"userInput\": \"")
-            .append(userInput)
-            .append("\",\n");
-        json.append("  \"queryType\": \"")
-            .append(queryResult.metadata.queryType)
-            .append("\",\n");
-        json.append("  \"actionType\": \"")
-            .append(queryResult.metadata.actionType)
-            .append("\",\n");
-        json.append("  \"processingTimeMs\": ")
-            .append(queryResult.metadata.processingTimeMs)
-            .append(",\n");
-        if (results != null && !results.isEmpty()) {
-            json.append("  \"results\": [\n");
-            for (int i = 0; i < results.size(); i++) {
-                Map<String, Object> result = results.get(i);
-                json.append("    {\n");
-                int j = 0;
+        JsonWriter json = JsonWriter.create();
+        json.beginObject()
+            .name("success").value(true)
+            .name("message").value(message)
+            .name("userInput").value(userInput)
+            .name("queryType").value(queryResult.metadata.queryType)
+            .name("actionType").value(queryResult.metadata.actionType)
+            .name("processingTimeMs").value(queryResult.metadata.processingTimeMs);
+        json.name("results").beginArray();
+        if (results != null) {
+            for (Map<String, Object> result : results) {
+                json.beginObject();
                 for (Map.Entry<String, Object> entry : result.entrySet()) {
-                    json.append("      \"")
-                        .append(entry.getKey())
-                        .append("\": \"")
-                        .append(entry.getValue())
-                        .append("\"");
-                    if (++j < result.size())
-                        json.append(",");
-                    json.append("\n");
+                    json.name(entry.getKey()).value(String.valueOf(entry.getValue()));
                 }
-                json.append("    }");
-                if (i < results.size() - 1)
-                    json.append(",");
-                json.append("\n");
+                json.endObject();
             }
-            json.append("  ]\n");
-        } else {
-            json.append("  \"results\": []\n");
         }
-        json.append("}");
-        return json.toString();
+        json.endArray();
+        json.endObject();
+        return json.finish();
     }
 
     /**
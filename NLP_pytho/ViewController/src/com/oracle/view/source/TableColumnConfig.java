@@ -34,6 +34,13 @@ public class TableColumnConfig {
     private final Map<String, Map<String, String>> fieldSynonyms = new ConcurrentHashMap<>();
     private final Map<String, Set<String>> displayableColumns = new ConcurrentHashMap<>();
     private final Map<String, Set<String>> filterableColumns = new ConcurrentHashMap<>();
+    // Table type -> column -> SQL type (COLUMN_TYPE_*); columns not listed are VARCHAR
+    private final Map<String, Map<String, String>> columnTypes = new ConcurrentHashMap<>();
+    // Fuzzy lookup index per table type, built on first use and dropped when the table's vocabulary changes
+    private final Map<String, FuzzyTermIndex> fuzzyIndexes = new ConcurrentHashMap<>();
+    
+    // Maximum edit distance accepted by getColumnForSynonymFuzzy
+    public static final int FUZZY_MAX_DISTANCE = 2;
     
     // Table types
     public static final String TABLE_CONTRACTS = "HR.CCT_CONTRACTS_TMG";
@@ -66,6 +73,11 @@ public class TableColumnConfig {
     public static final String CATEGORY_DISPLAY = "DISPLAY";
     public static final String CATEGORY_FILTER = "FILTER";
     public static final String CATEGORY_BOTH = "BOTH";
+
+    // Column types used to bind filter values
+    public static final String COLUMN_TYPE_VARCHAR = "VARCHAR";
+    public static final String COLUMN_TYPE_NUMBER = "NUMBER";
+    public static final String COLUMN_TYPE_DATE = "DATE";
     
     private TableColumnConfig() {
         initializeDefaultColumns();
@@ -157,6 +169,27 @@ public class TableColumnConfig {
         
         // Initialize displayable and filterable columns
         initializeColumnCategories();
+
+        // Initialize column types
+        initializeColumnTypes();
+    }
+
+    /**
+     * Initialize column types from the CctContractsTmg entity definition. Identifier columns such as
+     * AWARD_NUMBER and CUSTOMER_NUMBER are VARCHAR2 there and must stay VARCHAR - binding a number
+     * would make Oracle convert the column and skip its index.
+     */
+    private void initializeColumnTypes() {
+        Map<String, String> contractTypes = new ConcurrentHashMap<>();
+        for (String column : Arrays.asList("EFFECTIVE_DATE", "EXPIRATION_DATE", "PRICE_EXPIRATION_DATE",
+                                           "EFFECTIVE_LOL", "CREATE_DATE", "UPDATED_DATE")) {
+            contractTypes.put(column, COLUMN_TYPE_DATE);
+        }
+        for (String column : Arrays.asList("CONTRACT_LENGTH", "MIN_INV_OBLIGATION", "REBATE", "LINE_MIN", "ORDER_MIN",
+                                           "TOTAL_VALUE", "TARGET_MARGIN", "TOTAL_PART_COUNT")) {
+            contractTypes.put(column, COLUMN_TYPE_NUMBER);
+        }
+        columnTypes.put(TABLE_CONTRACTS, contractTypes);
     }
     
     /**
@@ -368,6 +401,7 @@ public class TableColumnConfig {
         
         // Add to main column set
         tableColumns.computeIfAbsent(normalizedTableType, k -> new HashSet<>()).add(normalizedColumnName);
+        fuzzyIndexes.remove(normalizedTableType);
         
         // Add to appropriate category
         switch (category.toUpperCase()) {
@@ -415,6 +449,7 @@ public class TableColumnConfig {
         
         // Remove from field synonyms
         fieldSynonyms.get(normalizedTableType).values().removeIf(normalizedColumnName::equals);
+        fuzzyIndexes.remove(normalizedTableType);
     }
     
     /**
@@ -448,6 +483,7 @@ public class TableColumnConfig {
         
         businessTermMappings.computeIfAbsent(normalizedTableType, k -> new HashMap<>())
                            .put(businessTerm.toLowerCase(), normalizedColumnName);
+        fuzzyIndexes.remove(normalizedTableType);
     }
     
     /**
@@ -460,6 +496,7 @@ public class TableColumnConfig {
         
         String normalizedTableType = tableType.toUpperCase();
         businessTermMappings.get(normalizedTableType).remove(businessTerm.toLowerCase());
+        fuzzyIndexes.remove(normalizedTableType);
     }
     
     /**
@@ -502,6 +539,7 @@ public class TableColumnConfig {
         
         fieldSynonyms.computeIfAbsent(normalizedTableType, k -> new HashMap<>())
                      .put(synonym.toLowerCase(), normalizedColumnName);
+        fuzzyIndexes.remove(normalizedTableType);
     }
     
     /**
@@ -514,6 +552,7 @@ public class TableColumnConfig {
         
         String normalizedTableType = tableType.toUpperCase();
         fieldSynonyms.get(normalizedTableType).remove(synonym.toLowerCase());
+        fuzzyIndexes.remove(normalizedTableType);
     }
     
     /**
@@ -536,39 +575,45 @@ public class TableColumnConfig {
     
     /**
      * Get column name for a field synonym with fuzzy matching (Levenshtein distance)
+     * Searches the table's synonyms, business terms and column names within FUZZY_MAX_DISTANCE edits
      */
     public String getColumnForSynonymFuzzy(String tableType, String synonym) {
         String exact = getColumnForSynonym(tableType, synonym);
         if (exact != null) return exact;
-        Map<String, String> synonyms = getFieldSynonyms(tableType);
-        int minDist = Integer.MAX_VALUE;
-        String bestMatch = null;
-        for (String key : synonyms.keySet()) {
-            int dist = levenshteinDistance(synonym.toLowerCase(), key.toLowerCase());
-            if (dist < minDist && dist <= 2) { // threshold can be tuned
-                minDist = dist;
-                bestMatch = key;
-            }
+        if (tableType == null || synonym == null) return null;
+        FuzzyTermIndex.Match best = getFuzzyIndex(tableType).best(synonym, FUZZY_MAX_DISTANCE);
+        return best != null ? best.column : null;
+    }
+    
+    /**
+     * Get the top-k fuzzy column candidates for a term, closest first
+     */
+    public List<FuzzyTermIndex.Match> getColumnCandidatesFuzzy(String tableType, String term, int maxDistance, int k) {
+        if (tableType == null || term == null) {
+            return new ArrayList<>();
         }
-        return bestMatch != null ? synonyms.get(bestMatch) : null;
+        return getFuzzyIndex(tableType).search(term, maxDistance, k);
     }
+    
     /**
-     * Levenshtein distance implementation
+     * Fuzzy index for a table - synonyms first, then business terms, then column names,
+     * so an equally close synonym wins over a business term or raw column name
      */
-    private int levenshteinDistance(String a, String b) {
-        int[] costs = new int[b.length() + 1];
-        for (int j = 0; j < costs.length; j++)
-            costs[j] = j;
-        for (int i = 1; i <= a.length(); i++) {
-            costs[0] = i;
-            int nw = i - 1;
-            for (int j = 1; j <= b.length(); j++) {
-                int cj = Math.min(1 + Math.min(costs[j], costs[j - 1]), a.charAt(i - 1) == b.charAt(j - 1) ? nw : nw + 1);
-                nw = costs[j];
-                costs[j] = cj;
+    private FuzzyTermIndex getFuzzyIndex(String tableType) {
+        String normalizedTableType = tableType.toUpperCase();
+        return fuzzyIndexes.computeIfAbsent(normalizedTableType, key -> {
+            FuzzyTermIndex index = new FuzzyTermIndex();
+            for (Map.Entry<String, String> entry : new TreeMap<>(getFieldSynonyms(key)).entrySet()) {
+                index.add(entry.getKey(), entry.getValue());
             }
-        }
-        return costs[b.length()];
+            for (Map.Entry<String, String> entry : new TreeMap<>(getBusinessTermMappings(key)).entrySet()) {
+                index.add(entry.getKey(), entry.getValue());
+            }
+            for (String column : new TreeSet<>(getColumns(key))) {
+                index.add(column, column);
+            }
+            return index;
+        });
     }
     
     // ============================================================================
@@ -729,6 +774,8 @@ public class TableColumnConfig {
         fieldSynonyms.clear();
         displayableColumns.clear();
         filterableColumns.clear();
+        columnTypes.clear();
+        fuzzyIndexes.clear();
         initializeDefaultColumns();
     }
     
@@ -764,6 +811,58 @@ public class TableColumnConfig {
         return summary;
     }
     
+    // ============================================================================
+    // COLUMN TYPE METHODS
+    // ============================================================================
+
+    /**
+     * SQL type of a column (COLUMN_TYPE_VARCHAR, COLUMN_TYPE_NUMBER or COLUMN_TYPE_DATE).
+     * Unknown tables and columns are VARCHAR.
+     */
+    public String getColumnType(String tableType, String columnName) {
+        if (tableType == null || columnName == null) {
+            return COLUMN_TYPE_VARCHAR;
+        }
+        Map<String, String> types = columnTypes.get(tableType.toUpperCase());
+        String type = types != null ? types.get(columnName.trim().toUpperCase()) : null;
+        return type != null ? type : COLUMN_TYPE_VARCHAR;
+    }
+
+    /**
+     * Set the SQL type of a column
+     */
+    public void setColumnType(String tableType, String columnName, String columnType) {
+        if (tableType == null || columnName == null || columnType == null) {
+            throw new IllegalArgumentException("All parameters cannot be null");
+        }
+        String normalizedType = columnType.toUpperCase();
+        if (!COLUMN_TYPE_VARCHAR.equals(normalizedType) && !COLUMN_TYPE_NUMBER.equals(normalizedType) &&
+            !COLUMN_TYPE_DATE.equals(normalizedType)) {
+            throw new IllegalArgumentException("Unsupported column type: " + columnType);
+        }
+        columnTypes.computeIfAbsent(tableType.toUpperCase(), k -> new ConcurrentHashMap<>())
+                   .put(columnName.toUpperCase(), normalizedType);
+    }
+
+    /**
+     * Table type queried for an action type (same routing as the Model layer's executeNLPQuery)
+     */
+    public static String getTableTypeForAction(String actionType) {
+        if (actionType == null) {
+            return TABLE_CONTRACTS;
+        }
+        switch (actionType) {
+            case "parts_by_contract_number":
+            case "parts_by_part_number":
+            case "parts_by_filter":
+                return TABLE_PARTS;
+            case "parts_failed_by_contract_number":
+                return TABLE_FAILED_PARTS;
+            default:
+                return TABLE_CONTRACTS;
+        }
+    }
+
     /**
      * Get table name for the given table type
      */
@@ -371,7 +371,7 @@
 //     * Route to appropriate action handler with DataProvider integration
 //     */
 //    private String routeToActionHandlerWithDataProvider(String actionType, 
-//                                                       List<StandardJSONProcessor.EntityFilter> filters, 
+//                                                       List<EntityFilter> filters, 
 //                                                       List<String> displayEntities, 
 //                                                       String userInput) {
 //        
@@ -418,7 +418,7 @@
 //    /**
 //     * Handles contract queries by contract number with DataProvider
 //     */
-//    private String handleContractByContractNumberWithDataProvider(List<StandardJSONProcessor.EntityFilter> filters, 
+//    private String handleContractByContractNumberWithDataProvider(List<EntityFilter> filters, 
 //                                                                 List<String> displayEntities, 
 //                                                                 String userInput) {
 //        try {
@@ -439,7 +439,7 @@
 //    /**
 //     * Handles parts queries by contract number with DataProvider
 //     */
-//    private String handlePartsByContractNumberWithDataProvider(List<StandardJSONProcessor.EntityFilter> filters, 
+//    private String handlePartsByContractNumberWithDataProvider(List<EntityFilter> filters, 
 //                                                              List<String> displayEntities, 
 //                                                              String userInput) {
 //        try {
@@ -454,7 +454,7 @@
 //    /**
 //     * Handles failed parts queries by contract number with DataProvider
 //     */
-//    private String handleFailedPartsByContractNumberWithDataProvider(List<StandardJSONProcessor.EntityFilter> filters, 
+//    private String handleFailedPartsByContractNumberWithDataProvider(List<EntityFilter> filters, 
 //                                                                    List<String> displayEntities, 
 //                                                                    String userInput) {
 //        try {
@@ -469,7 +469,7 @@
 //    /**
 //     * Handles parts queries by part number with DataProvider
 //     */
-//    private String handlePartsByPartNumberWithDataProvider(List<StandardJSONProcessor.EntityFilter> filters, 
+//    private String handlePartsByPartNumberWithDataProvider(List<EntityFilter> filters, 
 //                                                          List<String> displayEntities, 
 //                                                          String userInput) {
 //        try {
@@ -484,7 +484,7 @@
 //    /**
 //     * Handles contract queries by filter with DataProvider
 //     */
-//    private String handleContractsByFilterWithDataProvider(List<StandardJSONProcessor.EntityFilter> filters, 
+//    private String handleContractsByFilterWithDataProvider(List<EntityFilter> filters, 
 //                                                          List<String> displayEntities, 
 //                                                          String userInput) {
 //        try {
@@ -499,7 +499,7 @@
 //    /**
 //     * Handles parts queries by filter with DataProvider
 //     */
-//    private String handlePartsByFilterWithDataProvider(List<StandardJSONProcessor.EntityFilter> filters, 
+//    private String handlePartsByFilterWithDataProvider(List<EntityFilter> filters, 
 //                                                      List<String> displayEntities, 
 //                                                      String userInput) {
 //        try {
@@ -514,7 +514,7 @@
 //    /**
 //     * Handles contract updates with DataProvider
 //     */
-//    private String handleUpdateContractWithDataProvider(List<StandardJSONProcessor.EntityFilter> filters, 
+//    private String handleUpdateContractWithDataProvider(List<EntityFilter> filters, 
 //                                                       List<String> displayEntities, 
 //                                                       String userInput) {
 //        try {
@@ -529,7 +529,7 @@
 //    /**
 //     * Handles contract creation with DataProvider
 //     */
-//    private String handleCreateContractWithDataProvider(List<StandardJSONProcessor.EntityFilter> filters, 
+//    private String handleCreateContractWithDataProvider(List<EntityFilter> filters, 
 //                                                       List<String> displayEntities, 
 //                                                       String userInput) {
 //        try {
@@ -544,7 +544,7 @@
 //    /**
 //     * Handles help contract create user with DataProvider
 //     */
-//    private String handleHelpContractCreateUserWithDataProvider(List<StandardJSONProcessor.EntityFilter> filters, 
+//    private String handleHelpContractCreateUserWithDataProvider(List<EntityFilter> filters, 
 //                                                               List<String> displayEntities, 
 //                                                               String userInput) {
 //        try {
@@ -559,7 +559,7 @@
 //    /**
 //     * Handles help contract create bot with DataProvider
 //     */
-//    private String handleHelpContractCreateBotWithDataProvider(List<StandardJSONProcessor.EntityFilter> filters, 
+//    private String handleHelpContractCreateBotWithDataProvider(List<EntityFilter> filters, 
 //                                                              List<String> displayEntities, 
 //                                                              String userInput) {
 //        try {
@@ -691,7 +691,7 @@
 //     * Extract contract number from query result
 //     */
 //    private String extractContractNumber(StandardJSONProcessor.QueryResult queryResult) {
-//        for (StandardJSONProcessor.EntityFilter filter : queryResult.entities) {
+//        for (EntityFilter filter : queryResult.entities) {
 //            if (filter.attribute.equals("AWARD_NUMBER")) {
 //                return filter.value;
 //            }
@@ -729,7 +729,7 @@
 //     * Extract part number from query result
 //     */
 //    private String extractPartNumber(StandardJSONProcessor.QueryResult queryResult) {
-//        for (StandardJSONProcessor.EntityFilter filter : queryResult.entities) {
+//        for (EntityFilter filter : queryResult.entities) {
 //            if (filter.attribute.equals("INVOICE_PART_NUMBER")) {
 //                return filter.value;
 //            }
@@ -786,7 +786,7 @@
 //    /**
 //     * Routes to appropriate action handler based on action type
 //     */
-//    private UserActionResponse routeToActionHandler(String actionType, List<StandardJSONProcessor.EntityFilter> filters, 
+//    private UserActionResponse routeToActionHandler(String actionType, List<EntityFilter> filters, 
 //                                                   List<String> displayEntities, String userInput) {
 //        
 //        switch (actionType) {
@@ -833,7 +833,7 @@
 //     * Handles contract queries by contract number
 //     * SQL: SELECT display_entities FROM contracts WHERE AWARD_NUMBER = ?
 //     */
-//    private UserActionResponse handleContractByContractNumber(List<StandardJSONProcessor.EntityFilter> filters, 
+//    private UserActionResponse handleContractByContractNumber(List<EntityFilter> filters, 
 //                                                             List<String> displayEntities, 
 //                                                             String userInput) {
 //        try {
@@ -863,7 +863,7 @@
 //     * Handles contract queries by filter criteria
 //     * SQL: SELECT display_entities FROM contracts WHERE filter_conditions
 //     */
-//        private UserActionResponse handleContractsByFilter(List<StandardJSONProcessor.EntityFilter> filters,
+//        private UserActionResponse handleContractsByFilter(List<EntityFilter> filters,
 //                                                      List<String> displayEntities,
 //                                                      String userInput) {
 //        try {
@@ -894,7 +894,7 @@
 //     * Handles parts queries by contract number
 //     * SQL: SELECT display_entities FROM parts WHERE AWARD_NUMBER = ?
 //     */
-//        private UserActionResponse handlePartsByContractNumber(List<StandardJSONProcessor.EntityFilter> filters,
+//        private UserActionResponse handlePartsByContractNumber(List<EntityFilter> filters,
 //                                                          List<String> displayEntities,
 //                                                          String userInput) {
 //        try {
@@ -924,7 +924,7 @@
 //     * Handles parts queries by part number
 //     * SQL: SELECT display_entities FROM parts WHERE INVOICE_PART_NUMBER = ?
 //     */
-//        private UserActionResponse handlePartsByPartNumber(List<StandardJSONProcessor.EntityFilter> filters,
+//        private UserActionResponse handlePartsByPartNumber(List<EntityFilter> filters,
 //                                                      List<String> displayEntities,
 //                                                      String userInput) {
 //        try {
@@ -954,7 +954,7 @@
 //     * Handles parts queries by filter criteria
 //     * SQL: SELECT display_entities FROM parts WHERE filter_conditions
 //     */
-//        private UserActionResponse handlePartsByFilter(List<StandardJSONProcessor.EntityFilter> filters,
+//        private UserActionResponse handlePartsByFilter(List<EntityFilter> filters,
 //                                                  List<String> displayEntities,
 //                                                  String userInput) {
 //        try {
@@ -985,7 +985,7 @@
 //     * Handles failed parts queries by contract number
 //     * SQL: SELECT display_entities FROM failed_parts WHERE LOADED_CP_NUMBER = ?
 //     */
-//        private UserActionResponse handleFailedPartsByContractNumber(List<StandardJSONProcessor.EntityFilter> filters,
+//        private UserActionResponse handleFailedPartsByContractNumber(List<EntityFilter> filters,
 //                                                                List<String> displayEntities,
 //                                                                String userInput) {
 //        try {
@@ -1019,7 +1019,7 @@
 //     * Handles contract update operations
 //     * SQL: UPDATE contracts SET update_fields WHERE AWARD_NUMBER = ?
 //     */
-//        private UserActionResponse handleUpdateContract(List<StandardJSONProcessor.EntityFilter> filters,
+//        private UserActionResponse handleUpdateContract(List<EntityFilter> filters,
 //                                                   List<String> displayEntities,
 //                                                   String userInput) {
 //        try {
@@ -1053,7 +1053,7 @@
 //     * Handles contract creation operations
 //     * SQL: INSERT INTO contracts (fields) VALUES (values)
 //     */
-//        private UserActionResponse handleCreateContract(List<StandardJSONProcessor.EntityFilter> filters,
+//        private UserActionResponse handleCreateContract(List<EntityFilter> filters,
 //                                                   List<String> displayEntities,
 //                                                   String userInput) {
 //        try {
@@ -1082,8 +1082,8 @@
 //    /**
 //     * Extracts filter value by attribute name
 //     */
-//    private String extractFilterValue(List<StandardJSONProcessor.EntityFilter> filters, String attributeName) {
-//        for (StandardJSONProcessor.EntityFilter filter : filters) {
+//    private String extractFilterValue(List<EntityFilter> filters, String attributeName) {
+//        for (EntityFilter filter : filters) {
 //            if (filter.attribute.equals(attributeName)) {
 //                return filter.value;
 //            }
@@ -1094,14 +1094,14 @@
 //    /**
 //     * Builds WHERE clause from filters
 //     */
-//    private String buildWhereClause(List<StandardJSONProcessor.EntityFilter> filters) {
+//    private String buildWhereClause(List<EntityFilter> filters) {
 //        if (filters == null || filters.isEmpty()) {
 //            return "1=1"; // Default condition
 //        }
 //        
 //        StringBuilder whereClause = new StringBuilder();
 //        for (int i = 0; i < filters.size(); i++) {
-//            StandardJSONProcessor.EntityFilter filter = filters.get(i);
+//            EntityFilter filter = filters.get(i);
 //            if (i > 0) whereClause.append(" AND ");
 //            whereClause.append(filter.attribute).append(" ").append(filter.operation).append(" ?");
 //        }
@@ -1111,10 +1111,10 @@
 //    /**
 //     * Creates parameter map from filters
 //     */
-//    private Map<String, Object> createParameterMapFromFilters(List<StandardJSONProcessor.EntityFilter> filters) {
+//    private Map<String, Object> createParameterMapFromFilters(List<EntityFilter> filters) {
 //        Map<String, Object> parameters = new HashMap<>();
 //        if (filters != null) {
-//                    for (StandardJSONProcessor.EntityFilter filter : filters) {
+//                    for (EntityFilter filter : filters) {
 //            parameters.put(filter.attribute, filter.value);
 //        }
 //        }
@@ -1149,7 +1149,7 @@
 //     * Handles help requests for contract creation (user wants instructions)
 //     * No SQL needed - returns help text
 //     */
-//    private UserActionResponse handleHelpContractCreateUser(List<StandardJSONProcessor.EntityFilter> filters,
+//    private UserActionResponse handleHelpContractCreateUser(List<EntityFilter> filters,
 //                                                           List<String> displayEntities,
 //                                                           String userInput) {
 //        try {
@@ -1173,7 +1173,7 @@
 //     * Handles help requests for contract creation (user wants system to create)
 //     * No SQL needed - returns help text
 //     */
-//    private UserActionResponse handleHelpContractCreateBot(List<StandardJSONProcessor.EntityFilter> filters,
+//    private UserActionResponse handleHelpContractCreateBot(List<EntityFilter> filters,
 //                                                          List<String> displayEntities,
 //                                                          String userInput) {
 //        try {
@@ -1259,13 +1259,13 @@
 //    /**
 //     * Format filters as string
 //     */
-//    private static String formatFilters(java.util.List<StandardJSONProcessor.EntityFilter> filters) {
+//    private static String formatFilters(java.util.List<EntityFilter> filters) {
 //        if (filters == null || filters.isEmpty()) {
 //            return "[]";
 //        }
 //        StringBuilder sb = new StringBuilder("[");
 //        for (int i = 0; i < filters.size(); i++) {
-//            StandardJSONProcessor.EntityFilter filter = filters.get(i);
+//            EntityFilter filter = filters.get(i);
 //            sb.append(filter.attribute).append("=").append(filter.value);
 //            if (i < filters.size() - 1) {
 //                sb.append(", ");
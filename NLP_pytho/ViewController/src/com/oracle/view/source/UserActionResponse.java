@@ -16,7 +16,7 @@ public class UserActionResponse {
     private String sqlQuery;
     private Map<String, Object> parameters;
     private List<String> displayEntities;
-    private List<StandardJSONProcessor.EntityFilter> filters;
+    private List<EntityFilter> filters;
     
     // NLP processing metadata
     private String originalInput;
@@ -90,11 +90,11 @@ public class UserActionResponse {
         this.displayEntities = displayEntities;
     }
     
-    public List<StandardJSONProcessor.EntityFilter> getFilters() {
+    public List<EntityFilter> getFilters() {
         return filters;
     }
     
-    public void setFilters(List<StandardJSONProcessor.EntityFilter> filters) {
+    public void setFilters(List<EntityFilter> filters) {
         this.filters = filters;
     }
     
@@ -299,7 +299,7 @@ public class UserActionResponse {
             sql.append(" WHERE ");
             for (int i = 0; i < this.filters.size(); i++) {
                 if (i > 0) sql.append(" AND ");
-                StandardJSONProcessor.EntityFilter filter = this.filters.get(i);
+                EntityFilter filter = this.filters.get(i);
                 
                 // Handle different data types properly
                 if (isNumeric(filter.value)) {
@@ -0,0 +1,40 @@
+package com.oracle.view.source;
+
+import java.util.Objects;
+
+/**
+ * ValidationError - A problem found while processing a query (code, message, severity)
+ *
+ * Shared by all query result types like EntityFilter; immutable, so error lists are passed
+ * between stages by reference.
+ */
+public final class ValidationError {
+    public final String code;
+    public final String message;
+    public final String severity;
+
+    public ValidationError(String code, String message, String severity) {
+        this.code = code;
+        this.message = message;
+        this.severity = severity;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ValidationError{code='%s', message='%s', severity='%s'}", code, message, severity);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        ValidationError that = (ValidationError) obj;
+        return Objects.equals(code, that.code) && Objects.equals(message, that.message) &&
+               Objects.equals(severity, that.severity);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(code, message, severity);
+    }
+}